@@ -0,0 +1,58 @@
+-- Compares the open debits query of a credit against a 10M row transactions table with and without the
+-- open debits index. 100k accounts hold 100 transactions each, 2% of them are still open (negative) debits.
+-- Run against a scratch database (it drops and recreates the tables) with:
+--   createdb -U ndk1996 banking_bench
+--   psql -U ndk1996 -d banking_bench -f src/main/resources/schema.sql
+--   psql -U ndk1996 -d banking_bench -f src/main/resources/data.sql
+--   psql -U ndk1996 -d banking_bench -f benchmarks/sql/open_debits_10m.sql
+
+\timing on
+
+TRUNCATE transactions, accounts;
+
+INSERT INTO accounts (account_id, document_number)
+SELECT a, lpad(a::text, 11, '0')
+FROM generate_series(1, 100000) a;
+
+DROP INDEX IF EXISTS transactions_account_id_idx;
+DROP INDEX IF EXISTS transactions_open_debits_idx;
+
+INSERT INTO transactions (transaction_id, account_id, operation_type_id, amount, balance, event_date)
+SELECT t,
+       (t - 1) % 100000 + 1,
+       1,
+       -10,
+       CASE WHEN random() < 0.02 THEN -10 ELSE 0 END,
+       TIMESTAMP '2020-01-01' + (t || ' seconds')::interval
+FROM generate_series(1, 10000000) t;
+
+VACUUM ANALYZE transactions;
+
+PREPARE open_debits(BIGINT) AS
+    SELECT transaction_id, balance
+    FROM transactions
+    WHERE account_id = $1 AND balance < 0
+    ORDER BY event_date, transaction_id;
+
+-- Without any index on account_id: a sequential scan of all 10M rows per credit.
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE open_debits(4242);
+
+CREATE INDEX transactions_account_id_idx ON transactions (account_id);
+VACUUM ANALYZE transactions;
+
+-- With the plain account_id index: every transaction of the account is fetched from the heap and filtered.
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE open_debits(4242);
+
+CREATE INDEX transactions_open_debits_idx
+    ON transactions (account_id, event_date, transaction_id) INCLUDE (balance)
+    WHERE balance < 0;
+VACUUM ANALYZE transactions;
+
+-- With the open debits index: an index only scan over the open debits of the account, already in order.
+EXPLAIN (ANALYZE, BUFFERS) EXECUTE open_debits(4242);
+
+SELECT pg_size_pretty(pg_relation_size('transactions')) AS table_size,
+       pg_size_pretty(pg_relation_size('transactions_account_id_idx')) AS account_id_index_size,
+       pg_size_pretty(pg_relation_size('transactions_open_debits_idx')) AS open_debits_index_size;
+
+DEALLOCATE open_debits;
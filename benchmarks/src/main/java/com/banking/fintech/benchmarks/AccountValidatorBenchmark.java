@@ -0,0 +1,43 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.validator.AccountValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the digits check of the create account request, from a usual document number up to the longest body a
+ * client could send.
+ * Run with: java -jar target/benchmarks.jar AccountValidatorBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountValidatorBenchmark {
+
+    @Param({"11", "1000", "100000"})
+    private int documentNumberLength;
+
+    private AccountValidator accountValidator;
+    private AccountReq accountReq;
+
+    @Setup
+    public void setUp() {
+        accountValidator = new AccountValidator();
+        StringBuilder documentNumber = new StringBuilder(documentNumberLength);
+        for (int i = 0; i < documentNumberLength; i++) {
+            documentNumber.append((char) ('0' + i % 10));
+        }
+        accountReq = AccountReq.builder().documentNumber(documentNumber.toString()).build();
+    }
+
+    @Benchmark
+    public AccountReq validateCreateAccountReq() {
+        accountValidator.validateCreateAccountReq(accountReq);
+        return accountReq;
+    }
+}
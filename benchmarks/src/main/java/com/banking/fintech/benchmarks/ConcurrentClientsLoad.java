@@ -0,0 +1,143 @@
+package com.banking.fintech.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open connection load against a running service, for comparing platform and virtual request threads: every client
+ * is a virtual thread with its own connection that posts a credit and reads the balance of a random account.
+ * When a jdbc url is given, the accounts table is locked for the stall duration right as the clients start, as a
+ * stalled db would. JMH measures a method in a loop, which does not fit thousands of concurrent http clients.
+ * Start the service with and without spring.threads.virtual.enabled, then run with:
+ * java -cp target/benchmarks.jar com.banking.fintech.benchmarks.ConcurrentClientsLoad http://localhost:8080 10000 [jdbcUrl user password stallMillis]
+ * The client and the service each hold one file descriptor per client, so raise ulimit -n accordingly.
+ */
+public class ConcurrentClientsLoad {
+
+    private static final int ACCOUNTS = 100;
+    private static final Pattern ACCOUNT_ID = Pattern.compile("\"account_id\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        String jdbcUrl = args.length > 2 ? args[2] : null;
+        Duration stall = Duration.ofMillis(args.length > 5 ? Long.parseLong(args[5]) : 1_000);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        String sessionCookie = login(httpClient, baseUrl);
+        List<Long> accountIds = createAccounts(httpClient, baseUrl, sessionCookie);
+
+        Map<Integer, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+        LongAdder failedRequests = new LongAdder();
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>(clients * 2));
+        long startNanos = System.nanoTime();
+        try (Connection stallingConnection = jdbcUrl == null ? null : DriverManager.getConnection(jdbcUrl, args[3], args[4]);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (stallingConnection != null) {
+                stallingConnection.setAutoCommit(false);
+                try (Statement statement = stallingConnection.createStatement()) {
+                    statement.execute("LOCK TABLE accounts IN ACCESS EXCLUSIVE MODE");
+                }
+            }
+            for (int client = 0; client < clients; client++) {
+                clientExecutor.submit(() -> {
+                    Long accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+                    for (HttpRequest request : List.of(postCredit(baseUrl, sessionCookie, accountId), getBalance(baseUrl, sessionCookie, accountId))) {
+                        long requestStartNanos = System.nanoTime();
+                        try {
+                            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            responsesByStatus.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+                            latenciesNanos.add(System.nanoTime() - requestStartNanos);
+                        } catch (Exception e) {
+                            failedRequests.increment();
+                        }
+                    }
+                });
+            }
+            if (stallingConnection != null) {
+                Thread.sleep(stall);
+                stallingConnection.rollback();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        List<Long> sortedLatencies = latenciesNanos.stream().sorted().toList();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        responsesByStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        System.out.printf("%d clients: %d requests in %d ms, %d req/s, p50: %.1f ms, p99: %.1f ms, max: %.1f ms, responses by status: %s, failed: %d%n",
+                clients, sortedLatencies.size(), elapsedNanos / 1_000_000, sortedLatencies.size() * 1_000_000_000L / elapsedNanos,
+                percentileMillis(sortedLatencies, 0.50), percentileMillis(sortedLatencies, 0.99), percentileMillis(sortedLatencies, 1.0),
+                statusCounts, failedRequests.sum());
+    }
+
+    static String login(HttpClient httpClient, String baseUrl) throws Exception {
+        HttpResponse<Void> loginResponse = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@fintech.banking.com&password=password@fintech.banking.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        return loginResponse.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+    }
+
+    static List<Long> createAccounts(HttpClient httpClient, String baseUrl, String sessionCookie) throws Exception {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String body = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/accounts"))
+                    .header("Cookie", sessionCookie)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"document_number\":\"" + (10_000_000_000L + i) + "\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = ACCOUNT_ID.matcher(body);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Could not create an account: " + body);
+            }
+            accountIds.add(Long.parseLong(matcher.group(1)));
+        }
+        return accountIds;
+    }
+
+    private static HttpRequest postCredit(String baseUrl, String sessionCookie, Long accountId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/transactions"))
+                .header("Cookie", sessionCookie)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(5))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"account_id\":" + accountId + ",\"operation_type_id\":4,\"amount\":1.00}"))
+                .build();
+    }
+
+    static HttpRequest getBalance(String baseUrl, String sessionCookie, Long accountId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/accounts/" + accountId + "/balance"))
+                .header("Cookie", sessionCookie)
+                .timeout(Duration.ofMinutes(5))
+                .GET()
+                .build();
+    }
+
+    static double percentileMillis(List<Long> sortedLatenciesNanos, double percentile) {
+        if (sortedLatenciesNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatenciesNanos.size()) - 1;
+        return sortedLatenciesNanos.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import com.banking.fintech.service.OperationType;
+import com.banking.fintech.service.OperationTypeRegistry;
+import com.banking.fintech.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures TransactionServiceImpl#createTransaction for a credit discharging the open debits of its account in the
+ * entity discharge mode, which is the per request path of the locking execution mode without the db round trips:
+ * the repositories are stubs answering from memory. The credit discharges every open debit, the last one in part,
+ * and the debits are reopened before every invocation.
+ * Run with: java -jar target/benchmarks.jar DischargeBalanceBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DischargeBalanceBenchmark {
+
+    private static final long DEBIT_AMOUNT = 1_234L;
+    private static final long CREDIT_OPERATION_TYPE_ID = 4L;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int openDebits;
+
+    private List<TransactionEntity> openDebitEntities;
+    private TransactionServiceImpl transactionService;
+    private TransactionReq transactionReq;
+
+    @Setup
+    public void setUp() {
+        AccountEntity accountEntity = AccountEntity.builder().accountId(1L).build();
+        OperationTypeEntity debitOperationTypeEntity = OperationTypeEntity.builder().operationTypeId(1L).build();
+        openDebitEntities = new ArrayList<>(openDebits);
+        Instant eventDate = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < openDebits; i++) {
+            openDebitEntities.add(TransactionEntity.builder()
+                    .transactionId((long) i)
+                    .accountEntity(accountEntity)
+                    .operationTypeEntity(debitOperationTypeEntity)
+                    .amount(-DEBIT_AMOUNT)
+                    .eventDate(eventDate.plusMillis(i))
+                    .build());
+        }
+
+        TransactionRepository transactionRepository = stub(TransactionRepository.class, (method, args) -> switch (method) {
+            case "getNegativeBalTransactions" -> openDebitEntities;
+            case "save" -> {
+                TransactionEntity transactionEntity = (TransactionEntity) args[0];
+                transactionEntity.setTransactionId((long) openDebits);
+                yield transactionEntity;
+            }
+            default -> throw new UnsupportedOperationException(method);
+        });
+        AccountRepository accountRepository = stub(AccountRepository.class, (method, args) -> switch (method) {
+            case "applyTransaction" -> 1;
+            default -> throw new UnsupportedOperationException(method);
+        });
+        OperationTypeRegistry operationTypeRegistry = new OperationTypeRegistry(null);
+        operationTypeRegistry.register(new OperationType(CREDIT_OPERATION_TYPE_ID, "PAYMENT", TransactionOperationType.CREDIT));
+
+        transactionService = new TransactionServiceImpl(transactionRepository, operationTypeRegistry, accountRepository,
+                stub(IdempotencyKeyRepository.class, (method, args) -> {
+                    throw new UnsupportedOperationException(method);
+                }),
+                new TransactionProperties(), new BankingMetrics(new SimpleMeterRegistry()));
+        transactionReq = new TransactionReq();
+    }
+
+    @Setup(Level.Invocation)
+    public void reopenDebits() {
+        for (TransactionEntity openDebitEntity : openDebitEntities) {
+            openDebitEntity.setBalance(-DEBIT_AMOUNT);
+        }
+        transactionReq.setAccountId(1L);
+        transactionReq.setOperationTypeId(CREDIT_OPERATION_TYPE_ID);
+        transactionReq.setAmount(openDebits * DEBIT_AMOUNT - DEBIT_AMOUNT / 2);
+    }
+
+    @Benchmark
+    public TransactionRes dischargeBalance() {
+        return transactionService.createTransaction(transactionReq);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> repositoryType, StubMethod stubMethod) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> stubMethod.invoke(method.getName(), args));
+    }
+
+    @FunctionalInterface
+    private interface StubMethod {
+
+        Object invoke(String method, Object[] args);
+    }
+}
@@ -0,0 +1,122 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.codec.DtoCodecModule;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares databinding followed by bean validation with the dto codecs, which check the constraints while reading:
+ * reading and validating a TransactionReq, reading and validating a batch of 100 transactions one element at a time
+ * as the batch endpoint does, and writing a TransactionRes and an ErrorDetailRes.
+ * Run with: java -jar target/benchmarks.jar DtoCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoCodecBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"databind", "codec"})
+    private String codec;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectReader transactionReqReader;
+    private ObjectWriter transactionResWriter;
+    private ObjectWriter errorDetailResWriter;
+    private TransactionRes transactionRes;
+    private ErrorDetailRes errorDetailRes;
+    private byte[] transactionReqPayload;
+    private byte[] transactionBatchPayload;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder();
+        if ("codec".equals(codec)) {
+            builder.addModule(new DtoCodecModule());
+        } else {
+            validatorFactory = Validation.buildDefaultValidatorFactory();
+            validator = validatorFactory.getValidator();
+        }
+        JsonMapper jsonMapper = builder.build();
+        transactionReqReader = jsonMapper.readerFor(TransactionReq.class);
+        transactionResWriter = jsonMapper.writerFor(TransactionRes.class);
+        errorDetailResWriter = jsonMapper.writerFor(ErrorDetailRes.class);
+        transactionRes = TransactionRes.builder()
+                .transactionId(1_234_567L).accountId(98_765L).operationTypeId(4L).amount(123_456L)
+                .eventDate(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+        errorDetailRes = ErrorDetailRes.builder()
+                .errCode("BANKING_TRANSACTION_011").errMsg("The transaction request is invalid. amount must be greater than 0")
+                .build();
+        List<TransactionReq> transactionReqs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            transactionReqs.add(TransactionReq.builder().accountId(98_765L + i).operationTypeId(1L + i % 4).amount(1_050L * (i + 1)).build());
+        }
+        JsonMapper payloadMapper = JsonMapper.builder().build();
+        transactionReqPayload = payloadMapper.writeValueAsBytes(transactionReqs.getFirst());
+        transactionBatchPayload = payloadMapper.writeValueAsBytes(transactionReqs);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (validatorFactory != null) {
+            validatorFactory.close();
+        }
+    }
+
+    private TransactionReq validate(TransactionReq transactionReq) {
+        if (validator != null) {
+            Set<ConstraintViolation<TransactionReq>> violations = validator.validate(transactionReq);
+            if (!violations.isEmpty()) {
+                throw new IllegalStateException(violations.toString());
+            }
+        }
+        return transactionReq;
+    }
+
+    @Benchmark
+    public TransactionReq readTransactionReq() {
+        return validate(transactionReqReader.readValue(transactionReqPayload));
+    }
+
+    @Benchmark
+    public long readTransactionBatch() {
+        long total = 0;
+        try (var iterator = transactionReqReader.readValues(transactionBatchPayload)) {
+            while (iterator.hasNextValue()) {
+                total += validate((TransactionReq) iterator.nextValue()).getAmount();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] writeTransactionRes() {
+        return transactionResWriter.writeValueAsBytes(transactionRes);
+    }
+
+    @Benchmark
+    public byte[] writeErrorDetailRes() {
+        return errorDetailResWriter.writeValueAsBytes(errorDetailRes);
+    }
+}
@@ -0,0 +1,77 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.ledger.LedgerCommand;
+import com.banking.fintech.ledger.LedgerEngine;
+import com.banking.fintech.ledger.LedgerPosting;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the posting throughput of the in-memory ledger engine alone, without the command log and the db.
+ * Every account sees three debits and then a credit that discharges them, so the open debits stay bounded.
+ * Run with: java -jar target/benchmarks.jar LedgerEngineBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LedgerEngineBenchmark {
+
+    private static final int COMMANDS = 4096;
+
+    @Param({"1000", "100000"})
+    private int accounts;
+
+    private LedgerEngine ledgerEngine;
+    private LedgerCommand.PostTransaction[] postTransactions;
+    private long sequence;
+    private long reservedTransactionIds;
+
+    @Setup
+    public void setUp() {
+        ledgerEngine = new LedgerEngine(0);
+        for (long accountId = 1; accountId <= accounts; accountId++) {
+            ledgerEngine.apply(++sequence, new LedgerCommand.LoadAccount(accountId, 0, 0, List.of()));
+        }
+        reserveTransactionIds();
+
+        Random random = new Random(42);
+        Instant eventDate = Instant.parse("2026-01-01T00:00:00Z");
+        postTransactions = new LedgerCommand.PostTransaction[COMMANDS];
+        for (int i = 0; i < COMMANDS; i += 4) {
+            long accountId = 1 + random.nextInt(accounts);
+            long debited = 0;
+            for (int j = 0; j < 3; j++) {
+                long amount = 1 + random.nextInt(50_000);
+                debited += amount;
+                postTransactions[i + j] = new LedgerCommand.PostTransaction(accountId, 1, TransactionOperationType.DEBIT, amount, eventDate, null);
+            }
+            postTransactions[i + 3] = new LedgerCommand.PostTransaction(accountId, 4, TransactionOperationType.CREDIT, debited, eventDate, null);
+        }
+    }
+
+    private void reserveTransactionIds() {
+        ledgerEngine.apply(++sequence, new LedgerCommand.ReserveTransactionIds(reservedTransactionIds + 1, Integer.MAX_VALUE));
+        reservedTransactionIds += Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public void postTransactions(Blackhole blackhole) {
+        if (ledgerEngine.getRemainingTransactionIds() < COMMANDS) {
+            reserveTransactionIds();
+        }
+        for (LedgerCommand.PostTransaction postTransaction : postTransactions) {
+            LedgerPosting ledgerPosting = ledgerEngine.apply(++sequence, postTransaction);
+            blackhole.consume(ledgerPosting);
+        }
+    }
+}
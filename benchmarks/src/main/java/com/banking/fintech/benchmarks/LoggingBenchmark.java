@@ -0,0 +1,130 @@
+package com.banking.fintech.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the logging of one create transaction request and one create account request, with the lines the
+ * controllers, validator and services wrote before (payloads at INFO) and write now (ids at INFO, payloads at DEBUG).
+ * The appenders write to a null stream, so the numbers are the cost of the logging calls and the formatting:
+ * sync is the default console appender with caller data (%M:%L), async and sampled are the prod profile appenders,
+ * without and with one in 100 request lines. The async queue blocks when full here, so the worker thread formatting
+ * the lines is part of the measured throughput rather than dropping them.
+ * Run with: java -jar target/benchmarks.jar LoggingBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LoggingBenchmark {
+
+    private static final String CALLER_DATA_PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %highlight(%-5level) %cyan(%logger{36}.%yellow(%M:%L)) - %msg%n";
+    private static final String PROD_PATTERN = "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async", "sampled"})
+    private String appender;
+
+    private LoggerContext loggerContext;
+    private Logger controllerLogger;
+    private Logger validatorLogger;
+    private Logger serviceLogger;
+
+    private AccountReq accountReq;
+    private TransactionReq transactionReq;
+    private TransactionEntity transactionEntity;
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+        boolean sync = appender.equals("sync");
+        if (appender.equals("sampled")) {
+            for (String loggerPrefix : new String[]{"com.banking.fintech.controller", "com.banking.fintech.service", "com.banking.fintech.validator"}) {
+                SamplingTurboFilter samplingTurboFilter = new SamplingTurboFilter();
+                samplingTurboFilter.setLoggerPrefix(loggerPrefix);
+                samplingTurboFilter.setSampleRate(100);
+                samplingTurboFilter.start();
+                loggerContext.addTurboFilter(samplingTurboFilter);
+            }
+        }
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(sync ? CALLER_DATA_PATTERN : PROD_PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> nullAppender = new OutputStreamAppender<>();
+        nullAppender.setContext(loggerContext);
+        nullAppender.setEncoder(encoder);
+        nullAppender.setOutputStream(OutputStream.nullOutputStream());
+        nullAppender.start();
+
+        Appender<ILoggingEvent> rootAppender = nullAppender;
+        if (!sync) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(0);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(nullAppender);
+            asyncAppender.start();
+            rootAppender = asyncAppender;
+        }
+        Logger rootLogger = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(rootAppender);
+
+        controllerLogger = loggerContext.getLogger("com.banking.fintech.controller.TransactionControllerImpl");
+        validatorLogger = loggerContext.getLogger("com.banking.fintech.validator.AccountValidator");
+        serviceLogger = loggerContext.getLogger("com.banking.fintech.service.TransactionServiceImpl");
+
+        accountReq = AccountReq.builder().documentNumber("12345678901").build();
+        transactionReq = TransactionReq.builder().accountId(1L).operationTypeId(4L).amount(123_456L).build();
+        transactionEntity = TransactionEntity.builder()
+                .transactionId(1L)
+                .accountEntity(AccountEntity.builder().accountId(1L).documentNumber("12345678901").build())
+                .operationTypeEntity(OperationTypeEntity.builder().operationTypeId(4L).description("Credit Voucher").build())
+                .amount(123_456L).balance(123_456L).eventDate(Instant.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void payloadLines() {
+        controllerLogger.info("In createAccount with req: {}", accountReq);
+        validatorLogger.info("Validating document number for create account request with req: {}", accountReq);
+        controllerLogger.info("In createTransaction with transactionReq: {}", transactionReq);
+        serviceLogger.info("In createTransaction with transactionReq: {}", transactionReq);
+        serviceLogger.info("Saved transaction entity successfully to the db with entity: {}", transactionEntity);
+    }
+
+    @Benchmark
+    public void idLines() {
+        controllerLogger.debug("In createAccount with req: {}", accountReq);
+        validatorLogger.debug("Validating document number for create account request with req: {}", accountReq);
+        controllerLogger.debug("In createTransaction with transactionReq: {}", transactionReq);
+        serviceLogger.debug("In createTransaction with transactionReq: {}", transactionReq);
+        serviceLogger.info("Saved transaction entity successfully to the db with transactionId: {}", transactionEntity.getTransactionId());
+    }
+}
@@ -0,0 +1,243 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.TransactionEntity;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares money held as boxed Double major units, as the ledger did before, with primitive long minor units.
+ * The discharge benchmarks run the discharge loop of a credit over the open debits of an account, the json
+ * benchmarks read a transaction request and write a transaction response.
+ * Run with: java -jar target/benchmarks.jar MoneyBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final String TRANSACTION_REQ_JSON = "{\"account_id\":1,\"operation_type_id\":4,\"amount\":1234.56}";
+
+    @Param({"16", "256"})
+    private int openDebits;
+
+    private List<DoubleDebit> doubleDebits;
+    private List<TransactionEntity> minorUnitsDebits;
+    private double doubleCredit;
+    private long minorUnitsCredit;
+
+    private ObjectReader doubleTransactionReqReader;
+    private ObjectReader minorUnitsTransactionReqReader;
+    private ObjectWriter doubleTransactionResWriter;
+    private ObjectWriter minorUnitsTransactionResWriter;
+    private DoubleTransactionRes doubleTransactionRes;
+    private TransactionRes minorUnitsTransactionRes;
+
+    @Setup
+    public void setUp() {
+        doubleDebits = new ArrayList<>(openDebits);
+        minorUnitsDebits = new ArrayList<>(openDebits);
+        for (int i = 0; i < openDebits; i++) {
+            doubleDebits.add(new DoubleDebit());
+            minorUnitsDebits.add(TransactionEntity.builder().transactionId((long) i).build());
+        }
+        // the credit covers all but the last open debit, which is discharged in part
+        doubleCredit = (openDebits - 0.5) * 12.34;
+        minorUnitsCredit = Math.round(doubleCredit * 100);
+
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        doubleTransactionReqReader = jsonMapper.readerFor(DoubleTransactionReq.class);
+        minorUnitsTransactionReqReader = jsonMapper.readerFor(TransactionReq.class);
+        doubleTransactionResWriter = jsonMapper.writerFor(DoubleTransactionRes.class);
+        minorUnitsTransactionResWriter = jsonMapper.writerFor(TransactionRes.class);
+        Instant eventDate = Instant.parse("2026-01-01T00:00:00Z");
+        doubleTransactionRes = new DoubleTransactionRes(1L, 1L, 4L, 1234.56, eventDate);
+        minorUnitsTransactionRes = TransactionRes.builder()
+                .transactionId(1L).accountId(1L).operationTypeId(4L).amount(123_456L).eventDate(eventDate)
+                .build();
+    }
+
+    @Benchmark
+    public Double dischargeDouble() {
+        for (DoubleDebit doubleDebit : doubleDebits) {
+            doubleDebit.balance = -12.34;
+        }
+
+        // the discharge loop as it was with Double balances
+        Double balance = doubleCredit;
+        for (DoubleDebit doubleDebit : doubleDebits) {
+            if (balance > 0) {
+                if (balance > -1 * doubleDebit.balance) {
+                    balance = balance + doubleDebit.balance;
+                    doubleDebit.balance = 0.0;
+                } else {
+                    doubleDebit.balance = doubleDebit.balance + balance;
+                    balance = 0.0;
+                }
+            } else {
+                break;
+            }
+        }
+
+        return balance;
+    }
+
+    @Benchmark
+    public long dischargeMinorUnits() {
+        for (TransactionEntity minorUnitsDebit : minorUnitsDebits) {
+            minorUnitsDebit.setBalance(-1234);
+        }
+
+        // the discharge loop of TransactionServiceImpl with long minor units
+        long balance = minorUnitsCredit;
+        for (TransactionEntity minorUnitsDebit : minorUnitsDebits) {
+            if (balance > 0) {
+                if (balance > -minorUnitsDebit.getBalance()) {
+                    balance = balance + minorUnitsDebit.getBalance();
+                    minorUnitsDebit.setBalance(0);
+                } else {
+                    minorUnitsDebit.setBalance(minorUnitsDebit.getBalance() + balance);
+                    balance = 0;
+                }
+            } else {
+                break;
+            }
+        }
+
+        return balance;
+    }
+
+    @Benchmark
+    public Object readDoubleAmount() {
+        return doubleTransactionReqReader.readValue(TRANSACTION_REQ_JSON);
+    }
+
+    @Benchmark
+    public Object readMinorUnitsAmount() {
+        return minorUnitsTransactionReqReader.readValue(TRANSACTION_REQ_JSON);
+    }
+
+    @Benchmark
+    public String writeDoubleAmount() {
+        return doubleTransactionResWriter.writeValueAsString(doubleTransactionRes);
+    }
+
+    @Benchmark
+    public String writeMinorUnitsAmount() {
+        return minorUnitsTransactionResWriter.writeValueAsString(minorUnitsTransactionRes);
+    }
+
+    static class DoubleDebit {
+
+        Double balance;
+    }
+
+    /**
+     * TransactionReq as it was, with the same shape so jackson binds both the same way.
+     */
+    public static class DoubleTransactionReq {
+
+        @JsonProperty("account_id")
+        private Long accountId;
+
+        @JsonProperty("operation_type_id")
+        private Long operationTypeId;
+
+        @JsonProperty("amount")
+        private Double amount;
+
+        public DoubleTransactionReq() {
+        }
+
+        public DoubleTransactionReq(Long accountId, Long operationTypeId, Double amount) {
+            this.accountId = accountId;
+            this.operationTypeId = operationTypeId;
+            this.amount = amount;
+        }
+
+        public Long getAccountId() {
+            return accountId;
+        }
+
+        public void setAccountId(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        public Long getOperationTypeId() {
+            return operationTypeId;
+        }
+
+        public void setOperationTypeId(Long operationTypeId) {
+            this.operationTypeId = operationTypeId;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Double amount) {
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * TransactionRes as it was, with the same shape so jackson binds both the same way.
+     */
+    public static class DoubleTransactionRes {
+
+        @JsonProperty("transaction_id")
+        private final Long transactionId;
+
+        @JsonProperty("account_id")
+        private final Long accountId;
+
+        @JsonProperty("operation_type_id")
+        private final Long operationTypeId;
+
+        @JsonProperty("amount")
+        private final Double amount;
+
+        @JsonProperty("event_date")
+        private final Instant eventDate;
+
+        public DoubleTransactionRes(Long transactionId, Long accountId, Long operationTypeId, Double amount, Instant eventDate) {
+            this.transactionId = transactionId;
+            this.accountId = accountId;
+            this.operationTypeId = operationTypeId;
+            this.amount = amount;
+            this.eventDate = eventDate;
+        }
+
+        public Long getTransactionId() {
+            return transactionId;
+        }
+
+        public Long getAccountId() {
+            return accountId;
+        }
+
+        public Long getOperationTypeId() {
+            return operationTypeId;
+        }
+
+        public Double getAmount() {
+            return amount;
+        }
+
+        public Instant getEventDate() {
+            return eventDate;
+        }
+    }
+}
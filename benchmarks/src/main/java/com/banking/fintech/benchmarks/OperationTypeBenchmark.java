@@ -0,0 +1,48 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.entity.TransactionOperationTypeConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving an operation type from its db value, as the lower case value stored by the converter and as an
+ * upper case value that takes the case folding path, and the converter in both directions.
+ * Run with: java -jar target/benchmarks.jar OperationTypeBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OperationTypeBenchmark {
+
+    private final TransactionOperationTypeConverter converter = new TransactionOperationTypeConverter();
+
+    // non final fields, so the lookups are not folded into constants
+    private String storedValue = "credit";
+    private String upperCaseValue = "DEBIT";
+    private TransactionOperationType operationType = TransactionOperationType.DEBIT;
+
+    @Benchmark
+    public TransactionOperationType getTransactionOperationType() {
+        return TransactionOperationType.getTransactionOperationType(storedValue);
+    }
+
+    @Benchmark
+    public TransactionOperationType getTransactionOperationTypeUpperCase() {
+        return TransactionOperationType.getTransactionOperationType(upperCaseValue);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(operationType);
+    }
+
+    @Benchmark
+    public TransactionOperationType convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(storedValue);
+    }
+}
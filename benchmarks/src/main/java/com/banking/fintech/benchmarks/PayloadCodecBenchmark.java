@@ -0,0 +1,80 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the json and cbor encodings of the transactions api, as the message converters run them per request:
+ * reading a TransactionReq, writing a TransactionRes, and reading a batch of 100 transactions. The payload sizes of
+ * each encoding are printed once per fork.
+ * Run with: java -jar target/benchmarks.jar PayloadCodecBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadCodecBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectReader transactionReqReader;
+    private ObjectReader transactionBatchReader;
+    private ObjectWriter transactionResWriter;
+    private TransactionRes transactionRes;
+    private byte[] transactionReqPayload;
+    private byte[] transactionBatchPayload;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = "cbor".equals(format) ? CBORMapper.builder().build() : JsonMapper.builder().build();
+        transactionReqReader = objectMapper.readerFor(TransactionReq.class);
+        transactionBatchReader = objectMapper.readerFor(new TypeReference<List<TransactionReq>>() {
+        });
+        transactionResWriter = objectMapper.writerFor(TransactionRes.class);
+        transactionRes = TransactionRes.builder()
+                .transactionId(1_234_567L).accountId(98_765L).operationTypeId(4L).amount(123_456L)
+                .eventDate(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+        List<TransactionReq> transactionReqs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            transactionReqs.add(TransactionReq.builder().accountId(98_765L + i).operationTypeId(1L + i % 4).amount(1_050L * (i + 1)).build());
+        }
+        transactionReqPayload = objectMapper.writeValueAsBytes(transactionReqs.getFirst());
+        transactionBatchPayload = objectMapper.writeValueAsBytes(transactionReqs);
+        System.out.printf("%n%s payload bytes: TransactionReq %d, TransactionRes %d, batch of %d TransactionReq %d%n", format,
+                transactionReqPayload.length, transactionResWriter.writeValueAsBytes(transactionRes).length, BATCH_SIZE,
+                transactionBatchPayload.length);
+    }
+
+    @Benchmark
+    public TransactionReq readTransactionReq() {
+        return transactionReqReader.readValue(transactionReqPayload);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionRes() {
+        return transactionResWriter.writeValueAsBytes(transactionRes);
+    }
+
+    @Benchmark
+    public List<TransactionReq> readTransactionBatch() {
+        return transactionBatchReader.readValue(transactionBatchPayload);
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionRes;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing the transaction and account responses to json bytes, as the message converter does per request.
+ * Run with: java -jar target/benchmarks.jar ResponseJsonBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseJsonBenchmark {
+
+    private ObjectWriter transactionResWriter;
+    private ObjectWriter accountResWriter;
+    private TransactionRes transactionRes;
+    private AccountRes accountRes;
+
+    @Setup
+    public void setUp() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        transactionResWriter = jsonMapper.writerFor(TransactionRes.class);
+        accountResWriter = jsonMapper.writerFor(AccountRes.class);
+        transactionRes = TransactionRes.builder()
+                .transactionId(1L).accountId(1L).operationTypeId(4L).amount(123_456L).eventDate(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+        accountRes = AccountRes.builder().accountId(1L).documentNumber("12345678901").build();
+    }
+
+    @Benchmark
+    public byte[] writeTransactionRes() {
+        return transactionResWriter.writeValueAsBytes(transactionRes);
+    }
+
+    @Benchmark
+    public byte[] writeAccountRes() {
+        return accountResWriter.writeValueAsBytes(accountRes);
+    }
+}
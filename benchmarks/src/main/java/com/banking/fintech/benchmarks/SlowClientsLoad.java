@@ -0,0 +1,130 @@
+package com.banking.fintech.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow client load against a running service, for comparing the memory a held connection costs on the servlet stack,
+ * with platform or virtual request threads, and on the reactive stack. Every client sends the headers and the opening
+ * bracket of a POST /transactions/batch and then holds its connection, as a client on a slow network would. Once all
+ * clients are connected, the resident memory and thread count of the service are read from /proc and the latency of a
+ * fast request is probed, then every client sends the rest of its batch and reads the answer.
+ * Start the service on the same host, then run with:
+ * java -cp target/benchmarks.jar com.banking.fintech.benchmarks.SlowClientsLoad http://localhost:8080 5000 servicePid [holdSeconds]
+ * The client and the service each hold one file descriptor per client, so raise ulimit -n accordingly.
+ */
+public class SlowClientsLoad {
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        long servicePid = Long.parseLong(args[2]);
+        Duration hold = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(60))
+                .build();
+        String sessionCookie = ConcurrentClientsLoad.login(httpClient, baseUri.toString());
+        Long accountId = ConcurrentClientsLoad.createAccounts(httpClient, baseUri.toString(), sessionCookie).getFirst();
+        Map<String, Long> idleStatus = readStatus(servicePid);
+        long idleProbeMillis = probeMillis(httpClient, baseUri, sessionCookie, accountId);
+
+        List<Socket> sockets = new ArrayList<>(clients);
+        for (int client = 0; client < clients; client++) {
+            Socket socket = new Socket(baseUri.getHost(), baseUri.getPort());
+            socket.setSoTimeout((int) Duration.ofMinutes(5).toMillis());
+            socket.getOutputStream().write(("POST /transactions/batch HTTP/1.1\r\n"
+                    + "Host: " + baseUri.getHost() + "\r\n"
+                    + "Cookie: " + sessionCookie + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Transfer-Encoding: chunked\r\n"
+                    + "Connection: close\r\n\r\n"
+                    + chunk("[")).getBytes(StandardCharsets.US_ASCII));
+            sockets.add(socket);
+        }
+        Thread.sleep(hold);
+        Map<String, Long> holdingStatus = readStatus(servicePid);
+        long holdingProbeMillis = probeMillis(httpClient, baseUri, sessionCookie, accountId);
+
+        long finishStartNanos = System.nanoTime();
+        String rest = chunk("{\"account_id\":" + accountId + ",\"operation_type_id\":4,\"amount\":1.00}]") + "0\r\n\r\n";
+        for (Socket socket : sockets) {
+            socket.getOutputStream().write(rest.getBytes(StandardCharsets.US_ASCII));
+        }
+        Map<String, Integer> responsesByStatus = new TreeMap<>();
+        for (Socket socket : sockets) {
+            responsesByStatus.merge(readStatusLine(socket), 1, Integer::sum);
+            socket.close();
+        }
+        long finishMillis = (System.nanoTime() - finishStartNanos) / 1_000_000;
+
+        long rssDeltaKb = holdingStatus.get("VmRSS") - idleStatus.get("VmRSS");
+        System.out.printf("%d slow clients: rss %d -> %d MB (%d KB per client), threads %d -> %d, fast request %d -> %d ms, "
+                        + "batches answered in %d ms, responses by status: %s%n",
+                clients, idleStatus.get("VmRSS") / 1024, holdingStatus.get("VmRSS") / 1024, rssDeltaKb / clients,
+                idleStatus.get("Threads"), holdingStatus.get("Threads"), idleProbeMillis, holdingProbeMillis, finishMillis,
+                responsesByStatus);
+    }
+
+    private static String chunk(String data) {
+        return Integer.toHexString(data.length()) + "\r\n" + data + "\r\n";
+    }
+
+    /**
+     * Latency of a balance read while the slow clients hold their connections, or -1 when it is not answered in 30s.
+     */
+    private static long probeMillis(HttpClient httpClient, URI baseUri, String sessionCookie, Long accountId) {
+        long startNanos = System.nanoTime();
+        try {
+            httpClient.sendAsync(ConcurrentClientsLoad.getBalance(baseUri.toString(), sessionCookie, accountId),
+                    HttpResponse.BodyHandlers.discarding()).get(30, TimeUnit.SECONDS);
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static String readStatusLine(Socket socket) {
+        try {
+            InputStream inputStream = socket.getInputStream();
+            StringBuilder statusLine = new StringBuilder();
+            int read;
+            while ((read = inputStream.read()) != -1 && read != '\r') {
+                statusLine.append((char) read);
+            }
+            String[] parts = statusLine.toString().split(" ");
+            return parts.length > 1 ? parts[1] : "none";
+        } catch (IOException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * VmRSS in KB and Threads of the service process.
+     */
+    private static Map<String, Long> readStatus(long pid) throws IOException {
+        Map<String, Long> status = new TreeMap<>();
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+            String[] parts = line.split(":\\s+");
+            if (parts[0].equals("VmRSS") || parts[0].equals("Threads")) {
+                status.put(parts[0], Long.parseLong(parts[1].split(" ")[0]));
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,104 @@
+package com.banking.fintech.benchmarks;
+
+import com.banking.fintech.terminal.TerminalFrames;
+
+import java.io.EOFException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open connection load against the terminal listener of a running service, the counterpart of
+ * {@link ConcurrentClientsLoad} for the binary protocol: every client is a virtual thread with its own persistent
+ * connection that answers the challenge of the listener, then pipelines its credits on random accounts, each with its
+ * own idempotency key, in one write and reads the responses in whatever order they come, matched by correlation id.
+ * The accounts are created over http first.
+ * Start the service with banking.terminal.enabled=true and banking.terminal.shared-secret set, then run with:
+ * java -cp target/benchmarks.jar com.banking.fintech.benchmarks.TerminalClientsLoad http://localhost:8080 localhost:9300 <sharedSecret> 10000 [requestsPerClient]
+ * The client and the service each hold one file descriptor per client, so raise ulimit -n accordingly.
+ */
+public class TerminalClientsLoad {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String[] terminalAddress = (args.length > 1 ? args[1] : "localhost:9300").split(":");
+        byte[] sharedSecret = args[2].getBytes(StandardCharsets.UTF_8);
+        int clients = args.length > 3 ? Integer.parseInt(args[3]) : 1_000;
+        int requestsPerClient = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        InetSocketAddress address = new InetSocketAddress(terminalAddress[0], Integer.parseInt(terminalAddress[1]));
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(60)).build();
+        List<Long> accountIds = ConcurrentClientsLoad.createAccounts(httpClient, baseUrl, ConcurrentClientsLoad.login(httpClient, baseUrl));
+
+        Map<Integer, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+        LongAdder failedClients = new LongAdder();
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>(clients * requestsPerClient));
+        long startNanos = System.nanoTime();
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                clientExecutor.submit(() -> {
+                    try (SocketChannel channel = SocketChannel.open(address)) {
+                        ByteBuffer challengeFrame = ByteBuffer.allocate(TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.CHALLENGE_LENGTH);
+                        while (challengeFrame.hasRemaining()) {
+                            if (channel.read(challengeFrame) < 0) {
+                                throw new EOFException("Terminal connection closed before the challenge");
+                            }
+                        }
+                        ByteBuffer requests = ByteBuffer.allocate(TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.PROOF_LENGTH
+                                + requestsPerClient * TerminalFrames.REQUEST_FRAME_SIZE);
+                        TerminalFrames.writeProof(requests, sharedSecret, TerminalFrames.readChallenge(challengeFrame.flip()));
+                        for (int i = 0; i < requestsPerClient; i++) {
+                            Long accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+                            TerminalFrames.writeRequest(requests, new TerminalFrames.Request(i, UUID.randomUUID(), accountId, 4L, 100L));
+                        }
+                        long requestStartNanos = System.nanoTime();
+                        for (requests.flip(); requests.hasRemaining(); ) {
+                            channel.write(requests);
+                        }
+
+                        ByteBuffer responses = ByteBuffer.allocate(requestsPerClient * TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+                        int answered = 0;
+                        while (answered < requestsPerClient && channel.read(responses) >= 0) {
+                            responses.flip();
+                            while (TerminalFrames.responseFrameSize(responses) > 0) {
+                                int status = TerminalFrames.readResponse(responses).status();
+                                responsesByStatus.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+                                latenciesNanos.add(System.nanoTime() - requestStartNanos);
+                                answered++;
+                            }
+                            responses.compact();
+                        }
+                        if (answered < requestsPerClient) {
+                            failedClients.increment();
+                        }
+                    } catch (Exception e) {
+                        failedClients.increment();
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        List<Long> sortedLatencies = latenciesNanos.stream().sorted().toList();
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        responsesByStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        System.out.printf("%d clients: %d requests in %d ms, %d req/s, p50: %.1f ms, p99: %.1f ms, max: %.1f ms, responses by status: %s, failed clients: %d%n",
+                clients, sortedLatencies.size(), elapsedNanos / 1_000_000, sortedLatencies.size() * 1_000_000_000L / elapsedNanos,
+                ConcurrentClientsLoad.percentileMillis(sortedLatencies, 0.50), ConcurrentClientsLoad.percentileMillis(sortedLatencies, 0.99),
+                ConcurrentClientsLoad.percentileMillis(sortedLatencies, 1.0), statusCounts, failedClients.sum());
+    }
+}
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @OpenAPIDefinition(info = @Info(
         title = "Banking Service",
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
         description = "APIs for banking service in a spring mvc application"
 ))
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class BankingServiceApplication {
 
     public static void main(String[] args) {
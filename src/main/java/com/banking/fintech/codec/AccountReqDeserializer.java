@@ -0,0 +1,38 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.exception.AccountServiceException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Reads an AccountReq straight from the token stream and checks the @NotBlank constraint of its document number in
+ * the same pass, see {@link TransactionReqDeserializer}, rejecting a request without one by an AccountServiceException
+ * of INVALID_ACCOUNT_REQUEST. The digits of the document number are still checked by the account validator.
+ */
+public class AccountReqDeserializer extends ValueDeserializer<AccountReq> {
+
+    @Override
+    public AccountReq deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws JacksonException {
+        String documentNumber = null;
+        JsonToken token = DtoCodecs.firstProperty(jsonParser, deserializationContext, AccountReq.class);
+        for (; token == JsonToken.PROPERTY_NAME; token = jsonParser.nextToken()) {
+            String name = jsonParser.currentName();
+            jsonParser.nextToken();
+            if ("document_number".equals(name)) {
+                documentNumber = DtoCodecs.readString(jsonParser, deserializationContext);
+            } else {
+                jsonParser.skipChildren();
+            }
+        }
+
+        if (documentNumber == null || documentNumber.isBlank()) {
+            throw new AccountServiceException(ErrorInfo.INVALID_ACCOUNT_REQUEST, "document_number is required");
+        }
+        return new AccountReq(documentNumber);
+    }
+}
@@ -0,0 +1,33 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.dto.AccountRes;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes an AccountRes straight to the generator, see {@link TransactionResSerializer}.
+ */
+public class AccountResSerializer extends ValueSerializer<AccountRes> {
+
+    private static final SerializableString ACCOUNT_ID = new SerializedString("account_id");
+    private static final SerializableString DOCUMENT_NUMBER = new SerializedString("document_number");
+    private static final SerializableString BALANCE = new SerializedString("balance");
+    private static final SerializableString OUTSTANDING_DEBT = new SerializedString("outstanding_debt");
+
+    @Override
+    public void serialize(AccountRes accountRes, JsonGenerator jsonGenerator, SerializationContext serializationContext)
+            throws JacksonException {
+        jsonGenerator.writeStartObject(accountRes);
+        DtoCodecs.writeLong(jsonGenerator, ACCOUNT_ID, accountRes.getAccountId());
+        DtoCodecs.writeString(jsonGenerator, DOCUMENT_NUMBER, accountRes.getDocumentNumber());
+        jsonGenerator.writeName(BALANCE);
+        MinorUnitsSerializer.writeMinorUnits(accountRes.getBalance(), jsonGenerator);
+        jsonGenerator.writeName(OUTSTANDING_DEBT);
+        MinorUnitsSerializer.writeMinorUnits(accountRes.getOutstandingDebt(), jsonGenerator);
+        jsonGenerator.writeEndObject();
+    }
+}
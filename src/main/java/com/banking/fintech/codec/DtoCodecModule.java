@@ -0,0 +1,25 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import tools.jackson.databind.module.SimpleModule;
+
+/**
+ * Reads and writes the dtos of the transactions and accounts endpoints with their hand written codecs instead of
+ * databinding, in json and cbor alike. The requests are checked against the constraints of their annotations while
+ * they are read, so the endpoints taking them no longer run bean validation on them.
+ */
+public final class DtoCodecModule extends SimpleModule {
+
+    public DtoCodecModule() {
+        super(DtoCodecModule.class.getSimpleName());
+        addDeserializer(TransactionReq.class, new TransactionReqDeserializer());
+        addDeserializer(AccountReq.class, new AccountReqDeserializer());
+        addSerializer(TransactionRes.class, new TransactionResSerializer());
+        addSerializer(AccountRes.class, new AccountResSerializer());
+        addSerializer(ErrorDetailRes.class, new ErrorDetailResSerializer());
+    }
+}
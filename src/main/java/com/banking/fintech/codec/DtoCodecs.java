@@ -0,0 +1,90 @@
+package com.banking.fintech.codec;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.SerializableString;
+import tools.jackson.databind.DeserializationContext;
+
+/**
+ * Helpers shared by the dto codecs, reading and writing single properties of the token stream.
+ */
+final class DtoCodecs {
+
+    private DtoCodecs() {
+    }
+
+    /**
+     * Returns the token of the first property of the object the parser is at, or END_OBJECT for an empty one. The
+     * parser is either at the start of the object or, when the caller already read it, at its first property.
+     */
+    static JsonToken firstProperty(JsonParser jsonParser, DeserializationContext deserializationContext, Class<?> type)
+            throws JacksonException {
+        JsonToken token = jsonParser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return jsonParser.nextToken();
+        }
+        if (token == JsonToken.PROPERTY_NAME || token == JsonToken.END_OBJECT) {
+            return token;
+        }
+        return (JsonToken) deserializationContext.handleUnexpectedToken(type, jsonParser);
+    }
+
+    /**
+     * Reads an integer value, taking the coercions of databinding, such as a number in a string, off the fast path.
+     */
+    static Long readLong(JsonParser jsonParser, DeserializationContext deserializationContext) throws JacksonException {
+        return switch (jsonParser.currentToken()) {
+            case VALUE_NUMBER_INT -> jsonParser.getLongValue();
+            case VALUE_NULL -> null;
+            default -> deserializationContext.readValue(jsonParser, Long.class);
+        };
+    }
+
+    static String readString(JsonParser jsonParser, DeserializationContext deserializationContext) throws JacksonException {
+        return switch (jsonParser.currentToken()) {
+            case VALUE_STRING -> jsonParser.getString();
+            case VALUE_NULL -> null;
+            default -> deserializationContext.readValue(jsonParser, String.class);
+        };
+    }
+
+    /**
+     * Returns the message of the @NotNull or @Positive constraint the value breaks, the one of the dto annotation.
+     */
+    static String positiveViolation(String name, Long value) {
+        if (value == null) {
+            return name + " is required";
+        }
+        return value <= 0 ? name + " must be greater than 0" : null;
+    }
+
+    /**
+     * Appends a constraint violation message, so the happy path builds no string at all.
+     */
+    static String joinViolations(String violations, String violation) {
+        if (violations == null) {
+            return violation;
+        }
+        return violation == null ? violations : violations + ", " + violation;
+    }
+
+    static void writeLong(JsonGenerator jsonGenerator, SerializableString name, Long value) throws JacksonException {
+        jsonGenerator.writeName(name);
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeNumber(value);
+        }
+    }
+
+    static void writeString(JsonGenerator jsonGenerator, SerializableString name, String value) throws JacksonException {
+        jsonGenerator.writeName(name);
+        if (value == null) {
+            jsonGenerator.writeNull();
+        } else {
+            jsonGenerator.writeString(value);
+        }
+    }
+}
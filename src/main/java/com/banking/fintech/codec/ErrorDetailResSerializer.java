@@ -0,0 +1,27 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.dto.ErrorDetailRes;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes an ErrorDetailRes straight to the generator, see {@link TransactionResSerializer}.
+ */
+public class ErrorDetailResSerializer extends ValueSerializer<ErrorDetailRes> {
+
+    private static final SerializableString ERROR_MESSAGE = new SerializedString("error_message");
+    private static final SerializableString ERROR_CODE = new SerializedString("error_code");
+
+    @Override
+    public void serialize(ErrorDetailRes errorDetailRes, JsonGenerator jsonGenerator, SerializationContext serializationContext)
+            throws JacksonException {
+        jsonGenerator.writeStartObject(errorDetailRes);
+        DtoCodecs.writeString(jsonGenerator, ERROR_MESSAGE, errorDetailRes.getErrMsg());
+        DtoCodecs.writeString(jsonGenerator, ERROR_CODE, errorDetailRes.getErrCode());
+        jsonGenerator.writeEndObject();
+    }
+}
@@ -0,0 +1,21 @@
+package com.banking.fintech.codec;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import tools.jackson.databind.annotation.JsonDeserialize;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a long field holding an amount in minor units, which is a decimal number in major units in json.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@JacksonAnnotationsInside
+@JsonSerialize(using = MinorUnitsSerializer.class)
+@JsonDeserialize(using = MinorUnitsDeserializer.class)
+public @interface JsonMinorUnits {
+}
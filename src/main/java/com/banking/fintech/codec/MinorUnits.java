@@ -0,0 +1,116 @@
+package com.banking.fintech.codec;
+
+import java.math.BigDecimal;
+
+/**
+ * Money amounts are held as a primitive long of minor units (cents), so 123.45 is 12345.
+ * These helpers convert between minor units and the decimal text used in the api, without going through floating point.
+ */
+public final class MinorUnits {
+
+    /**
+     * Number of decimal places of an amount in major units.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Number of minor units in one major unit, 10 to the power of {@link #SCALE}.
+     */
+    public static final long PER_MAJOR_UNIT = 100L;
+
+    /**
+     * Maximum number of chars of a formatted amount: sign, 19 digits of a long and the decimal point.
+     */
+    public static final int MAX_FORMATTED_LENGTH = 21;
+
+    private MinorUnits() {
+    }
+
+    /**
+     * Parses a plain decimal number, like -123.4, into minor units.
+     *
+     * @throws ArithmeticException if the number has more than {@link #SCALE} non zero decimal places, does not fit in a long
+     *                             or is not a plain decimal number
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int pos = offset;
+        boolean negative = pos < end && chars[pos] == '-';
+        if (negative || pos < end && chars[pos] == '+') {
+            pos++;
+        }
+        if (pos == end) {
+            throw new ArithmeticException("amount has no digits");
+        }
+
+        // accumulated as a negative number, so Long.MIN_VALUE minor units parse without overflow
+        long minorUnits = 0;
+        int scale = -1;
+        for (; pos < end; pos++) {
+            char c = chars[pos];
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new ArithmeticException("amount is not a plain decimal number");
+            }
+            if (scale >= SCALE) {
+                if (c != '0') {
+                    throw new ArithmeticException("amount has more than " + SCALE + " decimal places");
+                }
+                continue;
+            }
+            minorUnits = Math.subtractExact(Math.multiplyExact(minorUnits, 10L), c - '0');
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        for (int i = Math.max(scale, 0); i < SCALE; i++) {
+            minorUnits = Math.multiplyExact(minorUnits, 10L);
+        }
+
+        return negative ? minorUnits : Math.negateExact(minorUnits);
+    }
+
+    /**
+     * Converts a decimal number in major units, like one with an exponent, into minor units.
+     *
+     * @throws ArithmeticException if the number has more than {@link #SCALE} non zero decimal places or does not fit in a long
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Formats minor units as a decimal number with {@link #SCALE} decimal places, like -0.05, right aligned into the buffer.
+     *
+     * @param buffer at least {@link #MAX_FORMATTED_LENGTH} chars
+     * @return the offset in the buffer where the formatted amount starts, it ends at the end of the buffer
+     */
+    public static int format(long minorUnits, char[] buffer) {
+        int pos = buffer.length;
+        // formatted from a negative number, so Long.MIN_VALUE does not overflow
+        long rest = minorUnits < 0 ? minorUnits : -minorUnits;
+        for (int i = 0; i < SCALE; i++) {
+            buffer[--pos] = (char) ('0' - rest % 10);
+            rest /= 10;
+        }
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (minorUnits < 0) {
+            buffer[--pos] = '-';
+        }
+
+        return pos;
+    }
+
+    public static String toString(long minorUnits) {
+        char[] buffer = new char[MAX_FORMATTED_LENGTH];
+        int offset = format(minorUnits, buffer);
+        return new String(buffer, offset, buffer.length - offset);
+    }
+}
@@ -0,0 +1,48 @@
+package com.banking.fintech.codec;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.StreamReadCapability;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.exc.InvalidFormatException;
+
+/**
+ * Reads a json number in major units as an amount in minor units, 123.45 is read as 12345.
+ * The number is parsed from its text, so it never goes through a double, and more than
+ * {@link MinorUnits#SCALE} decimal places are rejected instead of rounded. An exact decimal of a binary format such
+ * as cbor is taken as it is read, without going back to text.
+ */
+public class MinorUnitsDeserializer extends ValueDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws JacksonException {
+        JsonToken token = jsonParser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            return (Long) deserializationContext.handleUnexpectedToken(Long.class, jsonParser);
+        }
+
+        try {
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return Math.multiplyExact(jsonParser.getLongValue(), MinorUnits.PER_MAJOR_UNIT);
+            }
+            if (jsonParser.streamReadCapabilities().isEnabled(StreamReadCapability.EXACT_FLOATS)
+                    && jsonParser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                return MinorUnits.fromDecimal(jsonParser.getDecimalValue());
+            }
+            char[] chars = jsonParser.getStringCharacters();
+            int offset = jsonParser.getStringOffset();
+            int length = jsonParser.getStringLength();
+            for (int i = offset; i < offset + length; i++) {
+                if (chars[i] == 'e' || chars[i] == 'E') {
+                    return MinorUnits.fromDecimal(jsonParser.getDecimalValue());
+                }
+            }
+            return MinorUnits.parse(chars, offset, length);
+        } catch (ArithmeticException | JacksonException e) {
+            throw InvalidFormatException.from(jsonParser,
+                    "amount must be a number with at most " + MinorUnits.SCALE + " decimal places", jsonParser.getString(), Long.class);
+        }
+    }
+}
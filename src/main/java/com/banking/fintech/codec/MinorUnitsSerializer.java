@@ -0,0 +1,35 @@
+package com.banking.fintech.codec;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteCapability;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+import java.math.BigDecimal;
+
+/**
+ * Writes an amount in minor units as a json number in major units, 12345 is written as 123.45.
+ * Binary formats such as cbor have no number text, there it is written as an exact decimal.
+ */
+public class MinorUnitsSerializer extends ValueSerializer<Long> {
+
+    @Override
+    public void serialize(Long minorUnits, JsonGenerator jsonGenerator, SerializationContext serializationContext) throws JacksonException {
+        writeMinorUnits(minorUnits, jsonGenerator);
+    }
+
+    /**
+     * Writes the amount as the serializer does, for the codecs writing a whole dto.
+     */
+    public static void writeMinorUnits(long minorUnits, JsonGenerator jsonGenerator) throws JacksonException {
+        if (!jsonGenerator.has(StreamWriteCapability.CAN_WRITE_FORMATTED_NUMBERS)) {
+            jsonGenerator.writeNumber(BigDecimal.valueOf(minorUnits, MinorUnits.SCALE));
+            return;
+        }
+
+        char[] buffer = new char[MinorUnits.MAX_FORMATTED_LENGTH];
+        int offset = MinorUnits.format(minorUnits, buffer);
+        jsonGenerator.writeNumber(buffer, offset, buffer.length - offset);
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.exception.TransactionServiceException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Reads a TransactionReq straight from the token stream and checks the @NotNull and @Positive constraints of its
+ * fields in the same pass, without databinding introspection nor bean validation. Unknown properties are skipped.
+ * A request breaking a constraint is rejected once its whole object is read, so a batch goes on with the next element,
+ * by a TransactionServiceException of INVALID_TRANSACTION_REQUEST with the messages of the broken constraints, in the
+ * sorted order bean validation reported them in.
+ */
+public class TransactionReqDeserializer extends ValueDeserializer<TransactionReq> {
+
+    private static final MinorUnitsDeserializer MINOR_UNITS_DESERIALIZER = new MinorUnitsDeserializer();
+
+    @Override
+    public TransactionReq deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws JacksonException {
+        Long accountId = null;
+        Long operationTypeId = null;
+        Long amount = null;
+        JsonToken token = DtoCodecs.firstProperty(jsonParser, deserializationContext, TransactionReq.class);
+        for (; token == JsonToken.PROPERTY_NAME; token = jsonParser.nextToken()) {
+            String name = jsonParser.currentName();
+            JsonToken valueToken = jsonParser.nextToken();
+            switch (name) {
+                case "account_id" -> accountId = DtoCodecs.readLong(jsonParser, deserializationContext);
+                case "operation_type_id" -> operationTypeId = DtoCodecs.readLong(jsonParser, deserializationContext);
+                case "amount" -> amount = valueToken == JsonToken.VALUE_NULL
+                        ? null
+                        : MINOR_UNITS_DESERIALIZER.deserialize(jsonParser, deserializationContext);
+                default -> jsonParser.skipChildren();
+            }
+        }
+
+        String violations = DtoCodecs.joinViolations(DtoCodecs.joinViolations(
+                        DtoCodecs.positiveViolation("account_id", accountId),
+                        DtoCodecs.positiveViolation("amount", amount)),
+                DtoCodecs.positiveViolation("operation_type_id", operationTypeId));
+        if (violations != null) {
+            throw new TransactionServiceException(ErrorInfo.INVALID_TRANSACTION_REQUEST, violations);
+        }
+        return new TransactionReq(accountId, operationTypeId, amount);
+    }
+}
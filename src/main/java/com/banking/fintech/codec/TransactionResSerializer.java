@@ -0,0 +1,36 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.dto.TransactionRes;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a TransactionRes straight to the generator, with pre-encoded property names, in the order and format
+ * databinding wrote it: the amount in major units and the event date as an ISO-8601 instant.
+ */
+public class TransactionResSerializer extends ValueSerializer<TransactionRes> {
+
+    private static final SerializableString TRANSACTION_ID = new SerializedString("transaction_id");
+    private static final SerializableString ACCOUNT_ID = new SerializedString("account_id");
+    private static final SerializableString OPERATION_TYPE_ID = new SerializedString("operation_type_id");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString EVENT_DATE = new SerializedString("event_date");
+
+    @Override
+    public void serialize(TransactionRes transactionRes, JsonGenerator jsonGenerator, SerializationContext serializationContext)
+            throws JacksonException {
+        jsonGenerator.writeStartObject(transactionRes);
+        DtoCodecs.writeLong(jsonGenerator, TRANSACTION_ID, transactionRes.getTransactionId());
+        DtoCodecs.writeLong(jsonGenerator, ACCOUNT_ID, transactionRes.getAccountId());
+        DtoCodecs.writeLong(jsonGenerator, OPERATION_TYPE_ID, transactionRes.getOperationTypeId());
+        jsonGenerator.writeName(AMOUNT);
+        MinorUnitsSerializer.writeMinorUnits(transactionRes.getAmount(), jsonGenerator);
+        DtoCodecs.writeString(jsonGenerator, EVENT_DATE,
+                transactionRes.getEventDate() == null ? null : transactionRes.getEventDate().toString());
+        jsonGenerator.writeEndObject();
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.fintech.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a {@link ConnectionPoolLimiter} permit from before the handler runs until the response is complete. A request
+ * refused a permit never reaches its handler and is answered by the exception handler. An async request, such as an
+ * export streamed on the task executor, keeps the permit of its first dispatch until its async dispatch completes.
+ */
+public class ConnectionPoolLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConnectionPoolLimitInterceptor.class.getName() + ".permit";
+
+    private final ConnectionPoolLimiter connectionPoolLimiter;
+
+    public ConnectionPoolLimitInterceptor(ConnectionPoolLimiter connectionPoolLimiter) {
+        this.connectionPoolLimiter = connectionPoolLimiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        connectionPoolLimiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            connectionPoolLimiter.release();
+        }
+    }
+}
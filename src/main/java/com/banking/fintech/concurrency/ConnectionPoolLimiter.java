@@ -0,0 +1,52 @@
+package com.banking.fintech.concurrency;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.exception.BankingServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of requests working against the db to a multiple of the connection pool size. Platform request
+ * threads were bounded by the size of the tomcat pool, virtual threads are not, and without a bound every waiting
+ * request queues on the connection pool until its connection timeout.
+ */
+public class ConnectionPoolLimiter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutNanos;
+
+    public ConnectionPoolLimiter(int maxPermits, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Waits up to the acquire timeout for a permit, the caller must {@link #release()} it once done with the db.
+     */
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new BankingServiceException(ErrorInfo.DB_CONNECTION_LIMIT_REACHED);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BankingServiceException(ErrorInfo.DB_CONNECTION_LIMIT_REACHED, e);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
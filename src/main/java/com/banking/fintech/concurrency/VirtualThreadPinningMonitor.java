@@ -0,0 +1,109 @@
+package com.banking.fintech.concurrency;
+
+import com.banking.fintech.config.VirtualThreadProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams the jdk.VirtualThreadPinned flight recorder event in process and logs where a virtual thread blocked while
+ * pinned to its carrier thread, for example blocking I/O inside a synchronized block. Each event is attributed to the
+ * innermost frame of this service, or else of the jdbc driver, connection pool or hibernate, so pinning in the
+ * transaction services and the jdbc path is counted per call site.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "banking.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String VIRTUAL_THREAD_PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final List<String> ATTRIBUTED_PACKAGES = List.of("com.banking.fintech.", "org.postgresql.",
+            "com.zaxxer.hikari.", "org.hibernate.");
+
+    private final VirtualThreadProperties virtualThreadProperties;
+    private final Map<String, LongAdder> pinnedCountsByLocation = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(VirtualThreadProperties virtualThreadProperties) {
+        this.virtualThreadProperties = virtualThreadProperties;
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(VIRTUAL_THREAD_PINNED_EVENT)
+                .withThreshold(virtualThreadProperties.getPinningMonitor().getThreshold())
+                .withStackTrace();
+        recordingStream.onEvent(VIRTUAL_THREAD_PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Reporting virtual threads pinned for at least: {}", virtualThreadProperties.getPinningMonitor().getThreshold());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Returns the number of pinned periods seen so far, per call site.
+     */
+    public Map<String, Long> getPinnedCounts() {
+        Map<String, Long> pinnedCounts = new TreeMap<>();
+        pinnedCountsByLocation.forEach((location, count) -> pinnedCounts.put(location, count.sum()));
+        return pinnedCounts;
+    }
+
+    void onPinned(RecordedEvent recordedEvent) {
+        List<RecordedFrame> frames = recordedEvent.getStackTrace() == null ? List.of() : recordedEvent.getStackTrace().getFrames();
+        String location = attributedLocation(frames);
+        pinnedCountsByLocation.computeIfAbsent(location, ignored -> new LongAdder()).increment();
+        log.warn("Virtual thread pinned to its carrier for: {} ms at: {}, blocked in: {}", recordedEvent.getDuration().toMillis(),
+                location, blockingLocation(frames));
+    }
+
+    private static String blockingLocation(List<RecordedFrame> frames) {
+        // the innermost frames are the parking of the virtual thread itself
+        return frames.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("java.lang.VirtualThread")
+                        && !frame.getMethod().getType().getName().startsWith("jdk.internal."))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::toLocation)
+                .orElse("unknown");
+    }
+
+    private static String attributedLocation(List<RecordedFrame> frames) {
+        for (String attributedPackage : ATTRIBUTED_PACKAGES) {
+            for (RecordedFrame frame : frames) {
+                if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(attributedPackage)) {
+                    return toLocation(frame);
+                }
+            }
+        }
+
+        return frames.isEmpty() ? "unknown" : toLocation(frames.getFirst());
+    }
+
+    private static String toLocation(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,32 @@
+package com.banking.fintech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.accounts")
+public class AccountProperties {
+
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Approximate number of bytes the cached accounts may take, the least valuable ones are evicted beyond it.
+         */
+        private long maximumWeight = 16 * 1024 * 1024;
+
+        /**
+         * Number of unknown account ids remembered, so repeated lookups of them do not reach the db.
+         */
+        private long negativeMaximumSize = 100_000;
+
+        /**
+         * How long an account id stays known as unknown, bounds how late an account created by another instance is seen.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+}
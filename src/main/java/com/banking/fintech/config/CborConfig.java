@@ -0,0 +1,24 @@
+package com.banking.fintech.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Serves the endpoints in cbor (application/cbor) next to json, picked by the Content-Type and Accept headers of a
+ * request. Cbor carries the same field names and values as json, so both share one schema, with amounts written as
+ * exact decimal numbers. The converter takes the place of the default cbor one, after the json converter, so a request
+ * without an Accept header is still answered in json, and uses the cbor mapper configured by spring.jackson.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CborConfig {
+
+    @Bean
+    public ServerHttpMessageConvertersCustomizer cborHttpMessageConvertersCustomizer(CBORMapper cborMapper) {
+        return builder -> builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
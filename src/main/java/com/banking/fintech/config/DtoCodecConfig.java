@@ -0,0 +1,20 @@
+package com.banking.fintech.config;
+
+import com.banking.fintech.codec.DtoCodecModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the dto codecs on the json and cbor mappers configured by spring.jackson. The reactive stack keeps
+ * databinding and bean validation, its batch endpoint rejects an invalid element without ending the decoded stream.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DtoCodecConfig {
+
+    @Bean
+    public DtoCodecModule dtoCodecModule() {
+        return new DtoCodecModule();
+    }
+}
@@ -0,0 +1,71 @@
+package com.banking.fintech.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.JacksonCborDecoder;
+import org.springframework.http.codec.cbor.JacksonCborEncoder;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * With the reactive profile, the accounts and transactions endpoints run on webflux and r2dbc, next to the jpa beans
+ * the rest of the service still uses. The jdbc pool backs off once an r2dbc connection factory exists, so it is declared
+ * here from the same spring.datasource properties. The r2dbc transaction manager is deliberately not a bean: any reactive transaction
+ * manager bean would replace the jpa one, so the reactive services get a {@link TransactionalOperator} over it instead.
+ * The endpoints still served by blocking controllers, such as the admin ones, run on the application task executor.
+ * Cbor is read and written with the cbor mapper configured by spring.jackson, as on the servlet stack, see {@link CborConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+@Slf4j
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final CBORMapper cborMapper;
+
+    @Autowired
+    public ReactiveConfig(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor, CBORMapper cborMapper) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.cborMapper = cborMapper;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        log.info("Accounts and transactions endpoints run on the reactive stack");
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(applicationTaskExecutor);
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jacksonCborDecoder(new JacksonCborDecoder(cborMapper));
+        configurer.defaultCodecs().jacksonCborEncoder(new JacksonCborEncoder(cborMapper));
+    }
+}
@@ -0,0 +1,60 @@
+package com.banking.fintech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "banking.terminal")
+public class TerminalProperties {
+
+    /**
+     * Whether the tcp listener taking transactions from the pos terminals in binary frames is started.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Address the listener binds to, the frames are not encrypted, so it must only be reachable from the terminal network.
+     */
+    private String host = "127.0.0.1";
+
+    /**
+     * Secret shared with the terminals, proven by every connection before its first request, required when enabled.
+     */
+    private String sharedSecret;
+
+    /**
+     * Port the listener binds to, 0 binds to a free one.
+     */
+    private int port = 9300;
+
+    /**
+     * Number of connections the os queues before they are accepted.
+     */
+    private int acceptBacklog = 4_096;
+
+    /**
+     * Number of selector threads the connections are spread over.
+     */
+    private int ioThreads = 1;
+
+    /**
+     * Number of requests of one connection in flight at once, the connection is not read further until some are answered.
+     */
+    private int maxInFlightPerConnection = 64;
+
+    /**
+     * Number of requests of all connections run against the transaction service at once, the others wait for their turn.
+     */
+    private int maxConcurrentRequests = 64;
+
+    /**
+     * Number of direct buffers kept for responses and partial frames, more are allocated when all are in use.
+     */
+    private int bufferPoolSize = 16_384;
+
+    /**
+     * Size of the direct buffer every selector thread reads the connections into.
+     */
+    private DataSize readBufferSize = DataSize.ofKilobytes(64);
+}
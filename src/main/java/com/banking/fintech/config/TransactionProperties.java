@@ -0,0 +1,163 @@
+package com.banking.fintech.config;
+
+import com.banking.fintech.constant.TransactionDischargeMode;
+import com.banking.fintech.constant.TransactionExecutionMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "banking.transactions")
+public class TransactionProperties {
+
+    private TransactionExecutionMode executionMode = TransactionExecutionMode.LOCKING;
+
+    /**
+     * How a credit discharges the open debits of its account in the locking execution mode.
+     */
+    private TransactionDischargeMode dischargeMode = TransactionDischargeMode.ENTITY;
+
+    private Batch batch = new Batch();
+
+    private Lanes lanes = new Lanes();
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Async async = new Async();
+
+    private Ledger ledger = new Ledger();
+
+    private SettlementImport settlementImport = new SettlementImport();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Number of batch items persisted and committed together in one db transaction.
+         */
+        private int chunkSize = 50;
+    }
+
+    @Data
+    public static class Lanes {
+
+        /**
+         * Number of single threaded lanes the accounts are hashed onto.
+         */
+        private int count = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of accounts whose open debits a lane keeps in memory, the least recently used ones are reloaded from the db.
+         */
+        private int maxAccountsPerLane = 10_000;
+    }
+
+    @Data
+    public static class Idempotency {
+
+        /**
+         * Number of recently used idempotency keys whose transaction is kept in memory to answer retries without the db.
+         */
+        private long recentKeysMaximumSize = 100_000;
+
+        /**
+         * How long a recently used idempotency key is kept in memory, older keys are looked up in the db.
+         */
+        private Duration recentKeysTtl = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Async {
+
+        /**
+         * Whether POST /transactions/async accepts transactions into the local journal and applies them in the background.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory of the journal segment files, it must be on a local disk that is kept across restarts.
+         */
+        private String journalDir = "./journal";
+
+        /**
+         * Size of one memory mapped journal segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Number of journal entries applied together in one db transaction.
+         */
+        private int drainBatchSize = 100;
+
+        /**
+         * Pause of the drainer after it has caught up with the journal.
+         */
+        private Duration drainInterval = Duration.ofMillis(10);
+
+        /**
+         * Number of recent journal entry outcomes kept in memory, older ones are looked up in the db.
+         */
+        private long outcomesMaximumSize = 100_000;
+    }
+
+    @Data
+    public static class Ledger {
+
+        /**
+         * Directory of the command log and snapshot files, it must be on a local disk that is kept across restarts.
+         */
+        private String dir = "./ledger";
+
+        /**
+         * Number of commands between two snapshots, a restart replays at most about this many commands.
+         */
+        private int snapshotInterval = 1_000_000;
+
+        /**
+         * Number of requests waiting for the sequencer, callers block when it is full.
+         */
+        private int queueCapacity = 65_536;
+
+        /**
+         * Number of postings written to the db together in one db transaction.
+         */
+        private int sinkBatchSize = 1_000;
+
+        /**
+         * Number of most recent idempotency keys the ledger remembers, older keys are looked up in the db.
+         */
+        private int retainedIdempotencyKeys = 100_000;
+    }
+
+    @Data
+    public static class SettlementImport {
+
+        /**
+         * Whether the settlement files dropped in the spool directory are imported in the background.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory polled for settlement files ending in .csv, imported files are moved to its imported subdirectory.
+         */
+        private String spoolDir = "./spool";
+
+        /**
+         * Pause between two polls of the spool directory.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Number of rows of a file imported together in one db transaction with the checkpoint of the file.
+         */
+        private int chunkRows = 10_000;
+
+        /**
+         * Size of the window of a file mapped in memory at a time, a row must fit in it.
+         */
+        private DataSize mapWindowSize = DataSize.ofMegabytes(64);
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.fintech.config;
+
+import com.banking.fintech.concurrency.ConnectionPoolLimitInterceptor;
+import com.banking.fintech.concurrency.ConnectionPoolLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * With spring.threads.virtual.enabled, tomcat runs every request on its own virtual thread. The requests reaching the
+ * db are then bounded by a {@link ConnectionPoolLimiter} sized from the connection pool instead of by the tomcat pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Autowired
+    public VirtualThreadConfig(DataSource dataSource, VirtualThreadProperties virtualThreadProperties) throws SQLException {
+        VirtualThreadProperties.ConnectionLimit connectionLimit = virtualThreadProperties.getConnectionLimit();
+        int maximumPoolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        this.connectionPoolLimiter = new ConnectionPoolLimiter(maximumPoolSize * connectionLimit.getPermitsPerConnection(),
+                connectionLimit.getAcquireTimeout());
+        log.info("Requests run on virtual threads, at most: {} of them work against the db pool of: {} connections",
+                connectionPoolLimiter.getMaxPermits(), maximumPoolSize);
+    }
+
+    @Bean
+    public ConnectionPoolLimiter connectionPoolLimiter() {
+        return connectionPoolLimiter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConnectionPoolLimitInterceptor(connectionPoolLimiter))
+                .addPathPatterns("/accounts/**", "/transactions/**", "/admin/operation-types/**");
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.fintech.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings applied when requests run on virtual threads, that is with spring.threads.virtual.enabled set to true.
+ */
+@Data
+@ConfigurationProperties(prefix = "banking.virtual-threads")
+public class VirtualThreadProperties {
+
+    private ConnectionLimit connectionLimit = new ConnectionLimit();
+
+    private PinningMonitor pinningMonitor = new PinningMonitor();
+
+    @Data
+    public static class ConnectionLimit {
+
+        /**
+         * Number of requests let in per connection of the db pool, the others wait for a permit instead of queueing on the pool.
+         */
+        private int permitsPerConnection = 2;
+
+        /**
+         * How long a request waits for a permit before it is answered with 503.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class PinningMonitor {
+
+        private boolean enabled = true;
+
+        /**
+         * Pinned periods shorter than this are not reported.
+         */
+        private Duration threshold = Duration.ofMillis(20);
+    }
+}
@@ -0,0 +1,19 @@
+package com.banking.fintech.constant;
+
+public enum AsyncTransactionStatus {
+
+    /**
+     * The transaction is in the journal and not yet applied to the db.
+     */
+    PENDING,
+
+    /**
+     * The transaction is saved in the db.
+     */
+    APPLIED,
+
+    /**
+     * The transaction was refused by the db checks, for instance for an account deleted after it was accepted.
+     */
+    REJECTED
+}
@@ -3,6 +3,11 @@ package com.banking.fintech.constant;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Getter
 public enum ErrorInfo {
 
@@ -55,8 +60,66 @@ public enum ErrorInfo {
             "Transaction operation type not found for the provided operationTypeId.",
             "BANKING_ACCOUNT_010",
             HttpStatus.NOT_FOUND
+    ),
+    INVALID_TRANSACTION_REQUEST(
+            "The transaction request is invalid.",
+            "BANKING_TRANSACTION_011",
+            HttpStatus.BAD_REQUEST
+    ),
+    MALFORMED_TRANSACTION_BATCH(
+            "The transaction batch payload is malformed, a JSON array of transactions is expected.",
+            "BANKING_TRANSACTION_012",
+            HttpStatus.BAD_REQUEST
+    ),
+    INVALID_IDEMPOTENCY_KEY(
+            "The Idempotency-Key header must be a non blank value of at most 255 characters.",
+            "BANKING_TRANSACTION_013",
+            HttpStatus.BAD_REQUEST
+    ),
+    IDEMPOTENCY_KEY_REUSED_WITH_DIFFERENT_REQUEST(
+            "The Idempotency-Key was already used for a different transaction request.",
+            "BANKING_TRANSACTION_014",
+            HttpStatus.UNPROCESSABLE_CONTENT
+    ),
+    ASYNC_TRANSACTION_NOT_FOUND(
+            "No asynchronous transaction was accepted with the given tracking id.",
+            "BANKING_TRANSACTION_015",
+            HttpStatus.NOT_FOUND
+    ),
+    TRANSACTION_JOURNAL_WRITE_FAILED(
+            "An internal server error occurred, while writing the transaction to the journal.",
+            "BANKING_TRANSACTION_016",
+            HttpStatus.INTERNAL_SERVER_ERROR
+    ),
+    DB_CONNECTION_LIMIT_REACHED(
+            "The service is at its db connection limit, retry the request later.",
+            "BANKING_017",
+            HttpStatus.SERVICE_UNAVAILABLE
+    ),
+    INVALID_STATEMENT_REQUEST(
+            "The statement request is invalid, dates must be ISO-8601 instants, the cursor must come from a previous page and the limit be between 1 and 500.",
+            "BANKING_ACCOUNT_018",
+            HttpStatus.BAD_REQUEST
+    ),
+    INVALID_EXPORT_FORMAT(
+            "The export format must be ndjson or csv.",
+            "BANKING_ACCOUNT_019",
+            HttpStatus.BAD_REQUEST
+    ),
+    MALFORMED_ACCOUNT_BATCH(
+            "The account batch payload is malformed, a JSON array of accounts each with a document_number is expected.",
+            "BANKING_ACCOUNT_020",
+            HttpStatus.BAD_REQUEST
+    ),
+    INVALID_ACCOUNT_REQUEST(
+            "The account request is invalid.",
+            "BANKING_ACCOUNT_021",
+            HttpStatus.BAD_REQUEST
     );
 
+    private static final Map<String, ErrorInfo> BY_ERR_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(ErrorInfo::getErrCode, Function.identity()));
+
     private final String errMsg;
     private final String errCode;
     private final HttpStatus httpStatus;
@@ -66,4 +129,11 @@ public enum ErrorInfo {
         this.errCode = errCode;
         this.httpStatus = httpStatus;
     }
+
+    /**
+     * Returns the error of the code, or null for an unknown code.
+     */
+    public static ErrorInfo fromErrCode(String errCode) {
+        return BY_ERR_CODE.get(errCode);
+    }
 }
@@ -0,0 +1,14 @@
+package com.banking.fintech.constant;
+
+public enum TransactionDischargeMode {
+
+    /**
+     * The open debits are loaded as entities, discharged one by one in java and flushed as one update per debit.
+     */
+    ENTITY,
+
+    /**
+     * The db allocates the credit over the open debits with a running sum and discharges them in a single statement.
+     */
+    SET_BASED
+}
@@ -0,0 +1,19 @@
+package com.banking.fintech.constant;
+
+public enum TransactionExecutionMode {
+
+    /**
+     * Every request runs on its http thread, same account writers are serialized by db row locks.
+     */
+    LOCKING,
+
+    /**
+     * Requests are handed to a single threaded lane per account, which serializes same account writers in memory.
+     */
+    LANES,
+
+    /**
+     * Requests are sequenced onto a single threaded in memory ledger, and the db is written asynchronously after it.
+     */
+    LEDGER
+}
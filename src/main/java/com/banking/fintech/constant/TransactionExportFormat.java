@@ -0,0 +1,39 @@
+package com.banking.fintech.constant;
+
+import com.banking.fintech.exception.AccountServiceException;
+import lombok.Getter;
+
+import java.util.Locale;
+
+@Getter
+public enum TransactionExportFormat {
+
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String value;
+    private final String contentType;
+
+    TransactionExportFormat(String value, String contentType) {
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    /**
+     * NDJSON when no format is given, an unknown format is a bad request.
+     */
+    public static TransactionExportFormat getTransactionExportFormat(String format) {
+        if (format == null) {
+            return NDJSON;
+        }
+
+        String value = format.toLowerCase(Locale.ROOT);
+        for (TransactionExportFormat transactionExportFormat : values()) {
+            if (transactionExportFormat.value.equals(value)) {
+                return transactionExportFormat;
+            }
+        }
+
+        throw new AccountServiceException(ErrorInfo.INVALID_EXPORT_FORMAT);
+    }
+}
@@ -3,6 +3,9 @@ package com.banking.fintech.constant;
 import com.banking.fintech.exception.TransactionServiceException;
 import lombok.Getter;
 
+import java.util.Locale;
+import java.util.Map;
+
 @Getter
 public enum TransactionOperationType {
 
@@ -17,12 +20,22 @@ public enum TransactionOperationType {
         this.multiplier = multiplier;
     }
 
+    private static final Map<String, TransactionOperationType> BY_VALUE = Map.of(
+            CREDIT.value, CREDIT,
+            DEBIT.value, DEBIT
+    );
+
+    /**
+     * Looks the value up in a constant map, trying it as is first since the db stores it in lower case.
+     */
     public static TransactionOperationType getTransactionOperationType(String operationType) {
         if (operationType != null) {
-            for (TransactionOperationType transactionOperationType : values()) {
-                if (transactionOperationType.value.equalsIgnoreCase(operationType)) {
-                    return transactionOperationType;
-                }
+            TransactionOperationType transactionOperationType = BY_VALUE.get(operationType);
+            if (transactionOperationType == null) {
+                transactionOperationType = BY_VALUE.get(operationType.toLowerCase(Locale.ROOT));
+            }
+            if (transactionOperationType != null) {
+                return transactionOperationType;
             }
 
             throw new TransactionServiceException(ErrorInfo.UNSUPPORTED_TRANSACTION_OPERATION_TYPE_INTERNAL_ERROR);
@@ -1,22 +1,66 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @Tag(name = "Accounts API", description = "Endpoints for customer accounts related operations")
 @RequestMapping("/accounts")
 public interface AccountController {
 
     @Operation(summary = "Create account for a customer")
-    @PostMapping()
-    ResponseEntity<AccountRes> createAccount(@Valid @RequestBody AccountReq accountReq);
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<AccountRes> createAccount(@RequestBody AccountReq accountReq);
+
+    @Operation(
+            summary = "Create a batch of customer accounts, all or none of them, and get their ids in the order of the request",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = AccountReq.class))),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, array = @ArraySchema(schema = @Schema(implementation = AccountReq.class)))
+            })
+    )
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<AccountBatchRes> createAccounts(InputStream accountReqs, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType);
 
     @Operation(summary = "Get account details for a customer")
-    @GetMapping("/{accountId}")
+    @GetMapping(value = "/{accountId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     ResponseEntity<AccountRes> getAccount(@PathVariable Long accountId);
+
+    @Operation(summary = "Get the running balance and outstanding debt of a customer account")
+    @GetMapping(value = "/{accountId}/balance", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<AccountBalanceRes> getAccountBalance(@PathVariable Long accountId);
+
+    @Operation(summary = "Get a page of the transactions of a customer account, oldest first",
+            description = "Pass the next_cursor of a page as cursor to get the next one, the last page has no next_cursor. "
+                    + "from is inclusive and to exclusive, both ISO-8601 instants.")
+    @GetMapping(value = "/{accountId}/transactions", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<TransactionPageRes> getAccountTransactions(@PathVariable Long accountId,
+                                                              @RequestParam(name = "operation_type_id", required = false) Long operationTypeId,
+                                                              @RequestParam(name = "from", required = false) String from,
+                                                              @RequestParam(name = "to", required = false) String to,
+                                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                                              @RequestParam(name = "limit", required = false) Integer limit);
+
+    @Operation(summary = "Export the whole transaction history of a customer account, oldest first",
+            description = "format is ndjson (default) or csv. The transactions are streamed from the db as they are written, "
+                    + "so the export of a long history starts right away and is not held in memory.")
+    @GetMapping("/{accountId}/transactions/export")
+    ResponseEntity<StreamingResponseBody> exportAccountTransactions(@PathVariable Long accountId,
+                                                                    @RequestParam(name = "format", required = false) String format);
 }
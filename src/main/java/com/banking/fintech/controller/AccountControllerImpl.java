@@ -1,39 +1,195 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
 import com.banking.fintech.service.AccountService;
+import com.banking.fintech.service.AccountStatementQuery;
 import com.banking.fintech.validator.AccountValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class AccountControllerImpl implements AccountController {
 
     private final AccountValidator accountValidator;
     private final AccountService accountService;
+    private final ObjectReader accountReqReader;
+    private final ObjectReader cborAccountReqReader;
+    private final BankingMetrics bankingMetrics;
 
     @Autowired
-    public AccountControllerImpl(AccountValidator accountValidator, AccountService accountService) {
+    public AccountControllerImpl(AccountValidator accountValidator, AccountService accountService, ObjectMapper objectMapper,
+                                 CBORMapper cborMapper, BankingMetrics bankingMetrics) {
         this.accountValidator = accountValidator;
         this.accountService = accountService;
+        this.accountReqReader = accountReqReader(objectMapper);
+        this.cborAccountReqReader = accountReqReader(cborMapper);
+        this.bankingMetrics = bankingMetrics;
+    }
+
+    private static ObjectReader accountReqReader(ObjectMapper objectMapper) {
+        return objectMapper.readerFor(AccountReq.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
     }
 
     @Override
     public ResponseEntity<AccountRes> createAccount(AccountReq accountReq) {
-        log.info("In createAccount with req: {}", accountReq);
-        accountValidator.validateCreateAccountReq(accountReq);
+        log.debug("In createAccount with req: {}", accountReq);
+
+        return bankingMetrics.getCreateAccountTimer().record(() -> {
+            accountValidator.validateCreateAccountReq(accountReq);
+
+            return ResponseEntity.ok(accountService.createAccount(accountReq));
+        });
+    }
+
+    /**
+     * Hands the service the accounts of the request body, a json or cbor array, one element at a time, each checked as
+     * it is read, so the body is read, checked and written to the db in a single pass and never held in memory at once.
+     */
+    @Override
+    public ResponseEntity<AccountBatchRes> createAccounts(InputStream accountReqs, MediaType contentType) {
+        log.info("In createAccounts");
+
+        ObjectReader reader = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborAccountReqReader : accountReqReader;
+        try (JsonParser jsonParser = reader.createParser(accountReqs)) {
+            if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
+                throw new AccountServiceException(ErrorInfo.MALFORMED_ACCOUNT_BATCH);
+            }
 
-        return ResponseEntity.ok(accountService.createAccount(accountReq));
+            return ResponseEntity.ok(accountService.createAccounts(new AccountReqIterator(jsonParser, reader)));
+        } catch (JacksonException e) {
+            log.error("Malformed account batch payload", e);
+            throw new AccountServiceException(ErrorInfo.MALFORMED_ACCOUNT_BATCH, e);
+        }
     }
 
     @Override
     public ResponseEntity<AccountRes> getAccount(Long accountId) {
         log.info("In getAccount with accountId: {}", accountId);
 
-        return ResponseEntity.ok(accountService.getAccount(accountId));
+        return bankingMetrics.getGetAccountTimer().record(() -> ResponseEntity.ok(accountService.getAccount(accountId)));
+    }
+
+    @Override
+    public ResponseEntity<AccountBalanceRes> getAccountBalance(Long accountId) {
+        log.info("In getAccountBalance with accountId: {}", accountId);
+
+        return ResponseEntity.ok(accountService.getAccountBalance(accountId));
+    }
+
+    @Override
+    public ResponseEntity<TransactionPageRes> getAccountTransactions(Long accountId, Long operationTypeId, String from, String to,
+                                                                     String cursor, Integer limit) {
+        log.info("In getAccountTransactions with accountId: {}", accountId);
+
+        return ResponseEntity.ok(accountService.getAccountTransactions(
+                AccountStatementQuery.of(accountId, operationTypeId, from, to, cursor, limit)));
+    }
+
+    /**
+     * The format and the account are checked before the response starts, so they fail with the usual error response.
+     * The transactions are then written on the mvc task executor, see {@link AccountService#exportAccountTransactions}.
+     */
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportAccountTransactions(Long accountId, String format) {
+        log.info("In exportAccountTransactions with accountId: {}", accountId);
+        TransactionExportFormat exportFormat = TransactionExportFormat.getTransactionExportFormat(format);
+        accountService.getAccount(accountId);
+
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("account-" + accountId + "-transactions." + exportFormat.getValue())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(outputStream -> accountService.exportAccountTransactions(accountId, exportFormat, outputStream));
+    }
+
+    /**
+     * Reads the next account of the array on hasNext, and rejects the whole batch on an account without a document
+     * number or one the {@link AccountValidator} does not accept.
+     */
+    private class AccountReqIterator implements Iterator<AccountReq> {
+
+        private final JsonParser jsonParser;
+        private final ObjectReader reader;
+        private int index;
+        private AccountReq nextAccountReq;
+        private boolean endOfArray;
+
+        private AccountReqIterator(JsonParser jsonParser, ObjectReader reader) {
+            this.jsonParser = jsonParser;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextAccountReq != null || endOfArray) {
+                return nextAccountReq != null;
+            }
+            if (jsonParser.nextToken() == JsonToken.END_ARRAY) {
+                endOfArray = true;
+                return false;
+            }
+
+            AccountReq accountReq;
+            try {
+                accountReq = reader.readValue(jsonParser);
+            } catch (AccountServiceException e) {
+                log.error("Account without a document number at item index: {}", index);
+                throw new AccountServiceException(ErrorInfo.MALFORMED_ACCOUNT_BATCH, e);
+            }
+            if (accountReq == null) {
+                log.error("Null account at item index: {}", index);
+                throw new AccountServiceException(ErrorInfo.MALFORMED_ACCOUNT_BATCH);
+            }
+            try {
+                accountValidator.validateCreateAccountReq(accountReq);
+            } catch (AccountServiceException e) {
+                log.error("Account rejected at item index: {} with error code: {}", index, e.getErrorInfo().getErrCode());
+                throw e;
+            }
+            nextAccountReq = accountReq;
+            index++;
+            return true;
+        }
+
+        @Override
+        public AccountReq next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            AccountReq accountReq = nextAccountReq;
+            nextAccountReq = null;
+            return accountReq;
+        }
     }
 }
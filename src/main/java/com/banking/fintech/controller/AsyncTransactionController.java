@@ -0,0 +1,26 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Tag(name = "Async Transactions API", description = "Endpoints for transactions accepted into the journal and applied in the background")
+@RequestMapping("/transactions/async")
+public interface AsyncTransactionController {
+
+    @Operation(summary = "Accept a transaction made by a customer account, answering 202 with its tracking id once it is journaled")
+    @PostMapping()
+    ResponseEntity<AsyncTransactionRes> acceptTransaction(@Valid @RequestBody TransactionReq transactionReq);
+
+    @Operation(summary = "Get the status of an accepted transaction by its tracking id")
+    @GetMapping("/{trackingId}")
+    ResponseEntity<AsyncTransactionRes> getTransaction(@PathVariable String trackingId);
+}
@@ -0,0 +1,42 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.service.AsyncTransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@ConditionalOnProperty(name = "banking.transactions.async.enabled", havingValue = "true")
+@Slf4j
+public class AsyncTransactionControllerImpl implements AsyncTransactionController {
+
+    private final AsyncTransactionService asyncTransactionService;
+
+    @Autowired
+    public AsyncTransactionControllerImpl(AsyncTransactionService asyncTransactionService) {
+        this.asyncTransactionService = asyncTransactionService;
+    }
+
+    @Override
+    public ResponseEntity<AsyncTransactionRes> acceptTransaction(TransactionReq transactionReq) {
+        log.debug("In acceptTransaction with transactionReq: {}", transactionReq);
+
+        AsyncTransactionRes asyncTransactionRes = asyncTransactionService.acceptTransaction(transactionReq);
+        return ResponseEntity.accepted()
+                .location(URI.create("/transactions/async/" + asyncTransactionRes.getTrackingId()))
+                .body(asyncTransactionRes);
+    }
+
+    @Override
+    public ResponseEntity<AsyncTransactionRes> getTransaction(String trackingId) {
+        log.info("In getTransaction with trackingId: {}", trackingId);
+
+        return ResponseEntity.ok(asyncTransactionService.getTransaction(trackingId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.CacheStatsRes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Tag(name = "Caches Admin API", description = "Endpoints for inspecting the in-process caches")
+@RequestMapping("/admin/caches")
+public interface CacheController {
+
+    @Operation(summary = "Get the hit and miss counts of the account cache of this instance")
+    @GetMapping("/accounts")
+    ResponseEntity<CacheStatsRes> getAccountCacheStats();
+}
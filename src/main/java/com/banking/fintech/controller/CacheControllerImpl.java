@@ -0,0 +1,27 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.CacheStatsRes;
+import com.banking.fintech.service.AccountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Slf4j
+public class CacheControllerImpl implements CacheController {
+
+    private final AccountService accountService;
+
+    @Autowired
+    public CacheControllerImpl(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Override
+    public ResponseEntity<CacheStatsRes> getAccountCacheStats() {
+        log.info("In getAccountCacheStats");
+
+        return ResponseEntity.ok(accountService.getAccountCacheStats());
+    }
+}
@@ -0,0 +1,28 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Operation Types Admin API", description = "Endpoints for managing the transaction operation types")
+@RequestMapping("/admin/operation-types")
+public interface OperationTypeController {
+
+    @Operation(summary = "Create an operation type, usable by transactions right away")
+    @PostMapping()
+    ResponseEntity<OperationTypeRes> createOperationType(@Valid @RequestBody OperationTypeReq operationTypeReq);
+
+    @Operation(summary = "Get the operation types known to this instance")
+    @GetMapping()
+    ResponseEntity<List<OperationTypeRes>> getOperationTypes();
+
+    @Operation(summary = "Reload the operation types of this instance from the db")
+    @PostMapping("/refresh")
+    ResponseEntity<List<OperationTypeRes>> refreshOperationTypes();
+}
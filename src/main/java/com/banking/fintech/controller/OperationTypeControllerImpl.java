@@ -0,0 +1,44 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import com.banking.fintech.service.OperationTypeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@Slf4j
+public class OperationTypeControllerImpl implements OperationTypeController {
+
+    private final OperationTypeService operationTypeService;
+
+    @Autowired
+    public OperationTypeControllerImpl(OperationTypeService operationTypeService) {
+        this.operationTypeService = operationTypeService;
+    }
+
+    @Override
+    public ResponseEntity<OperationTypeRes> createOperationType(OperationTypeReq operationTypeReq) {
+        log.info("In createOperationType with req: {}", operationTypeReq);
+
+        return ResponseEntity.ok(operationTypeService.createOperationType(operationTypeReq));
+    }
+
+    @Override
+    public ResponseEntity<List<OperationTypeRes>> getOperationTypes() {
+        log.info("In getOperationTypes");
+
+        return ResponseEntity.ok(operationTypeService.getOperationTypes());
+    }
+
+    @Override
+    public ResponseEntity<List<OperationTypeRes>> refreshOperationTypes() {
+        log.info("In refreshOperationTypes");
+
+        return ResponseEntity.ok(operationTypeService.refreshOperationTypes());
+    }
+}
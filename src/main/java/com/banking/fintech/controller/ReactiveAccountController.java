@@ -0,0 +1,43 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same endpoints as {@link AccountController}, served by the reactive stack.
+ */
+@Tag(name = "Accounts API", description = "Endpoints for customer accounts related operations")
+@RequestMapping("/accounts")
+public interface ReactiveAccountController {
+
+    @Operation(summary = "Create account for a customer")
+    @PostMapping()
+    Mono<ResponseEntity<AccountRes>> createAccount(@Valid @RequestBody AccountReq accountReq);
+
+    @Operation(summary = "Get account details for a customer")
+    @GetMapping("/{accountId}")
+    Mono<ResponseEntity<AccountRes>> getAccount(@PathVariable Long accountId);
+
+    @Operation(summary = "Get the running balance and outstanding debt of a customer account")
+    @GetMapping("/{accountId}/balance")
+    Mono<ResponseEntity<AccountBalanceRes>> getAccountBalance(@PathVariable Long accountId);
+
+    @Operation(summary = "Get a page of the transactions of a customer account, oldest first",
+            description = "Pass the next_cursor of a page as cursor to get the next one, the last page has no next_cursor. "
+                    + "from is inclusive and to exclusive, both ISO-8601 instants.")
+    @GetMapping("/{accountId}/transactions")
+    Mono<ResponseEntity<TransactionPageRes>> getAccountTransactions(@PathVariable Long accountId,
+                                                                    @RequestParam(name = "operation_type_id", required = false) Long operationTypeId,
+                                                                    @RequestParam(name = "from", required = false) String from,
+                                                                    @RequestParam(name = "to", required = false) String to,
+                                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                                    @RequestParam(name = "limit", required = false) Integer limit);
+}
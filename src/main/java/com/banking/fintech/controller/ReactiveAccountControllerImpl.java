@@ -0,0 +1,68 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.AccountStatementQuery;
+import com.banking.fintech.service.ReactiveAccountService;
+import com.banking.fintech.validator.AccountValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAccountControllerImpl implements ReactiveAccountController {
+
+    private final AccountValidator accountValidator;
+    private final ReactiveAccountService accountService;
+    private final BankingMetrics bankingMetrics;
+
+    @Autowired
+    public ReactiveAccountControllerImpl(AccountValidator accountValidator, ReactiveAccountService accountService,
+                                         BankingMetrics bankingMetrics) {
+        this.accountValidator = accountValidator;
+        this.accountService = accountService;
+        this.bankingMetrics = bankingMetrics;
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountRes>> createAccount(AccountReq accountReq) {
+        log.debug("In createAccount with req: {}", accountReq);
+
+        return BankingMetrics.timed(bankingMetrics.getCreateAccountTimer(), Mono.defer(() -> {
+            accountValidator.validateCreateAccountReq(accountReq);
+
+            return accountService.createAccount(accountReq).map(ResponseEntity::ok);
+        }));
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountRes>> getAccount(Long accountId) {
+        log.info("In getAccount with accountId: {}", accountId);
+
+        return BankingMetrics.timed(bankingMetrics.getGetAccountTimer(), accountService.getAccount(accountId).map(ResponseEntity::ok));
+    }
+
+    @Override
+    public Mono<ResponseEntity<AccountBalanceRes>> getAccountBalance(Long accountId) {
+        log.info("In getAccountBalance with accountId: {}", accountId);
+
+        return accountService.getAccountBalance(accountId).map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<TransactionPageRes>> getAccountTransactions(Long accountId, Long operationTypeId, String from, String to,
+                                                                           String cursor, Integer limit) {
+        log.info("In getAccountTransactions with accountId: {}", accountId);
+
+        return Mono.defer(() -> accountService.getAccountTransactions(AccountStatementQuery.of(accountId, operationTypeId, from, to, cursor, limit)))
+                .map(ResponseEntity::ok);
+    }
+}
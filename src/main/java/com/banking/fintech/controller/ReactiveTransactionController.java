@@ -0,0 +1,46 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.banking.fintech.controller.TransactionController.IDEMPOTENCY_KEY_HEADER;
+
+/**
+ * Same endpoints as {@link TransactionController}, served by the reactive stack.
+ */
+@Tag(name = "Transactions API", description = "Endpoints for customer account transactions related operations")
+@RequestMapping("/transactions")
+public interface ReactiveTransactionController {
+
+    @Operation(summary = "Create transaction made by a customer account, at most once per Idempotency-Key")
+    @PostMapping()
+    Mono<ResponseEntity<TransactionRes>> createTransaction(@Valid @RequestBody TransactionReq transactionReq,
+                                                           @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey);
+
+    @Operation(
+            summary = "Create a batch of transactions made by customer accounts, with a result per transaction",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = TransactionReq.class))
+            ))
+    )
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    Mono<ResponseEntity<List<TransactionBatchItemRes>>> createTransactions(@RequestBody Flux<TransactionReq> transactionReqs);
+}
@@ -0,0 +1,169 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.ReactiveTransactionService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.codec.CodecException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveTransactionControllerImpl implements ReactiveTransactionController {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final ReactiveTransactionService transactionService;
+    private final Validator validator;
+    private final TransactionProperties transactionProperties;
+    private final BankingMetrics bankingMetrics;
+
+    @Autowired
+    public ReactiveTransactionControllerImpl(ReactiveTransactionService transactionService, Validator validator,
+                                             TransactionProperties transactionProperties, BankingMetrics bankingMetrics) {
+        this.transactionService = transactionService;
+        this.validator = validator;
+        this.transactionProperties = transactionProperties;
+        this.bankingMetrics = bankingMetrics;
+    }
+
+    @Override
+    public Mono<ResponseEntity<TransactionRes>> createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+        return BankingMetrics.timed(bankingMetrics.getCreateTransactionTimer(), Mono.defer(() -> {
+            if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+                return Mono.error(new TransactionServiceException(ErrorInfo.INVALID_IDEMPOTENCY_KEY));
+            }
+
+            return transactionService.createTransaction(transactionReq, idempotencyKey).map(ResponseEntity::ok);
+        }));
+    }
+
+    /**
+     * The array elements are decoded as the body arrives and handed to the service in chunks, the next chunk is only
+     * read once the one before it is committed. A slow client holds neither a thread nor its whole batch meanwhile.
+     * A body that stops decoding ends the batch with an error item at the first index not decoded, and fails the whole
+     * request when not even the first element was decoded.
+     */
+    @Override
+    public Mono<ResponseEntity<List<TransactionBatchItemRes>>> createTransactions(Flux<TransactionReq> transactionReqs) {
+        int chunkSize = transactionProperties.getBatch().getChunkSize();
+        log.info("In createTransactions with chunk size: {}", chunkSize);
+
+        return transactionReqs.map(Optional::of)
+                .onErrorResume(e -> e instanceof ServerWebInputException || e instanceof CodecException, e -> {
+                    log.error("Malformed transaction batch payload", e);
+                    return Mono.just(Optional.empty());
+                })
+                .index()
+                .buffer(chunkSize)
+                .concatMap(this::processChunk)
+                .collectSortedList(Comparator.comparing(TransactionBatchItemRes::getIndex))
+                .map(ResponseEntity::ok);
+    }
+
+    private Flux<TransactionBatchItemRes> processChunk(List<Tuple2<Long, Optional<TransactionReq>>> items) {
+        List<TransactionBatchItemRes> transactionBatchItemResList = new ArrayList<>();
+        List<TransactionReq> chunk = new ArrayList<>(items.size());
+        List<Integer> chunkIndexes = new ArrayList<>(items.size());
+        for (Tuple2<Long, Optional<TransactionReq>> item : items) {
+            int index = item.getT1().intValue();
+            if (item.getT2().isEmpty()) {
+                if (index == 0) {
+                    return Flux.error(new TransactionServiceException(ErrorInfo.MALFORMED_TRANSACTION_BATCH));
+                }
+
+                transactionBatchItemResList.add(buildErrorItem(index, ErrorInfo.MALFORMED_TRANSACTION_BATCH, null));
+                continue;
+            }
+
+            TransactionReq transactionReq = item.getT2().get();
+            TransactionBatchItemRes rejectedItem = validate(transactionReq);
+            if (rejectedItem != null) {
+                transactionBatchItemResList.add(rejectedItem.toBuilder().index(index).build());
+            } else {
+                chunk.add(transactionReq);
+                chunkIndexes.add(index);
+            }
+        }
+
+        if (chunk.isEmpty()) {
+            return Flux.fromIterable(transactionBatchItemResList);
+        }
+
+        return transactionService.createTransactions(chunk)
+                .map(chunkResults -> {
+                    for (int i = 0; i < chunkResults.size(); i++) {
+                        bankingMetrics.countError(chunkResults.get(i).getError());
+                        transactionBatchItemResList.add(chunkResults.get(i).toBuilder().index(chunkIndexes.get(i)).build());
+                    }
+                    return transactionBatchItemResList;
+                })
+                .onErrorResume(RuntimeException.class, e -> {
+                    ErrorInfo errorInfo = e instanceof BankingServiceException bankingServiceException
+                            ? bankingServiceException.getErrorInfo()
+                            : ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB;
+                    log.error("Transaction batch chunk of size: {} rolled back with error code: {}", chunk.size(), errorInfo.getErrCode(), e);
+                    for (Integer chunkIndex : chunkIndexes) {
+                        transactionBatchItemResList.add(buildErrorItem(chunkIndex, errorInfo, null));
+                    }
+                    return Mono.just(transactionBatchItemResList);
+                })
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Unlike the servlet stack, the account is not looked up here, the service rejects an unknown account per item.
+     */
+    private TransactionBatchItemRes validate(TransactionReq transactionReq) {
+        Set<ConstraintViolation<TransactionReq>> violations = validator.validate(transactionReq);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        String details = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return buildErrorItem(null, ErrorInfo.INVALID_TRANSACTION_REQUEST, details);
+    }
+
+    /**
+     * Builds the item of a rejected element, counting it like an error response.
+     */
+    private TransactionBatchItemRes buildErrorItem(Integer index, ErrorInfo errorInfo, String details) {
+        bankingMetrics.countError(errorInfo);
+        return TransactionBatchItemRes.builder()
+                .index(index)
+                .status(errorInfo.getHttpStatus().value())
+                .error(ErrorDetailRes.builder()
+                        .errCode(errorInfo.getErrCode())
+                        .errMsg(details == null ? errorInfo.getErrMsg() : errorInfo.getErrMsg() + " " + details)
+                        .build())
+                .build();
+    }
+}
@@ -1,20 +1,45 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.io.InputStream;
+import java.util.List;
+
 @Tag(name = "Transactions API", description = "Endpoints for customer account transactions related operations")
 @RequestMapping("/transactions")
 public interface TransactionController {
 
-    @Operation(summary = "Create transaction made by a customer account")
-    @PostMapping()
-    ResponseEntity<TransactionRes> createTransaction(@Valid @RequestBody TransactionReq transactionReq);
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    @Operation(summary = "Create transaction made by a customer account, at most once per Idempotency-Key")
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<TransactionRes> createTransaction(@RequestBody TransactionReq transactionReq,
+                                                     @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey);
+
+    @Operation(
+            summary = "Create a batch of transactions made by customer accounts, with a result per transaction",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TransactionReq.class))),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, array = @ArraySchema(schema = @Schema(implementation = TransactionReq.class)))
+            })
+    )
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<List<TransactionBatchItemRes>> createTransactions(InputStream transactionReqs,
+                                                                     @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType);
 }
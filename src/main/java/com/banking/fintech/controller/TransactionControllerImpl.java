@@ -1,28 +1,191 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.AccountCache;
+import com.banking.fintech.service.IdempotentTransactionExecutor;
 import com.banking.fintech.service.TransactionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class TransactionControllerImpl implements TransactionController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final TransactionService transactionService;
+    private final ObjectReader transactionReqReader;
+    private final ObjectReader cborTransactionReqReader;
+    private final TransactionProperties transactionProperties;
+    private final AccountCache accountCache;
+    private final IdempotentTransactionExecutor idempotentTransactionExecutor;
+    private final BankingMetrics bankingMetrics;
 
     @Autowired
-    public TransactionControllerImpl(TransactionService transactionService) {
+    public TransactionControllerImpl(TransactionService transactionService, ObjectMapper objectMapper, CBORMapper cborMapper,
+                                     TransactionProperties transactionProperties, AccountCache accountCache,
+                                     IdempotentTransactionExecutor idempotentTransactionExecutor, BankingMetrics bankingMetrics) {
         this.transactionService = transactionService;
+        this.transactionReqReader = transactionReqReader(objectMapper);
+        this.cborTransactionReqReader = transactionReqReader(cborMapper);
+        this.transactionProperties = transactionProperties;
+        this.accountCache = accountCache;
+        this.idempotentTransactionExecutor = idempotentTransactionExecutor;
+        this.bankingMetrics = bankingMetrics;
     }
 
     @Override
-    public ResponseEntity<TransactionRes> createTransaction(TransactionReq transactionReq) {
-        log.info("In createTransaction with transactionReq: {}", transactionReq);
+    public ResponseEntity<TransactionRes> createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+
+        return bankingMetrics.getCreateTransactionTimer().record(() -> {
+            if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+                throw new TransactionServiceException(ErrorInfo.INVALID_IDEMPOTENCY_KEY);
+            }
+            if (accountCache.find(transactionReq.getAccountId()) == null) {
+                log.error("Customer account not found for accountId: {}", transactionReq.getAccountId());
+                throw new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+            }
+
+            return ResponseEntity.ok(idempotencyKey == null
+                    ? transactionService.createTransaction(transactionReq)
+                    : idempotentTransactionExecutor.createTransaction(idempotencyKey, transactionReq));
+        });
+    }
+
+    private static ObjectReader transactionReqReader(ObjectMapper objectMapper) {
+        return objectMapper.readerFor(TransactionReq.class)
+                .without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    /**
+     * Reads the request body, a json or cbor array, one element at a time and hands the valid transactions to the
+     * service in chunks, so neither the whole body nor the whole batch is ever held in memory at once. An element is
+     * checked against its constraints as it is read, see {@link com.banking.fintech.codec.TransactionReqDeserializer}.
+     */
+    @Override
+    public ResponseEntity<List<TransactionBatchItemRes>> createTransactions(InputStream transactionReqs, MediaType contentType) {
+        int chunkSize = transactionProperties.getBatch().getChunkSize();
+        log.info("In createTransactions with chunk size: {}", chunkSize);
+
+        List<TransactionBatchItemRes> transactionBatchItemResList = new ArrayList<>();
+        List<TransactionReq> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+        ObjectReader reader = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborTransactionReqReader : transactionReqReader;
+        try (JsonParser jsonParser = reader.createParser(transactionReqs)) {
+            if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
+                throw new TransactionServiceException(ErrorInfo.MALFORMED_TRANSACTION_BATCH);
+            }
+
+            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                TransactionBatchItemRes rejectedItem;
+                TransactionReq transactionReq = null;
+                try {
+                    transactionReq = reader.readValue(jsonParser);
+                    rejectedItem = validate(transactionReq);
+                } catch (TransactionServiceException e) {
+                    rejectedItem = buildErrorItem(null, e.getErrorInfo(), e.getDetails());
+                }
+                if (rejectedItem != null) {
+                    transactionBatchItemResList.add(rejectedItem.toBuilder().index(index).build());
+                } else {
+                    chunk.add(transactionReq);
+                    chunkIndexes.add(index);
+                    if (chunk.size() == chunkSize) {
+                        processChunk(chunk, chunkIndexes, transactionBatchItemResList);
+                    }
+                }
+                index++;
+            }
+        } catch (JacksonException e) {
+            log.error("Malformed transaction batch payload at item index: {}", index, e);
+            if (index == 0) {
+                throw new TransactionServiceException(ErrorInfo.MALFORMED_TRANSACTION_BATCH, e);
+            }
+
+            transactionBatchItemResList.add(buildErrorItem(index, ErrorInfo.MALFORMED_TRANSACTION_BATCH, null));
+        }
+
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, chunkIndexes, transactionBatchItemResList);
+        }
+        transactionBatchItemResList.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+
+        return ResponseEntity.ok(transactionBatchItemResList);
+    }
+
+    /**
+     * Rejects a null element, or a transaction of an unknown account, before it takes a place in a chunk and its db transaction.
+     */
+    private TransactionBatchItemRes validate(TransactionReq transactionReq) {
+        if (transactionReq == null) {
+            return buildErrorItem(null, ErrorInfo.INVALID_TRANSACTION_REQUEST, null);
+        }
+
+        return accountCache.find(transactionReq.getAccountId()) == null
+                ? buildErrorItem(null, ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND, null)
+                : null;
+    }
+
+    private void processChunk(List<TransactionReq> chunk, List<Integer> chunkIndexes,
+                              List<TransactionBatchItemRes> transactionBatchItemResList) {
+        try {
+            List<TransactionBatchItemRes> chunkResults = transactionService.createTransactions(List.copyOf(chunk));
+            for (int i = 0; i < chunkResults.size(); i++) {
+                bankingMetrics.countError(chunkResults.get(i).getError());
+                transactionBatchItemResList.add(chunkResults.get(i).toBuilder().index(chunkIndexes.get(i)).build());
+            }
+        } catch (RuntimeException e) {
+            ErrorInfo errorInfo = e instanceof BankingServiceException bankingServiceException
+                    ? bankingServiceException.getErrorInfo()
+                    : ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB;
+            log.error("Transaction batch chunk of size: {} rolled back with error code: {}", chunk.size(), errorInfo.getErrCode(), e);
+            for (Integer chunkIndex : chunkIndexes) {
+                transactionBatchItemResList.add(buildErrorItem(chunkIndex, errorInfo, null));
+            }
+        }
+
+        chunk.clear();
+        chunkIndexes.clear();
+    }
 
-        return ResponseEntity.ok(transactionService.createTransaction(transactionReq));
+    /**
+     * Builds the item of a rejected element, counting it like an error response.
+     */
+    private TransactionBatchItemRes buildErrorItem(Integer index, ErrorInfo errorInfo, String details) {
+        bankingMetrics.countError(errorInfo);
+        return TransactionBatchItemRes.builder()
+                .index(index)
+                .status(errorInfo.getHttpStatus().value())
+                .error(ErrorDetailRes.builder()
+                        .errCode(errorInfo.getErrCode())
+                        .errMsg(details == null ? errorInfo.getErrMsg() : errorInfo.getErrMsg() + " " + details)
+                        .build())
+                .build();
     }
 }
@@ -0,0 +1,29 @@
+package com.banking.fintech.dto;
+
+import com.banking.fintech.codec.JsonMinorUnits;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AccountBalanceRes {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+
+    @JsonProperty("balance")
+    @JsonMinorUnits
+    @Schema(type = "number", example = "-20.50")
+    private long balance;
+
+    @JsonProperty("outstanding_debt")
+    @JsonMinorUnits
+    @Schema(type = "number", example = "70.00")
+    private long outstandingDebt;
+}
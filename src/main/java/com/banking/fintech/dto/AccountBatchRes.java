@@ -0,0 +1,20 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AccountBatchRes {
+
+    /**
+     * The ids of the created accounts, in the order of the accounts of the request.
+     */
+    @JsonProperty("account_ids")
+    private long[] accountIds;
+}
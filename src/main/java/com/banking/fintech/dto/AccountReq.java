@@ -1,11 +1,13 @@
 package com.banking.fintech.dto;
 
+import com.banking.fintech.logging.LogRedaction;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -15,5 +17,11 @@ public class AccountReq {
 
     @NotBlank(message = "document_number is required")
     @JsonProperty("document_number")
+    @ToString.Exclude
     private String documentNumber;
+
+    @ToString.Include(name = "documentNumber")
+    private String redactedDocumentNumber() {
+        return LogRedaction.redactDocumentNumber(documentNumber);
+    }
 }
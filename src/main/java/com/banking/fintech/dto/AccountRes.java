@@ -1,10 +1,14 @@
 package com.banking.fintech.dto;
 
+import com.banking.fintech.codec.JsonMinorUnits;
+import com.banking.fintech.logging.LogRedaction;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -16,5 +20,21 @@ public class AccountRes {
     private Long accountId;
 
     @JsonProperty("document_number")
+    @ToString.Exclude
     private String documentNumber;
+
+    @JsonProperty("balance")
+    @JsonMinorUnits
+    @Schema(type = "number", example = "-20.50")
+    private long balance;
+
+    @JsonProperty("outstanding_debt")
+    @JsonMinorUnits
+    @Schema(type = "number", example = "70.00")
+    private long outstandingDebt;
+
+    @ToString.Include(name = "documentNumber")
+    private String redactedDocumentNumber() {
+        return LogRedaction.redactDocumentNumber(documentNumber);
+    }
 }
@@ -0,0 +1,29 @@
+package com.banking.fintech.dto;
+
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AsyncTransactionRes {
+
+    @JsonProperty("tracking_id")
+    private String trackingId;
+
+    @JsonProperty("status")
+    private AsyncTransactionStatus status;
+
+    @JsonProperty("transaction")
+    private TransactionRes transaction;
+
+    @JsonProperty("error")
+    private ErrorDetailRes error;
+}
@@ -0,0 +1,32 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class CacheStatsRes {
+
+    @JsonProperty("hit_count")
+    private long hitCount;
+
+    @JsonProperty("miss_count")
+    private long missCount;
+
+    @JsonProperty("hit_rate")
+    private double hitRate;
+
+    @JsonProperty("eviction_count")
+    private long evictionCount;
+
+    @JsonProperty("estimated_size")
+    private long estimatedSize;
+
+    @JsonProperty("negative_hit_count")
+    private long negativeHitCount;
+}
@@ -0,0 +1,27 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OperationTypeReq {
+
+    @NotBlank(message = "description is required")
+    @JsonProperty("description")
+    private String description;
+
+    @NotBlank(message = "operation_type is required")
+    @Pattern(regexp = "(?i)credit|debit", message = "operation_type must be credit or debit")
+    @JsonProperty("operation_type")
+    @Schema(allowableValues = {"credit", "debit"})
+    private String operationType;
+}
@@ -0,0 +1,23 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class OperationTypeRes {
+
+    @JsonProperty("operation_type_id")
+    private Long operationTypeId;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("operation_type")
+    private String operationType;
+}
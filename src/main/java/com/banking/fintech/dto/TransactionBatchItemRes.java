@@ -0,0 +1,28 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransactionBatchItemRes {
+
+    @JsonProperty("index")
+    private Integer index;
+
+    @JsonProperty("status")
+    private Integer status;
+
+    @JsonProperty("transaction")
+    private TransactionRes transaction;
+
+    @JsonProperty("error")
+    private ErrorDetailRes error;
+}
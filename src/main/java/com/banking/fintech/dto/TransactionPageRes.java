@@ -0,0 +1,27 @@
+package com.banking.fintech.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TransactionPageRes {
+
+    @JsonProperty("transactions")
+    private List<TransactionRes> transactions;
+
+    /**
+     * Opaque position after the last transaction of the page, null on the last page.
+     */
+    @JsonProperty("next_cursor")
+    @Schema(example = "MTc2MDY4NjQwMDAwMDAwMDoxMjM", nullable = true)
+    private String nextCursor;
+}
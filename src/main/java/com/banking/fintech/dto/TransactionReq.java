@@ -1,6 +1,8 @@
 package com.banking.fintech.dto;
 
+import com.banking.fintech.codec.JsonMinorUnits;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -27,5 +29,7 @@ public class TransactionReq {
     @NotNull(message = "amount is required")
     @Positive(message = "amount must be greater than 0")
     @JsonProperty("amount")
-    private Double amount;
+    @JsonMinorUnits
+    @Schema(type = "number", example = "123.45", description = "Amount with at most 2 decimal places")
+    private Long amount;
 }
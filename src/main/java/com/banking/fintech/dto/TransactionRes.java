@@ -1,6 +1,8 @@
 package com.banking.fintech.dto;
 
+import com.banking.fintech.codec.JsonMinorUnits;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,7 +26,9 @@ public class TransactionRes {
     private Long operationTypeId;
 
     @JsonProperty("amount")
-    private Double amount;
+    @JsonMinorUnits
+    @Schema(type = "number", example = "-123.45")
+    private long amount;
 
     @JsonProperty("event_date")
     private Instant eventDate;
@@ -1,10 +1,12 @@
 package com.banking.fintech.entity;
 
+import com.banking.fintech.logging.LogRedaction;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -15,10 +17,29 @@ import lombok.NoArgsConstructor;
 public class AccountEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     @Column(name = "account_id")
     private Long accountId;
 
     @Column(name = "document_number", nullable = false)
+    @ToString.Exclude
     private String documentNumber;
+
+    /**
+     * Sum of the amounts of all transactions of the account, in minor units.
+     */
+    @Column(name = "balance", nullable = false)
+    private long balance;
+
+    /**
+     * Sum of the balances of the open debits of the account, in minor units.
+     */
+    @Column(name = "outstanding_debt", nullable = false)
+    private long outstandingDebt;
+
+    @ToString.Include(name = "documentNumber")
+    private String redactedDocumentNumber() {
+        return LogRedaction.redactDocumentNumber(documentNumber);
+    }
 }
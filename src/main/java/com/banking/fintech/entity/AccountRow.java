@@ -0,0 +1,42 @@
+package com.banking.fintech.entity;
+
+import com.banking.fintech.logging.LogRedaction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Row of the accounts table as read and written by the reactive stack over r2dbc, see {@link AccountEntity}.
+ * A row saved without an id takes it from the column default of accounts_seq.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table("accounts")
+public class AccountRow {
+
+    @Id
+    @Column("account_id")
+    private Long accountId;
+
+    @Column("document_number")
+    @ToString.Exclude
+    private String documentNumber;
+
+    @Column("balance")
+    private long balance;
+
+    @Column("outstanding_debt")
+    private long outstandingDebt;
+
+    @ToString.Include(name = "documentNumber")
+    private String redactedDocumentNumber() {
+        return LogRedaction.redactDocumentNumber(documentNumber);
+    }
+}
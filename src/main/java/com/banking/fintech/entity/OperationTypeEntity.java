@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class OperationTypeEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_types_seq")
+    @SequenceGenerator(name = "operation_types_seq", sequenceName = "operation_types_seq", allocationSize = 50)
     @Column(name = "operation_type_id")
     private Long operationTypeId;
 
@@ -17,7 +17,8 @@ import java.time.Instant;
 public class TransactionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long transactionId;
 
@@ -37,11 +38,17 @@ public class TransactionEntity {
     )
     private OperationTypeEntity operationTypeEntity;
 
+    /**
+     * Signed amount in minor units, negative for debits.
+     */
     @Column(name = "amount", nullable = false)
-    private Double amount;
+    private long amount;
 
+    /**
+     * Part of the amount in minor units not yet settled, negative while a debit is open and positive for unused credit.
+     */
     @Column(name = "balance", nullable = false)
-    private Double balance;
+    private long balance;
 
     @Column(name = "event_date", nullable = false)
     private Instant eventDate;
@@ -0,0 +1,45 @@
+package com.banking.fintech.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the transactions table as read and written by the reactive stack over r2dbc, see {@link TransactionEntity}.
+ * A row saved without an id takes it from the column default of transactions_seq.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table("transactions")
+public class TransactionRow {
+
+    @Id
+    @Column("transaction_id")
+    private Long transactionId;
+
+    @Column("account_id")
+    private Long accountId;
+
+    @Column("operation_type_id")
+    private Long operationTypeId;
+
+    @Column("amount")
+    private long amount;
+
+    @Column("balance")
+    private long balance;
+
+    /**
+     * Event date in UTC, the column is a timestamp without time zone.
+     */
+    @Column("event_date")
+    private LocalDateTime eventDate;
+}
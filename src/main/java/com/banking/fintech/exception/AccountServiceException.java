@@ -14,6 +14,10 @@ public class AccountServiceException extends BankingServiceException {
         super(errorInfo);
     }
 
+    public AccountServiceException(ErrorInfo errorInfo, String details) {
+        super(errorInfo, details);
+    }
+
     public AccountServiceException(ErrorInfo errorInfo, Throwable cause) {
         super(errorInfo, cause);
     }
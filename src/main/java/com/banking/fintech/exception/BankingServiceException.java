@@ -12,11 +12,22 @@ public class BankingServiceException extends RuntimeException {
 
     protected ErrorInfo errorInfo;
 
+    /**
+     * What exactly was wrong with the request, appended to the error message, or null.
+     */
+    protected String details;
+
     public BankingServiceException(ErrorInfo errorInfo) {
         super(errorInfo.getErrCode() + ": " + errorInfo.getErrMsg());
         this.errorInfo = errorInfo;
     }
 
+    public BankingServiceException(ErrorInfo errorInfo, String details) {
+        super(errorInfo.getErrCode() + ": " + errorInfo.getErrMsg() + " " + details);
+        this.errorInfo = errorInfo;
+        this.details = details;
+    }
+
     public BankingServiceException(ErrorInfo errorInfo, Throwable cause) {
         super(errorInfo.getErrCode() + ": " + errorInfo.getErrMsg(), cause);
         this.errorInfo = errorInfo;
@@ -2,6 +2,8 @@ package com.banking.fintech.exception;
 
 import com.banking.fintech.constant.ErrorInfo;
 import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.metrics.BankingMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,15 +11,25 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final BankingMetrics bankingMetrics;
+
+    @Autowired
+    public GlobalExceptionHandler(BankingMetrics bankingMetrics) {
+        this.bankingMetrics = bankingMetrics;
+    }
+
     @ExceptionHandler({
             BankingServiceException.class,
             AccountServiceException.class,
-            TransactionServiceException.class
+            TransactionServiceException.class,
+            OperationTypeServiceException.class
     })
     public ResponseEntity<ErrorDetailRes> handleBankingServiceException(BankingServiceException bankingServiceException) {
+        bankingMetrics.countError(bankingServiceException.getErrorInfo());
+        String errMsg = bankingServiceException.getErrorInfo().getErrMsg();
         ErrorDetailRes errorDetailRes = ErrorDetailRes.builder()
                 .errCode(bankingServiceException.getErrorInfo().getErrCode())
-                .errMsg(bankingServiceException.getErrorInfo().getErrMsg())
+                .errMsg(bankingServiceException.getDetails() == null ? errMsg : errMsg + " " + bankingServiceException.getDetails())
                 .build();
 
         return ResponseEntity.status(bankingServiceException.getErrorInfo().getHttpStatus().value())
@@ -27,6 +39,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetailRes> handleGenericException(Exception exception) {
         ErrorInfo errorInfo = ErrorInfo.UNKNOWN_SERVER_ERROR;
+        bankingMetrics.countError(errorInfo);
         ErrorDetailRes errorDetailRes = ErrorDetailRes.builder()
                 .errCode(errorInfo.getErrCode())
                 .errMsg(errorInfo.getErrMsg() + " " + exception.getMessage())
@@ -0,0 +1,20 @@
+package com.banking.fintech.exception;
+
+import com.banking.fintech.constant.ErrorInfo;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@EqualsAndHashCode(callSuper = true)
+@Getter
+@ToString
+public class OperationTypeServiceException extends BankingServiceException {
+
+    public OperationTypeServiceException(ErrorInfo errorInfo) {
+        super(errorInfo);
+    }
+
+    public OperationTypeServiceException(ErrorInfo errorInfo, Throwable cause) {
+        super(errorInfo, cause);
+    }
+}
@@ -14,6 +14,10 @@ public class TransactionServiceException extends BankingServiceException {
         super(errorInfo);
     }
 
+    public TransactionServiceException(ErrorInfo errorInfo, String details) {
+        super(errorInfo, details);
+    }
+
     public TransactionServiceException(ErrorInfo errorInfo, Throwable cause) {
         super(errorInfo, cause);
     }
@@ -0,0 +1,8 @@
+package com.banking.fintech.journal;
+
+/**
+ * A transaction request accepted into the {@link TransactionJournal}, the amount is the unsigned amount of the request
+ * in minor units.
+ */
+public record JournalEntry(long sequence, long accountId, long operationTypeId, long amount) {
+}
@@ -0,0 +1,108 @@
+package com.banking.fintech.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory mapped file of the journal, holding a fixed number of fixed size records that start at its first sequence.
+ * A record is its length, a crc32c of the rest, the sequence and the entry, so the end of the written records is the
+ * first slot that is still zero, or whose crc does not match after a write was torn by a crash.
+ */
+final class JournalSegment {
+
+    static final int RECORD_SIZE = 40;
+
+    private static final int CRC_OFFSET = 4;
+    private static final int CHECKED_OFFSET = 8;
+
+    private final Path path;
+    private final long firstSequence;
+    private final int capacity;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(Path path, long firstSequence, int capacity, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.capacity = capacity;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment map(Path path, long firstSequence, int capacity) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(path, firstSequence, capacity,
+                    fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getFirstSequence() {
+        return firstSequence;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Writes the entry into its slot and forces it to disk before returning.
+     */
+    void write(JournalEntry journalEntry, byte[] record) {
+        ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+        recordBuffer.putLong(CHECKED_OFFSET, journalEntry.sequence());
+        recordBuffer.putLong(CHECKED_OFFSET + 8, journalEntry.accountId());
+        recordBuffer.putLong(CHECKED_OFFSET + 16, journalEntry.operationTypeId());
+        recordBuffer.putLong(CHECKED_OFFSET + 24, journalEntry.amount());
+        recordBuffer.putInt(CRC_OFFSET, crc(record));
+        recordBuffer.putInt(0, RECORD_SIZE);
+
+        int offset = slot(journalEntry.sequence()) * RECORD_SIZE;
+        buffer.put(offset, record, 0, RECORD_SIZE);
+        buffer.force(offset, RECORD_SIZE);
+    }
+
+    /**
+     * Returns the entry in the slot of the sequence, or null when the slot holds no complete record of it.
+     */
+    JournalEntry read(long sequence, byte[] record) {
+        buffer.get(slot(sequence) * RECORD_SIZE, record, 0, RECORD_SIZE);
+        ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+        if (recordBuffer.getInt(0) != RECORD_SIZE || recordBuffer.getInt(CRC_OFFSET) != crc(record)
+                || recordBuffer.getLong(CHECKED_OFFSET) != sequence) {
+            return null;
+        }
+
+        return new JournalEntry(sequence, recordBuffer.getLong(CHECKED_OFFSET + 8), recordBuffer.getLong(CHECKED_OFFSET + 16),
+                recordBuffer.getLong(CHECKED_OFFSET + 24));
+    }
+
+    /**
+     * Returns the sequence of the last complete record, or one less than the first sequence when there is none.
+     */
+    long recoverLastSequence() {
+        byte[] record = new byte[RECORD_SIZE];
+        long sequence = firstSequence;
+        while (sequence < firstSequence + capacity && read(sequence, record) != null) {
+            sequence++;
+        }
+
+        return sequence - 1;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence - firstSequence);
+    }
+
+    private static int crc(byte[] record) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(record, CHECKED_OFFSET, RECORD_SIZE - CHECKED_OFFSET);
+        return (int) crc32c.getValue();
+    }
+}
@@ -0,0 +1,216 @@
+package com.banking.fintech.journal;
+
+import com.banking.fintech.config.TransactionProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Write ahead journal of accepted transaction requests on local disk, made of memory mapped segment files.
+ * An append returns once its record is forced to disk, so an accepted request survives a crash of the process or host.
+ * The checkpoint is the last sequence applied to the db, the segments entirely before it are deleted and the entries
+ * after it are read again after a restart.
+ * Sequences restart from 1 in a new journal directory, the journal id tells the entries of two directories apart.
+ * Writers take a lock rather than a monitor, so a virtual thread waiting on the force does not pin its carrier thread.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.async.enabled", havingValue = "true")
+@Slf4j
+public class TransactionJournal {
+
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String JOURNAL_ID_FILE = "journal.id";
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final String journalId;
+    private final NavigableMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final FileChannel checkpointChannel;
+    private final byte[] appendRecord = new byte[JournalSegment.RECORD_SIZE];
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private JournalSegment appendSegment;
+    private volatile long lastSequence;
+    private volatile long checkpoint;
+
+    @Autowired
+    public TransactionJournal(TransactionProperties transactionProperties) {
+        this(Path.of(transactionProperties.getAsync().getJournalDir()), transactionProperties.getAsync().getSegmentSize().toBytes());
+    }
+
+    public TransactionJournal(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / JournalSegment.RECORD_SIZE,
+                Math.max(1, segmentSize / JournalSegment.RECORD_SIZE));
+        try {
+            Files.createDirectories(directory);
+            this.journalId = readOrCreateJournalId();
+            this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.checkpoint = readCheckpoint();
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the transaction journal in: " + directory, e);
+        }
+        log.info("Opened transaction journal: {} in: {} with last sequence: {} and checkpoint: {}", journalId, directory, lastSequence, checkpoint);
+    }
+
+    public String getJournalId() {
+        return journalId;
+    }
+
+    /**
+     * Returns the id of the entry that stays unique across journal directories, it is the journal id and the sequence.
+     */
+    public String trackingId(long sequence) {
+        return journalId + "-" + sequence;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Appends the entry and forces it to disk, returning its sequence.
+     */
+    public long append(long accountId, long operationTypeId, long amount) {
+        writeLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            if (sequence >= appendSegment.getFirstSequence() + appendSegment.getCapacity()) {
+                appendSegment = mapSegment(sequence);
+            }
+
+            appendSegment.write(new JournalEntry(sequence, accountId, operationTypeId, amount), appendRecord);
+            lastSequence = sequence;
+            return sequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to the given number of entries starting at the sequence, stopping at the last appended one.
+     */
+    public List<JournalEntry> read(long fromSequence, int maxEntries) {
+        long toSequence = Math.min(lastSequence, fromSequence + maxEntries - 1);
+        List<JournalEntry> journalEntries = new ArrayList<>((int) Math.max(0, toSequence - fromSequence + 1));
+        byte[] record = new byte[JournalSegment.RECORD_SIZE];
+        for (long sequence = fromSequence; sequence <= toSequence; sequence++) {
+            Map.Entry<Long, JournalSegment> segmentEntry = segments.floorEntry(sequence);
+            JournalEntry journalEntry = segmentEntry == null ? null : segmentEntry.getValue().read(sequence, record);
+            if (journalEntry == null) {
+                throw new IllegalStateException("Transaction journal entry: " + sequence + " is missing or corrupt");
+            }
+            journalEntries.add(journalEntry);
+        }
+
+        return journalEntries;
+    }
+
+    /**
+     * Records that every entry up to the sequence is applied, and deletes the segments holding only such entries.
+     */
+    public void checkpoint(long sequence) {
+        writeLock.lock();
+        try {
+            checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence), 0);
+            checkpointChannel.force(false);
+            checkpoint = sequence;
+
+            for (JournalSegment segment : List.copyOf(segments.values())) {
+                if (segment != appendSegment && segment.getFirstSequence() + segment.getCapacity() - 1 <= sequence) {
+                    segments.remove(segment.getFirstSequence());
+                    Files.deleteIfExists(segment.getPath());
+                    log.info("Deleted applied transaction journal segment: {}", segment.getPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not checkpoint the transaction journal at: " + sequence, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        checkpointChannel.close();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.filter(TransactionJournal::isSegment).toList()) {
+                long firstSequence = Long.parseLong(path.getFileName().toString()
+                        .substring(SEGMENT_FILE_PREFIX.length(), path.getFileName().toString().length() - SEGMENT_FILE_SUFFIX.length()));
+                int capacity = (int) (Files.size(path) / JournalSegment.RECORD_SIZE);
+                segments.put(firstSequence, JournalSegment.map(path, firstSequence, capacity));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            appendSegment = mapSegment(checkpoint + 1);
+            lastSequence = checkpoint;
+        } else {
+            appendSegment = segments.lastEntry().getValue();
+            lastSequence = Math.max(checkpoint, appendSegment.recoverLastSequence());
+        }
+    }
+
+    private JournalSegment mapSegment(long firstSequence) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_FILE_PREFIX, firstSequence, SEGMENT_FILE_SUFFIX));
+        try {
+            JournalSegment segment = JournalSegment.map(path, firstSequence, recordsPerSegment);
+            segments.put(firstSequence, segment);
+            log.info("Mapped transaction journal segment: {}", path);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map the transaction journal segment: " + path, e);
+        }
+    }
+
+    private String readOrCreateJournalId() throws IOException {
+        Path journalIdPath = directory.resolve(JOURNAL_ID_FILE);
+        if (Files.exists(journalIdPath)) {
+            return Files.readString(journalIdPath, StandardCharsets.UTF_8).strip();
+        }
+
+        String newJournalId = UUID.randomUUID().toString().substring(0, 8);
+        Files.writeString(journalIdPath, newJournalId, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.SYNC);
+        return newJournalId;
+    }
+
+    private long readCheckpoint() throws IOException {
+        ByteBuffer checkpointBuffer = ByteBuffer.allocate(Long.BYTES);
+        return checkpointChannel.read(checkpointBuffer, 0) == Long.BYTES ? checkpointBuffer.getLong(0) : 0L;
+    }
+
+    private static boolean isSegment(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_FILE_PREFIX) && fileName.endsWith(SEGMENT_FILE_SUFFIX);
+    }
+}
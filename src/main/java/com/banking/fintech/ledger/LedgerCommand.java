@@ -0,0 +1,33 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.service.OpenDebit;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A state change of the {@link LedgerEngine}. Commands carry everything read from outside the engine, such as the
+ * clock, the db state of a newly seen account and the reserved ids, so replaying them always gives the same state.
+ */
+public sealed interface LedgerCommand {
+
+    /**
+     * Brings an account the engine has not seen yet into memory, with its state read from the db.
+     */
+    record LoadAccount(long accountId, long balance, long outstandingDebt, List<OpenDebit> openDebits) implements LedgerCommand {
+    }
+
+    /**
+     * Hands the engine a block of transaction ids reserved from the db sequence.
+     */
+    record ReserveTransactionIds(long firstTransactionId, int count) implements LedgerCommand {
+    }
+
+    /**
+     * Posts a transaction, the amount is the positive amount of the request and the operation type gives its sign.
+     */
+    record PostTransaction(long accountId, long operationTypeId, TransactionOperationType operationType, long amount,
+                           Instant eventDate, String idempotencyKey) implements LedgerCommand {
+    }
+}
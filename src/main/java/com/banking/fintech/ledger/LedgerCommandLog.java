@@ -0,0 +1,280 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.service.OpenDebit;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append only log of the commands applied by the {@link LedgerEngine}, split in segment files starting at a snapshot.
+ * Commands are buffered by {@link #append} and written and forced together by {@link #flush}, so a batch of commands
+ * costs one fsync. A record is its length, a crc32c and the command, and a torn record at the end of the last segment
+ * is cut off when the log is opened.
+ */
+@Slf4j
+public class LedgerCommandLog implements Closeable {
+
+    private static final String SEGMENT_FILE_PREFIX = "commands-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+
+    private static final byte LOAD_ACCOUNT = 1;
+    private static final byte RESERVE_TRANSACTION_IDS = 2;
+    private static final byte POST_TRANSACTION = 3;
+
+    private final Path directory;
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream(64 * 1024);
+    private final ByteArrayOutputStream commandBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream commandOutput = new DataOutputStream(commandBytes);
+
+    private FileChannel segmentChannel;
+    private long lastSequence;
+
+    public LedgerCommandLog(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.filter(LedgerCommandLog::isSegment).forEach(path -> segments.put(firstSequence(path), path));
+        }
+
+        if (segments.isEmpty()) {
+            openSegment(1L);
+        } else {
+            Map.Entry<Long, Path> lastSegment = segments.lastEntry();
+            long[] lastSequenceAndEnd = {lastSegment.getKey() - 1, 0L};
+            readSegment(lastSegment.getValue(), (sequence, command, end) -> {
+                lastSequenceAndEnd[0] = sequence;
+                lastSequenceAndEnd[1] = end;
+            });
+            lastSequence = lastSequenceAndEnd[0];
+            segmentChannel = FileChannel.open(lastSegment.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (segmentChannel.size() > lastSequenceAndEnd[1]) {
+                log.warn("Cutting off a torn ledger command at offset: {} of: {}", lastSequenceAndEnd[1], lastSegment.getValue());
+                segmentChannel.truncate(lastSequenceAndEnd[1]);
+                segmentChannel.force(true);
+            }
+            segmentChannel.position(lastSequenceAndEnd[1]);
+        }
+        log.info("Opened ledger command log in: {} with last sequence: {}", directory, lastSequence);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Reads every logged command after the given sequence, in sequence order.
+     */
+    public void replay(long afterSequence, CommandConsumer commandConsumer) throws IOException {
+        Long fromSegment = segments.floorKey(afterSequence + 1);
+        for (Path segment : (fromSegment == null ? segments : segments.tailMap(fromSegment, true)).values()) {
+            readSegment(segment, (sequence, command, end) -> {
+                if (sequence > afterSequence) {
+                    commandConsumer.accept(sequence, command);
+                }
+            });
+        }
+    }
+
+    /**
+     * Buffers the command as the given sequence, it is on disk once {@link #flush} returns.
+     */
+    public void append(long sequence, LedgerCommand command) throws IOException {
+        if (sequence != lastSequence + 1) {
+            throw new IllegalStateException("Ledger command: " + sequence + " does not follow: " + lastSequence);
+        }
+
+        commandBytes.reset();
+        commandOutput.writeLong(sequence);
+        switch (command) {
+            case LedgerCommand.LoadAccount loadAccount -> {
+                commandOutput.writeByte(LOAD_ACCOUNT);
+                commandOutput.writeLong(loadAccount.accountId());
+                commandOutput.writeLong(loadAccount.balance());
+                commandOutput.writeLong(loadAccount.outstandingDebt());
+                commandOutput.writeInt(loadAccount.openDebits().size());
+                for (OpenDebit openDebit : loadAccount.openDebits()) {
+                    commandOutput.writeLong(openDebit.transactionId());
+                    commandOutput.writeLong(openDebit.balance());
+                }
+            }
+            case LedgerCommand.ReserveTransactionIds reserveTransactionIds -> {
+                commandOutput.writeByte(RESERVE_TRANSACTION_IDS);
+                commandOutput.writeLong(reserveTransactionIds.firstTransactionId());
+                commandOutput.writeInt(reserveTransactionIds.count());
+            }
+            case LedgerCommand.PostTransaction postTransaction -> {
+                commandOutput.writeByte(POST_TRANSACTION);
+                commandOutput.writeLong(postTransaction.accountId());
+                commandOutput.writeLong(postTransaction.operationTypeId());
+                commandOutput.writeByte(postTransaction.operationType().ordinal());
+                commandOutput.writeLong(postTransaction.amount());
+                commandOutput.writeLong(postTransaction.eventDate().getEpochSecond());
+                commandOutput.writeInt(postTransaction.eventDate().getNano());
+                commandOutput.writeBoolean(postTransaction.idempotencyKey() != null);
+                if (postTransaction.idempotencyKey() != null) {
+                    commandOutput.writeUTF(postTransaction.idempotencyKey());
+                }
+            }
+        }
+
+        byte[] record = commandBytes.toByteArray();
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(record);
+        DataOutputStream recordOutput = new DataOutputStream(pendingRecords);
+        recordOutput.writeInt(record.length);
+        recordOutput.writeInt((int) crc32c.getValue());
+        recordOutput.write(record);
+        lastSequence = sequence;
+    }
+
+    /**
+     * Writes the buffered commands and forces them to disk.
+     */
+    public void flush() throws IOException {
+        if (pendingRecords.size() == 0) {
+            return;
+        }
+
+        ByteBuffer records = ByteBuffer.wrap(pendingRecords.toByteArray());
+        while (records.hasRemaining()) {
+            segmentChannel.write(records);
+        }
+        segmentChannel.force(false);
+        pendingRecords.reset();
+    }
+
+    /**
+     * Flushes the current segment and starts a new one at the given sequence, so that the segments before a snapshot
+     * can be deleted once it is promoted.
+     */
+    public void roll(long firstSequence) throws IOException {
+        flush();
+        segmentChannel.close();
+        openSegment(firstSequence);
+    }
+
+    /**
+     * Deletes the segments whose commands are all at or before the sequence.
+     */
+    public void deleteBefore(long sequence) throws IOException {
+        for (Map.Entry<Long, Path> segment : segments.headMap(sequence + 1, false).entrySet()) {
+            Long nextFirstSequence = segments.higherKey(segment.getKey());
+            if (nextFirstSequence != null && nextFirstSequence <= sequence + 1) {
+                segments.remove(segment.getKey());
+                Files.deleteIfExists(segment.getValue());
+                log.info("Deleted ledger command log segment: {}", segment.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segmentChannel.close();
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_FILE_PREFIX, firstSequence, SEGMENT_FILE_SUFFIX));
+        segmentChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.put(firstSequence, path);
+    }
+
+    private static void readSegment(Path segment, RecordConsumer recordConsumer) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(segment), 64 * 1024)) {
+            DataInputStream recordInput = new DataInputStream(inputStream);
+            long end = 0;
+            while (true) {
+                byte[] command;
+                int crc;
+                try {
+                    int length = recordInput.readInt();
+                    crc = recordInput.readInt();
+                    if (length <= 0 || length > 1024 * 1024) {
+                        return;
+                    }
+                    command = new byte[length];
+                    recordInput.readFully(command);
+                } catch (EOFException e) {
+                    return;
+                }
+
+                CRC32C crc32c = new CRC32C();
+                crc32c.update(command);
+                if ((int) crc32c.getValue() != crc) {
+                    return;
+                }
+                end += 8 + command.length;
+                DataInputStream commandInput = new DataInputStream(new ByteArrayInputStream(command));
+                long sequence = commandInput.readLong();
+                recordConsumer.accept(sequence, readCommand(commandInput), end);
+            }
+        }
+    }
+
+    private static LedgerCommand readCommand(DataInputStream commandInput) throws IOException {
+        byte type = commandInput.readByte();
+        return switch (type) {
+            case LOAD_ACCOUNT -> {
+                long accountId = commandInput.readLong();
+                long balance = commandInput.readLong();
+                long outstandingDebt = commandInput.readLong();
+                int openDebitCount = commandInput.readInt();
+                List<OpenDebit> openDebits = new ArrayList<>(openDebitCount);
+                for (int i = 0; i < openDebitCount; i++) {
+                    openDebits.add(new OpenDebit(commandInput.readLong(), commandInput.readLong()));
+                }
+                yield new LedgerCommand.LoadAccount(accountId, balance, outstandingDebt, openDebits);
+            }
+            case RESERVE_TRANSACTION_IDS -> new LedgerCommand.ReserveTransactionIds(commandInput.readLong(), commandInput.readInt());
+            case POST_TRANSACTION -> new LedgerCommand.PostTransaction(commandInput.readLong(), commandInput.readLong(),
+                    TransactionOperationType.values()[commandInput.readByte()], commandInput.readLong(),
+                    Instant.ofEpochSecond(commandInput.readLong(), commandInput.readInt()),
+                    commandInput.readBoolean() ? commandInput.readUTF() : null);
+            default -> throw new IOException("Unknown ledger command type: " + type);
+        };
+    }
+
+    private static boolean isSegment(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_FILE_PREFIX) && fileName.endsWith(SEGMENT_FILE_SUFFIX);
+    }
+
+    private static long firstSequence(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_FILE_PREFIX.length(), fileName.length() - SEGMENT_FILE_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    public interface CommandConsumer {
+
+        void accept(long sequence, LedgerCommand command) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+
+        void accept(long sequence, LedgerCommand command, long end) throws IOException;
+    }
+}
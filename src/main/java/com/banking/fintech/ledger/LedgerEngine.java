@@ -0,0 +1,248 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.service.OpenDebit;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In memory state of the accounts posted to by the ledger mode, changed only by applying {@link LedgerCommand}s in
+ * sequence order from a single thread. Applying the same commands to the same snapshot always gives the same state,
+ * which is how the state is rebuilt after a restart.
+ * A transaction is posted with the same rules as the locking mode: a debit becomes an open debit, and a credit
+ * discharges the open debits of its account oldest first, keeping the rest as its own balance.
+ */
+public class LedgerEngine {
+
+    private static final int SNAPSHOT_MAGIC = 0x4C454447;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private final int retainedIdempotencyKeys;
+    private final Map<String, Long> idempotencyKeySequences = new HashMap<>();
+    private final Deque<String> idempotencyKeys = new ArrayDeque<>();
+
+    private long lastSequence;
+    private long nextTransactionId;
+    private long transactionIdLimit;
+
+    /**
+     * @param retainedIdempotencyKeys number of most recent idempotency keys remembered, older ones are forgotten in
+     *                                sequence order and are only found in the db
+     */
+    public LedgerEngine(int retainedIdempotencyKeys) {
+        this.retainedIdempotencyKeys = retainedIdempotencyKeys;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public boolean hasAccount(long accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public long getRemainingTransactionIds() {
+        return transactionIdLimit - nextTransactionId;
+    }
+
+    /**
+     * Returns the sequence of the posting that used the idempotency key, or null when it is not remembered.
+     */
+    public Long findIdempotencyKey(String idempotencyKey) {
+        return idempotencyKeySequences.get(idempotencyKey);
+    }
+
+    public long getBalance(long accountId) {
+        return account(accountId).balance;
+    }
+
+    public long getOutstandingDebt(long accountId) {
+        return account(accountId).outstandingDebt;
+    }
+
+    public List<OpenDebit> getOpenDebits(long accountId) {
+        return List.copyOf(account(accountId).openDebits);
+    }
+
+    /**
+     * Applies the command as the given sequence, which must follow the last applied one.
+     *
+     * @return the posting of a {@link LedgerCommand.PostTransaction}, null for the other commands
+     */
+    public LedgerPosting apply(long sequence, LedgerCommand command) {
+        if (sequence != lastSequence + 1) {
+            throw new IllegalStateException("Ledger command: " + sequence + " does not follow: " + lastSequence);
+        }
+
+        LedgerPosting ledgerPosting = switch (command) {
+            case LedgerCommand.LoadAccount loadAccount -> {
+                accounts.put(loadAccount.accountId(), new Account(loadAccount.balance(), loadAccount.outstandingDebt(),
+                        new ArrayDeque<>(loadAccount.openDebits())));
+                yield null;
+            }
+            case LedgerCommand.ReserveTransactionIds reserveTransactionIds -> {
+                nextTransactionId = reserveTransactionIds.firstTransactionId();
+                transactionIdLimit = reserveTransactionIds.firstTransactionId() + reserveTransactionIds.count();
+                yield null;
+            }
+            case LedgerCommand.PostTransaction postTransaction -> post(sequence, postTransaction);
+        };
+        lastSequence = sequence;
+        return ledgerPosting;
+    }
+
+    private LedgerPosting post(long sequence, LedgerCommand.PostTransaction postTransaction) {
+        Account account = account(postTransaction.accountId());
+        if (nextTransactionId >= transactionIdLimit) {
+            throw new IllegalStateException("No transaction id reserved for ledger command: " + sequence);
+        }
+
+        long amount = postTransaction.amount() * postTransaction.operationType().getMultiplier();
+        long finalBal = amount;
+        List<OpenDebit> dischargedDebits = List.of();
+        if (TransactionOperationType.CREDIT.equals(postTransaction.operationType())) {
+            dischargedDebits = new ArrayList<>();
+            finalBal = discharge(account.openDebits, postTransaction.amount(), dischargedDebits);
+        }
+
+        long transactionId = nextTransactionId++;
+        account.balance += amount;
+        account.outstandingDebt += amount < 0 ? -amount : finalBal - amount;
+        if (finalBal < 0) {
+            account.openDebits.addLast(new OpenDebit(transactionId, finalBal));
+        }
+        rememberIdempotencyKey(postTransaction.idempotencyKey(), sequence);
+
+        return new LedgerPosting(sequence, transactionId, postTransaction.accountId(), postTransaction.operationTypeId(), amount,
+                finalBal, postTransaction.eventDate(), account.balance, account.outstandingDebt, dischargedDebits,
+                postTransaction.idempotencyKey());
+    }
+
+    private static long discharge(Deque<OpenDebit> openDebits, long credit, List<OpenDebit> dischargedDebits) {
+        long balance = credit;
+        while (balance > 0 && !openDebits.isEmpty()) {
+            OpenDebit openDebit = openDebits.pollFirst();
+            long debitBalance;
+            if (balance > -openDebit.balance()) {
+                balance = balance + openDebit.balance();
+                debitBalance = 0;
+            } else {
+                debitBalance = openDebit.balance() + balance;
+                balance = 0;
+            }
+
+            OpenDebit dischargedDebit = new OpenDebit(openDebit.transactionId(), debitBalance);
+            dischargedDebits.add(dischargedDebit);
+            if (debitBalance < 0) {
+                openDebits.addFirst(dischargedDebit);
+            }
+        }
+
+        return balance;
+    }
+
+    private void rememberIdempotencyKey(String idempotencyKey, long sequence) {
+        if (idempotencyKey == null) {
+            return;
+        }
+
+        idempotencyKeySequences.put(idempotencyKey, sequence);
+        idempotencyKeys.addLast(idempotencyKey);
+        while (idempotencyKeys.size() > retainedIdempotencyKeys) {
+            idempotencyKeySequences.remove(idempotencyKeys.pollFirst());
+        }
+    }
+
+    private Account account(long accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new IllegalStateException("Ledger account: " + accountId + " is not loaded");
+        }
+        return account;
+    }
+
+    /**
+     * Writes the whole state, with the accounts in id order so that equal states give equal bytes.
+     */
+    public void writeSnapshot(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(SNAPSHOT_MAGIC);
+        dataOutputStream.writeInt(SNAPSHOT_VERSION);
+        dataOutputStream.writeLong(lastSequence);
+        dataOutputStream.writeLong(nextTransactionId);
+        dataOutputStream.writeLong(transactionIdLimit);
+
+        dataOutputStream.writeInt(accounts.size());
+        for (Long accountId : accounts.keySet().stream().sorted().toList()) {
+            Account account = accounts.get(accountId);
+            dataOutputStream.writeLong(accountId);
+            dataOutputStream.writeLong(account.balance);
+            dataOutputStream.writeLong(account.outstandingDebt);
+            dataOutputStream.writeInt(account.openDebits.size());
+            for (OpenDebit openDebit : account.openDebits) {
+                dataOutputStream.writeLong(openDebit.transactionId());
+                dataOutputStream.writeLong(openDebit.balance());
+            }
+        }
+
+        dataOutputStream.writeInt(idempotencyKeys.size());
+        for (String idempotencyKey : idempotencyKeys) {
+            dataOutputStream.writeUTF(idempotencyKey);
+            dataOutputStream.writeLong(idempotencyKeySequences.get(idempotencyKey));
+        }
+    }
+
+    public static LedgerEngine readSnapshot(DataInputStream dataInputStream, int retainedIdempotencyKeys) throws IOException {
+        if (dataInputStream.readInt() != SNAPSHOT_MAGIC || dataInputStream.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Not a ledger snapshot of version: " + SNAPSHOT_VERSION);
+        }
+
+        LedgerEngine ledgerEngine = new LedgerEngine(retainedIdempotencyKeys);
+        ledgerEngine.lastSequence = dataInputStream.readLong();
+        ledgerEngine.nextTransactionId = dataInputStream.readLong();
+        ledgerEngine.transactionIdLimit = dataInputStream.readLong();
+
+        int accountCount = dataInputStream.readInt();
+        for (int i = 0; i < accountCount; i++) {
+            long accountId = dataInputStream.readLong();
+            Account account = new Account(dataInputStream.readLong(), dataInputStream.readLong(), new ArrayDeque<>());
+            int openDebitCount = dataInputStream.readInt();
+            for (int j = 0; j < openDebitCount; j++) {
+                account.openDebits.addLast(new OpenDebit(dataInputStream.readLong(), dataInputStream.readLong()));
+            }
+            ledgerEngine.accounts.put(accountId, account);
+        }
+
+        int idempotencyKeyCount = dataInputStream.readInt();
+        for (int i = 0; i < idempotencyKeyCount; i++) {
+            ledgerEngine.rememberIdempotencyKey(dataInputStream.readUTF(), dataInputStream.readLong());
+        }
+
+        return ledgerEngine;
+    }
+
+    private static final class Account {
+
+        private long balance;
+        private long outstandingDebt;
+        private final Deque<OpenDebit> openDebits;
+
+        private Account(long balance, long outstandingDebt, Deque<OpenDebit> openDebits) {
+            this.balance = balance;
+            this.outstandingDebt = outstandingDebt;
+            this.openDebits = openDebits;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.service.OpenDebit;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The outcome of a posted transaction, with the absolute state it leaves behind, so that writing it to the db twice
+ * leaves the same rows as writing it once.
+ *
+ * @param dischargedDebits the open debits the credit discharged, with their new balance
+ */
+public record LedgerPosting(long sequence, long transactionId, long accountId, long operationTypeId, long amount,
+                            long balance, Instant eventDate, long accountBalance, long accountOutstandingDebt,
+                            List<OpenDebit> dischargedDebits, String idempotencyKey) {
+}
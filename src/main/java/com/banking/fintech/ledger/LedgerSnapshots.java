@@ -0,0 +1,121 @@
+package com.banking.fintech.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshots of the {@link LedgerEngine}, written as pending and promoted once the db holds every posting up to
+ * their sequence. A restart therefore starts from a snapshot the db has caught up with, and replays the command log
+ * after it, writing to the db only the postings it does not hold yet. Only the latest promoted snapshot is kept.
+ */
+@Slf4j
+public class LedgerSnapshots {
+
+    private static final String SNAPSHOT_FILE_PREFIX = "snapshot-";
+    private static final String PENDING_SUFFIX = ".pending";
+    private static final String PROMOTED_SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    public LedgerSnapshots(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Writes the state of the engine as a pending snapshot of its last sequence.
+     */
+    public synchronized void writePending(LedgerEngine ledgerEngine) throws IOException {
+        Path tmpPath = directory.resolve(fileName(ledgerEngine.getLastSequence(), ".tmp"));
+        CRC32C crc32c = new CRC32C();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmpPath), 64 * 1024), crc32c))) {
+            ledgerEngine.writeSnapshot(dataOutputStream);
+            dataOutputStream.flush();
+            dataOutputStream.writeLong(crc32c.getValue());
+        }
+        try (FileChannel fileChannel = FileChannel.open(tmpPath, StandardOpenOption.WRITE)) {
+            fileChannel.force(true);
+        }
+
+        Files.move(tmpPath, directory.resolve(fileName(ledgerEngine.getLastSequence(), PENDING_SUFFIX)), StandardCopyOption.ATOMIC_MOVE);
+        log.info("Wrote pending ledger snapshot at sequence: {}", ledgerEngine.getLastSequence());
+    }
+
+    /**
+     * Promotes the pending snapshots at or before the persisted sequence, keeping only the latest promoted one.
+     *
+     * @return the sequence of the latest promoted snapshot, 0 when there is none
+     */
+    public synchronized long promote(long persistedSequence) throws IOException {
+        for (Path pendingPath : list(PENDING_SUFFIX)) {
+            if (sequence(pendingPath, PENDING_SUFFIX) <= persistedSequence) {
+                Files.move(pendingPath, directory.resolve(fileName(sequence(pendingPath, PENDING_SUFFIX), PROMOTED_SUFFIX)),
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        List<Path> promotedPaths = list(PROMOTED_SUFFIX);
+        for (Path promotedPath : promotedPaths.subList(0, Math.max(0, promotedPaths.size() - 1))) {
+            Files.delete(promotedPath);
+        }
+        return promotedPaths.isEmpty() ? 0L : sequence(promotedPaths.getLast(), PROMOTED_SUFFIX);
+    }
+
+    /**
+     * Reads the latest promoted snapshot, or returns an empty engine when there is none.
+     */
+    public synchronized LedgerEngine loadLatest(int retainedIdempotencyKeys) throws IOException {
+        List<Path> promotedPaths = list(PROMOTED_SUFFIX);
+        if (promotedPaths.isEmpty()) {
+            return new LedgerEngine(retainedIdempotencyKeys);
+        }
+
+        Path snapshotPath = promotedPaths.getLast();
+        CRC32C crc32c = new CRC32C();
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(snapshotPath), 64 * 1024)) {
+            LedgerEngine ledgerEngine = LedgerEngine.readSnapshot(new DataInputStream(new CheckedInputStream(inputStream, crc32c)),
+                    retainedIdempotencyKeys);
+            if (new DataInputStream(inputStream).readLong() != crc32c.getValue()) {
+                throw new IOException("Ledger snapshot: " + snapshotPath + " is corrupt");
+            }
+
+            log.info("Loaded ledger snapshot at sequence: {} with: {} accounts", ledgerEngine.getLastSequence(), ledgerEngine.getAccountCount());
+            return ledgerEngine;
+        }
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_FILE_PREFIX)
+                            && path.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String fileName(long sequence, String suffix) {
+        return String.format("%s%020d%s", SNAPSHOT_FILE_PREFIX, sequence, suffix);
+    }
+
+    private static long sequence(Path path, String suffix) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(SNAPSHOT_FILE_PREFIX.length(), fileName.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.banking.fintech.logging;
+
+/**
+ * Masks personal data before it reaches a log line, such as the document number in the toString of the account types.
+ */
+public final class LogRedaction {
+
+    private static final int VISIBLE_SUFFIX_LENGTH = 2;
+
+    private LogRedaction() {
+    }
+
+    /**
+     * Keeps the last two characters of the document number and masks the others, so log lines of the same account
+     * can still be told apart.
+     */
+    public static String redactDocumentNumber(String documentNumber) {
+        if (documentNumber == null) {
+            return null;
+        }
+
+        int visibleFrom = Math.max(documentNumber.length() - VISIBLE_SUFFIX_LENGTH, 0);
+        return "*".repeat(visibleFrom) + documentNumber.substring(visibleFrom);
+    }
+}
@@ -0,0 +1,46 @@
+package com.banking.fintech.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through one in every sampleRate INFO and lower events of the loggers named loggerPrefix or under it, so the
+ * per-request lines stay visible under load at a fraction of their cost. Warnings and errors are never sampled.
+ * The filter runs before the message is formatted, a dropped event costs a counter increment. Declare it once per
+ * logger to sample, each declaration keeps its own count.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong eventCount = new AtomicLong();
+
+    private String loggerPrefix = "";
+    private int sampleRate = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled checks come without a format and must not use up a sample
+        if (sampleRate <= 1 || format == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        // turbo filters run before the level check, events the logger drops anyway must not use up a sample either
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return eventCount.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
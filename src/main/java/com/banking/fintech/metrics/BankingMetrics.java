@@ -0,0 +1,146 @@
+package com.banking.fintech.metrics;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.ErrorDetailRes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The meters of the accounts and transactions hot paths, scraped on /actuator/prometheus next to the meters spring
+ * registers itself, such as the hikari pool gauges. The request timers publish p50, p99 and p999 and a histogram, so
+ * latencies can also be aggregated across instances.
+ */
+@Component
+public class BankingMetrics {
+
+    private static final double[] REQUEST_PERCENTILES = {0.5, 0.99, 0.999};
+
+    @Getter
+    private final Timer createTransactionTimer;
+    @Getter
+    private final Timer createAccountTimer;
+    @Getter
+    private final Timer getAccountTimer;
+    private final Timer openDebitsLockWaitTimer;
+    private final Timer commitTimer;
+    private final DistributionSummary dischargedOpenDebits;
+    private final Map<ErrorInfo, Counter> errorCounters = new EnumMap<>(ErrorInfo.class);
+
+    @Autowired
+    public BankingMetrics(MeterRegistry meterRegistry) {
+        this.createTransactionTimer = requestTimer(meterRegistry, "banking.transactions.create", "Time to answer POST /transactions");
+        this.createAccountTimer = requestTimer(meterRegistry, "banking.accounts.create", "Time to answer POST /accounts");
+        this.getAccountTimer = requestTimer(meterRegistry, "banking.accounts.get", "Time to answer GET /accounts/{accountId}");
+        this.openDebitsLockWaitTimer = Timer.builder("banking.transactions.open.debits.lock.wait")
+                .description("Time to lock the account of a credit and its open debits, mostly waiting for the row locks of concurrent transactions")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("banking.transactions.commit")
+                .description("Time to flush and commit the db transaction of a transaction request or batch chunk")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dischargedOpenDebits = DistributionSummary.builder("banking.transactions.discharged.open.debits")
+                .description("Open debits updated by the discharge of one credit")
+                .baseUnit("debits")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // registered up front, so the rate of a code that never occurred is 0 rather than absent
+        for (ErrorInfo errorInfo : ErrorInfo.values()) {
+            errorCounters.put(errorInfo, Counter.builder("banking.errors")
+                    .description("Requests answered with an error, by error code")
+                    .tag("code", errorInfo.getErrCode())
+                    .tag("status", String.valueOf(errorInfo.getHttpStatus().value()))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void countError(ErrorInfo errorInfo) {
+        errorCounters.get(errorInfo).increment();
+    }
+
+    /**
+     * Counts the error of an item of a batch answer, items answered by the service carry only the code of their error.
+     */
+    public void countError(ErrorDetailRes errorDetailRes) {
+        if (errorDetailRes != null) {
+            ErrorInfo errorInfo = ErrorInfo.fromErrCode(errorDetailRes.getErrCode());
+            countError(errorInfo == null ? ErrorInfo.UNKNOWN_SERVER_ERROR : errorInfo);
+        }
+    }
+
+    public void recordDischargedOpenDebits(int openDebits) {
+        dischargedOpenDebits.record(openDebits);
+    }
+
+    public <T> T timeOpenDebitsLockWait(Supplier<T> openDebitsQuery) {
+        return openDebitsLockWaitTimer.record(openDebitsQuery);
+    }
+
+    public void recordOpenDebitsLockWait(long nanos) {
+        openDebitsLockWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times the commit of the db transaction bound to the current thread, from the before commit callback to the after
+     * commit one, which includes the flush of the pending inserts and updates. Timed once per db transaction however
+     * many times it is called in it, and nothing is timed outside of one or when it rolls back.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(commitTimer)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(commitTimer, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private long beforeCommitNanos;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommitNanos = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                commitTimer.record(System.nanoTime() - beforeCommitNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(commitTimer);
+            }
+        });
+    }
+
+    /**
+     * Times the mono from its subscription to its completion, error or cancellation, as the servlet timers do from the
+     * call to the return of the controller method.
+     */
+    public static <T> Mono<T> timed(Timer timer, Mono<T> mono) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return mono.doFinally(signalType -> sample.stop(timer));
+        });
+    }
+
+    private static Timer requestTimer(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(REQUEST_PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
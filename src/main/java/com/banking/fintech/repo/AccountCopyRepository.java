@@ -0,0 +1,140 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.dto.AccountReq;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Loads accounts with the COPY protocol of Postgres, which streams the rows to the db without a statement or a
+ * round trip per account. The account ids are reserved from accounts_seq ahead of the rows and written with them, the
+ * same way as the pooled-lo id blocks of the jpa inserts, so the ids are known in the order of the accounts without
+ * reading them back. COPY holds the connection while it runs, so the accounts are copied in chunks of reserved ids,
+ * the chunks doubling up to {@link #MAX_CHUNK_BLOCKS} id blocks to keep the ids left unused after the last account small.
+ */
+@Repository
+public class AccountCopyRepository {
+
+    private static final String COPY_ACCOUNTS = "COPY accounts (account_id, document_number) FROM STDIN";
+    private static final String SELECT_ID_BLOCK_SIZE = "SELECT seqincrement FROM pg_sequence WHERE seqrelid = 'accounts_seq'::regclass";
+    private static final String RESERVE_ID_BLOCKS = "SELECT nextval('accounts_seq') FROM generate_series(1, ?)";
+    private static final int MAX_CHUNK_BLOCKS = 256;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // digits of a long, a tab and a new line
+    private static final int MAX_ROW_OVERHEAD = 21;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AccountCopyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Copies the accounts into the db in the current transaction as the iterator hands them out, so they are read,
+     * checked and written in a single pass. An exception thrown by the iterator cancels the copy and is rethrown as is.
+     * The document numbers must not hold tabs, new lines or backslashes, which the COPY text format would read as
+     * delimiters or escapes.
+     *
+     * @return the ids of the accounts in iteration order
+     */
+    public long[] copyAccounts(Iterator<AccountReq> accountReqs) {
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            int idBlockSize = idBlockSize(connection);
+            long[] accountIds = new long[idBlockSize];
+            int count = 0;
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            try (PreparedStatement reserveStatement = connection.prepareStatement(RESERVE_ID_BLOCKS)) {
+                for (int chunkBlocks = 1; accountReqs.hasNext(); chunkBlocks = Math.min(chunkBlocks * 2, MAX_CHUNK_BLOCKS)) {
+                    long[] idBlocks = reserveIdBlocks(reserveStatement, chunkBlocks);
+                    int chunkSize = chunkBlocks * idBlockSize;
+                    CopyIn copyIn = copyManager.copyIn(COPY_ACCOUNTS);
+                    try {
+                        int length = 0;
+                        for (int i = 0; i < chunkSize && accountReqs.hasNext(); i++) {
+                            byte[] documentNumber = accountReqs.next().getDocumentNumber().getBytes(StandardCharsets.UTF_8);
+                            long accountId = idBlocks[i / idBlockSize] + i % idBlockSize;
+                            if (length + MAX_ROW_OVERHEAD + documentNumber.length > buffer.length) {
+                                copyIn.writeToCopy(buffer, 0, length);
+                                length = 0;
+                            }
+                            length = putLong(buffer, length, accountId);
+                            buffer[length++] = '\t';
+                            if (documentNumber.length > buffer.length - MAX_ROW_OVERHEAD) {
+                                copyIn.writeToCopy(buffer, 0, length);
+                                copyIn.writeToCopy(documentNumber, 0, documentNumber.length);
+                                length = 0;
+                            } else {
+                                System.arraycopy(documentNumber, 0, buffer, length, documentNumber.length);
+                                length += documentNumber.length;
+                            }
+                            buffer[length++] = '\n';
+
+                            if (count == accountIds.length) {
+                                accountIds = Arrays.copyOf(accountIds, accountIds.length * 2);
+                            }
+                            accountIds[count++] = accountId;
+                        }
+                        copyIn.writeToCopy(buffer, 0, length);
+                        copyIn.endCopy();
+                    } finally {
+                        if (copyIn.isActive()) {
+                            copyIn.cancelCopy();
+                        }
+                    }
+                }
+            }
+
+            return Arrays.copyOf(accountIds, count);
+        });
+    }
+
+    private static int idBlockSize(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_ID_BLOCK_SIZE);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Each value of accounts_seq is the first id of a block of its increment, as hibernate's pooled-lo optimizer reads it.
+     */
+    private static long[] reserveIdBlocks(PreparedStatement reserveStatement, int blocks) throws SQLException {
+        reserveStatement.setInt(1, blocks);
+        long[] idBlocks = new long[blocks];
+        try (ResultSet resultSet = reserveStatement.executeQuery()) {
+            for (int i = 0; resultSet.next(); i++) {
+                idBlocks[i] = resultSet.getLong(1);
+            }
+        }
+        return idBlocks;
+    }
+
+    private static int putLong(byte[] buffer, int offset, long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int pos = end - 1; pos >= offset; pos--) {
+            buffer[pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
@@ -1,9 +1,38 @@
 package com.banking.fintech.repo;
 
 import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.service.AccountSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
+
+    @Query("SELECT new com.banking.fintech.service.AccountSummary(a.accountId, a.documentNumber) FROM AccountEntity a WHERE a.accountId = ?1")
+    Optional<AccountSummary> findAccountSummary(Long accountId);
+
+    /**
+     * Locks the account row ahead of the open debits of a credit, so every transaction of an account takes the account
+     * row lock first: a debit committing meanwhile is either discharged or waits for the credit, and the two can not
+     * deadlock over the account row and the open debit rows.
+     */
+    @Query(value = "SELECT account_id FROM accounts WHERE account_id = ?1 FOR UPDATE", nativeQuery = true)
+    Long lockAccount(Long accountId);
+
+    /**
+     * Locks the account rows of a batch in account_id order before its first transaction, so two batches touching the
+     * same accounts in different orders wait for each other instead of deadlocking.
+     */
+    @Query(value = "SELECT account_id FROM accounts WHERE account_id IN (?1) ORDER BY account_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAccounts(Collection<Long> accountIds);
+
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance + ?2, a.outstandingDebt = a.outstandingDebt + ?3 WHERE a.accountId = ?1")
+    int applyTransaction(Long accountId, long amount, long outstandingDebtDelta);
 }
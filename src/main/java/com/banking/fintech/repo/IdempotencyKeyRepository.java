@@ -0,0 +1,27 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    @Query("SELECT new com.banking.fintech.dto.TransactionRes(t.transactionId, t.accountEntity.accountId, t.operationTypeEntity.operationTypeId, t.amount, t.eventDate) "
+            + "FROM IdempotencyKeyEntity k JOIN TransactionEntity t ON t.transactionId = k.transactionId WHERE k.idempotencyKey = ?1")
+    Optional<TransactionRes> findTransaction(String idempotencyKey);
+
+    /**
+     * Inserts the key without the select a save of an entity with an assigned id runs first, a key already taken
+     * fails on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, transaction_id, created_at) VALUES (?1, ?2, ?3)", nativeQuery = true)
+    int insertIdempotencyKey(String idempotencyKey, Long transactionId, Instant createdAt);
+}
@@ -0,0 +1,34 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.entity.AccountRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive counterpart of {@link AccountRepository}, only created with spring.main.web-application-type: reactive.
+ */
+@Repository
+public interface ReactiveAccountRepository extends R2dbcRepository<AccountRow, Long> {
+
+    /**
+     * See AccountRepository#lockAccount.
+     */
+    @Query("SELECT account_id FROM accounts WHERE account_id = $1 FOR UPDATE")
+    Mono<Long> lockAccount(Long accountId);
+
+    /**
+     * See AccountRepository#lockAccounts.
+     */
+    @Query("SELECT account_id FROM accounts WHERE account_id IN (:accountIds) ORDER BY account_id FOR UPDATE")
+    Flux<Long> lockAccounts(Collection<Long> accountIds);
+
+    @Modifying
+    @Query("UPDATE accounts SET balance = balance + $2, outstanding_debt = outstanding_debt + $3 WHERE account_id = $1")
+    Mono<Integer> applyTransaction(Long accountId, long amount, long outstandingDebtDelta);
+}
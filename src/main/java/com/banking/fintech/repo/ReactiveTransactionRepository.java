@@ -0,0 +1,77 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.entity.TransactionRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link TransactionRepository} and {@link IdempotencyKeyRepository}, only created with
+ * spring.main.web-application-type: reactive. The open debits queries keep the predicate and order of the partial
+ * index transactions_open_debits_idx, like the jpa ones.
+ */
+@Repository
+public interface ReactiveTransactionRepository extends R2dbcRepository<TransactionRow, Long> {
+
+    @Query("SELECT * FROM transactions WHERE account_id = $1 AND balance < 0 ORDER BY event_date, transaction_id FOR UPDATE")
+    Flux<TransactionRow> findOpenDebitsForUpdate(Long accountId);
+
+    /**
+     * Same statement as {@link TransactionRepository#dischargeOpenDebits(Long, long)}.
+     *
+     * @return the part of the credit that was used to discharge open debits
+     */
+    @Query("""
+            WITH open_debits AS (
+                SELECT transaction_id, balance, event_date
+                FROM transactions
+                WHERE account_id = $1 AND balance < 0
+                FOR UPDATE
+            ), allocation AS (
+                SELECT transaction_id, balance,
+                       SUM(-balance) OVER (ORDER BY event_date, transaction_id) AS cumulative_debt
+                FROM open_debits
+            ), discharged AS (
+                UPDATE transactions t
+                SET balance = LEAST(0, $2 - a.cumulative_debt)
+                FROM allocation a
+                WHERE t.transaction_id = a.transaction_id AND a.cumulative_debt + a.balance < $2
+                RETURNING t.balance - a.balance AS discharged_amount
+            )
+            SELECT CAST(COALESCE(SUM(discharged_amount), 0) AS BIGINT) FROM discharged
+            """)
+    Mono<Long> dischargeOpenDebits(Long accountId, long amount);
+
+    @Modifying
+    @Query("UPDATE transactions SET balance = $2 WHERE transaction_id = $1")
+    Mono<Integer> updateBalance(Long transactionId, long balance);
+
+    /**
+     * Same page as {@link TransactionRepository#findStatementPage}, reading only the columns of the response.
+     */
+    @Query("""
+            SELECT transaction_id, account_id, operation_type_id, amount, event_date
+            FROM transactions
+            WHERE account_id = $1 AND (event_date, transaction_id) > ($2, $3) AND event_date < $4
+              AND (CAST($5 AS BIGINT) IS NULL OR operation_type_id = $5)
+            ORDER BY event_date, transaction_id
+            LIMIT $6
+            """)
+    Flux<TransactionRow> findStatementPage(Long accountId, LocalDateTime afterEventDate, long afterTransactionId,
+                                           LocalDateTime beforeEventDate, Long operationTypeId, int limit);
+
+    @Query("SELECT t.* FROM idempotency_keys k JOIN transactions t ON t.transaction_id = k.transaction_id WHERE k.idempotency_key = $1")
+    Mono<TransactionRow> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * A key already taken fails on the primary key with a DataIntegrityViolationException.
+     */
+    @Modifying
+    @Query("INSERT INTO idempotency_keys (idempotency_key, transaction_id, created_at) VALUES ($1, $2, $3)")
+    Mono<Integer> insertIdempotencyKey(String idempotencyKey, Long transactionId, LocalDateTime createdAt);
+}
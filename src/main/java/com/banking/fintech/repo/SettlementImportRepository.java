@@ -0,0 +1,255 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.service.OperationType;
+import com.banking.fintech.settlement.SettlementCsvReader;
+import com.banking.fintech.settlement.SettlementImport;
+import com.banking.fintech.settlement.SettlementRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Imports the rows of settlement files a chunk at a time, each chunk in the db transaction of the caller together with
+ * the checkpoint of its file in settlement_imports, so a chunk is applied exactly once whenever the import stops.
+ * The rows of a chunk are written with COPY to the unlogged settlement_staging table, the ones of unknown accounts are
+ * moved to settlement_import_rejects, and the rest are applied to the accounts with a single statement.
+ */
+@Repository
+public class SettlementImportRepository {
+
+    private static final String SELECT_IMPORT = "SELECT import_id, file_name, next_offset, next_line_number, applied_rows, rejected_rows, "
+            + "finished_at IS NOT NULL AS imported FROM settlement_imports WHERE file_name = ?";
+    private static final String INSERT_IMPORT = "INSERT INTO settlement_imports (file_name, file_size, started_at) VALUES (?, ?, ?) "
+            + "ON CONFLICT (file_name) DO NOTHING";
+    private static final String UPDATE_CHECKPOINT = "UPDATE settlement_imports SET next_offset = ?, next_line_number = ?, "
+            + "applied_rows = applied_rows + ?, rejected_rows = rejected_rows + ? WHERE import_id = ?";
+    private static final String FINISH_IMPORT = "UPDATE settlement_imports SET finished_at = ? WHERE import_id = ?";
+    private static final String COPY_STAGING = "COPY settlement_staging (import_id, line_number, account_id, operation_type_id, amount) FROM STDIN";
+    private static final String INSERT_REJECT = "INSERT INTO settlement_import_rejects (import_id, line_number, err_code) VALUES (?, ?, ?)";
+    private static final String REJECT_UNKNOWN_ACCOUNTS = """
+            WITH unknown_accounts AS (
+                DELETE FROM settlement_staging s
+                WHERE s.import_id = ? AND NOT EXISTS (SELECT 1 FROM accounts a WHERE a.account_id = s.account_id)
+                RETURNING s.import_id, s.line_number
+            )
+            INSERT INTO settlement_import_rejects (import_id, line_number, err_code)
+            SELECT import_id, line_number, ? FROM unknown_accounts
+            """;
+    private static final String LOCK_ACCOUNTS = "SELECT account_id FROM accounts WHERE account_id IN "
+            + "(SELECT account_id FROM settlement_staging WHERE import_id = ?) ORDER BY account_id FOR UPDATE";
+    private static final String DELETE_STAGING = "DELETE FROM settlement_staging WHERE import_id = ?";
+
+    /**
+     * Applies the staged rows of an import to their accounts as if they were created one at a time in file order.
+     * For every account its open debits come first in discharge order, then its staged rows in line order. The open
+     * debt after every row is the running sum of debts minus credits floored at zero, which is the running sum minus
+     * its lowest negative value so far: a credit discharges at most the open debt before it, the rest stays on the
+     * credit. The credits discharge the debits in order, so a debit keeps the part of its debt beyond the debt
+     * discharged in total from the debts before it. The open debits, the new transactions and the accounts are then
+     * written by the same statement, and the number of new transactions is returned.
+     */
+    private static final String APPLY_STAGING = """
+            WITH staged AS (
+                SELECT account_id, line_number, operation_type_id, amount
+                FROM settlement_staging
+                WHERE import_id = ?
+            ), events AS (
+                SELECT t.account_id, 0 AS source, t.event_date, t.transaction_id AS position, t.transaction_id,
+                       CAST(NULL AS BIGINT) AS operation_type_id, CAST(0 AS BIGINT) AS amount, -t.balance AS debt, CAST(0 AS BIGINT) AS credit
+                FROM transactions t
+                WHERE t.account_id IN (SELECT account_id FROM staged) AND t.balance < 0
+                UNION ALL
+                SELECT account_id, 1, NULL, line_number, NULL, operation_type_id, amount, GREATEST(-amount, 0), GREATEST(amount, 0)
+                FROM staged
+            ), running AS (
+                SELECT e.*,
+                       SUM(debt - credit) OVER account_order AS running_debt,
+                       SUM(debt) OVER account_order - debt AS debt_before
+                FROM events e
+                WINDOW account_order AS (PARTITION BY account_id ORDER BY source, event_date, position)
+            ), open_debt AS (
+                SELECT r.*, running_debt - LEAST(0, MIN(running_debt) OVER account_order) AS open_debt
+                FROM running r
+                WINDOW account_order AS (PARTITION BY account_id ORDER BY source, event_date, position)
+            ), discharged AS (
+                SELECT o.*,
+                       CASE WHEN credit > 0 THEN LAG(open_debt, 1, CAST(0 AS BIGINT)) OVER account_order - open_debt ELSE 0 END AS discharged_amount
+                FROM open_debt o
+                WINDOW account_order AS (PARTITION BY account_id ORDER BY source, event_date, position)
+            ), settled AS (
+                SELECT d.*,
+                       CASE WHEN debt > 0
+                            THEN -(debt - LEAST(debt, GREATEST(0, SUM(discharged_amount) OVER (PARTITION BY account_id) - debt_before)))
+                            ELSE credit - discharged_amount END AS balance
+                FROM discharged d
+            ), updated_debits AS (
+                UPDATE transactions t
+                SET balance = s.balance
+                FROM settled s
+                WHERE s.source = 0 AND t.transaction_id = s.transaction_id AND t.balance <> s.balance
+            ), updated_accounts AS (
+                UPDATE accounts a
+                SET balance = a.balance + s.amount, outstanding_debt = s.open_debt
+                FROM (SELECT account_id, SUM(amount) AS amount, SUM(debt) - SUM(discharged_amount) AS open_debt
+                      FROM settled GROUP BY account_id) s
+                WHERE a.account_id = s.account_id
+            ), inserted AS (
+                INSERT INTO transactions (account_id, operation_type_id, amount, balance, event_date)
+                SELECT account_id, operation_type_id, amount, balance, ?
+                FROM settled
+                WHERE source = 1
+                ORDER BY position
+                RETURNING 1
+            )
+            SELECT COUNT(*) FROM inserted
+            """;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // import id, line number, account id, operation type id and amount: five longs with their tab or new line
+    private static final int MAX_ROW_LENGTH = 5 * 21;
+
+    private static final RowMapper<SettlementImport> SETTLEMENT_IMPORT_ROW_MAPPER = (resultSet, rowNum) -> new SettlementImport(
+            resultSet.getLong("import_id"), resultSet.getString("file_name"), resultSet.getLong("next_offset"),
+            resultSet.getLong("next_line_number"), resultSet.getLong("applied_rows"), resultSet.getLong("rejected_rows"),
+            resultSet.getBoolean("imported"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SettlementImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the import of the file, starting it when the file was never seen.
+     */
+    public SettlementImport findOrStartImport(String fileName, long fileSize) {
+        jdbcTemplate.update(INSERT_IMPORT, fileName, fileSize, Timestamp.from(Instant.now()));
+        return jdbcTemplate.queryForObject(SELECT_IMPORT, SETTLEMENT_IMPORT_ROW_MAPPER, fileName);
+    }
+
+    public SettlementImport finishImport(SettlementImport settlementImport) {
+        jdbcTemplate.update(FINISH_IMPORT, Timestamp.from(Instant.now()), settlementImport.importId());
+        return jdbcTemplate.queryForObject(SELECT_IMPORT, SETTLEMENT_IMPORT_ROW_MAPPER, settlementImport.fileName());
+    }
+
+    /**
+     * Reads up to maxRows rows from the reader and imports them, must run in a db transaction. A row of an unknown
+     * operation type is rejected as it is read, one of an unknown account once the chunk is staged.
+     *
+     * @return the import with the checkpoint after the chunk
+     */
+    public SettlementImport importChunk(SettlementImport settlementImport, SettlementCsvReader settlementCsvReader, int maxRows,
+                                        LongFunction<OperationType> operationTypes) {
+        long importId = settlementImport.importId();
+        List<RejectedLine> rejectedLines = new ArrayList<>();
+        long stagedRows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+            try {
+                copyChunk(copyIn, importId, settlementCsvReader, maxRows, operationTypes, rejectedLines);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+
+        if (!rejectedLines.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REJECT, rejectedLines, rejectedLines.size(), (PreparedStatement statement, RejectedLine rejectedLine) -> {
+                statement.setLong(1, importId);
+                statement.setLong(2, rejectedLine.lineNumber());
+                statement.setString(3, rejectedLine.rejection().getErrCode());
+            });
+        }
+        long unknownAccountRows = stagedRows == 0 ? 0
+                : jdbcTemplate.update(REJECT_UNKNOWN_ACCOUNTS, importId, ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+        long appliedRows = 0;
+        if (stagedRows > unknownAccountRows) {
+            jdbcTemplate.queryForList(LOCK_ACCOUNTS, Long.class, importId);
+            Long insertedRows = jdbcTemplate.queryForObject(APPLY_STAGING, Long.class, importId, Timestamp.from(Instant.now()));
+            appliedRows = insertedRows == null ? 0 : insertedRows;
+            jdbcTemplate.update(DELETE_STAGING, importId);
+        }
+
+        long rejectedRows = rejectedLines.size() + unknownAccountRows;
+        jdbcTemplate.update(UPDATE_CHECKPOINT, settlementCsvReader.getOffset(), settlementCsvReader.getLineNumber(), appliedRows,
+                rejectedRows, importId);
+        return new SettlementImport(importId, settlementImport.fileName(), settlementCsvReader.getOffset(),
+                settlementCsvReader.getLineNumber(), settlementImport.appliedRows() + appliedRows,
+                settlementImport.rejectedRows() + rejectedRows, false);
+    }
+
+    /**
+     * Writes the valid rows to the copy with their signed amount, and collects the line and error of the rejected ones.
+     */
+    private static void copyChunk(CopyIn copyIn, long importId, SettlementCsvReader settlementCsvReader, int maxRows,
+                                  LongFunction<OperationType> operationTypes, List<RejectedLine> rejectedLines) throws SQLException {
+        SettlementRow settlementRow = new SettlementRow();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        try {
+            for (int rows = 0; rows < maxRows && settlementCsvReader.next(settlementRow); rows++) {
+                OperationType operationType = settlementRow.getRejection() == null ? operationTypes.apply(settlementRow.getOperationTypeId()) : null;
+                if (operationType == null && settlementRow.getRejection() == null) {
+                    settlementRow.reject(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+                }
+                if (settlementRow.getRejection() != null) {
+                    rejectedLines.add(new RejectedLine(settlementRow.getLineNumber(), settlementRow.getRejection()));
+                    continue;
+                }
+
+                if (length + MAX_ROW_LENGTH > buffer.length) {
+                    copyIn.writeToCopy(buffer, 0, length);
+                    length = 0;
+                }
+                length = putLong(buffer, length, importId);
+                buffer[length++] = '\t';
+                length = putLong(buffer, length, settlementRow.getLineNumber());
+                buffer[length++] = '\t';
+                length = putLong(buffer, length, settlementRow.getAccountId());
+                buffer[length++] = '\t';
+                length = putLong(buffer, length, settlementRow.getOperationTypeId());
+                buffer[length++] = '\t';
+                length = putLong(buffer, length, settlementRow.getAmount() * operationType.operationType().getMultiplier());
+                buffer[length++] = '\n';
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        copyIn.writeToCopy(buffer, 0, length);
+    }
+
+    private static int putLong(byte[] buffer, int offset, long value) {
+        if (value < 0) {
+            buffer[offset++] = '-';
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int pos = end - 1; pos >= offset; pos--) {
+            buffer[pos] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        }
+        return end;
+    }
+
+    private record RejectedLine(long lineNumber, ErrorInfo rejection) {
+    }
+}
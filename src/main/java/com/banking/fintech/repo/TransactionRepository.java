@@ -1,18 +1,92 @@
 package com.banking.fintech.repo;
 
+import com.banking.fintech.dto.TransactionRes;
 import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.service.AccountStatementQuery;
+import com.banking.fintech.service.OpenDebit;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /*
+     * The open debits queries are served by the partial index transactions_open_debits_idx, they must keep
+     * the balance < 0 predicate and the (event_date, transaction_id) order of the index.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT t FROM TransactionEntity t WHERE t.accountEntity.accountId = ?1 and t.balance < 0 ORDER BY t.eventDate")
+    @Query("SELECT t FROM TransactionEntity t WHERE t.accountEntity.accountId = ?1 and t.balance < 0 ORDER BY t.eventDate, t.transactionId")
     List<TransactionEntity> getNegativeBalTransactions(Long accountId);
+
+    @Query("SELECT new com.banking.fintech.service.OpenDebit(t.transactionId, t.balance) FROM TransactionEntity t "
+            + "WHERE t.accountEntity.accountId = ?1 and t.balance < 0 ORDER BY t.eventDate, t.transactionId")
+    List<OpenDebit> findOpenDebits(Long accountId);
+
+    /**
+     * Discharges the credit amount over the open debits of the account in (event_date, transaction_id) order, in one statement.
+     * Each open debit gets the part of the credit left after the debits before it, which is the credit minus the running
+     * sum of the open debts up to and including it. Debits that the credit does not reach are not updated.
+     *
+     * @return the part of the credit that was used to discharge open debits
+     */
+    @Query(value = """
+            WITH open_debits AS (
+                SELECT transaction_id, balance, event_date
+                FROM transactions
+                WHERE account_id = ?1 AND balance < 0
+                FOR UPDATE
+            ), allocation AS (
+                SELECT transaction_id, balance,
+                       SUM(-balance) OVER (ORDER BY event_date, transaction_id) AS cumulative_debt
+                FROM open_debits
+            ), discharged AS (
+                UPDATE transactions t
+                SET balance = LEAST(0, ?2 - a.cumulative_debt)
+                FROM allocation a
+                WHERE t.transaction_id = a.transaction_id AND a.cumulative_debt + a.balance < ?2
+                RETURNING t.balance - a.balance AS discharged_amount
+            )
+            SELECT CAST(COALESCE(SUM(discharged_amount), 0) AS BIGINT) FROM discharged
+            """, nativeQuery = true)
+    long dischargeOpenDebits(Long accountId, long amount);
+
+    /**
+     * One page of the statement of an account, see {@link AccountStatementQuery}. The transactions are read straight
+     * into their response, so neither the account nor the operation type entity is loaded, and the (event_date,
+     * transaction_id) row comparison and order keep to the transactions_statement_idx index.
+     */
+    @Query("SELECT new com.banking.fintech.dto.TransactionRes(t.transactionId, t.accountEntity.accountId, t.operationTypeEntity.operationTypeId, t.amount, t.eventDate) "
+            + "FROM TransactionEntity t WHERE t.accountEntity.accountId = ?1 AND (t.eventDate, t.transactionId) > (?2, ?3) AND t.eventDate < ?4 "
+            + "AND (?5 IS NULL OR t.operationTypeEntity.operationTypeId = ?5) ORDER BY t.eventDate, t.transactionId")
+    List<TransactionRes> findStatementPage(Long accountId, Instant afterEventDate, long afterTransactionId, Instant beforeEventDate,
+                                           Long operationTypeId, Limit limit);
+
+    /**
+     * The whole history of an account in statement order, for an export. The rows are read through a server side
+     * cursor {@value #EXPORT_FETCH_SIZE} at a time, so the stream has to be consumed and closed within a read-only
+     * transaction, and straight into their response like {@link #findStatementPage}, so no entity is kept in the
+     * persistence context as the export goes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.banking.fintech.dto.TransactionRes(t.transactionId, t.accountEntity.accountId, t.operationTypeEntity.operationTypeId, t.amount, t.eventDate) "
+            + "FROM TransactionEntity t WHERE t.accountEntity.accountId = ?1 ORDER BY t.eventDate, t.transactionId")
+    Stream<TransactionRes> streamAccountTransactions(Long accountId);
+
+    @Modifying
+    @Query("UPDATE TransactionEntity t SET t.balance = ?2 WHERE t.transactionId = ?1")
+    int updateBalance(Long transactionId, long balance);
 }
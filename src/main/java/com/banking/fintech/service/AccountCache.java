@@ -0,0 +1,130 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.AccountProperties;
+import com.banking.fintech.repo.AccountRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
+
+/**
+ * Caches the accounts by id, together with the ids found not to exist, so most account lookups never reach the db.
+ * Only the fields that never change after creation are cached, the balance is always read from the db.
+ * Accounts are bounded by their approximate size in memory and evicted by Caffeine's TinyLFU policy, unknown ids
+ * expire after a short ttl since another instance may create the account meanwhile.
+ * Accounts are held as futures, so a miss reads the db outside of the cache's map lock, a virtual thread waiting
+ * there for a connection would otherwise pin its carrier thread.
+ */
+@Component
+@Slf4j
+public class AccountCache {
+
+    /**
+     * Rough size of a cached entry besides the characters of its document number: key, record, string and node headers.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final AccountRepository accountRepository;
+    private final AsyncCache<Long, AccountSummary> accountSummaries;
+    private final Cache<Long, Boolean> unknownAccountIds;
+
+    @Autowired
+    public AccountCache(AccountRepository accountRepository, AccountProperties accountProperties) {
+        this.accountRepository = accountRepository;
+        AccountProperties.Cache cacheProperties = accountProperties.getCache();
+        this.accountSummaries = Caffeine.newBuilder()
+                .maximumWeight(cacheProperties.getMaximumWeight())
+                .weigher((Long accountId, AccountSummary accountSummary) -> ENTRY_OVERHEAD_BYTES + accountSummary.documentNumber().length())
+                .recordStats()
+                .buildAsync();
+        this.unknownAccountIds = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getNegativeMaximumSize())
+                .expireAfterWrite(cacheProperties.getNegativeTtl())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the account for the id, or null when there is no such account. On a miss the account is read with a
+     * single projection query, concurrent misses on the same id share it.
+     */
+    public AccountSummary find(Long accountId) {
+        if (accountId == null || unknownAccountIds.getIfPresent(accountId) != null) {
+            return null;
+        }
+
+        CompletableFuture<AccountSummary> loading = new CompletableFuture<>();
+        CompletableFuture<AccountSummary> accountSummaryFuture = accountSummaries.get(accountId, (id, executor) -> loading);
+        if (accountSummaryFuture == loading) {
+            try {
+                loading.complete(accountRepository.findAccountSummary(accountId).orElse(null));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        AccountSummary accountSummary;
+        try {
+            accountSummary = accountSummaryFuture.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+        if (accountSummary == null) {
+            recordUnknown(accountId);
+        }
+
+        return accountSummary;
+    }
+
+    /**
+     * Caches a newly created account, forgetting its id if it was looked up before the account existed. The account
+     * is cached before its id is forgotten, so a miss read before the commit and recorded after it cannot hide it.
+     */
+    public void put(AccountSummary accountSummary) {
+        accountSummaries.put(accountSummary.accountId(), CompletableFuture.completedFuture(accountSummary));
+        unknownAccountIds.invalidate(accountSummary.accountId());
+    }
+
+    /**
+     * Forgets the ids looked up before their accounts existed, for accounts created without being cached.
+     */
+    public void forgetUnknown(long[] accountIds) {
+        unknownAccountIds.invalidateAll(LongStream.of(accountIds).boxed().toList());
+    }
+
+    /**
+     * Records the id as unknown unless the account was put meanwhile, the check and the write are atomic against the
+     * invalidation of the id by {@link #put}.
+     */
+    private void recordUnknown(Long accountId) {
+        unknownAccountIds.asMap().compute(accountId, (id, unknown) -> {
+            CompletableFuture<AccountSummary> accountSummaryFuture = accountSummaries.asMap().get(id);
+            if (accountSummaryFuture != null && accountSummaryFuture.isDone() && !accountSummaryFuture.isCompletedExceptionally()
+                    && accountSummaryFuture.join() != null) {
+                return null;
+            }
+            log.info("Caching accountId: {} as unknown", id);
+            return Boolean.TRUE;
+        });
+    }
+
+    public CacheStats getStats() {
+        return accountSummaries.synchronous().stats();
+    }
+
+    public CacheStats getUnknownAccountIdStats() {
+        return unknownAccountIds.stats();
+    }
+
+    public long getEstimatedSize() {
+        return accountSummaries.synchronous().estimatedSize();
+    }
+}
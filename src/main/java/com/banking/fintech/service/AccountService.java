@@ -1,11 +1,30 @@
 package com.banking.fintech.service;
 
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.CacheStatsRes;
+import com.banking.fintech.dto.TransactionPageRes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 
 public interface AccountService {
 
     AccountRes createAccount(AccountReq accountReq);
 
+    AccountBatchRes createAccounts(Iterator<AccountReq> accountReqs);
+
     AccountRes getAccount(Long accountId);
+
+    AccountBalanceRes getAccountBalance(Long accountId);
+
+    TransactionPageRes getAccountTransactions(AccountStatementQuery accountStatementQuery);
+
+    void exportAccountTransactions(Long accountId, TransactionExportFormat format, OutputStream outputStream) throws IOException;
+
+    CacheStatsRes getAccountCacheStats();
 }
@@ -1,30 +1,60 @@
 package com.banking.fintech.service;
 
 import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.CacheStatsRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.dto.TransactionRes;
 import com.banking.fintech.entity.AccountEntity;
 import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.repo.AccountCopyRepository;
 import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountCopyRepository accountCopyRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountCache accountCache;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AccountServiceImpl(AccountRepository accountRepository) {
+    public AccountServiceImpl(AccountRepository accountRepository, AccountCopyRepository accountCopyRepository,
+                              TransactionRepository transactionRepository, AccountCache accountCache, ObjectMapper objectMapper) {
         this.accountRepository = accountRepository;
+        this.accountCopyRepository = accountCopyRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountCache = accountCache;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public AccountRes createAccount(AccountReq accountReq) {
-        log.info("In createAccount with req: {}", accountReq);
+        log.debug("In createAccount with req: {}", accountReq);
 
         AccountEntity accountEntity = AccountEntity.builder()
                 .documentNumber(accountReq.getDocumentNumber())
@@ -32,38 +62,183 @@ public class AccountServiceImpl implements AccountService {
 
         try {
             accountEntity = accountRepository.save(accountEntity);
-            log.info("Saved account entity successfully to the db with entity: {}", accountEntity);
+            log.info("Saved account entity successfully to the db with accountId: {}", accountEntity.getAccountId());
         } catch (PersistenceException e) {
             log.error("Error while saving account entity to the db", e);
             throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
         }
 
-        return AccountRes.builder()
-                .accountId(accountEntity.getAccountId())
-                .documentNumber(accountEntity.getDocumentNumber())
+        accountCache.put(new AccountSummary(accountEntity.getAccountId(), accountEntity.getDocumentNumber()));
+
+        return buildAccountRes(accountEntity);
+    }
+
+    /**
+     * Creates all the accounts in one db transaction, or none of them when one is rejected as it is read. The accounts
+     * are not put in the account cache, a batch would evict the accounts in use for ones that are not used yet, but
+     * their ids are forgotten as unknown once the db transaction commits.
+     */
+    @Override
+    @Transactional
+    public AccountBatchRes createAccounts(Iterator<AccountReq> accountReqs) {
+        log.info("In createAccounts");
+
+        long[] accountIds;
+        try {
+            accountIds = accountCopyRepository.copyAccounts(accountReqs);
+        } catch (DataAccessException e) {
+            log.error("Error while copying account rows to the db", e);
+            throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+        log.info("Copied: {} account rows to the db", accountIds.length);
+        forgetUnknownAfterCommit(accountIds);
+
+        return AccountBatchRes.builder()
+                .accountIds(accountIds)
                 .build();
     }
 
+    /**
+     * Checks the account against the cache first, so an unknown id is answered without a query, and only then reads
+     * the account row, the balance and the outstanding debt change with every transaction and are not cached.
+     */
     @Override
     public AccountRes getAccount(Long accountId) {
         log.info("In getAccount with accountId: {}", accountId);
+        findAccountSummary(accountId);
+
+        return buildAccountRes(findAccountEntity(accountId));
+    }
+
+    @Override
+    public AccountBalanceRes getAccountBalance(Long accountId) {
+        log.info("In getAccountBalance with accountId: {}", accountId);
+        AccountEntity accountEntity = findAccountEntity(accountId);
+
+        return AccountBalanceRes.builder()
+                .accountId(accountEntity.getAccountId())
+                .balance(accountEntity.getBalance())
+                .outstandingDebt(accountEntity.getOutstandingDebt())
+                .build();
+    }
+
+    /**
+     * An account without transactions answers an empty page, an unknown account is not found.
+     */
+    @Override
+    public TransactionPageRes getAccountTransactions(AccountStatementQuery accountStatementQuery) {
+        log.info("In getAccountTransactions with accountId: {}", accountStatementQuery.accountId());
+        findAccountSummary(accountStatementQuery.accountId());
+
+        List<TransactionRes> transactionResList;
         try {
-            boolean exists = accountRepository.existsById(accountId);
-            AccountEntity accountEntity;
-            if (exists) {
-                accountEntity = accountRepository.getReferenceById(accountId);
-            } else {
-                log.error("Customer account not found for accountId: {}", accountId);
-                throw new AccountServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+            transactionResList = transactionRepository.findStatementPage(accountStatementQuery.accountId(),
+                    accountStatementQuery.afterEventDate(), accountStatementQuery.afterTransactionId(),
+                    accountStatementQuery.beforeEventDate(), accountStatementQuery.operationTypeId(),
+                    Limit.of(accountStatementQuery.fetchSize()));
+        } catch (PersistenceException e) {
+            log.error("Error while getting transaction entities from the db", e);
+            throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+
+        return accountStatementQuery.page(transactionResList);
+    }
+
+    /**
+     * Writes the whole history of the account to the output stream as it is read from the db cursor, one transaction
+     * at a time. The caller checks that the account exists before the response is started, an account without
+     * transactions exports an empty NDJSON or a CSV header only.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAccountTransactions(Long accountId, TransactionExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("In exportAccountTransactions with accountId: {} and format: {}", accountId, format.getValue());
+        TransactionExportWriter transactionExportWriter = TransactionExportWriter.of(format, objectMapper, outputStream);
+
+        long exported = 0;
+        try (Stream<TransactionRes> transactionResStream = transactionRepository.streamAccountTransactions(accountId)) {
+            for (TransactionRes transactionRes : (Iterable<TransactionRes>) transactionResStream::iterator) {
+                transactionExportWriter.write(transactionRes);
+                exported++;
             }
+        } catch (PersistenceException e) {
+            log.error("Error while streaming transaction entities from the db", e);
+            throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+        transactionExportWriter.finish();
+
+        log.info("Exported {} transactions of accountId: {}", exported, accountId);
+    }
+
+    @Override
+    public CacheStatsRes getAccountCacheStats() {
+        log.info("In getAccountCacheStats");
+        CacheStats cacheStats = accountCache.getStats();
 
-            return AccountRes.builder()
-                    .accountId(accountEntity.getAccountId())
-                    .documentNumber(accountEntity.getDocumentNumber())
-                    .build();
+        return CacheStatsRes.builder()
+                .hitCount(cacheStats.hitCount())
+                .missCount(cacheStats.missCount())
+                .hitRate(cacheStats.hitRate())
+                .evictionCount(cacheStats.evictionCount())
+                .estimatedSize(accountCache.getEstimatedSize())
+                .negativeHitCount(accountCache.getUnknownAccountIdStats().hitCount())
+                .build();
+    }
+
+    private AccountSummary findAccountSummary(Long accountId) {
+        AccountSummary accountSummary;
+        try {
+            accountSummary = accountCache.find(accountId);
         } catch (PersistenceException e) {
             log.error("Error while getting account entity from the db", e);
             throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
         }
+
+        if (accountSummary == null) {
+            log.error("Customer account not found for accountId: {}", accountId);
+            throw new AccountServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+
+        return accountSummary;
+    }
+
+    private void forgetUnknownAfterCommit(long[] accountIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountCache.forgetUnknown(accountIds);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accountCache.forgetUnknown(accountIds);
+            }
+        });
+    }
+
+    private AccountEntity findAccountEntity(Long accountId) {
+        AccountEntity accountEntity;
+        try {
+            accountEntity = accountRepository.findById(accountId).orElse(null);
+        } catch (PersistenceException e) {
+            log.error("Error while getting account entity from the db", e);
+            throw new AccountServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+
+        if (accountEntity == null) {
+            log.error("Customer account not found for accountId: {}", accountId);
+            throw new AccountServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+
+        return accountEntity;
+    }
+
+    private AccountRes buildAccountRes(AccountEntity accountEntity) {
+        return AccountRes.builder()
+                .accountId(accountEntity.getAccountId())
+                .documentNumber(accountEntity.getDocumentNumber())
+                .balance(accountEntity.getBalance())
+                .outstandingDebt(accountEntity.getOutstandingDebt())
+                .build();
     }
 }
@@ -0,0 +1,107 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.AccountServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of the statement of an account: its transactions in (event_date, transaction_id) order, optionally of one
+ * operation type and from an inclusive to an exclusive event date, after the last transaction of the previous page.
+ * The page starts at (afterEventDate, afterTransactionId) in the transactions_statement_idx index rather than skipping
+ * the rows of the previous pages, so every page costs the same however long the history of the account is.
+ */
+public record AccountStatementQuery(Long accountId, Long operationTypeId, Instant afterEventDate, long afterTransactionId,
+                                    Instant beforeEventDate, int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // event dates are the time the service created the transaction, these bounds stand in for an absent from or to
+    private static final Instant MIN_EVENT_DATE = Instant.EPOCH;
+    private static final Instant MAX_EVENT_DATE = Instant.parse("9999-12-31T00:00:00Z");
+    private static final char CURSOR_SEPARATOR = '|';
+
+    /**
+     * Parses the query parameters of a statement request, a malformed date, cursor or limit is a bad request.
+     */
+    public static AccountStatementQuery of(Long accountId, Long operationTypeId, String from, String to, String cursor, Integer limit) {
+        int pageLimit = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MAX_LIMIT) {
+            throw new AccountServiceException(ErrorInfo.INVALID_STATEMENT_REQUEST);
+        }
+
+        Instant afterEventDate = from == null ? MIN_EVENT_DATE : parseInstant(from);
+        // ids are positive, so starting after Long.MIN_VALUE at the from date includes the transactions of that instant
+        long afterTransactionId = Long.MIN_VALUE;
+        if (cursor != null) {
+            String position = decodeCursor(cursor);
+            int separator = position.lastIndexOf(CURSOR_SEPARATOR);
+            Instant cursorEventDate;
+            long cursorTransactionId;
+            try {
+                cursorEventDate = parseInstant(position.substring(0, Math.max(separator, 0)));
+                cursorTransactionId = Long.parseLong(position.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new AccountServiceException(ErrorInfo.INVALID_STATEMENT_REQUEST, e);
+            }
+            if (!cursorEventDate.isBefore(afterEventDate)) {
+                afterEventDate = cursorEventDate;
+                afterTransactionId = cursorTransactionId;
+            }
+        }
+
+        return new AccountStatementQuery(accountId, operationTypeId, afterEventDate, afterTransactionId,
+                to == null ? MAX_EVENT_DATE : parseInstant(to), pageLimit);
+    }
+
+    /**
+     * Rows to read for the page, one more than the limit tells whether there is a next page.
+     */
+    public int fetchSize() {
+        return limit + 1;
+    }
+
+    /**
+     * Builds the page from the rows read with {@link #fetchSize()}, with the cursor of its last transaction when more follow.
+     */
+    public TransactionPageRes page(List<TransactionRes> transactionResList) {
+        if (transactionResList.size() <= limit) {
+            return TransactionPageRes.builder().transactions(transactionResList).build();
+        }
+
+        List<TransactionRes> pageTransactions = transactionResList.subList(0, limit);
+        TransactionRes lastTransactionRes = pageTransactions.getLast();
+        return TransactionPageRes.builder()
+                .transactions(pageTransactions)
+                .nextCursor(encodeCursor(lastTransactionRes.getEventDate(), lastTransactionRes.getTransactionId()))
+                .build();
+    }
+
+    static String encodeCursor(Instant eventDate, long transactionId) {
+        String position = eventDate.toString() + CURSOR_SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new AccountServiceException(ErrorInfo.INVALID_STATEMENT_REQUEST, e);
+        }
+    }
+
+    private static Instant parseInstant(String instant) {
+        try {
+            return Instant.parse(instant);
+        } catch (DateTimeParseException e) {
+            throw new AccountServiceException(ErrorInfo.INVALID_STATEMENT_REQUEST, e);
+        }
+    }
+}
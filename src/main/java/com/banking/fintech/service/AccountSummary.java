@@ -0,0 +1,14 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.logging.LogRedaction;
+
+/**
+ * The fields of an account that never change after it is created, as held by the {@link AccountCache}.
+ */
+public record AccountSummary(Long accountId, String documentNumber) {
+
+    @Override
+    public String toString() {
+        return "AccountSummary[accountId=" + accountId + ", documentNumber=" + LogRedaction.redactDocumentNumber(documentNumber) + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+
+public interface AsyncTransactionService {
+
+    /**
+     * Checks the transaction against the in memory operation types and accounts, and appends it to the journal,
+     * returning once it is on disk with its tracking id.
+     */
+    AsyncTransactionRes acceptTransaction(TransactionReq transactionReq);
+
+    AsyncTransactionRes getTransaction(String trackingId);
+}
@@ -0,0 +1,121 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.journal.TransactionJournal;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+
+@Service
+@ConditionalOnProperty(name = "banking.transactions.async.enabled", havingValue = "true")
+@Slf4j
+public class AsyncTransactionServiceImpl implements AsyncTransactionService {
+
+    private final TransactionJournal transactionJournal;
+    private final TransactionJournalDrainer transactionJournalDrainer;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final AccountCache accountCache;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    public AsyncTransactionServiceImpl(TransactionJournal transactionJournal, TransactionJournalDrainer transactionJournalDrainer,
+                                       OperationTypeRegistry operationTypeRegistry, AccountCache accountCache,
+                                       IdempotencyKeyRepository idempotencyKeyRepository) {
+        this.transactionJournal = transactionJournal;
+        this.transactionJournalDrainer = transactionJournalDrainer;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.accountCache = accountCache;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+    }
+
+    @Override
+    public AsyncTransactionRes acceptTransaction(TransactionReq transactionReq) {
+        log.debug("In acceptTransaction with transactionReq: {}", transactionReq);
+
+        if (operationTypeRegistry.find(transactionReq.getOperationTypeId()) == null) {
+            log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
+            throw new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+        }
+        if (accountCache.find(transactionReq.getAccountId()) == null) {
+            log.error("Customer account not found for accountId: {}", transactionReq.getAccountId());
+            throw new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+
+        long sequence;
+        try {
+            sequence = transactionJournal.append(transactionReq.getAccountId(), transactionReq.getOperationTypeId(), transactionReq.getAmount());
+        } catch (UncheckedIOException e) {
+            log.error("Error while appending the transaction to the journal", e);
+            throw new TransactionServiceException(ErrorInfo.TRANSACTION_JOURNAL_WRITE_FAILED, e);
+        }
+        log.info("Appended transaction to the journal with sequence: {}", sequence);
+
+        return AsyncTransactionRes.builder()
+                .trackingId(transactionJournal.trackingId(sequence))
+                .status(AsyncTransactionStatus.PENDING)
+                .build();
+    }
+
+    /**
+     * Answers from the outcomes kept by the drainer, an entry after the checkpoint is still pending, and an older one
+     * is applied when its idempotency key is in the db and was rejected otherwise.
+     */
+    @Override
+    public AsyncTransactionRes getTransaction(String trackingId) {
+        log.info("In getTransaction with trackingId: {}", trackingId);
+
+        long sequence = parseSequence(trackingId);
+        AsyncTransactionRes outcome = transactionJournalDrainer.getOutcome(sequence);
+        if (outcome != null) {
+            return outcome;
+        }
+
+        if (sequence > transactionJournal.getCheckpoint()) {
+            return AsyncTransactionRes.builder()
+                    .trackingId(trackingId)
+                    .status(AsyncTransactionStatus.PENDING)
+                    .build();
+        }
+
+        TransactionRes transactionRes;
+        try {
+            transactionRes = idempotencyKeyRepository.findTransaction(TransactionJournalDrainer.idempotencyKey(trackingId)).orElse(null);
+        } catch (PersistenceException e) {
+            log.error("Error while getting idempotency key from the db", e);
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+
+        return AsyncTransactionRes.builder()
+                .trackingId(trackingId)
+                .status(transactionRes != null ? AsyncTransactionStatus.APPLIED : AsyncTransactionStatus.REJECTED)
+                .transaction(transactionRes)
+                .build();
+    }
+
+    private long parseSequence(String trackingId) {
+        String journalIdPrefix = transactionJournal.getJournalId() + "-";
+        if (trackingId != null && trackingId.startsWith(journalIdPrefix)) {
+            try {
+                long sequence = Long.parseLong(trackingId.substring(journalIdPrefix.length()));
+                if (sequence > 0 && sequence <= transactionJournal.getLastSequence()) {
+                    return sequence;
+                }
+            } catch (NumberFormatException e) {
+                log.error("Malformed sequence in trackingId: {}", trackingId);
+            }
+        }
+
+        log.error("Asynchronous transaction not found for trackingId: {}", trackingId);
+        throw new TransactionServiceException(ErrorInfo.ASYNC_TRANSACTION_NOT_FOUND);
+    }
+}
@@ -0,0 +1,133 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates a transaction at most once per idempotency key. A retry of a recently used key is answered from memory with
+ * the original transaction, and duplicates arriving while the first request is still running wait for its result
+ * instead of queueing on the same account. Keys not in memory are looked up in the db, where their unique index also
+ * catches a duplicate handled by another instance at the same time.
+ */
+@Component
+@Slf4j
+public class IdempotentTransactionExecutor {
+
+    private final TransactionService transactionService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, TransactionRes> recentTransactions;
+    private final ConcurrentMap<String, CompletableFuture<TransactionRes>> inFlightTransactions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotentTransactionExecutor(TransactionService transactionService, IdempotencyKeyRepository idempotencyKeyRepository,
+                                         TransactionProperties transactionProperties) {
+        this.transactionService = transactionService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        TransactionProperties.Idempotency idempotencyProperties = transactionProperties.getIdempotency();
+        this.recentTransactions = Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.getRecentKeysMaximumSize())
+                .expireAfterWrite(idempotencyProperties.getRecentKeysTtl())
+                .build();
+    }
+
+    public TransactionRes createTransaction(String idempotencyKey, TransactionReq transactionReq) {
+        log.debug("In createTransaction with idempotency key for transactionReq: {}", transactionReq);
+
+        TransactionRes recentTransactionRes = recentTransactions.getIfPresent(idempotencyKey);
+        if (recentTransactionRes != null) {
+            log.info("Answering retry from memory with transactionId: {}", recentTransactionRes.getTransactionId());
+            return checkSameRequest(transactionReq, recentTransactionRes);
+        }
+
+        CompletableFuture<TransactionRes> transactionFuture = new CompletableFuture<>();
+        CompletableFuture<TransactionRes> inFlightTransactionFuture = inFlightTransactions.putIfAbsent(idempotencyKey, transactionFuture);
+        if (inFlightTransactionFuture != null) {
+            log.info("Waiting for the in flight transaction with the same idempotency key");
+            return checkSameRequest(transactionReq, join(inFlightTransactionFuture));
+        }
+
+        try {
+            TransactionReq originalTransactionReq = transactionReq.toBuilder().build();
+            TransactionRes transactionRes = findTransaction(idempotencyKey);
+            if (transactionRes == null) {
+                transactionRes = createOrFindTransaction(idempotencyKey, transactionReq);
+            }
+
+            recentTransactions.put(idempotencyKey, transactionRes);
+            transactionFuture.complete(transactionRes);
+            return checkSameRequest(originalTransactionReq, transactionRes);
+        } catch (RuntimeException e) {
+            transactionFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightTransactions.remove(idempotencyKey, transactionFuture);
+        }
+    }
+
+    private TransactionRes createOrFindTransaction(String idempotencyKey, TransactionReq transactionReq) {
+        try {
+            return transactionService.createTransaction(transactionReq, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            TransactionRes transactionRes = findTransaction(idempotencyKey);
+            if (transactionRes == null) {
+                throw e;
+            }
+
+            log.info("Idempotency key was taken concurrently by transactionId: {}", transactionRes.getTransactionId());
+            return transactionRes;
+        }
+    }
+
+    private TransactionRes findTransaction(String idempotencyKey) {
+        try {
+            return idempotencyKeyRepository.findTransaction(idempotencyKey).orElse(null);
+        } catch (PersistenceException e) {
+            log.error("Error while getting idempotency key from the db", e);
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+    }
+
+    /**
+     * A key stands for one request, reusing it for another account, operation type or amount is a client error.
+     */
+    static TransactionRes checkSameRequest(TransactionReq transactionReq, TransactionRes transactionRes) {
+        boolean sameRequest = Objects.equals(transactionReq.getAccountId(), transactionRes.getAccountId())
+                && Objects.equals(transactionReq.getOperationTypeId(), transactionRes.getOperationTypeId())
+                && transactionReq.getAmount() != null
+                && transactionReq.getAmount() == Math.abs(transactionRes.getAmount());
+        if (!sameRequest) {
+            log.error("Idempotency key reused for a different request than transactionId: {}", transactionRes.getTransactionId());
+            throw new TransactionServiceException(ErrorInfo.IDEMPOTENCY_KEY_REUSED_WITH_DIFFERENT_REQUEST);
+        }
+
+        return transactionRes;
+    }
+
+    private static TransactionRes join(CompletableFuture<TransactionRes> transactionFuture) {
+        try {
+            return transactionFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR, e.getCause());
+        }
+    }
+}
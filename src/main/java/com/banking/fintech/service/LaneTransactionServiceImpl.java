@@ -0,0 +1,225 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Executes transactions on the single writer lane of their account instead of serializing writers with db row locks.
+ * The lane keeps the open debits of its accounts in memory, so a credit discharges them without reading or locking
+ * the negative balance transactions, and no db connection is held while a request waits for its turn.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.transactions.execution-mode", havingValue = "lanes")
+@Slf4j
+public class LaneTransactionServiceImpl implements TransactionService {
+
+    private final TransactionLanes transactionLanes;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionRepository transactionRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final AccountRepository accountRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final BankingMetrics bankingMetrics;
+
+    @Autowired
+    public LaneTransactionServiceImpl(TransactionLanes transactionLanes, TransactionTemplate transactionTemplate,
+                                      TransactionRepository transactionRepository, OperationTypeRegistry operationTypeRegistry,
+                                      AccountRepository accountRepository, IdempotencyKeyRepository idempotencyKeyRepository,
+                                      BankingMetrics bankingMetrics) {
+        this.transactionLanes = transactionLanes;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionRepository = transactionRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.accountRepository = accountRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.bankingMetrics = bankingMetrics;
+    }
+
+    @Override
+    public TransactionRes createTransaction(TransactionReq transactionReq) {
+        return createTransaction(transactionReq, null);
+    }
+
+    @Override
+    public TransactionRes createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+
+        return transactionLanes.execute(transactionReq.getAccountId(),
+                lane -> inTransaction(lane, List.of(transactionReq), () -> createTransaction(lane, transactionReq, idempotencyKey)));
+    }
+
+    @Override
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs) {
+        return createTransactions(transactionReqs, null);
+    }
+
+    @Override
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs, List<String> idempotencyKeys) {
+        log.info("In createTransactions with: {} transactions", transactionReqs.size());
+
+        Map<Integer, List<Integer>> positionsByLane = new LinkedHashMap<>();
+        for (int i = 0; i < transactionReqs.size(); i++) {
+            positionsByLane.computeIfAbsent(transactionLanes.laneIndex(transactionReqs.get(i).getAccountId()), laneIndex -> new ArrayList<>())
+                    .add(i);
+        }
+
+        Map<List<Integer>, CompletableFuture<List<TransactionBatchItemRes>>> futuresByPositions = new LinkedHashMap<>();
+        positionsByLane.forEach((laneIndex, positions) -> {
+            List<TransactionReq> laneTransactionReqs = positions.stream().map(transactionReqs::get).toList();
+            List<String> laneIdempotencyKeys = idempotencyKeys == null ? null : positions.stream().map(idempotencyKeys::get).toList();
+            futuresByPositions.put(positions, transactionLanes.submit(laneIndex,
+                    lane -> inTransaction(lane, laneTransactionReqs, () -> createTransactions(lane, laneTransactionReqs, laneIdempotencyKeys))));
+        });
+
+        TransactionBatchItemRes[] transactionBatchItemResArray = new TransactionBatchItemRes[transactionReqs.size()];
+        futuresByPositions.forEach((positions, future) -> {
+            List<TransactionBatchItemRes> laneResults;
+            try {
+                laneResults = future.join();
+            } catch (CompletionException e) {
+                ErrorInfo errorInfo = e.getCause() instanceof BankingServiceException bankingServiceException
+                        ? bankingServiceException.getErrorInfo()
+                        : ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB;
+                log.error("Transaction batch rolled back on a lane with error code: {}", errorInfo.getErrCode(), e.getCause());
+                TransactionBatchItemRes failedItem = TransactionServiceImpl.buildTransactionBatchItemRes(errorInfo);
+                laneResults = positions.stream().map(position -> failedItem).toList();
+            }
+            for (int i = 0; i < positions.size(); i++) {
+                transactionBatchItemResArray[positions.get(i)] = laneResults.get(i);
+            }
+        });
+
+        return Arrays.asList(transactionBatchItemResArray);
+    }
+
+    /**
+     * Runs the work in one db transaction on the lane thread. The in memory open debits are updated as the work goes,
+     * so the accounts touched by a rolled back transaction are evicted and reloaded from the db on next use.
+     */
+    private <T> T inTransaction(TransactionLane lane, List<TransactionReq> transactionReqs, Supplier<T> work) {
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } catch (RuntimeException e) {
+            transactionReqs.forEach(transactionReq -> lane.evict(transactionReq.getAccountId()));
+            throw e;
+        }
+    }
+
+    private List<TransactionBatchItemRes> createTransactions(TransactionLane lane, List<TransactionReq> transactionReqs,
+                                                             List<String> idempotencyKeys) {
+        List<TransactionBatchItemRes> transactionBatchItemResList = new ArrayList<>(transactionReqs.size());
+        for (int i = 0; i < transactionReqs.size(); i++) {
+            try {
+                transactionBatchItemResList.add(TransactionBatchItemRes.builder()
+                        .status(HttpStatus.OK.value())
+                        .transaction(createTransaction(lane, transactionReqs.get(i), idempotencyKeys == null ? null : idempotencyKeys.get(i)))
+                        .build());
+            } catch (TransactionServiceException e) {
+                ErrorInfo errorInfo = e.getErrorInfo();
+                if (!errorInfo.getHttpStatus().is4xxClientError()) {
+                    throw e;
+                }
+
+                log.error("Transaction rejected in batch with error code: {}", errorInfo.getErrCode());
+                transactionBatchItemResList.add(TransactionServiceImpl.buildTransactionBatchItemRes(errorInfo));
+            }
+        }
+
+        return transactionBatchItemResList;
+    }
+
+    private TransactionRes createTransaction(TransactionLane lane, TransactionReq transactionReq, String idempotencyKey) {
+        bankingMetrics.timeCommit();
+        OperationType operationType = operationTypeRegistry.find(transactionReq.getOperationTypeId());
+        if (operationType == null) {
+            log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
+            throw new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+        }
+
+        long amount = transactionReq.getAmount() * operationType.operationType().getMultiplier();
+        boolean isDebit = TransactionOperationType.DEBIT.equals(operationType.operationType());
+        long finalBal = isDebit ? amount : dischargeBalance(lane, transactionReq);
+        transactionReq.setAmount(amount);
+
+        TransactionServiceImpl.applyToAccount(accountRepository, transactionReq.getAccountId(), transactionReq.getAmount(), finalBal);
+
+        TransactionEntity transactionEntity = TransactionServiceImpl.buildTransactionEntity(transactionReq, finalBal);
+        try {
+            transactionEntity = transactionRepository.save(transactionEntity);
+            log.info("Saved transaction entity successfully to the db with transactionId: {}", transactionEntity.getTransactionId());
+        } catch (PersistenceException e) {
+            log.error("Error while saving transaction entity to the db", e);
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+        TransactionServiceImpl.saveIdempotencyKey(idempotencyKeyRepository, idempotencyKey, transactionEntity);
+
+        Deque<OpenDebit> openDebits = lane.loadedOpenDebits(transactionReq.getAccountId());
+        if (isDebit && openDebits != null) {
+            openDebits.addLast(new OpenDebit(transactionEntity.getTransactionId(), finalBal));
+        }
+
+        return TransactionServiceImpl.buildTransactionRes(transactionEntity);
+    }
+
+    private long dischargeBalance(TransactionLane lane, TransactionReq transactionReq) {
+        log.info("The current transaction is of: {} type, discharging balance to the in memory open debits", TransactionOperationType.CREDIT);
+        try {
+            long balance = transactionReq.getAmount();
+            Deque<OpenDebit> openDebits = lane.openDebits(transactionReq.getAccountId(), transactionRepository::findOpenDebits);
+            log.info("Checking: {} open debits to discharge the balance", openDebits.size());
+            int dischargedOpenDebits = 0;
+            while (balance > 0 && !openDebits.isEmpty()) {
+                OpenDebit openDebit = openDebits.pollFirst();
+                dischargedOpenDebits++;
+                long debitBalance;
+                if (balance > -openDebit.balance()) {
+                    balance = balance + openDebit.balance();
+                    debitBalance = 0;
+                } else {
+                    debitBalance = openDebit.balance() + balance;
+                    balance = 0;
+                }
+
+                transactionRepository.updateBalance(openDebit.transactionId(), debitBalance);
+                if (debitBalance < 0) {
+                    openDebits.addFirst(new OpenDebit(openDebit.transactionId(), debitBalance));
+                }
+            }
+            bankingMetrics.recordDischargedOpenDebits(dischargedOpenDebits);
+
+            return balance;
+        } catch (Exception e) {
+            log.error("An error occurred while discharging balance, changes will not be commited", e);
+            throw new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE, e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.ledger.LedgerPosting;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes the postings of the ledger to the db in the background, a batch at a time in one db transaction that also
+ * records the sequence of its last posting in ledger_position. Postings carry absolute balances, so the rows a batch
+ * writes do not depend on what the db held before, and a failed batch is retried until it is written.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.execution-mode", havingValue = "ledger")
+@Slf4j
+public class LedgerPersistenceSink {
+
+    private static final int LEDGER_ID = 1;
+
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (transaction_id, account_id, operation_type_id, amount, balance, event_date) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (transaction_id) DO NOTHING";
+    private static final String UPDATE_TRANSACTION_BALANCE = "UPDATE transactions SET balance = ? WHERE transaction_id = ?";
+    private static final String UPDATE_ACCOUNT = "UPDATE accounts SET balance = ?, outstanding_debt = ? WHERE account_id = ?";
+    private static final String INSERT_IDEMPOTENCY_KEY = "INSERT INTO idempotency_keys (idempotency_key, transaction_id, created_at) "
+            + "VALUES (?, ?, ?) ON CONFLICT (idempotency_key) DO NOTHING";
+    private static final String UPSERT_LEDGER_POSITION = "INSERT INTO ledger_position (ledger_id, sequence) VALUES (?, ?) "
+            + "ON CONFLICT (ledger_id) DO UPDATE SET sequence = EXCLUDED.sequence";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final BlockingQueue<LedgerPosting> postings;
+    private final ConcurrentNavigableMap<Long, CompletableFuture<Void>> persistedFutures = new ConcurrentSkipListMap<>();
+
+    private volatile long persistedSequence;
+    private volatile long publishedSequence;
+    private volatile LongConsumer persistedListener = sequence -> {
+    };
+    private volatile boolean running;
+    private Thread sinkThread;
+
+    @Autowired
+    public LedgerPersistenceSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TransactionProperties transactionProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = transactionProperties.getLedger().getSinkBatchSize();
+        this.postings = new ArrayBlockingQueue<>(transactionProperties.getLedger().getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        List<Long> sequences = jdbcTemplate.queryForList("SELECT sequence FROM ledger_position WHERE ledger_id = ?", Long.class, LEDGER_ID);
+        persistedSequence = sequences.isEmpty() ? 0L : sequences.getFirst();
+        publishedSequence = persistedSequence;
+        running = true;
+        sinkThread = Thread.ofPlatform().name("ledger-sink").daemon().start(this::run);
+        log.info("Started ledger persistence sink at persisted sequence: {}", persistedSequence);
+    }
+
+    /**
+     * Writes the remaining postings before returning.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (sinkThread != null) {
+            sinkThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public long getPersistedSequence() {
+        return persistedSequence;
+    }
+
+    /**
+     * Registers the callback run on the sink thread with the sequence of the last posting of every written batch.
+     */
+    public void onPersisted(LongConsumer persistedListener) {
+        this.persistedListener = persistedListener;
+    }
+
+    /**
+     * Queues the posting to be written, blocking while the queue is full.
+     */
+    public void publish(LedgerPosting ledgerPosting) {
+        try {
+            postings.put(ledgerPosting);
+            publishedSequence = ledgerPosting.sequence();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing ledger posting: " + ledgerPosting.sequence(), e);
+        }
+    }
+
+    /**
+     * Returns a future completed once the db holds every posting up to the sequence.
+     */
+    public CompletableFuture<Void> whenPersisted(long sequence) {
+        if (sequence <= persistedSequence) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> persistedFuture = persistedFutures.computeIfAbsent(sequence, key -> new CompletableFuture<>());
+        if (sequence <= persistedSequence) {
+            persistedFutures.remove(sequence, persistedFuture);
+            persistedFuture.complete(null);
+        }
+        return persistedFuture;
+    }
+
+    /**
+     * Returns a future completed once the db holds every posting published so far.
+     */
+    public CompletableFuture<Void> whenAllPersisted() {
+        return whenPersisted(publishedSequence);
+    }
+
+    private void run() {
+        List<LedgerPosting> batch = new ArrayList<>(batchSize);
+        while (running || !postings.isEmpty()) {
+            try {
+                LedgerPosting firstPosting = postings.poll(100, TimeUnit.MILLISECONDS);
+                if (firstPosting == null) {
+                    continue;
+                }
+                batch.add(firstPosting);
+                postings.drainTo(batch, batchSize - 1);
+
+                writeUntilDone(batch);
+                persistedSequence = batch.getLast().sequence();
+                batch.clear();
+                completePersistedFutures();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeUntilDone(List<LedgerPosting> batch) throws InterruptedException {
+        while (true) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error while writing: {} ledger postings to the db, retrying", batch.size(), e);
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    private void completePersistedFutures() {
+        ConcurrentNavigableMap<Long, CompletableFuture<Void>> completedFutures = persistedFutures.headMap(persistedSequence, true);
+        completedFutures.values().forEach(persistedFuture -> persistedFuture.complete(null));
+        completedFutures.clear();
+        try {
+            persistedListener.accept(persistedSequence);
+        } catch (RuntimeException e) {
+            log.error("Error in the ledger persisted listener at sequence: {}", persistedSequence, e);
+        }
+    }
+
+    /**
+     * Folds the batch into one insert per new transaction, one update per discharged older debit and one update per
+     * account, each with the last value the batch gives it.
+     */
+    private void write(List<LedgerPosting> batch) {
+        Map<Long, Object[]> transactionRows = new LinkedHashMap<>();
+        Map<Long, Long> debitBalances = new LinkedHashMap<>();
+        Map<Long, Object[]> accountRows = new LinkedHashMap<>();
+        List<Object[]> idempotencyKeyRows = new ArrayList<>();
+        for (LedgerPosting ledgerPosting : batch) {
+            for (OpenDebit dischargedDebit : ledgerPosting.dischargedDebits()) {
+                Object[] transactionRow = transactionRows.get(dischargedDebit.transactionId());
+                if (transactionRow != null) {
+                    transactionRow[4] = dischargedDebit.balance();
+                } else {
+                    debitBalances.put(dischargedDebit.transactionId(), dischargedDebit.balance());
+                }
+            }
+
+            Timestamp eventDate = Timestamp.from(ledgerPosting.eventDate());
+            transactionRows.put(ledgerPosting.transactionId(), new Object[]{ledgerPosting.transactionId(), ledgerPosting.accountId(),
+                    ledgerPosting.operationTypeId(), ledgerPosting.amount(), ledgerPosting.balance(), eventDate});
+            accountRows.put(ledgerPosting.accountId(), new Object[]{ledgerPosting.accountBalance(), ledgerPosting.accountOutstandingDebt(),
+                    ledgerPosting.accountId()});
+            if (ledgerPosting.idempotencyKey() != null) {
+                idempotencyKeyRows.add(new Object[]{ledgerPosting.idempotencyKey(), ledgerPosting.transactionId(), eventDate});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, List.copyOf(transactionRows.values()));
+            if (!debitBalances.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_TRANSACTION_BALANCE, debitBalances.entrySet().stream()
+                        .map(debitBalance -> new Object[]{debitBalance.getValue(), debitBalance.getKey()})
+                        .toList());
+            }
+            jdbcTemplate.batchUpdate(UPDATE_ACCOUNT, List.copyOf(accountRows.values()));
+            if (!idempotencyKeyRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_IDEMPOTENCY_KEY, idempotencyKeyRows);
+            }
+            jdbcTemplate.update(UPSERT_LEDGER_POSITION, LEDGER_ID, batch.getLast().sequence());
+        });
+        log.info("Wrote: {} ledger postings to the db up to sequence: {}", batch.size(), batch.getLast().sequence());
+    }
+}
@@ -0,0 +1,474 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.ledger.LedgerCommand;
+import com.banking.fintech.ledger.LedgerCommandLog;
+import com.banking.fintech.ledger.LedgerEngine;
+import com.banking.fintech.ledger.LedgerPosting;
+import com.banking.fintech.ledger.LedgerSnapshots;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single thread that owns the {@link LedgerEngine}. It takes the queued requests in batches, turns each into
+ * commands, appends them to the command log and applies them to the engine, then forces the log once for the whole
+ * batch before answering the requests and handing the postings to the {@link LedgerPersistenceSink}.
+ * Everything a command needs from outside the engine is written into the command: the clock, the db state of an
+ * account seen for the first time and the blocks of transaction ids reserved from transactions_seq. The db is read on
+ * loader threads and the result comes back to the sequencer as an input, the requests waiting for it are parked in
+ * arrival order meanwhile, so a slow query never stalls the requests of the other accounts.
+ * On startup the latest promoted snapshot is loaded and the command log after it is replayed.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.execution-mode", havingValue = "ledger")
+@Slf4j
+public class LedgerSequencer {
+
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final LedgerPersistenceSink ledgerPersistenceSink;
+    private final TransactionProperties.Ledger ledgerProperties;
+    private final BlockingQueue<SequencerInput> sequencerInputs = new LinkedBlockingQueue<>();
+    private final Semaphore queuedRequestPermits;
+
+    // owned by the sequencer thread
+    private final Map<Long, Queue<LedgerRequest>> waitingForAccount = new HashMap<>();
+    private final Queue<LedgerRequest> waitingForTransactionIds = new ArrayDeque<>();
+    private final Map<String, Queue<LedgerRequest>> waitingForIdempotencyKey = new HashMap<>();
+    private final List<LedgerRequest> batchRequests = new ArrayList<>(MAX_BATCH_SIZE);
+    private final List<LedgerPosting> batchPostings = new ArrayList<>(MAX_BATCH_SIZE);
+    private final List<Runnable> batchAnswers = new ArrayList<>(MAX_BATCH_SIZE);
+    private LedgerCommand.ReserveTransactionIds reservedTransactionIds;
+    private boolean reservingTransactionIds;
+
+    private LedgerEngine ledgerEngine;
+    private LedgerCommandLog ledgerCommandLog;
+    private LedgerSnapshots ledgerSnapshots;
+    private long lastSnapshotSequence;
+    private Instant lastEventDate = Instant.EPOCH;
+    private int transactionIdBlockSize;
+    private volatile boolean running;
+    private volatile IOException commandLogFailure;
+    private Thread sequencerThread;
+    private ExecutorService loaderExecutorService;
+
+    @Autowired
+    public LedgerSequencer(OperationTypeRegistry operationTypeRegistry, AccountRepository accountRepository,
+                           TransactionRepository transactionRepository, JdbcTemplate jdbcTemplate,
+                           LedgerPersistenceSink ledgerPersistenceSink, TransactionProperties transactionProperties) {
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ledgerPersistenceSink = ledgerPersistenceSink;
+        this.ledgerProperties = transactionProperties.getLedger();
+        this.queuedRequestPermits = new Semaphore(ledgerProperties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path directory = Path.of(ledgerProperties.getDir());
+        ledgerSnapshots = new LedgerSnapshots(directory);
+        ledgerCommandLog = new LedgerCommandLog(directory);
+
+        long persistedSequence = ledgerPersistenceSink.getPersistedSequence();
+        lastSnapshotSequence = ledgerSnapshots.promote(persistedSequence);
+        ledgerEngine = ledgerSnapshots.loadLatest(ledgerProperties.getRetainedIdempotencyKeys());
+        long snapshotSequence = ledgerEngine.getLastSequence();
+        ledgerCommandLog.replay(snapshotSequence, (sequence, command) -> {
+            LedgerPosting ledgerPosting = ledgerEngine.apply(sequence, command);
+            if (ledgerPosting != null) {
+                lastEventDate = ledgerPosting.eventDate();
+                if (sequence > persistedSequence) {
+                    ledgerPersistenceSink.publish(ledgerPosting);
+                }
+            }
+        });
+        log.info("Replayed ledger commands from: {} to: {}, the db holds postings up to: {}", snapshotSequence,
+                ledgerEngine.getLastSequence(), persistedSequence);
+
+        ledgerPersistenceSink.onPersisted(this::promoteSnapshots);
+        transactionIdBlockSize = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = 'transactions_seq'", Integer.class);
+        loaderExecutorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ledger-loader-", 0).factory());
+        running = true;
+        sequencerThread = Thread.ofPlatform().name("ledger-sequencer").daemon().start(this::run);
+    }
+
+    /**
+     * Answers the requests already queued before returning, later submissions are rejected.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (sequencerThread != null) {
+            sequencerThread.join(TimeUnit.SECONDS.toMillis(30));
+            loaderExecutorService.shutdownNow();
+            ledgerCommandLog.close();
+        }
+    }
+
+    /**
+     * Queues the request, blocking while the queue is full. The future fails with a {@link TransactionServiceException}
+     * for a rejected request, and with a DataIntegrityViolationException for a remembered idempotency key once the db
+     * holds the transaction that first used it.
+     */
+    public CompletableFuture<LedgerPosting> submit(TransactionReq transactionReq, String idempotencyKey) {
+        LedgerRequest ledgerRequest = new LedgerRequest(transactionReq, idempotencyKey, new CompletableFuture<>());
+        if (commandLogFailure != null) {
+            ledgerRequest.future().completeExceptionally(
+                    new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, commandLogFailure));
+            return ledgerRequest.future();
+        }
+        if (!running) {
+            return rejectStopped(ledgerRequest);
+        }
+
+        try {
+            queuedRequestPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ledgerRequest.future().completeExceptionally(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR, e));
+            return ledgerRequest.future();
+        }
+        sequencerInputs.add(ledgerRequest);
+        // the sequencer may have drained its inputs for the last time after the check above
+        if (!running && sequencerInputs.remove(ledgerRequest)) {
+            queuedRequestPermits.release();
+            return rejectStopped(ledgerRequest);
+        }
+        return ledgerRequest.future();
+    }
+
+    private static CompletableFuture<LedgerPosting> rejectStopped(LedgerRequest ledgerRequest) {
+        log.error("Ledger sequencer is stopped, rejecting the transaction of accountId: {}", ledgerRequest.transactionReq().getAccountId());
+        ledgerRequest.future().completeExceptionally(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR));
+        return ledgerRequest.future();
+    }
+
+    private void run() {
+        List<SequencerInput> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !sequencerInputs.isEmpty() || !waitingForAccount.isEmpty() || !waitingForTransactionIds.isEmpty()) {
+            try {
+                SequencerInput firstInput = sequencerInputs.poll(100, TimeUnit.MILLISECONDS);
+                if (firstInput == null) {
+                    continue;
+                }
+                batch.add(firstInput);
+                sequencerInputs.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                process(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void process(List<SequencerInput> batch) {
+        for (SequencerInput sequencerInput : batch) {
+            switch (sequencerInput) {
+                case LedgerRequest ledgerRequest -> {
+                    queuedRequestPermits.release();
+                    sequence(ledgerRequest);
+                }
+                case AccountLoaded accountLoaded -> accountLoaded(accountLoaded);
+                case TransactionIdsReserved transactionIdsReserved -> transactionIdsReserved(transactionIdsReserved);
+            }
+        }
+
+        try {
+            if (commandLogFailure != null) {
+                throw commandLogFailure;
+            }
+            ledgerCommandLog.flush();
+        } catch (IOException e) {
+            log.error("Error while forcing the ledger command log, the ledger stops accepting transactions", e);
+            commandLogFailure = e;
+            batchRequests.forEach(ledgerRequest -> ledgerRequest.future().completeExceptionally(
+                    new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e)));
+            clearBatch();
+            return;
+        }
+
+        batchAnswers.forEach(Runnable::run);
+        batchPostings.forEach(ledgerPersistenceSink::publish);
+        clearBatch();
+        if (ledgerEngine.getLastSequence() - lastSnapshotSequence >= ledgerProperties.getSnapshotInterval()) {
+            writeSnapshot();
+        }
+    }
+
+    private void clearBatch() {
+        batchRequests.clear();
+        batchPostings.clear();
+        batchAnswers.clear();
+    }
+
+    /**
+     * Posts the request, or parks it until what it waits for is loaded, answering it with the rest of the batch.
+     */
+    private void sequence(LedgerRequest ledgerRequest) {
+        try {
+            LedgerPosting ledgerPosting = post(ledgerRequest);
+            if (ledgerPosting != null) {
+                batchRequests.add(ledgerRequest);
+                batchPostings.add(ledgerPosting);
+                batchAnswers.add(() -> ledgerRequest.future().complete(ledgerPosting));
+            }
+        } catch (RuntimeException e) {
+            fail(ledgerRequest, e);
+        }
+    }
+
+    /**
+     * Turns the request into its commands, returning null when the request is parked or its answer waits for the db.
+     */
+    private LedgerPosting post(LedgerRequest ledgerRequest) {
+        if (commandLogFailure != null) {
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, commandLogFailure);
+        }
+
+        TransactionReq transactionReq = ledgerRequest.transactionReq();
+        OperationType operationType = operationTypeRegistry.find(transactionReq.getOperationTypeId());
+        if (operationType == null) {
+            log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
+            throw new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+        }
+
+        if (ledgerRequest.idempotencyKey() != null) {
+            Queue<LedgerRequest> sameKeyRequests = waitingForIdempotencyKey.get(ledgerRequest.idempotencyKey());
+            if (sameKeyRequests != null) {
+                sameKeyRequests.add(ledgerRequest);
+                return null;
+            }
+            Long firstSequence = ledgerEngine.findIdempotencyKey(ledgerRequest.idempotencyKey());
+            if (firstSequence != null) {
+                log.info("Idempotency key already used by ledger command: {}", firstSequence);
+                ledgerPersistenceSink.whenPersisted(firstSequence).thenRun(() -> ledgerRequest.future().completeExceptionally(
+                        new DataIntegrityViolationException("Idempotency key already used by ledger command: " + firstSequence)));
+                return null;
+            }
+        }
+
+        Long accountId = transactionReq.getAccountId();
+        Queue<LedgerRequest> sameAccountRequests = waitingForAccount.get(accountId);
+        if (sameAccountRequests != null) {
+            park(sameAccountRequests, ledgerRequest);
+            return null;
+        }
+        if (!ledgerEngine.hasAccount(accountId)) {
+            sameAccountRequests = new ArrayDeque<>();
+            waitingForAccount.put(accountId, sameAccountRequests);
+            park(sameAccountRequests, ledgerRequest);
+            loaderExecutorService.execute(() -> sequencerInputs.add(loadAccount(accountId)));
+            return null;
+        }
+        if (ledgerEngine.getRemainingTransactionIds() == 0) {
+            if (reservedTransactionIds == null) {
+                park(waitingForTransactionIds, ledgerRequest);
+                reserveTransactionIds();
+                return null;
+            }
+            apply(reservedTransactionIds);
+            reservedTransactionIds = null;
+        }
+
+        Instant eventDate = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        lastEventDate = eventDate.isAfter(lastEventDate) ? eventDate : lastEventDate;
+        LedgerPosting ledgerPosting = apply(new LedgerCommand.PostTransaction(accountId, transactionReq.getOperationTypeId(),
+                operationType.operationType(), transactionReq.getAmount(), lastEventDate, ledgerRequest.idempotencyKey()));
+        // the next block is read ahead, so that the requests seldom wait for it
+        if (ledgerEngine.getRemainingTransactionIds() <= transactionIdBlockSize / 2 && reservedTransactionIds == null) {
+            reserveTransactionIds();
+        }
+        return ledgerPosting;
+    }
+
+    private void park(Queue<LedgerRequest> waitingRequests, LedgerRequest ledgerRequest) {
+        waitingRequests.add(ledgerRequest);
+        if (ledgerRequest.idempotencyKey() != null) {
+            waitingForIdempotencyKey.putIfAbsent(ledgerRequest.idempotencyKey(), new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Sequences a parked request again, followed by the requests that came in with the same idempotency key meanwhile.
+     */
+    private void resume(LedgerRequest ledgerRequest) {
+        Queue<LedgerRequest> sameKeyRequests = ledgerRequest.idempotencyKey() == null
+                ? null : waitingForIdempotencyKey.remove(ledgerRequest.idempotencyKey());
+        sequence(ledgerRequest);
+        if (sameKeyRequests != null) {
+            sameKeyRequests.forEach(this::sequence);
+        }
+    }
+
+    private void fail(LedgerRequest ledgerRequest, RuntimeException e) {
+        batchRequests.add(ledgerRequest);
+        batchAnswers.add(() -> ledgerRequest.future().completeExceptionally(e));
+        Queue<LedgerRequest> sameKeyRequests = ledgerRequest.idempotencyKey() == null
+                ? null : waitingForIdempotencyKey.remove(ledgerRequest.idempotencyKey());
+        if (sameKeyRequests != null) {
+            sameKeyRequests.forEach(this::sequence);
+        }
+    }
+
+    private void accountLoaded(AccountLoaded accountLoaded) {
+        Queue<LedgerRequest> sameAccountRequests = waitingForAccount.remove(accountLoaded.accountId());
+        if (accountLoaded.failure() != null) {
+            sameAccountRequests.forEach(ledgerRequest -> fail(ledgerRequest, accountLoaded.failure()));
+            return;
+        }
+
+        try {
+            apply(accountLoaded.loadAccount());
+        } catch (RuntimeException e) {
+            sameAccountRequests.forEach(ledgerRequest -> fail(ledgerRequest, e));
+            return;
+        }
+        sameAccountRequests.forEach(this::resume);
+    }
+
+    private void transactionIdsReserved(TransactionIdsReserved transactionIdsReserved) {
+        reservingTransactionIds = false;
+        List<LedgerRequest> waitingRequests = new ArrayList<>(waitingForTransactionIds);
+        waitingForTransactionIds.clear();
+        if (transactionIdsReserved.failure() != null) {
+            waitingRequests.forEach(ledgerRequest -> fail(ledgerRequest, transactionIdsReserved.failure()));
+            return;
+        }
+
+        reservedTransactionIds = transactionIdsReserved.reserveTransactionIds();
+        waitingRequests.forEach(this::resume);
+    }
+
+    private void reserveTransactionIds() {
+        if (reservingTransactionIds) {
+            return;
+        }
+        reservingTransactionIds = true;
+        loaderExecutorService.execute(() -> sequencerInputs.add(readTransactionIdBlock()));
+    }
+
+    /**
+     * Runs on a loader thread.
+     */
+    private AccountLoaded loadAccount(Long accountId) {
+        try {
+            AccountEntity accountEntity = accountRepository.findById(accountId).orElse(null);
+            if (accountEntity == null) {
+                log.error("Customer account not found for accountId: {}", accountId);
+                return new AccountLoaded(accountId, null, new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND));
+            }
+
+            log.info("Loading account: {} into the ledger", accountId);
+            return new AccountLoaded(accountId, new LedgerCommand.LoadAccount(accountId, accountEntity.getBalance(),
+                    accountEntity.getOutstandingDebt(), transactionRepository.findOpenDebits(accountId)), null);
+        } catch (PersistenceException e) {
+            log.error("Error while getting account entity from the db", e);
+            return new AccountLoaded(accountId, null, new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e));
+        } catch (RuntimeException e) {
+            log.error("Error while loading account: {} into the ledger", accountId, e);
+            return new AccountLoaded(accountId, null, e);
+        }
+    }
+
+    /**
+     * Runs on a loader thread.
+     */
+    private TransactionIdsReserved readTransactionIdBlock() {
+        try {
+            return new TransactionIdsReserved(new LedgerCommand.ReserveTransactionIds(
+                    jdbcTemplate.queryForObject("SELECT nextval('transactions_seq')", Long.class), transactionIdBlockSize), null);
+        } catch (RuntimeException e) {
+            log.error("Error while reserving transaction ids from the db", e);
+            return new TransactionIdsReserved(null, new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e));
+        }
+    }
+
+    /**
+     * Appends the command before applying it, so the engine never holds a state the log cannot rebuild. A failed
+     * append stops the ledger like a failed flush.
+     */
+    private LedgerPosting apply(LedgerCommand ledgerCommand) {
+        long sequence = ledgerEngine.getLastSequence() + 1;
+        try {
+            ledgerCommandLog.append(sequence, ledgerCommand);
+        } catch (IOException e) {
+            log.error("Error while appending to the ledger command log, the ledger stops accepting transactions", e);
+            commandLogFailure = e;
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+        return ledgerEngine.apply(sequence, ledgerCommand);
+    }
+
+    private void writeSnapshot() {
+        try {
+            ledgerSnapshots.writePending(ledgerEngine);
+            ledgerCommandLog.roll(ledgerEngine.getLastSequence() + 1);
+            lastSnapshotSequence = ledgerEngine.getLastSequence();
+        } catch (IOException e) {
+            log.error("Error while writing the ledger snapshot at sequence: {}", ledgerEngine.getLastSequence(), e);
+        }
+    }
+
+    private void promoteSnapshots(long persistedSequence) {
+        try {
+            ledgerCommandLog.deleteBefore(ledgerSnapshots.promote(persistedSequence));
+        } catch (IOException e) {
+            log.error("Error while promoting the ledger snapshots at sequence: {}", persistedSequence, e);
+        }
+    }
+
+    private sealed interface SequencerInput {
+    }
+
+    private record LedgerRequest(TransactionReq transactionReq, String idempotencyKey,
+                                 CompletableFuture<LedgerPosting> future) implements SequencerInput {
+    }
+
+    private record AccountLoaded(Long accountId, LedgerCommand.LoadAccount loadAccount,
+                                 RuntimeException failure) implements SequencerInput {
+    }
+
+    private record TransactionIdsReserved(LedgerCommand.ReserveTransactionIds reserveTransactionIds,
+                                          RuntimeException failure) implements SequencerInput {
+    }
+}
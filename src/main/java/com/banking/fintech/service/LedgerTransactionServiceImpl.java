@@ -0,0 +1,107 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.ledger.LedgerPosting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Posts transactions to the in memory ledger of the {@link LedgerSequencer} and answers once they are in its command
+ * log, before the db is written. Reads of balances and transactions from the db therefore lag behind the answers by
+ * the {@link LedgerPersistenceSink} delay, and the ledger assumes this instance is the only writer of the db.
+ * A batch is sequenced together but is not atomic, a failure is reported after the items before it were posted.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.transactions.execution-mode", havingValue = "ledger")
+@Slf4j
+public class LedgerTransactionServiceImpl implements TransactionService {
+
+    private final LedgerSequencer ledgerSequencer;
+
+    @Autowired
+    public LedgerTransactionServiceImpl(LedgerSequencer ledgerSequencer) {
+        this.ledgerSequencer = ledgerSequencer;
+    }
+
+    @Override
+    public TransactionRes createTransaction(TransactionReq transactionReq) {
+        return createTransaction(transactionReq, null);
+    }
+
+    @Override
+    public TransactionRes createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+
+        return buildTransactionRes(join(ledgerSequencer.submit(transactionReq, idempotencyKey)));
+    }
+
+    @Override
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs) {
+        return createTransactions(transactionReqs, null);
+    }
+
+    @Override
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs, List<String> idempotencyKeys) {
+        log.info("In createTransactions with: {} transactions", transactionReqs.size());
+
+        List<CompletableFuture<LedgerPosting>> ledgerPostingFutures = new ArrayList<>(transactionReqs.size());
+        for (int i = 0; i < transactionReqs.size(); i++) {
+            ledgerPostingFutures.add(ledgerSequencer.submit(transactionReqs.get(i), idempotencyKeys == null ? null : idempotencyKeys.get(i)));
+        }
+
+        List<TransactionBatchItemRes> transactionBatchItemResList = new ArrayList<>(transactionReqs.size());
+        for (CompletableFuture<LedgerPosting> ledgerPostingFuture : ledgerPostingFutures) {
+            try {
+                transactionBatchItemResList.add(TransactionBatchItemRes.builder()
+                        .status(HttpStatus.OK.value())
+                        .transaction(buildTransactionRes(join(ledgerPostingFuture)))
+                        .build());
+            } catch (TransactionServiceException e) {
+                ErrorInfo errorInfo = e.getErrorInfo();
+                if (!errorInfo.getHttpStatus().is4xxClientError()) {
+                    throw e;
+                }
+
+                log.error("Transaction rejected in batch with error code: {}", errorInfo.getErrCode());
+                transactionBatchItemResList.add(TransactionServiceImpl.buildTransactionBatchItemRes(errorInfo));
+            }
+        }
+
+        return transactionBatchItemResList;
+    }
+
+    private static TransactionRes buildTransactionRes(LedgerPosting ledgerPosting) {
+        return TransactionRes.builder()
+                .transactionId(ledgerPosting.transactionId())
+                .accountId(ledgerPosting.accountId())
+                .operationTypeId(ledgerPosting.operationTypeId())
+                .amount(ledgerPosting.amount())
+                .eventDate(ledgerPosting.eventDate())
+                .build();
+    }
+
+    private static LedgerPosting join(CompletableFuture<LedgerPosting> ledgerPostingFuture) {
+        try {
+            return ledgerPostingFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.fintech.service;
+
+/**
+ * A transaction of an account whose balance is still negative, kept in memory by a {@link TransactionLane}.
+ */
+public record OpenDebit(Long transactionId, long balance) {
+}
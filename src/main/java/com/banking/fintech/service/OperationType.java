@@ -0,0 +1,9 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.TransactionOperationType;
+
+/**
+ * Immutable copy of an operation type row, as held by the {@link OperationTypeRegistry}.
+ */
+public record OperationType(Long operationTypeId, String description, TransactionOperationType operationType) {
+}
@@ -0,0 +1,87 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.repo.OperationTypeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the operation types in memory, indexed by id, so a transaction resolves its operation type without going to
+ * the db. The map is immutable and is swapped as a whole on every change, so readers never lock and always see a
+ * complete snapshot. Types added through another instance are picked up on the next {@link #refresh()}.
+ * Writers take a lock rather than a monitor, so a virtual thread waiting on the db does not pin its carrier thread.
+ */
+@Component
+@Slf4j
+public class OperationTypeRegistry {
+
+    private final OperationTypeRepository operationTypeRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Map<Long, OperationType> operationTypesById = Map.of();
+
+    @Autowired
+    public OperationTypeRegistry(OperationTypeRepository operationTypeRepository) {
+        this.operationTypeRepository = operationTypeRepository;
+    }
+
+    /**
+     * Reloads all the operation types from the db and replaces the current snapshot with them.
+     */
+    @PostConstruct
+    public void refresh() {
+        writeLock.lock();
+        try {
+            Map<Long, OperationType> loadedOperationTypesById = new HashMap<>();
+            for (OperationTypeEntity operationTypeEntity : operationTypeRepository.findAll()) {
+                loadedOperationTypesById.put(operationTypeEntity.getOperationTypeId(), toOperationType(operationTypeEntity));
+            }
+
+            operationTypesById = Map.copyOf(loadedOperationTypesById);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Loaded: {} operation types into the registry", operationTypesById.size());
+    }
+
+    /**
+     * Adds an operation type that has already been saved to the db, replacing the current snapshot with a copy of it.
+     */
+    public void register(OperationType operationType) {
+        writeLock.lock();
+        try {
+            Map<Long, OperationType> updatedOperationTypesById = new HashMap<>(operationTypesById);
+            updatedOperationTypesById.put(operationType.operationTypeId(), operationType);
+            operationTypesById = Map.copyOf(updatedOperationTypesById);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the operation type for the id, or null when there is no such operation type.
+     */
+    public OperationType find(Long operationTypeId) {
+        return operationTypeId == null ? null : operationTypesById.get(operationTypeId);
+    }
+
+    public List<OperationType> getOperationTypes() {
+        return operationTypesById.values().stream()
+                .sorted(Comparator.comparing(OperationType::operationTypeId))
+                .toList();
+    }
+
+    static OperationType toOperationType(OperationTypeEntity operationTypeEntity) {
+        return new OperationType(operationTypeEntity.getOperationTypeId(), operationTypeEntity.getDescription(),
+                operationTypeEntity.getOperationType());
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+
+import java.util.List;
+
+public interface OperationTypeService {
+
+    OperationTypeRes createOperationType(OperationTypeReq operationTypeReq);
+
+    List<OperationTypeRes> getOperationTypes();
+
+    List<OperationTypeRes> refreshOperationTypes();
+}
@@ -0,0 +1,82 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.exception.OperationTypeServiceException;
+import com.banking.fintech.repo.OperationTypeRepository;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class OperationTypeServiceImpl implements OperationTypeService {
+
+    private final OperationTypeRepository operationTypeRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+
+    @Autowired
+    public OperationTypeServiceImpl(OperationTypeRepository operationTypeRepository, OperationTypeRegistry operationTypeRegistry) {
+        this.operationTypeRepository = operationTypeRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+    }
+
+    @Override
+    public OperationTypeRes createOperationType(OperationTypeReq operationTypeReq) {
+        log.info("In createOperationType with req: {}", operationTypeReq);
+
+        OperationTypeEntity operationTypeEntity = OperationTypeEntity.builder()
+                .description(operationTypeReq.getDescription())
+                .operationType(TransactionOperationType.getTransactionOperationType(operationTypeReq.getOperationType()))
+                .build();
+
+        try {
+            operationTypeEntity = operationTypeRepository.save(operationTypeEntity);
+            log.info("Saved operation type entity successfully to the db with entity: {}", operationTypeEntity);
+        } catch (PersistenceException e) {
+            log.error("Error while saving operation type entity to the db", e);
+            throw new OperationTypeServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+
+        OperationType operationType = OperationTypeRegistry.toOperationType(operationTypeEntity);
+        operationTypeRegistry.register(operationType);
+
+        return buildOperationTypeRes(operationType);
+    }
+
+    @Override
+    public List<OperationTypeRes> getOperationTypes() {
+        log.info("In getOperationTypes");
+
+        return operationTypeRegistry.getOperationTypes().stream()
+                .map(OperationTypeServiceImpl::buildOperationTypeRes)
+                .toList();
+    }
+
+    @Override
+    public List<OperationTypeRes> refreshOperationTypes() {
+        log.info("In refreshOperationTypes");
+        try {
+            operationTypeRegistry.refresh();
+        } catch (PersistenceException e) {
+            log.error("Error while getting operation type entities from the db", e);
+            throw new OperationTypeServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+        }
+
+        return getOperationTypes();
+    }
+
+    private static OperationTypeRes buildOperationTypeRes(OperationType operationType) {
+        return OperationTypeRes.builder()
+                .operationTypeId(operationType.operationTypeId())
+                .description(operationType.description())
+                .operationType(operationType.operationType().getValue())
+                .build();
+    }
+}
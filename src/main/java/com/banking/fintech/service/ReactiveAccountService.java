@@ -0,0 +1,21 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AccountService} for the reactive stack, reading and writing the accounts over r2dbc.
+ */
+public interface ReactiveAccountService {
+
+    Mono<AccountRes> createAccount(AccountReq accountReq);
+
+    Mono<AccountRes> getAccount(Long accountId);
+
+    Mono<AccountBalanceRes> getAccountBalance(Long accountId);
+
+    Mono<TransactionPageRes> getAccountTransactions(AccountStatementQuery accountStatementQuery);
+}
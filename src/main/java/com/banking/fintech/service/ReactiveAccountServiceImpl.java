@@ -0,0 +1,133 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.entity.AccountRow;
+import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.repo.ReactiveAccountRepository;
+import com.banking.fintech.repo.ReactiveTransactionRepository;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final AccountCache accountCache;
+
+    @Autowired
+    public ReactiveAccountServiceImpl(ReactiveAccountRepository accountRepository, ReactiveTransactionRepository transactionRepository,
+                                      AccountCache accountCache) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountCache = accountCache;
+    }
+
+    /**
+     * Also puts the new account in the {@link AccountCache}, which is shared with the async transactions endpoint.
+     */
+    @Override
+    public Mono<AccountRes> createAccount(AccountReq accountReq) {
+        log.debug("In createAccount with req: {}", accountReq);
+
+        AccountRow accountRow = AccountRow.builder()
+                .documentNumber(accountReq.getDocumentNumber())
+                .build();
+
+        return accountRepository.save(accountRow)
+                .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB))
+                .map(savedAccountRow -> {
+                    log.info("Saved account row successfully to the db with accountId: {}", savedAccountRow.getAccountId());
+                    accountCache.put(new AccountSummary(savedAccountRow.getAccountId(), savedAccountRow.getDocumentNumber()));
+
+                    return AccountRes.builder()
+                            .accountId(savedAccountRow.getAccountId())
+                            .documentNumber(savedAccountRow.getDocumentNumber())
+                            .balance(savedAccountRow.getBalance())
+                            .outstandingDebt(savedAccountRow.getOutstandingDebt())
+                            .build();
+                });
+    }
+
+    @Override
+    public Mono<AccountRes> getAccount(Long accountId) {
+        log.info("In getAccount with accountId: {}", accountId);
+
+        return findAccount(accountId)
+                .map(accountRow -> AccountRes.builder()
+                        .accountId(accountRow.getAccountId())
+                        .documentNumber(accountRow.getDocumentNumber())
+                        .balance(accountRow.getBalance())
+                        .outstandingDebt(accountRow.getOutstandingDebt())
+                        .build());
+    }
+
+    @Override
+    public Mono<AccountBalanceRes> getAccountBalance(Long accountId) {
+        log.info("In getAccountBalance with accountId: {}", accountId);
+
+        return findAccount(accountId)
+                .map(accountRow -> AccountBalanceRes.builder()
+                        .accountId(accountRow.getAccountId())
+                        .balance(accountRow.getBalance())
+                        .outstandingDebt(accountRow.getOutstandingDebt())
+                        .build());
+    }
+
+    @Override
+    public Mono<TransactionPageRes> getAccountTransactions(AccountStatementQuery accountStatementQuery) {
+        log.info("In getAccountTransactions with accountId: {}", accountStatementQuery.accountId());
+
+        return findAccount(accountStatementQuery.accountId())
+                .then(Mono.defer(() -> transactionRepository.findStatementPage(accountStatementQuery.accountId(),
+                                LocalDateTime.ofInstant(accountStatementQuery.afterEventDate(), ZoneOffset.UTC),
+                                accountStatementQuery.afterTransactionId(),
+                                LocalDateTime.ofInstant(accountStatementQuery.beforeEventDate(), ZoneOffset.UTC),
+                                accountStatementQuery.operationTypeId(), accountStatementQuery.fetchSize())
+                        .map(ReactiveTransactionServiceImpl::buildTransactionRes)
+                        .collectList()
+                        .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB))))
+                .map(accountStatementQuery::page);
+    }
+
+    private Mono<AccountRow> findAccount(Long accountId) {
+        return accountRepository.findById(accountId)
+                .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Customer account not found for accountId: {}", accountId);
+                    return new AccountServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+                }));
+    }
+
+    /**
+     * No connection freed up within spring.r2dbc.pool.max-acquire-time is answered with 503, like the connection limit
+     * of the servlet stack on virtual threads.
+     */
+    private static Throwable dbFailure(Throwable e, ErrorInfo errorInfo) {
+        if (e instanceof BankingServiceException) {
+            return e;
+        }
+        if (e instanceof R2dbcTimeoutException || e instanceof NestedRuntimeException nestedException && nestedException.contains(R2dbcTimeoutException.class)) {
+            log.error("No db connection available within the acquire timeout", e);
+            return new BankingServiceException(ErrorInfo.DB_CONNECTION_LIMIT_REACHED, e);
+        }
+
+        log.error("Error while accessing the db", e);
+        return new AccountServiceException(errorInfo, e);
+    }
+}
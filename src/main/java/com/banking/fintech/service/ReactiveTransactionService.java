@@ -0,0 +1,27 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TransactionService} for the reactive stack, every call runs in its own reactive
+ * db transaction holding the same row locks as the locking execution mode.
+ */
+public interface ReactiveTransactionService {
+
+    /**
+     * Creates the transaction, or with an idempotency key already recorded answers the transaction created with it.
+     * Reusing a key for a different account, operation type or amount fails with a TransactionServiceException.
+     */
+    Mono<TransactionRes> createTransaction(TransactionReq transactionReq, String idempotencyKey);
+
+    /**
+     * Creates the given transactions in a single db transaction, transactions rejected because of a client error
+     * are reported per item, any other failure rolls back the whole batch.
+     */
+    Mono<List<TransactionBatchItemRes>> createTransactions(List<TransactionReq> transactionReqs);
+}
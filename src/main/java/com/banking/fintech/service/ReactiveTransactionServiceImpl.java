@@ -0,0 +1,251 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionDischargeMode;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.TransactionRow;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.ReactiveAccountRepository;
+import com.banking.fintech.repo.ReactiveTransactionRepository;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs the locking execution mode without blocking: the open debits of the account are selected FOR UPDATE and
+ * discharged in (event_date, transaction_id) order, the account row is updated and the transaction inserted, all in one
+ * reactive db transaction. A request waiting on a row lock or on a pool connection holds no thread meanwhile.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveAccountRepository accountRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final TransactionalOperator transactionalOperator;
+    private final TransactionProperties transactionProperties;
+    private final BankingMetrics bankingMetrics;
+
+    @Autowired
+    public ReactiveTransactionServiceImpl(ReactiveTransactionRepository transactionRepository, ReactiveAccountRepository accountRepository,
+                                          OperationTypeRegistry operationTypeRegistry, TransactionalOperator transactionalOperator,
+                                          TransactionProperties transactionProperties, BankingMetrics bankingMetrics) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.transactionalOperator = transactionalOperator;
+        this.transactionProperties = transactionProperties;
+        this.bankingMetrics = bankingMetrics;
+    }
+
+    @Override
+    public Mono<TransactionRes> createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return transactionalOperator.transactional(createTransactionInTx(transactionReq, null))
+                    .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+        }
+
+        log.debug("In createTransaction with idempotency key for transactionReq: {}", transactionReq);
+        return findTransaction(idempotencyKey)
+                .switchIfEmpty(Mono.defer(() -> transactionalOperator.transactional(createTransactionInTx(transactionReq, idempotencyKey))
+                        .onErrorResume(DataIntegrityViolationException.class, e -> findTransaction(idempotencyKey)
+                                .doOnNext(transactionRes -> log.info("Idempotency key was taken concurrently by transactionId: {}",
+                                        transactionRes.getTransactionId()))
+                                .switchIfEmpty(Mono.error(e)))))
+                .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB))
+                .map(transactionRes -> IdempotentTransactionExecutor.checkSameRequest(transactionReq, transactionRes));
+    }
+
+    @Override
+    public Mono<List<TransactionBatchItemRes>> createTransactions(List<TransactionReq> transactionReqs) {
+        log.info("In createTransactions with: {} transactions", transactionReqs.size());
+
+        Mono<List<TransactionBatchItemRes>> batch = Flux.fromIterable(transactionReqs)
+                .concatMap(transactionReq -> createTransactionInTx(transactionReq, null)
+                        .map(transactionRes -> TransactionBatchItemRes.builder()
+                                .status(HttpStatus.OK.value())
+                                .transaction(transactionRes)
+                                .build())
+                        .onErrorResume(TransactionServiceException.class, e -> {
+                            ErrorInfo errorInfo = e.getErrorInfo();
+                            if (!errorInfo.getHttpStatus().is4xxClientError()) {
+                                return Mono.error(e);
+                            }
+
+                            log.error("Transaction rejected in batch with error code: {}", errorInfo.getErrCode());
+                            return Mono.just(TransactionServiceImpl.buildTransactionBatchItemRes(errorInfo));
+                        }))
+                .collectList();
+
+        Set<Long> accountIds = TransactionServiceImpl.batchAccountIds(transactionReqs);
+        Mono<Void> lockAccounts = accountIds.size() < 2 ? Mono.empty() : accountRepository.lockAccounts(accountIds).then();
+
+        return transactionalOperator.transactional(lockAccounts.then(batch))
+                .onErrorMap(e -> dbFailure(e, ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+    }
+
+    /**
+     * Same steps and order as TransactionServiceImpl#createTransaction, to be run inside a reactive db transaction.
+     */
+    private Mono<TransactionRes> createTransactionInTx(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+
+        OperationType operationType = operationTypeRegistry.find(transactionReq.getOperationTypeId());
+        if (operationType == null) {
+            log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
+            return Mono.error(new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND));
+        }
+
+        long amount = transactionReq.getAmount() * operationType.operationType().getMultiplier();
+        Mono<Long> finalBal;
+        if (TransactionOperationType.CREDIT.equals(operationType.operationType())) {
+            finalBal = TransactionDischargeMode.SET_BASED.equals(transactionProperties.getDischargeMode())
+                    ? dischargeBalanceSetBased(transactionReq)
+                    : dischargeBalance(transactionReq);
+        } else {
+            finalBal = Mono.just(amount);
+        }
+
+        return finalBal.flatMap(balance -> applyToAccount(transactionReq.getAccountId(), amount, balance)
+                        .then(Mono.defer(() -> transactionRepository.save(TransactionRow.builder()
+                                .accountId(transactionReq.getAccountId())
+                                .operationTypeId(transactionReq.getOperationTypeId())
+                                .amount(amount)
+                                .balance(balance)
+                                .eventDate(LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC))
+                                .build()))))
+                .doOnNext(transactionRow -> log.info("Saved transaction row successfully to the db with transactionId: {}", transactionRow.getTransactionId()))
+                .flatMap(transactionRow -> idempotencyKey == null
+                        ? Mono.just(transactionRow)
+                        : transactionRepository.insertIdempotencyKey(idempotencyKey, transactionRow.getTransactionId(), transactionRow.getEventDate())
+                                .thenReturn(transactionRow))
+                .map(ReactiveTransactionServiceImpl::buildTransactionRes);
+    }
+
+    /**
+     * See TransactionServiceImpl#applyToAccount, finding no account row means the account does not exist.
+     */
+    private Mono<Void> applyToAccount(Long accountId, long amount, long finalBal) {
+        long outstandingDebtDelta = amount < 0 ? -amount : finalBal - amount;
+
+        return accountRepository.applyTransaction(accountId, amount, outstandingDebtDelta)
+                .flatMap(updatedAccounts -> {
+                    if (updatedAccounts == 0) {
+                        log.error("Customer account not found for accountId: {}", accountId);
+                        return Mono.error(new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND));
+                    }
+
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Long> dischargeBalance(TransactionReq transactionReq) {
+        log.info("The current transaction is of: {} type, checking and discharging balance to other transactions", TransactionOperationType.CREDIT);
+
+        return Mono.defer(() -> {
+                    long lockStartNanos = System.nanoTime();
+                    return accountRepository.lockAccount(transactionReq.getAccountId())
+                            .thenMany(transactionRepository.findOpenDebitsForUpdate(transactionReq.getAccountId()))
+                            .collectList()
+                            .doOnNext(negativeBalTransactionRows -> bankingMetrics.recordOpenDebitsLockWait(System.nanoTime() - lockStartNanos));
+                })
+                .flatMap(negativeBalTransactionRows -> {
+                    log.info("Checking: {} transactions to discharge the balance", negativeBalTransactionRows.size());
+                    long balance = transactionReq.getAmount();
+                    List<TransactionRow> dischargedTransactionRows = new ArrayList<>();
+                    for (TransactionRow negativeBalTransactionRow : negativeBalTransactionRows) {
+                        if (balance <= 0) {
+                            break;
+                        }
+
+                        if (balance > -negativeBalTransactionRow.getBalance()) {
+                            balance = balance + negativeBalTransactionRow.getBalance();
+                            negativeBalTransactionRow.setBalance(0);
+                        } else {
+                            negativeBalTransactionRow.setBalance(negativeBalTransactionRow.getBalance() + balance);
+                            balance = 0;
+                        }
+                        dischargedTransactionRows.add(negativeBalTransactionRow);
+                    }
+                    bankingMetrics.recordDischargedOpenDebits(dischargedTransactionRows.size());
+
+                    return Flux.fromIterable(dischargedTransactionRows)
+                            .concatMap(transactionRow -> transactionRepository.updateBalance(transactionRow.getTransactionId(), transactionRow.getBalance()))
+                            .then(Mono.just(balance));
+                })
+                .onErrorMap(e -> {
+                    log.error("An error occurred while discharging balance, changes will not be commited", e);
+                    return new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE, e);
+                });
+    }
+
+    private Mono<Long> dischargeBalanceSetBased(TransactionReq transactionReq) {
+        log.info("The current transaction is of: {} type, discharging balance to other transactions in the db", TransactionOperationType.CREDIT);
+
+        return accountRepository.lockAccount(transactionReq.getAccountId())
+                .then(transactionRepository.dischargeOpenDebits(transactionReq.getAccountId(), transactionReq.getAmount()))
+                .map(dischargedAmount -> {
+                    log.info("Discharged: {} of the balance to other transactions", dischargedAmount);
+                    return transactionReq.getAmount() - dischargedAmount;
+                })
+                .onErrorMap(e -> {
+                    log.error("An error occurred while discharging balance, changes will not be commited", e);
+                    return new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE, e);
+                });
+    }
+
+    private Mono<TransactionRes> findTransaction(String idempotencyKey) {
+        return transactionRepository.findByIdempotencyKey(idempotencyKey)
+                .map(ReactiveTransactionServiceImpl::buildTransactionRes);
+    }
+
+    static TransactionRes buildTransactionRes(TransactionRow transactionRow) {
+        return TransactionRes.builder()
+                .transactionId(transactionRow.getTransactionId())
+                .accountId(transactionRow.getAccountId())
+                .operationTypeId(transactionRow.getOperationTypeId())
+                .amount(transactionRow.getAmount())
+                .eventDate(transactionRow.getEventDate().toInstant(ZoneOffset.UTC))
+                .build();
+    }
+
+    /**
+     * No connection freed up within spring.r2dbc.pool.max-acquire-time is answered with 503, like the connection limit
+     * of the servlet stack on virtual threads.
+     */
+    private static Throwable dbFailure(Throwable e, ErrorInfo errorInfo) {
+        if (e instanceof BankingServiceException) {
+            return e;
+        }
+        if (e instanceof R2dbcTimeoutException || e instanceof NestedRuntimeException nestedException && nestedException.contains(R2dbcTimeoutException.class)) {
+            log.error("No db connection available within the acquire timeout", e);
+            return new BankingServiceException(ErrorInfo.DB_CONNECTION_LIMIT_REACHED, e);
+        }
+
+        log.error("Error while saving transaction to the db", e);
+        return new TransactionServiceException(errorInfo, e);
+    }
+}
@@ -0,0 +1,146 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.TransactionExecutionMode;
+import com.banking.fintech.repo.SettlementImportRepository;
+import com.banking.fintech.settlement.SettlementCsvReader;
+import com.banking.fintech.settlement.SettlementImport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Imports the settlement files dropped in the spool directory on a single thread, one file at a time in name order.
+ * A file is read from its memory map a chunk of rows at a time, and every chunk is imported in one db transaction
+ * together with the checkpoint of the file, see {@link SettlementImportRepository}, so an import stopped by a crash
+ * resumes after its last committed chunk. Imported files are moved to the imported subdirectory. Partners must write a
+ * file under another name and rename it to .csv once complete, a file is imported as soon as it is seen.
+ * The imported transactions bypass the in-memory state of the lanes and ledger execution modes, so the importer only
+ * runs next to the locking one.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.settlement-import.enabled", havingValue = "true")
+@Slf4j
+public class SettlementImporter {
+
+    static final String IMPORTED_DIR = "imported";
+    private static final String FILE_SUFFIX = ".csv";
+
+    private final SettlementImportRepository settlementImportRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionExecutionMode executionMode;
+    private final TransactionProperties.SettlementImport settlementImportProperties;
+    private final Path spoolDir;
+    private final Path importedDir;
+
+    private ScheduledExecutorService importExecutorService;
+
+    @Autowired
+    public SettlementImporter(SettlementImportRepository settlementImportRepository, OperationTypeRegistry operationTypeRegistry,
+                              TransactionTemplate transactionTemplate, TransactionProperties transactionProperties) {
+        this.settlementImportRepository = settlementImportRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.executionMode = transactionProperties.getExecutionMode();
+        this.settlementImportProperties = transactionProperties.getSettlementImport();
+        this.spoolDir = Path.of(settlementImportProperties.getSpoolDir());
+        this.importedDir = spoolDir.resolve(IMPORTED_DIR);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (executionMode != TransactionExecutionMode.LOCKING) {
+            throw new IllegalStateException("The settlement importer needs the locking execution mode, not: " + executionMode);
+        }
+
+        Files.createDirectories(importedDir);
+        log.info("Starting settlement importer on spool directory: {}", spoolDir.toAbsolutePath());
+        importExecutorService = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("settlement-importer").daemon().factory());
+        importExecutorService.scheduleWithFixedDelay(this::importFilesQuietly, 0,
+                settlementImportProperties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (importExecutorService != null) {
+            importExecutorService.shutdownNow();
+            importExecutorService.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Imports the files in the spool directory and returns how many were imported, stopping at the first failing one
+     * until the next run.
+     */
+    public int importFiles() throws IOException {
+        List<Path> files;
+        try (Stream<Path> spoolFiles = Files.list(spoolDir)) {
+            files = spoolFiles
+                    .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX) && Files.isRegularFile(file))
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            importFile(file);
+        }
+        return files.size();
+    }
+
+    /**
+     * Imports the file from its checkpoint and moves it to the imported directory.
+     */
+    public SettlementImport importFile(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        SettlementImport settlementImport = settlementImportRepository.findOrStartImport(fileName, Files.size(file));
+        if (!settlementImport.imported()) {
+            log.info("Importing settlement file: {} from line: {}", fileName, settlementImport.nextLineNumber());
+            long startNanos = System.nanoTime();
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                SettlementCsvReader settlementCsvReader = new SettlementCsvReader(fileChannel, settlementImport.nextOffset(),
+                        settlementImport.nextLineNumber(), settlementImportProperties.getMapWindowSize().toBytes());
+                while (!settlementCsvReader.isAtEnd()) {
+                    SettlementImport chunkStart = settlementImport;
+                    settlementImport = transactionTemplate.execute(status -> settlementImportRepository.importChunk(chunkStart,
+                            settlementCsvReader, settlementImportProperties.getChunkRows(), operationTypeRegistry::find));
+                    log.debug("Imported settlement file: {} up to line: {}", fileName, settlementImport.nextLineNumber() - 1);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            settlementImport = settlementImportRepository.finishImport(settlementImport);
+            log.info("Imported settlement file: {} with: {} rows applied and: {} rows rejected in: {} ms", fileName,
+                    settlementImport.appliedRows(), settlementImport.rejectedRows(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+
+        Files.move(file, importedDir.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
+        return settlementImport;
+    }
+
+    private void importFilesQuietly() {
+        try {
+            importFiles();
+        } catch (IOException | RuntimeException e) {
+            log.error("Error while importing settlement files, resuming from the checkpoint on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.codec.MinorUnits;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.TransactionRes;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the transactions of an export one at a time into a buffer over the response, so only the current transaction
+ * and the buffer are held in memory whatever the size of the export. The buffer goes out whenever it is full and on
+ * {@link #finish()}, which does not close the response.
+ */
+abstract class TransactionExportWriter {
+
+    static final String CSV_HEADER = "transaction_id,account_id,operation_type_id,amount,event_date";
+
+    static TransactionExportWriter of(TransactionExportFormat format, ObjectMapper objectMapper, OutputStream outputStream)
+            throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(objectMapper, outputStream);
+            case CSV -> new CsvWriter(outputStream);
+        };
+    }
+
+    abstract void write(TransactionRes transactionRes) throws IOException;
+
+    abstract void finish() throws IOException;
+
+    /**
+     * One transaction per line, in the json of the transactions api.
+     */
+    private static final class NdjsonWriter extends TransactionExportWriter {
+
+        private final ObjectWriter objectWriter;
+        private final JsonGenerator jsonGenerator;
+        private boolean empty = true;
+
+        private NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+            // every transaction but the first starts on a new line, and the generator is flushed by its own buffer only
+            this.objectWriter = objectMapper.writerFor(TransactionRes.class)
+                    .withRootValueSeparator("\n")
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.jsonGenerator = objectWriter.createGenerator(outputStream);
+        }
+
+        @Override
+        void write(TransactionRes transactionRes) {
+            objectWriter.writeValue(jsonGenerator, transactionRes);
+            empty = false;
+        }
+
+        @Override
+        void finish() {
+            if (!empty) {
+                jsonGenerator.writeRaw('\n');
+            }
+            jsonGenerator.flush();
+        }
+    }
+
+    /**
+     * A header line and one line per transaction, amounts in major units as in the json.
+     */
+    private static final class CsvWriter extends TransactionExportWriter {
+
+        private final Writer writer;
+        private final char[] amountBuffer = new char[MinorUnits.MAX_FORMATTED_LENGTH];
+
+        private CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        void write(TransactionRes transactionRes) throws IOException {
+            writer.write(Long.toString(transactionRes.getTransactionId()));
+            writer.write(',');
+            writer.write(Long.toString(transactionRes.getAccountId()));
+            writer.write(',');
+            writer.write(Long.toString(transactionRes.getOperationTypeId()));
+            writer.write(',');
+            int offset = MinorUnits.format(transactionRes.getAmount(), amountBuffer);
+            writer.write(amountBuffer, offset, amountBuffer.length - offset);
+            writer.write(',');
+            writer.write(transactionRes.getEventDate().toString());
+            writer.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
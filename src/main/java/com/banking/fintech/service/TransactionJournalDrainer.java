@@ -0,0 +1,188 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.journal.JournalEntry;
+import com.banking.fintech.journal.TransactionJournal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the journal entries to the db in journal order on a single thread, which keeps the order of the transactions
+ * of every account, a batch of entries at a time in one db transaction. Each entry is saved with an idempotency key
+ * derived from its tracking id, so entries replayed after a crash between the db commit and the checkpoint are found
+ * instead of applied twice. A batch that fails as a whole is applied again one entry at a time, and draining stops at
+ * the first entry failing on a server error until the next run.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.async.enabled", havingValue = "true")
+@Slf4j
+public class TransactionJournalDrainer {
+
+    private static final String IDEMPOTENCY_KEY_PREFIX = "journal:";
+
+    private final TransactionJournal transactionJournal;
+    private final TransactionService transactionService;
+    private final IdempotentTransactionExecutor idempotentTransactionExecutor;
+    private final TransactionProperties.Async asyncProperties;
+    private final Cache<Long, AsyncTransactionRes> outcomes;
+
+    private ScheduledExecutorService drainExecutorService;
+
+    @Autowired
+    public TransactionJournalDrainer(TransactionJournal transactionJournal, TransactionService transactionService,
+                                     IdempotentTransactionExecutor idempotentTransactionExecutor,
+                                     TransactionProperties transactionProperties) {
+        this.transactionJournal = transactionJournal;
+        this.transactionService = transactionService;
+        this.idempotentTransactionExecutor = idempotentTransactionExecutor;
+        this.asyncProperties = transactionProperties.getAsync();
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(asyncProperties.getOutcomesMaximumSize())
+                .build();
+    }
+
+    public static String idempotencyKey(String trackingId) {
+        return IDEMPOTENCY_KEY_PREFIX + trackingId;
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting journal drainer with: {} entries to replay", transactionJournal.getLastSequence() - transactionJournal.getCheckpoint());
+        drainExecutorService = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("journal-drainer").daemon().factory());
+        drainExecutorService.scheduleWithFixedDelay(this::drainQuietly, 0, asyncProperties.getDrainInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (drainExecutorService != null) {
+            drainExecutorService.shutdown();
+            drainExecutorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Returns the outcome of an entry applied by this instance, or null when it is pending or no longer in memory.
+     */
+    public AsyncTransactionRes getOutcome(long sequence) {
+        return outcomes.getIfPresent(sequence);
+    }
+
+    /**
+     * Applies the entries after the checkpoint until the end of the journal or the first entry failing on a server
+     * error, and returns the number of entries applied or rejected.
+     */
+    public int drain() {
+        int drainedEntries = 0;
+        List<JournalEntry> journalEntries;
+        while (!(journalEntries = transactionJournal.read(transactionJournal.getCheckpoint() + 1, asyncProperties.getDrainBatchSize())).isEmpty()) {
+            long checkpoint = transactionJournal.getCheckpoint();
+            long lastDrainedSequence = drainBatch(journalEntries);
+            if (lastDrainedSequence > checkpoint) {
+                transactionJournal.checkpoint(lastDrainedSequence);
+                drainedEntries += (int) (lastDrainedSequence - checkpoint);
+            }
+            if (lastDrainedSequence < journalEntries.getLast().sequence()) {
+                break;
+            }
+        }
+
+        return drainedEntries;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.error("Error while draining the transaction journal, retrying on the next run", e);
+        }
+    }
+
+    private long drainBatch(List<JournalEntry> journalEntries) {
+        List<TransactionBatchItemRes> transactionBatchItemResList;
+        try {
+            transactionBatchItemResList = transactionService.createTransactions(
+                    journalEntries.stream().map(TransactionJournalDrainer::buildTransactionReq).toList(),
+                    journalEntries.stream().map(journalEntry -> idempotencyKey(transactionJournal.trackingId(journalEntry.sequence()))).toList());
+        } catch (RuntimeException e) {
+            log.warn("Journal batch of: {} entries rolled back, applying them one at a time", journalEntries.size(), e);
+            transactionBatchItemResList = null;
+        }
+
+        long lastDrainedSequence = transactionJournal.getCheckpoint();
+        for (int i = 0; i < journalEntries.size(); i++) {
+            JournalEntry journalEntry = journalEntries.get(i);
+            TransactionBatchItemRes transactionBatchItemRes = transactionBatchItemResList == null ? null : transactionBatchItemResList.get(i);
+            AsyncTransactionRes outcome = transactionBatchItemRes == null || HttpStatus.valueOf(transactionBatchItemRes.getStatus()).is5xxServerError()
+                    ? drainEntry(journalEntry)
+                    : buildOutcome(journalEntry, transactionBatchItemRes.getTransaction(), transactionBatchItemRes.getError());
+            if (outcome == null) {
+                break;
+            }
+
+            outcomes.put(journalEntry.sequence(), outcome);
+            lastDrainedSequence = journalEntry.sequence();
+        }
+
+        return lastDrainedSequence;
+    }
+
+    private AsyncTransactionRes drainEntry(JournalEntry journalEntry) {
+        try {
+            TransactionRes transactionRes = idempotentTransactionExecutor.createTransaction(
+                    idempotencyKey(transactionJournal.trackingId(journalEntry.sequence())), buildTransactionReq(journalEntry));
+            return buildOutcome(journalEntry, transactionRes, null);
+        } catch (BankingServiceException e) {
+            ErrorInfo errorInfo = e.getErrorInfo();
+            if (errorInfo.getHttpStatus().is4xxClientError()) {
+                log.error("Journal entry: {} rejected with error code: {}", journalEntry.sequence(), errorInfo.getErrCode());
+                return buildOutcome(journalEntry, null, ErrorDetailRes.builder()
+                        .errCode(errorInfo.getErrCode())
+                        .errMsg(errorInfo.getErrMsg())
+                        .build());
+            }
+
+            log.error("Journal entry: {} failed with error code: {}", journalEntry.sequence(), errorInfo.getErrCode(), e);
+            return null;
+        } catch (RuntimeException e) {
+            log.error("Journal entry: {} failed", journalEntry.sequence(), e);
+            return null;
+        }
+    }
+
+    private AsyncTransactionRes buildOutcome(JournalEntry journalEntry, TransactionRes transactionRes, ErrorDetailRes errorDetailRes) {
+        return AsyncTransactionRes.builder()
+                .trackingId(transactionJournal.trackingId(journalEntry.sequence()))
+                .status(transactionRes != null ? AsyncTransactionStatus.APPLIED : AsyncTransactionStatus.REJECTED)
+                .transaction(transactionRes)
+                .error(errorDetailRes)
+                .build();
+    }
+
+    private static TransactionReq buildTransactionReq(JournalEntry journalEntry) {
+        return TransactionReq.builder()
+                .accountId(journalEntry.accountId())
+                .operationTypeId(journalEntry.operationTypeId())
+                .amount(journalEntry.amount())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.banking.fintech.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * A single threaded executor together with the open debits of the accounts hashed onto it.
+ * The open debits are only ever read and written from the lane thread, so they need no synchronization.
+ */
+public class TransactionLane {
+
+    private final int index;
+    private final ExecutorService executorService;
+    private final Map<Long, Deque<OpenDebit>> openDebitsByAccount;
+
+    public TransactionLane(int index, int maxAccounts) {
+        this.index = index;
+        this.executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-lane-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.openDebitsByAccount = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Deque<OpenDebit>> eldest) {
+                return size() > maxAccounts;
+            }
+        };
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Returns the open debits of the account ordered by event date, loading them with the given loader on first use.
+     */
+    public Deque<OpenDebit> openDebits(Long accountId, Function<Long, List<OpenDebit>> loader) {
+        return openDebitsByAccount.computeIfAbsent(accountId, id -> new ArrayDeque<>(loader.apply(id)));
+    }
+
+    /**
+     * Returns the open debits of the account if they are currently held in memory, null otherwise.
+     */
+    public Deque<OpenDebit> loadedOpenDebits(Long accountId) {
+        return openDebitsByAccount.get(accountId);
+    }
+
+    /**
+     * Drops the in memory open debits of the account, so they are reloaded from the db on next use.
+     */
+    public void evict(Long accountId) {
+        openDebitsByAccount.remove(accountId);
+    }
+}
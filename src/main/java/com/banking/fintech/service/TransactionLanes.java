@@ -0,0 +1,66 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.exception.TransactionServiceException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Fixed set of single threaded lanes, every account is hashed onto exactly one of them.
+ * Work for the same account is therefore executed one at a time and in submission order.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.transactions.execution-mode", havingValue = "lanes")
+@Slf4j
+public class TransactionLanes {
+
+    private final TransactionLane[] lanes;
+
+    @Autowired
+    public TransactionLanes(TransactionProperties transactionProperties) {
+        TransactionProperties.Lanes lanesProperties = transactionProperties.getLanes();
+        this.lanes = new TransactionLane[lanesProperties.getCount()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new TransactionLane(i, lanesProperties.getMaxAccountsPerLane());
+        }
+        log.info("Started: {} transaction lanes", lanes.length);
+    }
+
+    public int laneIndex(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId * 0x9E3779B97F4A7C15L), lanes.length);
+    }
+
+    public <T> CompletableFuture<T> submit(int laneIndex, Function<TransactionLane, T> task) {
+        TransactionLane lane = lanes[laneIndex];
+        return CompletableFuture.supplyAsync(() -> task.apply(lane), lane.getExecutorService());
+    }
+
+    /**
+     * Runs the task on the lane of the account and waits for its result, rethrowing whatever the task threw.
+     */
+    public <T> T execute(Long accountId, Function<TransactionLane, T> task) {
+        try {
+            return submit(laneIndex(accountId), task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR, e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (TransactionLane lane : lanes) {
+            lane.getExecutorService().shutdown();
+        }
+    }
+}
@@ -1,9 +1,30 @@
 package com.banking.fintech.service;
 
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
 
+import java.util.List;
+
 public interface TransactionService {
 
     TransactionRes createTransaction(TransactionReq transactionReq);
+
+    /**
+     * Creates the transaction and records its idempotency key in the same db transaction, a key already recorded
+     * makes the whole db transaction fail with a DataIntegrityViolationException.
+     */
+    TransactionRes createTransaction(TransactionReq transactionReq, String idempotencyKey);
+
+    /**
+     * Creates the given transactions in a single db transaction, so that the inserts are batched and committed together.
+     * Transactions rejected because of a client error are reported per item, any other failure rolls back the whole batch.
+     */
+    List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs);
+
+    /**
+     * Same as the batch without keys, recording the idempotency key at the same position along with each transaction.
+     * A key already recorded fails the db transaction holding it with a DataIntegrityViolationException.
+     */
+    List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs, List<String> idempotencyKeys);
 }
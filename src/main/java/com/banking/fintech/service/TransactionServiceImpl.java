@@ -1,77 +1,204 @@
 package com.banking.fintech.service;
 
+import com.banking.fintech.config.TransactionProperties;
 import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionDischargeMode;
 import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
 import com.banking.fintech.entity.AccountEntity;
 import com.banking.fintech.entity.OperationTypeEntity;
 import com.banking.fintech.entity.TransactionEntity;
 import com.banking.fintech.exception.TransactionServiceException;
-import com.banking.fintech.repo.OperationTypeRepository;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
 import com.banking.fintech.repo.TransactionRepository;
 import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final OperationTypeRepository operationTypeRepository;
+    private final OperationTypeRegistry operationTypeRegistry;
+    private final AccountRepository accountRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionProperties transactionProperties;
+    private final BankingMetrics bankingMetrics;
 
     @Autowired
-    public TransactionServiceImpl(TransactionRepository transactionRepository, OperationTypeRepository operationTypeRepository) {
+    public TransactionServiceImpl(TransactionRepository transactionRepository, OperationTypeRegistry operationTypeRegistry,
+                                  AccountRepository accountRepository, IdempotencyKeyRepository idempotencyKeyRepository,
+                                  TransactionProperties transactionProperties, BankingMetrics bankingMetrics) {
         this.transactionRepository = transactionRepository;
-        this.operationTypeRepository = operationTypeRepository;
+        this.operationTypeRegistry = operationTypeRegistry;
+        this.accountRepository = accountRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionProperties = transactionProperties;
+        this.bankingMetrics = bankingMetrics;
     }
 
     @Override
     @Transactional
     public TransactionRes createTransaction(TransactionReq transactionReq) {
-        log.info("In createTransaction with transactionReq: {}", transactionReq);
-        log.info("Validating and getting operation type from the db for the provided operationTypeId");
+        return createTransaction(transactionReq, null);
+    }
 
-        Double finalBal;
-        try {
-            boolean exists = operationTypeRepository.existsById(transactionReq.getOperationTypeId());
-            if (exists) {
-                OperationTypeEntity operationTypeEntity = operationTypeRepository.getReferenceById(transactionReq.getOperationTypeId());
-                Double amount = transactionReq.getAmount() * operationTypeEntity.getOperationType().getMultiplier();
-                if (TransactionOperationType.CREDIT.equals(operationTypeEntity.getOperationType())) {
-                    finalBal = dischargeBalance(transactionReq);
-                } else {
-                    finalBal = amount;
-                }
-                transactionReq.setAmount(amount);
-            } else {
-                log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
-                throw new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
-            }
-        } catch (PersistenceException e) {
-            log.error("Error while getting operation type entity from the db", e);
-            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB, e);
+    @Override
+    @Transactional
+    public TransactionRes createTransaction(TransactionReq transactionReq, String idempotencyKey) {
+        log.debug("In createTransaction with transactionReq: {}", transactionReq);
+        log.info("Resolving operation type from the registry for the provided operationTypeId");
+        bankingMetrics.timeCommit();
+
+        OperationType operationType = operationTypeRegistry.find(transactionReq.getOperationTypeId());
+        if (operationType == null) {
+            log.error("Transaction operation type not found for the provided operationTypeId: {}", transactionReq.getOperationTypeId());
+            throw new TransactionServiceException(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+        }
+
+        long amount = transactionReq.getAmount() * operationType.operationType().getMultiplier();
+        long finalBal;
+        if (TransactionOperationType.CREDIT.equals(operationType.operationType())) {
+            finalBal = TransactionDischargeMode.SET_BASED.equals(transactionProperties.getDischargeMode())
+                    ? dischargeBalanceSetBased(transactionReq)
+                    : dischargeBalance(transactionReq);
+        } else {
+            finalBal = amount;
         }
+        transactionReq.setAmount(amount);
+
+        applyToAccount(accountRepository, transactionReq.getAccountId(), transactionReq.getAmount(), finalBal);
 
         TransactionEntity transactionEntity = buildTransactionEntity(transactionReq, finalBal);
         try {
             transactionEntity = transactionRepository.save(transactionEntity);
-            log.info("Saved transaction entity successfully to the db with entity: {}", transactionEntity);
+            log.info("Saved transaction entity successfully to the db with transactionId: {}", transactionEntity.getTransactionId());
         } catch (PersistenceException e) {
             log.error("Error while saving transaction entity to the db", e);
             throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
         }
+        saveIdempotencyKey(idempotencyKeyRepository, idempotencyKey, transactionEntity);
 
         return buildTransactionRes(transactionEntity);
     }
 
-    private TransactionEntity buildTransactionEntity(TransactionReq transactionReq, Double finalBal) {
+    @Override
+    @Transactional
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs) {
+        return createTransactions(transactionReqs, null);
+    }
+
+    @Override
+    @Transactional
+    public List<TransactionBatchItemRes> createTransactions(List<TransactionReq> transactionReqs, List<String> idempotencyKeys) {
+        log.info("In createTransactions with: {} transactions", transactionReqs.size());
+        lockAccounts(transactionReqs);
+
+        List<TransactionBatchItemRes> transactionBatchItemResList = new ArrayList<>(transactionReqs.size());
+        for (int i = 0; i < transactionReqs.size(); i++) {
+            try {
+                transactionBatchItemResList.add(TransactionBatchItemRes.builder()
+                        .status(HttpStatus.OK.value())
+                        .transaction(createTransaction(transactionReqs.get(i), idempotencyKeys == null ? null : idempotencyKeys.get(i)))
+                        .build());
+            } catch (TransactionServiceException e) {
+                ErrorInfo errorInfo = e.getErrorInfo();
+                if (!errorInfo.getHttpStatus().is4xxClientError()) {
+                    throw e;
+                }
+
+                log.error("Transaction rejected in batch with error code: {}", errorInfo.getErrCode());
+                transactionBatchItemResList.add(buildTransactionBatchItemRes(errorInfo));
+            }
+        }
+
+        return transactionBatchItemResList;
+    }
+
+    private void lockAccounts(List<TransactionReq> transactionReqs) {
+        Set<Long> accountIds = batchAccountIds(transactionReqs);
+        if (accountIds.size() < 2) {
+            return;
+        }
+
+        accountRepository.lockAccounts(accountIds);
+    }
+
+    /**
+     * The distinct accounts of a batch in account_id order, only worth locking up front when there are several.
+     */
+    static Set<Long> batchAccountIds(List<TransactionReq> transactionReqs) {
+        Set<Long> accountIds = new TreeSet<>();
+        for (TransactionReq transactionReq : transactionReqs) {
+            if (transactionReq.getAccountId() != null) {
+                accountIds.add(transactionReq.getAccountId());
+            }
+        }
+        return accountIds;
+    }
+
+    /**
+     * Adds the transaction to the running balance and outstanding debt of the account, in the current db transaction.
+     * A debit adds its whole amount to the debt, a credit takes off the part it discharged from the open debits.
+     * The update also locks the account row, and finding no row means the account does not exist.
+     */
+    static void applyToAccount(AccountRepository accountRepository, Long accountId, long amount, long finalBal) {
+        long outstandingDebtDelta = amount < 0 ? -amount : finalBal - amount;
+        int updatedAccounts;
+        try {
+            updatedAccounts = accountRepository.applyTransaction(accountId, amount, outstandingDebtDelta);
+        } catch (PersistenceException e) {
+            log.error("Error while updating the balance of account entity in the db", e);
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+
+        if (updatedAccounts == 0) {
+            log.error("Customer account not found for accountId: {}", accountId);
+            throw new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    static void saveIdempotencyKey(IdempotencyKeyRepository idempotencyKeyRepository, String idempotencyKey,
+                                   TransactionEntity transactionEntity) {
+        if (idempotencyKey == null) {
+            return;
+        }
+
+        try {
+            idempotencyKeyRepository.insertIdempotencyKey(idempotencyKey, transactionEntity.getTransactionId(), transactionEntity.getEventDate());
+            log.info("Saved idempotency key for transactionId: {}", transactionEntity.getTransactionId());
+        } catch (PersistenceException e) {
+            log.error("Error while saving idempotency key to the db", e);
+            throw new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB, e);
+        }
+    }
+
+    static TransactionBatchItemRes buildTransactionBatchItemRes(ErrorInfo errorInfo) {
+        return TransactionBatchItemRes.builder()
+                .status(errorInfo.getHttpStatus().value())
+                .error(ErrorDetailRes.builder()
+                        .errCode(errorInfo.getErrCode())
+                        .errMsg(errorInfo.getErrMsg())
+                        .build())
+                .build();
+    }
+
+    static TransactionEntity buildTransactionEntity(TransactionReq transactionReq, long finalBal) {
         AccountEntity accountEntity = AccountEntity.builder()
                 .accountId(transactionReq.getAccountId())
                 .build();
@@ -88,7 +215,7 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
-    private TransactionRes buildTransactionRes(TransactionEntity transactionEntity) {
+    static TransactionRes buildTransactionRes(TransactionEntity transactionEntity) {
         return TransactionRes.builder()
                 .transactionId(transactionEntity.getTransactionId())
                 .accountId(transactionEntity.getAccountEntity().getAccountId())
@@ -98,30 +225,50 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
-    private Double dischargeBalance(TransactionReq transactionReq) {
+    private long dischargeBalance(TransactionReq transactionReq) {
         log.info("The current transaction is of: {} type, checking and discharging balance to other transactions", TransactionOperationType.CREDIT);
         try {
-            Double balance = transactionReq.getAmount();
-            List<TransactionEntity> negativeBalTransactionEntities = transactionRepository.getNegativeBalTransactions(transactionReq.getAccountId());
+            long balance = transactionReq.getAmount();
+            List<TransactionEntity> negativeBalTransactionEntities = bankingMetrics.timeOpenDebitsLockWait(() -> {
+                accountRepository.lockAccount(transactionReq.getAccountId());
+                return transactionRepository.getNegativeBalTransactions(transactionReq.getAccountId());
+            });
             log.info("Checking: {} transactions to discharge the balance", negativeBalTransactionEntities.size());
+            int dischargedOpenDebits = 0;
             for (TransactionEntity negativeBalTransactionEntity : negativeBalTransactionEntities) {
                 if (balance > 0) {
-                    if (balance > -1 * negativeBalTransactionEntity.getBalance()) {
+                    dischargedOpenDebits++;
+                    if (balance > -negativeBalTransactionEntity.getBalance()) {
                         balance = balance + negativeBalTransactionEntity.getBalance();
-                        negativeBalTransactionEntity.setBalance(0.0);
+                        negativeBalTransactionEntity.setBalance(0);
                     } else {
                         negativeBalTransactionEntity.setBalance(negativeBalTransactionEntity.getBalance() + balance);
-                        balance = 0.0;
+                        balance = 0;
                     }
                 } else {
                     break;
                 }
             }
+            bankingMetrics.recordDischargedOpenDebits(dischargedOpenDebits);
 
             return balance;
         } catch (Exception e) {
             log.error("An error occurred while discharging balance, changes will not be commited", e);
-            throw new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE);
+            throw new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE, e);
+        }
+    }
+
+    private long dischargeBalanceSetBased(TransactionReq transactionReq) {
+        log.info("The current transaction is of: {} type, discharging balance to other transactions in the db", TransactionOperationType.CREDIT);
+        try {
+            bankingMetrics.timeOpenDebitsLockWait(() -> accountRepository.lockAccount(transactionReq.getAccountId()));
+            long dischargedAmount = transactionRepository.dischargeOpenDebits(transactionReq.getAccountId(), transactionReq.getAmount());
+            log.info("Discharged: {} of the balance to other transactions", dischargedAmount);
+
+            return transactionReq.getAmount() - dischargedAmount;
+        } catch (Exception e) {
+            log.error("An error occurred while discharging balance, changes will not be commited", e);
+            throw new TransactionServiceException(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE, e);
         }
     }
 }
@@ -0,0 +1,182 @@
+package com.banking.fintech.settlement;
+
+import com.banking.fintech.codec.MinorUnits;
+import com.banking.fintech.constant.ErrorInfo;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads the rows of a settlement file, account_id,operation_type_id,amount with the amount in major units like in the
+ * transactions api, straight from a memory mapped window of the file. Fields are parsed from the mapped bytes, without
+ * a String per row or field, into a {@link SettlementRow} reused for every row. A first line not starting with a digit
+ * is a header, blank lines are skipped and a malformed row is handed out rejected, so it is reported with its line.
+ * The window is mapped again at the start of the first row it does not hold in full, so a row must fit in a window.
+ */
+public class SettlementCsvReader {
+
+    private static final byte SEPARATOR = ',';
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final FileChannel fileChannel;
+    private final long fileSize;
+    private final long windowSize;
+    private final char[] amountChars = new char[MinorUnits.MAX_FORMATTED_LENGTH];
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long offset;
+    private long lineNumber;
+
+    /**
+     * @param offset     file offset of the first row to read, the start of a line
+     * @param lineNumber line number of that row, 1 for the start of the file
+     */
+    public SettlementCsvReader(FileChannel fileChannel, long offset, long lineNumber, long windowSize) throws IOException {
+        this.fileChannel = fileChannel;
+        this.fileSize = fileChannel.size();
+        this.windowSize = windowSize;
+        this.offset = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * File offset of the row after the last one read.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Line number of the row after the last one read.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public boolean isAtEnd() {
+        return offset >= fileSize;
+    }
+
+    /**
+     * Reads the next row into the holder, rejected when it is malformed.
+     *
+     * @return false at the end of the file
+     * @throws IOException if a row does not fit in a window
+     */
+    public boolean next(SettlementRow row) throws IOException {
+        while (offset < fileSize) {
+            if (window == null || offset >= windowStart + window.limit()) {
+                map(offset);
+            }
+            int start = (int) (offset - windowStart);
+            int end = indexOfNewLine(start);
+            if (end < 0) {
+                if (windowStart + window.limit() < fileSize) {
+                    if (start == 0) {
+                        throw new IOException("Line " + lineNumber + " is longer than the map window of " + windowSize + " bytes");
+                    }
+                    map(offset);
+                    continue;
+                }
+                end = window.limit();
+            }
+
+            long rowLineNumber = lineNumber++;
+            offset = windowStart + end + 1;
+            if (end > start && window.get(end - 1) == CARRIAGE_RETURN) {
+                end--;
+            }
+            if (end == start || rowLineNumber == 1 && !isDigit(window.get(start))) {
+                continue;
+            }
+
+            parse(row, rowLineNumber, start, end);
+            return true;
+        }
+
+        offset = fileSize;
+        return false;
+    }
+
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, fileSize - position));
+    }
+
+    private int indexOfNewLine(int from) {
+        for (int i = from, limit = window.limit(); i < limit; i++) {
+            if (window.get(i) == NEW_LINE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void parse(SettlementRow row, long rowLineNumber, int start, int end) {
+        int accountIdEnd = indexOfSeparator(start, end);
+        int operationTypeIdEnd = indexOfSeparator(accountIdEnd + 1, end);
+        long accountId = parseId(start, accountIdEnd);
+        long operationTypeId = parseId(accountIdEnd + 1, operationTypeIdEnd);
+        long amount = parseAmount(operationTypeIdEnd + 1, end);
+        if (accountId < 0 || operationTypeId < 0 || amount <= 0) {
+            row.reject(rowLineNumber, ErrorInfo.INVALID_TRANSACTION_REQUEST);
+            return;
+        }
+
+        row.set(rowLineNumber, accountId, operationTypeId, amount);
+    }
+
+    private int indexOfSeparator(int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (window.get(i) == SEPARATOR) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @return the id, or -1 when the field is empty, not all digits or does not fit in a long
+     */
+    private long parseId(int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+
+        long id = 0;
+        for (int i = start; i < end; i++) {
+            byte b = window.get(i);
+            if (!isDigit(b) || id > (Long.MAX_VALUE - (b - '0')) / 10) {
+                return -1;
+            }
+            id = id * 10 + (b - '0');
+        }
+        return id;
+    }
+
+    /**
+     * @return the amount in minor units, or -1 when the field is not a plain decimal number with at most two decimals
+     */
+    private long parseAmount(int start, int end) {
+        int length = end - start;
+        if (length <= 0 || length > amountChars.length) {
+            return -1;
+        }
+
+        for (int i = 0; i < length; i++) {
+            amountChars[i] = (char) (window.get(start + i) & 0xFF);
+        }
+        try {
+            return MinorUnits.parse(amountChars, 0, length);
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
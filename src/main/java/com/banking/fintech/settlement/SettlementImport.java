@@ -0,0 +1,9 @@
+package com.banking.fintech.settlement;
+
+/**
+ * The progress of the import of one settlement file, as committed to the db with the last chunk of its rows: the file
+ * offset and line number the next chunk starts at, and the rows applied and rejected so far.
+ */
+public record SettlementImport(long importId, String fileName, long nextOffset, long nextLineNumber, long appliedRows,
+                               long rejectedRows, boolean imported) {
+}
@@ -0,0 +1,43 @@
+package com.banking.fintech.settlement;
+
+import com.banking.fintech.constant.ErrorInfo;
+import lombok.Getter;
+
+/**
+ * One row of a settlement file, the equivalent of a TransactionReq with its line number. The reader fills the same
+ * instance for every row, so reading a file allocates nothing per row or field.
+ */
+@Getter
+public class SettlementRow {
+
+    private long lineNumber;
+    private long accountId;
+    private long operationTypeId;
+
+    /**
+     * Amount of the row in minor units, always positive, the operation type gives its sign.
+     */
+    private long amount;
+
+    /**
+     * Why the row is not imported, or null for a row to import.
+     */
+    private ErrorInfo rejection;
+
+    void set(long lineNumber, long accountId, long operationTypeId, long amount) {
+        this.lineNumber = lineNumber;
+        this.accountId = accountId;
+        this.operationTypeId = operationTypeId;
+        this.amount = amount;
+        this.rejection = null;
+    }
+
+    void reject(long lineNumber, ErrorInfo rejection) {
+        this.lineNumber = lineNumber;
+        this.rejection = rejection;
+    }
+
+    public void reject(ErrorInfo rejection) {
+        this.rejection = rejection;
+    }
+}
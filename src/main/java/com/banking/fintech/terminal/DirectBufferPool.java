@@ -0,0 +1,37 @@
+package com.banking.fintech.terminal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Bounded pool of direct buffers of one size, shared by the selector and worker threads. A direct buffer is costly to
+ * allocate and is only freed by the garbage collector, so buffers are taken from the pool and released back to it.
+ * When the pool is empty a new buffer is allocated, and a buffer released to a full pool, or never released, as the
+ * ones of a connection closed under its workers, is left to the garbage collector.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<ByteBuffer> buffers;
+
+    public DirectBufferPool(int bufferSize, int maxPooledBuffers) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(maxPooledBuffers);
+    }
+
+    /**
+     * Returns a cleared buffer.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        return buffer == null ? ByteBuffer.allocateDirect(bufferSize) : buffer.clear();
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffers.offer(buffer);
+    }
+
+    public int getPooledBuffers() {
+        return buffers.size();
+    }
+}
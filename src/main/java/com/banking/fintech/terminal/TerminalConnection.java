@@ -0,0 +1,74 @@
+package com.banking.fintech.terminal;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A terminal connection served by one event loop. Only the thread of the event loop touches its channel, its partial
+ * frame and its pending writes, the workers add their responses to the queue and schedule a flush of the connection.
+ */
+class TerminalConnection {
+
+    final SocketChannel channel;
+    final SocketAddress remoteAddress;
+    final TerminalEventLoop eventLoop;
+
+    /**
+     * Responses added by the workers, not yet taken by the event loop.
+     */
+    final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Requests read and not yet answered, counted down once their response is in the queue.
+     */
+    final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Whether the connection is in the flush queue of the event loop, so a burst of responses wakes the selector once.
+     */
+    final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Responses taken from the queue and not yet written whole, in write order.
+     */
+    final ArrayDeque<ByteBuffer> pendingWrites = new ArrayDeque<>();
+
+    SelectionKey key;
+
+    /**
+     * Answer expected to the challenge sent on connect, cleared once the terminal sent it, before any request is read.
+     */
+    byte[] expectedProof;
+
+    /**
+     * Bytes of the last request read short, pooled until the rest arrives.
+     */
+    ByteBuffer partialFrame;
+
+    /**
+     * Whether the terminal shut down its side, the connection is closed once its requests are answered.
+     */
+    boolean inputShutdown;
+
+    volatile boolean closed;
+
+    TerminalConnection(SocketChannel channel, TerminalEventLoop eventLoop) {
+        this.channel = channel;
+        this.remoteAddress = channel.socket().getRemoteSocketAddress();
+        this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Hands the flipped response frame of a request to the event loop, to be written as soon as the socket allows.
+     */
+    void respond(ByteBuffer response) {
+        eventLoop.respond(this, response);
+    }
+}
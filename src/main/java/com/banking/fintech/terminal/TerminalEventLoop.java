@@ -0,0 +1,339 @@
+package com.banking.fintech.terminal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * A selector thread serving its share of the terminal connections without blocking. It opens every connection with
+ * a challenge and closes it unless the first frame of the terminal is the proof of the shared secret, compared in
+ * constant time. It reads the connections into one direct buffer and dispatches every whole request, reading no more of a connection than its in-flight limit allows,
+ * so a terminal that pipelines too much is held back by tcp flow control rather than buffered in memory. The responses
+ * queued by the workers are written in gathering writes of up to {@link #MAX_GATHERED_WRITES} frames.
+ */
+@Slf4j
+class TerminalEventLoop implements Runnable {
+
+    static final int MAX_GATHERED_WRITES = 64;
+
+    private final Selector selector;
+    private final ByteBuffer readBuffer;
+    private final DirectBufferPool bufferPool;
+    private final int maxInFlightPerConnection;
+    private final byte[] sharedSecret;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final BiConsumer<TerminalConnection, TerminalFrames.Request> dispatcher;
+    private final Queue<SocketChannel> acceptedChannels = new ConcurrentLinkedQueue<>();
+    private final Queue<TerminalConnection> flushQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final ByteBuffer[] gatheredWrites = new ByteBuffer[MAX_GATHERED_WRITES];
+
+    private volatile boolean running = true;
+
+    TerminalEventLoop(Selector selector, int readBufferSize, DirectBufferPool bufferPool, int maxInFlightPerConnection,
+                      byte[] sharedSecret, BiConsumer<TerminalConnection, TerminalFrames.Request> dispatcher) {
+        this.selector = selector;
+        this.readBuffer = ByteBuffer.allocateDirect(Math.max(readBufferSize, TerminalFrames.REQUEST_FRAME_SIZE));
+        this.bufferPool = bufferPool;
+        this.maxInFlightPerConnection = maxInFlightPerConnection;
+        this.sharedSecret = sharedSecret;
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                log.error("Error while selecting the terminal connections, stopping the event loop", e);
+                break;
+            }
+            wakeupPending.set(false);
+            registerAcceptedChannels();
+            flushScheduledConnections();
+
+            for (SelectionKey key : selector.selectedKeys()) {
+                TerminalConnection connection = (TerminalConnection) key.attachment();
+                if (key.isValid() && key.isReadable()) {
+                    read(connection);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    flush(connection);
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+
+        for (SelectionKey key : selector.keys()) {
+            close((TerminalConnection) key.attachment());
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            log.warn("Error while closing the selector of the terminal connections", e);
+        }
+    }
+
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Hands an accepted connection to the event loop, called by the acceptor thread.
+     */
+    void register(SocketChannel channel) {
+        acceptedChannels.add(channel);
+        wakeup();
+    }
+
+    /**
+     * Queues the response of a request of the connection, called by the workers. The response is counted out of
+     * the in-flight requests only once queued, so the event loop never sees a connection as answered too early.
+     */
+    void respond(TerminalConnection connection, ByteBuffer response) {
+        if (connection.closed) {
+            bufferPool.release(response);
+        } else {
+            connection.responses.add(response);
+        }
+        connection.inFlight.decrementAndGet();
+        if (connection.flushScheduled.compareAndSet(false, true)) {
+            flushQueue.add(connection);
+            wakeup();
+        }
+    }
+
+    int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    private void wakeup() {
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private void registerAcceptedChannels() {
+        SocketChannel channel;
+        while ((channel = acceptedChannels.poll()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                TerminalConnection connection = new TerminalConnection(channel, this);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                openConnections.incrementAndGet();
+                sendChallenge(connection);
+            } catch (IOException e) {
+                log.warn("Error while registering a terminal connection, closing it", e);
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+        }
+    }
+
+    private void sendChallenge(TerminalConnection connection) {
+        byte[] challenge = new byte[TerminalFrames.CHALLENGE_LENGTH];
+        secureRandom.nextBytes(challenge);
+        connection.expectedProof = TerminalFrames.proof(sharedSecret, challenge);
+        ByteBuffer challengeFrame = bufferPool.acquire();
+        TerminalFrames.writeChallenge(challengeFrame, challenge);
+        connection.responses.add(challengeFrame.flip());
+        flush(connection);
+    }
+
+    private void flushScheduledConnections() {
+        TerminalConnection connection;
+        while ((connection = flushQueue.poll()) != null) {
+            if (!connection.closed) {
+                flush(connection);
+            }
+        }
+    }
+
+    private void read(TerminalConnection connection) {
+        int framesAllowed = maxInFlightPerConnection - connection.inFlight.get();
+        if (framesAllowed <= 0) {
+            setInterest(connection.key, SelectionKey.OP_READ, false);
+            return;
+        }
+
+        readBuffer.clear();
+        if (connection.partialFrame != null) {
+            readBuffer.put(connection.partialFrame.flip());
+            bufferPool.release(connection.partialFrame);
+            connection.partialFrame = null;
+        }
+        readBuffer.limit((int) Math.min(readBuffer.capacity(), (long) framesAllowed * TerminalFrames.REQUEST_FRAME_SIZE));
+        try {
+            if (connection.channel.read(readBuffer) < 0) {
+                shutdownInput(connection);
+                return;
+            }
+        } catch (IOException e) {
+            log.debug("Error while reading terminal connection: {}, closing it", connection.remoteAddress, e);
+            close(connection);
+            return;
+        }
+
+        readBuffer.flip();
+        if (connection.expectedProof != null && !readProof(connection)) {
+            return;
+        }
+        while (readBuffer.remaining() >= TerminalFrames.LENGTH_FIELD_SIZE) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length != TerminalFrames.REQUEST_LENGTH) {
+                log.warn("Closing terminal connection: {} on a frame of invalid length: {}", connection.remoteAddress, length);
+                close(connection);
+                return;
+            }
+            if (readBuffer.remaining() < TerminalFrames.REQUEST_FRAME_SIZE) {
+                break;
+            }
+            readBuffer.position(readBuffer.position() + TerminalFrames.LENGTH_FIELD_SIZE);
+            TerminalFrames.Request request = TerminalFrames.readRequest(readBuffer);
+            connection.inFlight.incrementAndGet();
+            dispatcher.accept(connection, request);
+        }
+        if (readBuffer.hasRemaining()) {
+            connection.partialFrame = bufferPool.acquire().put(readBuffer);
+        }
+        if (connection.inFlight.get() >= maxInFlightPerConnection) {
+            setInterest(connection.key, SelectionKey.OP_READ, false);
+        }
+    }
+
+    /**
+     * Checks the proof at the position of the read buffer, keeping it as a partial frame until it is whole, and returns
+     * whether the requests after it may be read, closing the connection of a terminal without the shared secret.
+     */
+    private boolean readProof(TerminalConnection connection) {
+        if (readBuffer.remaining() >= TerminalFrames.LENGTH_FIELD_SIZE
+                && readBuffer.getInt(readBuffer.position()) != TerminalFrames.PROOF_LENGTH) {
+            log.warn("Closing terminal connection: {} on a handshake of invalid length", connection.remoteAddress);
+            close(connection);
+            return false;
+        }
+        if (readBuffer.remaining() < TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.PROOF_LENGTH) {
+            if (readBuffer.hasRemaining()) {
+                connection.partialFrame = bufferPool.acquire().put(readBuffer);
+            }
+            return false;
+        }
+
+        readBuffer.position(readBuffer.position() + TerminalFrames.LENGTH_FIELD_SIZE);
+        byte[] proof = new byte[TerminalFrames.PROOF_LENGTH];
+        readBuffer.get(proof);
+        if (!MessageDigest.isEqual(proof, connection.expectedProof)) {
+            log.warn("Closing terminal connection: {} on a wrong handshake proof", connection.remoteAddress);
+            close(connection);
+            return false;
+        }
+        connection.expectedProof = null;
+        return true;
+    }
+
+    private void shutdownInput(TerminalConnection connection) {
+        connection.inputShutdown = true;
+        setInterest(connection.key, SelectionKey.OP_READ, false);
+        flush(connection);
+    }
+
+    /**
+     * Writes the queued responses of the connection until the socket is full, then waits for it to be writable again.
+     * Reading a connection held back by its in-flight limit resumes once some of its requests are answered.
+     */
+    private void flush(TerminalConnection connection) {
+        connection.flushScheduled.set(false);
+        try {
+            while (true) {
+                ByteBuffer response;
+                while (connection.pendingWrites.size() < MAX_GATHERED_WRITES && (response = connection.responses.poll()) != null) {
+                    connection.pendingWrites.add(response);
+                }
+                if (connection.pendingWrites.isEmpty()) {
+                    break;
+                }
+
+                int count = 0;
+                for (ByteBuffer pendingWrite : connection.pendingWrites) {
+                    gatheredWrites[count++] = pendingWrite;
+                }
+                connection.channel.write(gatheredWrites, 0, count);
+                Arrays.fill(gatheredWrites, 0, count, null);
+                while (!connection.pendingWrites.isEmpty() && !connection.pendingWrites.peekFirst().hasRemaining()) {
+                    bufferPool.release(connection.pendingWrites.pollFirst());
+                }
+                if (!connection.pendingWrites.isEmpty()) {
+                    setInterest(connection.key, SelectionKey.OP_WRITE, true);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Error while writing terminal connection: {}, closing it", connection.remoteAddress, e);
+            close(connection);
+            return;
+        }
+
+        setInterest(connection.key, SelectionKey.OP_WRITE, false);
+        if (connection.inputShutdown) {
+            if (connection.inFlight.get() == 0 && connection.responses.isEmpty()) {
+                close(connection);
+            }
+        } else if (connection.inFlight.get() < maxInFlightPerConnection) {
+            setInterest(connection.key, SelectionKey.OP_READ, true);
+        }
+    }
+
+    private void close(TerminalConnection connection) {
+        if (connection.closed) {
+            return;
+        }
+
+        connection.closed = true;
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            log.debug("Error while closing terminal connection: {}", connection.remoteAddress, e);
+        }
+        if (connection.partialFrame != null) {
+            bufferPool.release(connection.partialFrame);
+            connection.partialFrame = null;
+        }
+        ByteBuffer response;
+        while ((response = connection.pendingWrites.poll()) != null) {
+            bufferPool.release(response);
+        }
+        while ((response = connection.responses.poll()) != null) {
+            bufferPool.release(response);
+        }
+        openConnections.decrementAndGet();
+    }
+
+    private static void setInterest(SelectionKey key, int operation, boolean interested) {
+        int interestOps = key.interestOps();
+        int newInterestOps = interested ? interestOps | operation : interestOps & ~operation;
+        if (newInterestOps != interestOps) {
+            key.interestOps(newInterestOps);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.banking.fintech.terminal;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionRes;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Binary frames of the terminal protocol. A frame starts with its int32 length, the number of bytes after it, and all
+ * integers are big endian. A connection opens with a handshake, the listener sends a challenge of random bytes and the
+ * terminal answers the hmac-sha256 of the challenge keyed with the shared secret, before its first request. A request is
+ * the correlation id chosen by the terminal, the idempotency key, a uuid as two int64 and all zero for none, then the
+ * account id, the operation type id and the positive amount in minor units, all int64. A response is the correlation id of its request and the
+ * int16 http status the api would answer, followed by the transaction id, the signed amount in minor units and the
+ * event date in epoch microseconds, all int64, for 200, or by the uint8 length and the ascii chars of the error code
+ * otherwise. Responses of a connection are written as soon as they are ready, not in the order of their requests.
+ */
+public final class TerminalFrames {
+
+    /**
+     * Number of bytes of the length every frame starts with.
+     */
+    public static final int LENGTH_FIELD_SIZE = Integer.BYTES;
+
+    /**
+     * Length of the challenge the listener opens a connection with.
+     */
+    public static final int CHALLENGE_LENGTH = 16;
+
+    /**
+     * Length of the answer to the challenge, the only valid length of the first frame of a terminal.
+     */
+    public static final int PROOF_LENGTH = 32;
+
+    /**
+     * Length of a request, the only valid one after the proof.
+     */
+    public static final int REQUEST_LENGTH = 6 * Long.BYTES;
+
+    /**
+     * Number of bytes of a whole request frame, length included.
+     */
+    public static final int REQUEST_FRAME_SIZE = LENGTH_FIELD_SIZE + REQUEST_LENGTH;
+
+    /**
+     * Number of bytes a response frame takes at most, length included.
+     */
+    public static final int MAX_RESPONSE_FRAME_SIZE = 64;
+
+    private static final String PROOF_ALGORITHM = "HmacSHA256";
+    private static final int STATUS_OK = 200;
+    private static final int RESPONSE_HEADER_LENGTH = Long.BYTES + Short.BYTES;
+    private static final int MAX_ERR_CODE_LENGTH = MAX_RESPONSE_FRAME_SIZE - LENGTH_FIELD_SIZE - RESPONSE_HEADER_LENGTH - 1;
+
+    private TerminalFrames() {
+    }
+
+    /**
+     * A decoded request, with a null idempotency key when the terminal sent none.
+     */
+    public record Request(long correlationId, UUID idempotencyKey, long accountId, long operationTypeId, long amount) {
+
+        public Request(long correlationId, long accountId, long operationTypeId, long amount) {
+            this(correlationId, null, accountId, operationTypeId, amount);
+        }
+    }
+
+    /**
+     * A decoded response, with the transaction fields set for status 200 and the error code for any other.
+     */
+    public record Response(long correlationId, int status, long transactionId, long amount, Instant eventDate, String errCode) {
+    }
+
+    public static void writeChallenge(ByteBuffer buffer, byte[] challenge) {
+        buffer.putInt(CHALLENGE_LENGTH).put(challenge, 0, CHALLENGE_LENGTH);
+    }
+
+    /**
+     * Reads a whole challenge frame at the position of the buffer, the decoding of the terminals.
+     */
+    public static byte[] readChallenge(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length != CHALLENGE_LENGTH) {
+            throw new IllegalArgumentException("Invalid challenge frame length: " + length);
+        }
+        byte[] challenge = new byte[CHALLENGE_LENGTH];
+        buffer.get(challenge);
+        return challenge;
+    }
+
+    /**
+     * Returns the answer to the challenge, the hmac-sha256 of the challenge keyed with the shared secret.
+     */
+    public static byte[] proof(byte[] sharedSecret, byte[] challenge) {
+        try {
+            Mac mac = Mac.getInstance(PROOF_ALGORITHM);
+            mac.init(new SecretKeySpec(sharedSecret, PROOF_ALGORITHM));
+            return mac.doFinal(challenge);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute the terminal handshake proof", e);
+        }
+    }
+
+    /**
+     * Writes the whole proof frame answering the challenge, the encoding of the terminals.
+     */
+    public static void writeProof(ByteBuffer buffer, byte[] sharedSecret, byte[] challenge) {
+        buffer.putInt(PROOF_LENGTH).put(proof(sharedSecret, challenge));
+    }
+
+    /**
+     * Reads the request after the length field at the position of the buffer.
+     */
+    public static Request readRequest(ByteBuffer buffer) {
+        long correlationId = buffer.getLong();
+        long idempotencyKeyHigh = buffer.getLong();
+        long idempotencyKeyLow = buffer.getLong();
+        UUID idempotencyKey = idempotencyKeyHigh == 0 && idempotencyKeyLow == 0 ? null : new UUID(idempotencyKeyHigh, idempotencyKeyLow);
+        return new Request(correlationId, idempotencyKey, buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Writes a whole request frame, the encoding of the terminals.
+     */
+    public static void writeRequest(ByteBuffer buffer, Request request) {
+        UUID idempotencyKey = request.idempotencyKey();
+        buffer.putInt(REQUEST_LENGTH)
+                .putLong(request.correlationId())
+                .putLong(idempotencyKey == null ? 0 : idempotencyKey.getMostSignificantBits())
+                .putLong(idempotencyKey == null ? 0 : idempotencyKey.getLeastSignificantBits())
+                .putLong(request.accountId())
+                .putLong(request.operationTypeId())
+                .putLong(request.amount());
+    }
+
+    public static void writeResponse(ByteBuffer buffer, long correlationId, TransactionRes transactionRes) {
+        buffer.putInt(RESPONSE_HEADER_LENGTH + 3 * Long.BYTES)
+                .putLong(correlationId)
+                .putShort((short) STATUS_OK)
+                .putLong(transactionRes.getTransactionId())
+                .putLong(transactionRes.getAmount())
+                .putLong(ChronoUnit.MICROS.between(Instant.EPOCH, transactionRes.getEventDate()));
+    }
+
+    public static void writeError(ByteBuffer buffer, long correlationId, ErrorInfo errorInfo) {
+        String errCode = errorInfo.getErrCode();
+        if (errCode.length() > MAX_ERR_CODE_LENGTH) {
+            throw new IllegalArgumentException("Error code too long for a response frame: " + errCode);
+        }
+
+        buffer.putInt(RESPONSE_HEADER_LENGTH + 1 + errCode.length())
+                .putLong(correlationId)
+                .putShort((short) errorInfo.getHttpStatus().value())
+                .put((byte) errCode.length());
+        for (int i = 0; i < errCode.length(); i++) {
+            buffer.put((byte) errCode.charAt(i));
+        }
+    }
+
+    /**
+     * Returns the length of the response frame at the position of the buffer, length field included, or -1 when the
+     * buffer does not hold the whole frame yet, the decoding of the terminals.
+     */
+    public static int responseFrameSize(ByteBuffer buffer) {
+        if (buffer.remaining() < LENGTH_FIELD_SIZE) {
+            return -1;
+        }
+        int frameSize = LENGTH_FIELD_SIZE + buffer.getInt(buffer.position());
+        return buffer.remaining() < frameSize ? -1 : frameSize;
+    }
+
+    /**
+     * Reads a whole response frame at the position of the buffer, see {@link #responseFrameSize(ByteBuffer)}.
+     */
+    public static Response readResponse(ByteBuffer buffer) {
+        buffer.getInt();
+        long correlationId = buffer.getLong();
+        int status = buffer.getShort();
+        if (status == STATUS_OK) {
+            long transactionId = buffer.getLong();
+            long amount = buffer.getLong();
+            Instant eventDate = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+            return new Response(correlationId, status, transactionId, amount, eventDate, null);
+        }
+
+        byte[] errCode = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(errCode);
+        return new Response(correlationId, status, 0, 0, null, new String(errCode, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,184 @@
+package com.banking.fintech.terminal;
+
+import com.banking.fintech.config.TerminalProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.AccountCache;
+import com.banking.fintech.service.IdempotentTransactionExecutor;
+import com.banking.fintech.service.TransactionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes transactions from the pos terminals over persistent tcp connections, next to the http api, in the binary frames
+ * of {@link TerminalFrames}. An acceptor thread spreads the connections over the event loops, selector threads reading
+ * and writing them without blocking, see {@link TerminalEventLoop}. A terminal may pipeline many requests on its
+ * connection, every request runs on a virtual thread against the transaction service, at most max-concurrent-requests
+ * at once, and its response is written as soon as it is ready, matched to the request by its correlation id.
+ * A connection is only read once the terminal proved the shared secret, and a request with an idempotency key runs
+ * through the {@link IdempotentTransactionExecutor}, so a terminal may resend the requests unanswered on a lost
+ * connection without creating them twice.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.terminal.enabled", havingValue = "true")
+@Slf4j
+public class TerminalListener {
+
+    private static final long ACCEPT_RETRY_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String IDEMPOTENCY_KEY_PREFIX = "terminal:";
+
+    private final TransactionService transactionService;
+    private final IdempotentTransactionExecutor idempotentTransactionExecutor;
+    private final AccountCache accountCache;
+    private final BankingMetrics bankingMetrics;
+    private final TerminalProperties terminalProperties;
+    private final DirectBufferPool bufferPool;
+    private final Semaphore requestPermits;
+    private final List<TerminalEventLoop> eventLoops = new ArrayList<>();
+    private final List<Thread> eventLoopThreads = new ArrayList<>();
+
+    private ServerSocketChannel serverSocketChannel;
+    private Thread acceptorThread;
+    private ExecutorService workerExecutorService;
+    private int port;
+
+    @Autowired
+    public TerminalListener(TransactionService transactionService, IdempotentTransactionExecutor idempotentTransactionExecutor,
+                            AccountCache accountCache, BankingMetrics bankingMetrics, TerminalProperties terminalProperties) {
+        this.transactionService = transactionService;
+        this.idempotentTransactionExecutor = idempotentTransactionExecutor;
+        this.accountCache = accountCache;
+        this.bankingMetrics = bankingMetrics;
+        this.terminalProperties = terminalProperties;
+        this.bufferPool = new DirectBufferPool(TerminalFrames.MAX_RESPONSE_FRAME_SIZE, terminalProperties.getBufferPoolSize());
+        this.requestPermits = new Semaphore(terminalProperties.getMaxConcurrentRequests());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        String sharedSecret = terminalProperties.getSharedSecret();
+        if (sharedSecret == null || sharedSecret.isBlank()) {
+            throw new IllegalStateException("The terminal listener needs banking.terminal.shared-secret to be set");
+        }
+
+        serverSocketChannel = ServerSocketChannel.open();
+        serverSocketChannel.bind(new InetSocketAddress(terminalProperties.getHost(), terminalProperties.getPort()),
+                terminalProperties.getAcceptBacklog());
+        port = ((InetSocketAddress) serverSocketChannel.getLocalAddress()).getPort();
+
+        workerExecutorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("terminal-worker-", 0).factory());
+        for (int i = 0; i < terminalProperties.getIoThreads(); i++) {
+            TerminalEventLoop eventLoop = new TerminalEventLoop(Selector.open(), (int) terminalProperties.getReadBufferSize().toBytes(),
+                    bufferPool, terminalProperties.getMaxInFlightPerConnection(), sharedSecret.getBytes(StandardCharsets.UTF_8),
+                    this::dispatch);
+            eventLoops.add(eventLoop);
+            eventLoopThreads.add(Thread.ofPlatform().name("terminal-io-" + i).daemon().start(eventLoop));
+        }
+        acceptorThread = Thread.ofPlatform().name("terminal-acceptor").daemon().start(this::acceptConnections);
+        log.info("Started terminal listener on: {} with: {} io threads", serverSocketChannel.getLocalAddress(), eventLoops.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        serverSocketChannel.close();
+        acceptorThread.join();
+        eventLoops.forEach(TerminalEventLoop::stop);
+        for (Thread eventLoopThread : eventLoopThreads) {
+            eventLoopThread.join();
+        }
+        workerExecutorService.shutdownNow();
+        workerExecutorService.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the port the listener is bound to, the free one picked for a configured port of 0.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    public int getOpenConnections() {
+        return eventLoops.stream().mapToInt(TerminalEventLoop::getOpenConnections).sum();
+    }
+
+    private void acceptConnections() {
+        int next = 0;
+        while (true) {
+            try {
+                SocketChannel channel = serverSocketChannel.accept();
+                eventLoops.get(next).register(channel);
+                next = (next + 1) % eventLoops.size();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // such as running out of file descriptors, pausing rather than spinning until some connections are closed
+                log.error("Error while accepting a terminal connection", e);
+                LockSupport.parkNanos(ACCEPT_RETRY_PAUSE_NANOS);
+            }
+        }
+    }
+
+    private void dispatch(TerminalConnection connection, TerminalFrames.Request request) {
+        workerExecutorService.execute(() -> connection.respond(handle(request)));
+    }
+
+    private ByteBuffer handle(TerminalFrames.Request request) {
+        ByteBuffer response = bufferPool.acquire();
+        requestPermits.acquireUninterruptibly();
+        try {
+            TerminalFrames.writeResponse(response, request.correlationId(), createTransaction(request));
+        } catch (BankingServiceException e) {
+            bankingMetrics.countError(e.getErrorInfo());
+            TerminalFrames.writeError(response, request.correlationId(), e.getErrorInfo());
+        } catch (RuntimeException e) {
+            log.error("Error while creating the transaction of terminal request: {}", request, e);
+            bankingMetrics.countError(ErrorInfo.UNKNOWN_SERVER_ERROR);
+            TerminalFrames.writeError(response, request.correlationId(), ErrorInfo.UNKNOWN_SERVER_ERROR);
+        } finally {
+            requestPermits.release();
+        }
+        return response.flip();
+    }
+
+    private TransactionRes createTransaction(TerminalFrames.Request request) {
+        if (request.accountId() <= 0 || request.operationTypeId() <= 0 || request.amount() <= 0) {
+            throw new TransactionServiceException(ErrorInfo.INVALID_TRANSACTION_REQUEST);
+        }
+        if (accountCache.find(request.accountId()) == null) {
+            throw new TransactionServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+
+        TransactionReq transactionReq = TransactionReq.builder()
+                .accountId(request.accountId())
+                .operationTypeId(request.operationTypeId())
+                .amount(request.amount())
+                .build();
+        return request.idempotencyKey() == null
+                ? transactionService.createTransaction(transactionReq)
+                : idempotentTransactionExecutor.createTransaction(IDEMPOTENCY_KEY_PREFIX + request.idempotencyKey(), transactionReq);
+    }
+}
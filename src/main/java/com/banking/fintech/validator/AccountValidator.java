@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Configuration;
 public class AccountValidator {
 
     public void validateCreateAccountReq(AccountReq accountReq) {
-        log.info("Validating document number for create account request with req: {}", accountReq);
+        log.debug("Validating document number for create account request with req: {}", accountReq);
         boolean areCharsDigits = true;
         for (int i = 0; i < accountReq.getDocumentNumber().length(); i++) {
             areCharsDigits = areCharsDigits & Character.isDigit(accountReq.getDocumentNumber().charAt(i));
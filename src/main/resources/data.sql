@@ -1,4 +1,5 @@
-INSERT INTO operation_types (description, operation_type) VALUES ('CASH PURCHASE', 'debit');
-INSERT INTO operation_types (description, operation_type) VALUES ('INSTALLMENT PURCHASE', 'debit');
-INSERT INTO operation_types (description, operation_type) VALUES ('WITHDRAWAL', 'debit');
-INSERT INTO operation_types (description, operation_type) VALUES ('PAYMENT', 'credit');
+INSERT INTO operation_types (operation_type_id, description, operation_type) VALUES (1, 'CASH PURCHASE', 'debit') ON CONFLICT (operation_type_id) DO NOTHING;
+INSERT INTO operation_types (operation_type_id, description, operation_type) VALUES (2, 'INSTALLMENT PURCHASE', 'debit') ON CONFLICT (operation_type_id) DO NOTHING;
+INSERT INTO operation_types (operation_type_id, description, operation_type) VALUES (3, 'WITHDRAWAL', 'debit') ON CONFLICT (operation_type_id) DO NOTHING;
+INSERT INTO operation_types (operation_type_id, description, operation_type) VALUES (4, 'PAYMENT', 'credit') ON CONFLICT (operation_type_id) DO NOTHING;
+SELECT setval('operation_types_seq', GREATEST((SELECT MAX(operation_type_id) FROM operation_types) + 1, nextval('operation_types_seq')), false);
@@ -0,0 +1,23 @@
+-- Moves the primary keys of an existing database from identity columns to pooled sequences.
+-- Hibernate cannot batch inserts for identity columns, as it needs every generated key back right after its insert.
+-- The sequences hand out blocks of ids (INCREMENT BY is the block size), which hibernate allocates in memory.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/001_sequence_id_allocation.sql
+
+BEGIN;
+
+ALTER TABLE accounts ALTER COLUMN account_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS accounts_seq INCREMENT BY 50 OWNED BY accounts.account_id;
+SELECT setval('accounts_seq', COALESCE((SELECT MAX(account_id) FROM accounts), 0) + 1, false);
+ALTER TABLE accounts ALTER COLUMN account_id SET DEFAULT nextval('accounts_seq');
+
+ALTER TABLE operation_types ALTER COLUMN operation_type_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS operation_types_seq INCREMENT BY 50 OWNED BY operation_types.operation_type_id;
+SELECT setval('operation_types_seq', COALESCE((SELECT MAX(operation_type_id) FROM operation_types), 0) + 1, false);
+ALTER TABLE operation_types ALTER COLUMN operation_type_id SET DEFAULT nextval('operation_types_seq');
+
+ALTER TABLE transactions ALTER COLUMN transaction_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50 OWNED BY transactions.transaction_id;
+SELECT setval('transactions_seq', COALESCE((SELECT MAX(transaction_id) FROM transactions), 0) + 1, false);
+ALTER TABLE transactions ALTER COLUMN transaction_id SET DEFAULT nextval('transactions_seq');
+
+COMMIT;
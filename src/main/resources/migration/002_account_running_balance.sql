@@ -0,0 +1,22 @@
+-- Adds the running balance and the outstanding debt of every account, maintained by each created transaction.
+-- The columns are backfilled from the existing transactions, run this while no transactions are being created.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/002_account_running_balance.sql
+
+BEGIN;
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance NUMERIC NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS outstanding_debt NUMERIC NOT NULL DEFAULT 0;
+
+UPDATE accounts a
+SET balance = t.balance,
+    outstanding_debt = t.outstanding_debt
+FROM (
+    SELECT account_id,
+           SUM(amount) AS balance,
+           COALESCE(-SUM(balance) FILTER (WHERE balance < 0), 0) AS outstanding_debt
+    FROM transactions
+    GROUP BY account_id
+) t
+WHERE a.account_id = t.account_id;
+
+COMMIT;
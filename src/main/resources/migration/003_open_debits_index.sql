@@ -0,0 +1,14 @@
+-- Indexes the account of every transaction, and keeps the open (still negative) debits of every account
+-- in a partial covering index, so discharging a credit reads the open debits instead of the whole account history.
+-- CREATE INDEX CONCURRENTLY does not block writes but cannot run inside a transaction block, so there is no BEGIN/COMMIT.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/003_open_debits_index.sql
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transactions_account_id_idx ON transactions (account_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transactions_open_debits_idx
+    ON transactions (account_id, event_date, transaction_id) INCLUDE (balance)
+    WHERE balance < 0;
+
+ALTER TABLE transactions SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_vacuum_insert_scale_factor = 0.02);
+
+VACUUM ANALYZE transactions;
@@ -0,0 +1,17 @@
+-- Stores every money column as a BIGINT of minor units (cents), 123.45 becomes 12345.
+-- Amounts with more than 2 decimal places are rounded half away from zero, check for them first with:
+--   SELECT transaction_id, amount, balance FROM transactions WHERE amount <> round(amount, 2) OR balance <> round(balance, 2);
+-- The open debits index covers balance, it is rebuilt by the column type change.
+-- Run once, while the application is stopped, with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/004_minor_units_amounts.sql
+
+BEGIN;
+
+ALTER TABLE transactions
+    ALTER COLUMN amount TYPE BIGINT USING round(amount * 100),
+    ALTER COLUMN balance TYPE BIGINT USING round(balance * 100);
+
+ALTER TABLE accounts
+    ALTER COLUMN balance TYPE BIGINT USING round(balance * 100),
+    ALTER COLUMN outstanding_debt TYPE BIGINT USING round(outstanding_debt * 100);
+
+COMMIT;
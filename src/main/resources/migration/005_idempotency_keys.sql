@@ -0,0 +1,12 @@
+-- Adds the table of the Idempotency-Key of every transaction created with one.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/005_idempotency_keys.sql
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_transaction
+        FOREIGN KEY(transaction_id)
+        REFERENCES transactions(transaction_id)
+);
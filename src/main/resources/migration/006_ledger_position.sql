@@ -0,0 +1,7 @@
+-- Adds the table of the last ledger command written to the db by the ledger execution mode.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/006_ledger_position.sql
+
+CREATE TABLE IF NOT EXISTS ledger_position (
+    ledger_id SMALLINT PRIMARY KEY,
+    sequence BIGINT NOT NULL
+);
@@ -0,0 +1,12 @@
+-- Indexes the transactions of every account in statement (event_date, transaction_id) order, so every page of
+-- GET /accounts/{accountId}/transactions starts at its cursor however long the history of the account is.
+-- The index starts with account_id, so it replaces transactions_account_id_idx, which is dropped to keep one index less to write.
+-- CREATE INDEX CONCURRENTLY does not block writes but cannot run inside a transaction block, so there is no BEGIN/COMMIT.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/007_statement_index.sql
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS transactions_statement_idx
+    ON transactions (account_id, event_date, transaction_id) INCLUDE (operation_type_id, amount);
+
+DROP INDEX CONCURRENTLY IF EXISTS transactions_account_id_idx;
+
+VACUUM ANALYZE transactions;
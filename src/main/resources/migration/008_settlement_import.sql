@@ -0,0 +1,39 @@
+-- Adds the tables of the settlement file importer: the imports with their checkpoint, the rejected rows and the unlogged staging table.
+-- Run once with: psql -U ndk1996 -d banking_db -f src/main/resources/migration/008_settlement_import.sql
+
+-- Settlement files imported from the spool directory, with the offset and line the next chunk of rows starts at,
+-- updated in the same db transaction as the chunk, so a restart resumes the file without importing a row twice.
+CREATE TABLE IF NOT EXISTS settlement_imports (
+    import_id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR NOT NULL UNIQUE,
+    file_size BIGINT NOT NULL,
+    next_offset BIGINT NOT NULL DEFAULT 0,
+    next_line_number BIGINT NOT NULL DEFAULT 1,
+    applied_rows BIGINT NOT NULL DEFAULT 0,
+    rejected_rows BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+-- Rows of settlement files that were not imported, with the error code of the reason.
+CREATE TABLE IF NOT EXISTS settlement_import_rejects (
+    import_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    err_code VARCHAR NOT NULL,
+
+    PRIMARY KEY (import_id, line_number),
+
+    CONSTRAINT fk_settlement_import
+        FOREIGN KEY(import_id)
+        REFERENCES settlement_imports(import_id)
+);
+
+-- Rows of the settlement chunk being imported, written with COPY and deleted in the same db transaction,
+-- so they need no wal and an unlogged table emptied by a crash loses nothing.
+CREATE UNLOGGED TABLE IF NOT EXISTS settlement_staging (
+    import_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount BIGINT NOT NULL
+);
@@ -1,20 +1,32 @@
-CREATE TABLE accounts (
-    account_id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
-    document_number VARCHAR NOT NULL
+CREATE SEQUENCE IF NOT EXISTS accounts_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id BIGINT PRIMARY KEY DEFAULT nextval('accounts_seq'),
+    document_number VARCHAR NOT NULL,
+    balance BIGINT NOT NULL DEFAULT 0,
+    outstanding_debt BIGINT NOT NULL DEFAULT 0
 );
 
-CREATE TABLE operation_types (
-    operation_type_id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+ALTER SEQUENCE accounts_seq OWNED BY accounts.account_id;
+
+CREATE SEQUENCE IF NOT EXISTS operation_types_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS operation_types (
+    operation_type_id BIGINT PRIMARY KEY DEFAULT nextval('operation_types_seq'),
     description VARCHAR NOT NULL,
     operation_type VARCHAR NOT NULL
 );
 
-CREATE TABLE transactions (
-    transaction_id BIGINT PRIMARY KEY GENERATED ALWAYS AS IDENTITY,
+ALTER SEQUENCE operation_types_seq OWNED BY operation_types.operation_type_id;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS transactions (
+    transaction_id BIGINT PRIMARY KEY DEFAULT nextval('transactions_seq'),
     account_id BIGINT NOT NULL,
     operation_type_id BIGINT NOT NULL,
-    amount NUMERIC NOT NULL,
-    balance NUMERIC NOT NULL,
+    amount BIGINT NOT NULL,
+    balance BIGINT NOT NULL,
     event_date TIMESTAMP NOT NULL,
 
     CONSTRAINT fk_account
@@ -25,3 +37,63 @@ CREATE TABLE transactions (
         FOREIGN KEY(operation_type_id)
         REFERENCES operation_types(operation_type_id)
 );
+
+ALTER SEQUENCE transactions_seq OWNED BY transactions.transaction_id;
+
+CREATE INDEX IF NOT EXISTS transactions_statement_idx
+    ON transactions (account_id, event_date, transaction_id) INCLUDE (operation_type_id, amount);
+
+CREATE INDEX IF NOT EXISTS transactions_open_debits_idx
+    ON transactions (account_id, event_date, transaction_id) INCLUDE (balance)
+    WHERE balance < 0;
+
+-- keeps the visibility map fresh for the index only scans
+ALTER TABLE transactions SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_vacuum_insert_scale_factor = 0.02);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_transaction
+        FOREIGN KEY(transaction_id)
+        REFERENCES transactions(transaction_id)
+);
+
+CREATE TABLE IF NOT EXISTS ledger_position (
+    ledger_id SMALLINT PRIMARY KEY,
+    sequence BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS settlement_imports (
+    import_id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR NOT NULL UNIQUE,
+    file_size BIGINT NOT NULL,
+    next_offset BIGINT NOT NULL DEFAULT 0,
+    next_line_number BIGINT NOT NULL DEFAULT 1,
+    applied_rows BIGINT NOT NULL DEFAULT 0,
+    rejected_rows BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS settlement_import_rejects (
+    import_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    err_code VARCHAR NOT NULL,
+
+    PRIMARY KEY (import_id, line_number),
+
+    CONSTRAINT fk_settlement_import
+        FOREIGN KEY(import_id)
+        REFERENCES settlement_imports(import_id)
+);
+
+-- unlogged, its rows never outlive the db transaction of their chunk
+CREATE UNLOGGED TABLE IF NOT EXISTS settlement_staging (
+    import_id BIGINT NOT NULL,
+    line_number BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount BIGINT NOT NULL
+);
@@ -0,0 +1,49 @@
+package com.banking.fintech;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base class for integration tests running against a real Postgres binary started in-process, once per test jvm.
+ * The schema and the operation types are created from schema.sql and data.sql on context startup.
+ */
+@SpringBootTest(properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public abstract class AbstractEmbeddedPostgresIT {
+
+    private static final EmbeddedPostgres EMBEDDED_POSTGRES = startEmbeddedPostgres();
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EMBEDDED_POSTGRES.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + EMBEDDED_POSTGRES.getPort() + "/postgres");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+    }
+
+    private static EmbeddedPostgres startEmbeddedPostgres() {
+        try {
+            EmbeddedPostgres embeddedPostgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    embeddedPostgres.close();
+                } catch (IOException ignored) {
+                    // the postgres process is gone together with the jvm anyway
+                }
+            }));
+            return embeddedPostgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded postgres", e);
+        }
+    }
+}
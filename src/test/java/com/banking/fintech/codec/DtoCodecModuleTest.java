@@ -0,0 +1,168 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.exc.InvalidFormatException;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Dto codec module Tests")
+class DtoCodecModuleTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().addModule(new DtoCodecModule()).build();
+    private final CBORMapper cborMapper = CBORMapper.builder().addModule(new DtoCodecModule()).build();
+    private final JsonMapper databindJsonMapper = JsonMapper.builder().build();
+    private final CBORMapper databindCborMapper = CBORMapper.builder().build();
+
+    @Test
+    @DisplayName("Should read a transaction request, skipping unknown properties")
+    void shouldReadTransactionReq() {
+        // Act
+        TransactionReq transactionReq = jsonMapper.readValue(
+                "{\"account_id\":12,\"note\":{\"a\":[1,2]},\"operation_type_id\":4,\"amount\":10.5}", TransactionReq.class);
+
+        // Assert
+        assertThat(transactionReq).isEqualTo(TransactionReq.builder().accountId(12L).operationTypeId(4L).amount(1_050L).build());
+    }
+
+    @Test
+    @DisplayName("Should take the coercions of databinding for ids")
+    void shouldCoerceIdsLikeDatabinding() {
+        // Arrange
+        String json = "{\"account_id\":\"12\",\"operation_type_id\":4.0,\"amount\":10.50}";
+
+        // Act
+        TransactionReq transactionReq = jsonMapper.readValue(json, TransactionReq.class);
+
+        // Assert
+        assertThat(transactionReq).isEqualTo(databindJsonMapper.readValue(json, TransactionReq.class));
+    }
+
+    @Test
+    @DisplayName("Should read a transaction request from cbor")
+    void shouldReadTransactionReqFromCbor() {
+        // Arrange
+        TransactionReq transactionReq = TransactionReq.builder().accountId(98_765L).operationTypeId(1L).amount(123_456L).build();
+
+        // Act
+        TransactionReq read = cborMapper.readValue(databindCborMapper.writeValueAsBytes(transactionReq), TransactionReq.class);
+
+        // Assert
+        assertThat(read).isEqualTo(transactionReq);
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(delimiter = '|', value = {
+            "{}|account_id is required, amount is required, operation_type_id is required",
+            "{\"account_id\":1,\"operation_type_id\":4,\"amount\":null}|amount is required",
+            "{\"account_id\":0,\"operation_type_id\":4,\"amount\":-5.0}|account_id must be greater than 0, amount must be greater than 0",
+            "{\"account_id\":1,\"operation_type_id\":-1,\"amount\":5}|operation_type_id must be greater than 0"
+    })
+    @DisplayName("Should reject a transaction request with the messages of the broken constraints")
+    void shouldRejectInvalidTransactionReq(String json, String details) {
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMapper.readValue(json, TransactionReq.class))
+                .isInstanceOfSatisfying(TransactionServiceException.class, e -> {
+                    assertThat(e.getErrorInfo()).isEqualTo(ErrorInfo.INVALID_TRANSACTION_REQUEST);
+                    assertThat(e.getDetails()).isEqualTo(details);
+                });
+    }
+
+    @Test
+    @DisplayName("Should go on with the next element of an array after an invalid transaction request")
+    void shouldReadNextElementAfterInvalidTransactionReq() {
+        // Arrange
+        String json = "[{\"account_id\":1,\"operation_type_id\":4,\"amount\":-1,\"extra\":[1]},"
+                + "{\"account_id\":2,\"operation_type_id\":4,\"amount\":1}]";
+
+        // Act
+        try (MappingIterator<TransactionReq> iterator = jsonMapper.readerFor(TransactionReq.class).readValues(json)) {
+
+            // Assert
+            assertThatThrownBy(iterator::nextValue).isInstanceOf(TransactionServiceException.class);
+            assertThat(iterator.nextValue().getAccountId()).isEqualTo(2L);
+            assertThat(iterator.hasNextValue()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave a malformed amount to the minor units codec")
+    void shouldRejectMalformedAmount() {
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMapper.readValue("{\"account_id\":1,\"operation_type_id\":4,\"amount\":1.005}", TransactionReq.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Should read an account request")
+    void shouldReadAccountReq() {
+        // Act
+        AccountReq accountReq = jsonMapper.readValue("{\"document_number\":\"12345678900\",\"other\":true}", AccountReq.class);
+
+        // Assert
+        assertThat(accountReq.getDocumentNumber()).isEqualTo("12345678900");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"document_number\":null}", "{\"document_number\":\"  \"}"})
+    @DisplayName("Should reject an account request without a document number")
+    void shouldRejectAccountReqWithoutDocumentNumber(String json) {
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMapper.readValue(json, AccountReq.class))
+                .isInstanceOfSatisfying(AccountServiceException.class, e -> {
+                    assertThat(e.getErrorInfo()).isEqualTo(ErrorInfo.INVALID_ACCOUNT_REQUEST);
+                    assertThat(e.getDetails()).isEqualTo("document_number is required");
+                });
+    }
+
+    @Test
+    @DisplayName("Should write the responses byte for byte as databinding does, in json and cbor")
+    void shouldWriteResponsesAsDatabinding() {
+        // Arrange
+        List<Object> responses = List.of(
+                TransactionRes.builder().transactionId(1L).accountId(2L).operationTypeId(4L).amount(-1_050L)
+                        .eventDate(Instant.parse("2026-01-01T10:15:30.123456Z")).build(),
+                TransactionRes.builder().transactionId(1L).build(),
+                AccountRes.builder().accountId(7L).documentNumber("12345678900").balance(-2_050L).outstandingDebt(7_000L).build(),
+                new AccountRes(),
+                ErrorDetailRes.builder().errCode("BANKING_TRANSACTION_011").errMsg("The transaction request is invalid.").build());
+
+        // Act & Assert
+        for (Object response : responses) {
+            assertThat(jsonMapper.writeValueAsString(response)).isEqualTo(databindJsonMapper.writeValueAsString(response));
+            assertThat(cborMapper.writeValueAsBytes(response)).isEqualTo(databindCborMapper.writeValueAsBytes(response));
+        }
+        assertThat(jsonMapper.writeValueAsString(responses.getFirst())).isEqualTo(
+                "{\"transaction_id\":1,\"account_id\":2,\"operation_type_id\":4,\"amount\":-10.50,\"event_date\":\"2026-01-01T10:15:30.123456Z\"}");
+    }
+
+    @Test
+    @DisplayName("Should read back a written account response")
+    void shouldRoundTripResponses() {
+        // Arrange
+        AccountRes accountRes = AccountRes.builder().accountId(7L).documentNumber("12345678900").balance(-2_050L).outstandingDebt(7_000L).build();
+
+        // Act
+        AccountRes read = cborMapper.readValue(cborMapper.writeValueAsBytes(accountRes), AccountRes.class);
+
+        // Assert
+        assertThat(read).isEqualTo(accountRes);
+    }
+}
@@ -0,0 +1,142 @@
+package com.banking.fintech.codec;
+
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.databind.exc.InvalidFormatException;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Minor units codec Tests")
+class MinorUnitsCodecTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "100, 10000",
+            "100.5, 10050",
+            "100.50, 10050",
+            "0.01, 1",
+            "-0.05, -5",
+            "123.450000, 12345",
+            "1.2E2, 12000",
+            "1.25e1, 1250",
+            "92233720368547758.07, 9223372036854775807"
+    })
+    @DisplayName("Should read a json amount in major units as minor units")
+    void shouldReadAmountAsMinorUnits(String json, long expectedMinorUnits) {
+        // Act
+        TransactionReq transactionReq = jsonMapper.readValue("{\"amount\": " + json + "}", TransactionReq.class);
+
+        // Assert
+        assertThat(transactionReq.getAmount()).isEqualTo(expectedMinorUnits);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"0.001", "1.005", "1.2345e1", "92233720368547758.08", "\"100\"", "true"})
+    @DisplayName("Should reject amounts with more than 2 decimal places, out of range or not numbers")
+    void shouldRejectInvalidAmounts(String json) {
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMapper.readValue("{\"amount\": " + json + "}", TransactionReq.class))
+                .isInstanceOf(tools.jackson.databind.DatabindException.class);
+    }
+
+    @Test
+    @DisplayName("Should report an amount with too many decimal places as an invalid format")
+    void shouldReportTooManyDecimalPlacesAsInvalidFormat() {
+        // Act & Assert
+        assertThatThrownBy(() -> jsonMapper.readValue("{\"amount\": 0.001}", TransactionReq.class))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("at most 2 decimal places");
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "10000, 100.00",
+            "10050, 100.50",
+            "1, 0.01",
+            "-5, -0.05",
+            "0, 0.00",
+            "-9223372036854775808, -92233720368547758.08"
+    })
+    @DisplayName("Should write minor units as a json number in major units")
+    void shouldWriteMinorUnitsAsAmount(long minorUnits, String expectedJson) {
+        // Act
+        String json = jsonMapper.writeValueAsString(TransactionRes.builder().amount(minorUnits).build());
+
+        // Assert
+        assertThat(json).contains("\"amount\":" + expectedJson);
+    }
+
+    @Test
+    @DisplayName("Should parse and format amounts without going through floating point")
+    void shouldRoundTripMinorUnits() {
+        // Arrange
+        long[] amounts = {0L, 1L, -1L, 10L, 99L, 101L, 123_456_789L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        for (long amount : amounts) {
+            // Act
+            String formatted = MinorUnits.toString(amount);
+
+            // Assert
+            assertThat(MinorUnits.parse(formatted.toCharArray(), 0, formatted.length())).isEqualTo(amount);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(longs = {0L, 1L, -5L, 10_050L, 123_456_789L, Long.MAX_VALUE, Long.MIN_VALUE})
+    @DisplayName("Should write minor units as an exact cbor decimal in major units and read them back")
+    void shouldRoundTripMinorUnitsInCbor(long minorUnits) {
+        // Act
+        byte[] cbor = cborMapper.writeValueAsBytes(TransactionRes.builder().amount(minorUnits).build());
+        Map<?, ?> decoded = cborMapper.readValue(cbor, Map.class);
+        TransactionReq transactionReq = cborMapper.readValue(cbor, TransactionReq.class);
+
+        // Assert
+        assertThat(decoded.get("amount")).isEqualTo(BigDecimal.valueOf(minorUnits, MinorUnits.SCALE));
+        assertThat(transactionReq.getAmount()).isEqualTo(minorUnits);
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "100, 10000",
+            "0.1, 10",
+            "-0.05, -5",
+            "12345.67, 1234567"
+    })
+    @DisplayName("Should read a cbor integer or floating point amount in major units as minor units")
+    void shouldReadCborAmountAsMinorUnits(String amount, long expectedMinorUnits) {
+        // Arrange
+        Object value = amount.contains(".") ? (Object) Double.parseDouble(amount) : (Object) Long.parseLong(amount);
+        byte[] cbor = cborMapper.writeValueAsBytes(Map.of("amount", value));
+
+        // Act
+        TransactionReq transactionReq = cborMapper.readValue(cbor, TransactionReq.class);
+
+        // Assert
+        assertThat(transactionReq.getAmount()).isEqualTo(expectedMinorUnits);
+    }
+
+    @Test
+    @DisplayName("Should reject a cbor amount with more than 2 decimal places")
+    void shouldRejectCborAmountWithTooManyDecimalPlaces() {
+        // Arrange
+        byte[] cbor = cborMapper.writeValueAsBytes(Map.of("amount", new BigDecimal("0.001")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cborMapper.readValue(cbor, TransactionReq.class))
+                .isInstanceOf(InvalidFormatException.class)
+                .hasMessageContaining("at most 2 decimal places");
+    }
+}
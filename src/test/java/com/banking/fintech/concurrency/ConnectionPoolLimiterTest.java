@@ -0,0 +1,63 @@
+package com.banking.fintech.concurrency;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.exception.BankingServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ConnectionPoolLimiter Unit Tests")
+class ConnectionPoolLimiterTest {
+
+    private ConnectionPoolLimiter connectionPoolLimiter;
+    private ConnectionPoolLimitInterceptor connectionPoolLimitInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        connectionPoolLimiter = new ConnectionPoolLimiter(2, Duration.ofMillis(50));
+        connectionPoolLimitInterceptor = new ConnectionPoolLimitInterceptor(connectionPoolLimiter);
+    }
+
+    @Test
+    @DisplayName("Should refuse a request with 503 once every permit is held, and let it in once one is released")
+    void shouldRefuseRequestBeyondPermits() {
+        // Arrange
+        connectionPoolLimiter.acquire();
+        connectionPoolLimiter.acquire();
+
+        // Act & Assert
+        assertThatThrownBy(connectionPoolLimiter::acquire)
+                .isInstanceOf(BankingServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.DB_CONNECTION_LIMIT_REACHED);
+
+        connectionPoolLimiter.release();
+        assertThatCode(connectionPoolLimiter::acquire).doesNotThrowAnyException();
+        assertThat(connectionPoolLimiter.getAvailablePermits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold a permit from before the handler until the request completes, and release it once")
+    void shouldHoldPermitForRequest() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean proceeded = connectionPoolLimitInterceptor.preHandle(request, response, new Object());
+        int availableDuringRequest = connectionPoolLimiter.getAvailablePermits();
+        connectionPoolLimitInterceptor.afterCompletion(request, response, new Object(), null);
+        connectionPoolLimitInterceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertThat(proceeded).isTrue();
+        assertThat(availableDuringRequest).isEqualTo(1);
+        assertThat(connectionPoolLimiter.getAvailablePermits()).isEqualTo(2);
+    }
+}
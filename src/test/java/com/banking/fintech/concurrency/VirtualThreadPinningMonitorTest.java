@@ -0,0 +1,66 @@
+package com.banking.fintech.concurrency;
+
+import com.banking.fintech.config.VirtualThreadProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        VirtualThreadProperties virtualThreadProperties = new VirtualThreadProperties();
+        virtualThreadProperties.getPinningMonitor().setThreshold(Duration.ofMillis(10));
+        virtualThreadPinningMonitor = new VirtualThreadPinningMonitor(virtualThreadProperties);
+        virtualThreadPinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        virtualThreadPinningMonitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should count a virtual thread blocking inside a synchronized block at the call site in this service")
+    void shouldCountPinnedVirtualThread() throws Exception {
+        // Arrange
+        // from java 24 a virtual thread blocking in a synchronized block no longer pins its carrier thread
+        assumeTrue(Runtime.version().feature() < 24);
+
+        // Act
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        // Assert
+        long deadlineNanos = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (virtualThreadPinningMonitor.getPinnedCounts().isEmpty() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(50);
+        }
+        assertThat(virtualThreadPinningMonitor.getPinnedCounts())
+                .hasSize(1)
+                .allSatisfy((location, count) -> {
+                    assertThat(location).startsWith(getClass().getName() + ".sleepWhileHoldingMonitor:");
+                    assertThat(count).isEqualTo(1L);
+                });
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.concurrency.ConnectionPoolLimiter;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs concurrent http clients against the started service while the accounts table is locked for a second, as a
+ * stalled db would, and reports throughput, latency, refused requests, db pool waiters and jvm threads of the
+ * configured request threading, the subclasses run it once per threading mode. Client and server share the file
+ * descriptors of this jvm, so the runs with 10k clients are done with the ConcurrentClientsLoad tool of the benchmarks.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=1000",
+        "logging.level.root=WARN"
+})
+@Slf4j
+abstract class AbstractConcurrentClientsLoadIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ACCOUNTS = 100;
+    private static final Duration DB_STALL = Duration.ofSeconds(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectProvider<ConnectionPoolLimiter> connectionPoolLimiter;
+
+    private HttpClient httpClient;
+    private String sessionCookie;
+    private List<Long> accountIds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpResponse<Void> loginResponse = httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@fintech.banking.com&password=password@fintech.banking.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        sessionCookie = loginResponse.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+
+        accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.save(AccountEntity.builder().documentNumber("55544433322").build()).getAccountId());
+        }
+    }
+
+    @ParameterizedTest(name = "{0} concurrent clients")
+    @ValueSource(ints = {1_000})
+    @DisplayName("Should answer every client with the result or a 503 while the db stalls")
+    void shouldAnswerConcurrentClientsThroughDbStall(int clients) throws Exception {
+        // Arrange
+        HikariPoolMXBean hikariPool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicInteger peakThreadsAwaitingConnection = new AtomicInteger();
+        AtomicInteger peakJvmThreads = new AtomicInteger();
+        Thread sampler = Thread.ofPlatform().start(() -> {
+            while (sampling.get()) {
+                peakThreadsAwaitingConnection.accumulateAndGet(hikariPool.getThreadsAwaitingConnection(), Math::max);
+                peakJvmThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+                sleep(Duration.ofMillis(5));
+            }
+        });
+        Map<Integer, LongAdder> responsesByStatus = new ConcurrentHashMap<>();
+        LongAdder failedRequests = new LongAdder();
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>(clients));
+
+        // Act
+        long startNanos = System.nanoTime();
+        try (Connection stallingConnection = dataSource.getConnection();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            stallingConnection.setAutoCommit(false);
+            try (Statement statement = stallingConnection.createStatement()) {
+                statement.execute("LOCK TABLE accounts IN ACCESS EXCLUSIVE MODE");
+            }
+            for (int client = 0; client < clients; client++) {
+                clientExecutor.submit(() -> {
+                    HttpRequest request = postTransaction(accountIds.get(ThreadLocalRandom.current().nextInt(ACCOUNTS)));
+                    long requestStartNanos = System.nanoTime();
+                    try {
+                        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        responsesByStatus.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+                        latenciesNanos.add(System.nanoTime() - requestStartNanos);
+                    } catch (Exception e) {
+                        failedRequests.increment();
+                    }
+                });
+            }
+            sleep(DB_STALL);
+            stallingConnection.rollback();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        sampling.set(false);
+        sampler.join();
+
+        // Assert
+        List<Long> sortedLatencies = latenciesNanos.stream().sorted().toList();
+        log.warn("{} with {} clients: {} requests in {} ms, {} req/s, p50: {} ms, p99: {} ms, responses by status: {}, failed: {}, "
+                        + "peak threads awaiting a db connection: {}, peak jvm threads: {}",
+                getClass().getSimpleName(), clients, sortedLatencies.size(), elapsedNanos / 1_000_000,
+                sortedLatencies.size() * 1_000_000_000L / elapsedNanos, percentileMillis(sortedLatencies, 0.50),
+                percentileMillis(sortedLatencies, 0.99), responsesByStatus, failedRequests.sum(),
+                peakThreadsAwaitingConnection.get(), peakJvmThreads.get());
+
+        assertThat(failedRequests.sum()).isZero();
+        assertThat(responsesByStatus.keySet()).isSubsetOf(200, 503);
+        assertThat(responsesByStatus.values().stream().mapToLong(LongAdder::sum).sum()).isEqualTo(clients);
+        // with virtual threads only the requests holding a permit may wait on the pool
+        connectionPoolLimiter.ifAvailable(limiter -> assertThat(peakThreadsAwaitingConnection.get())
+                .isLessThanOrEqualTo(limiter.getMaxPermits()));
+    }
+
+    private HttpRequest postTransaction(Long accountId) {
+        return HttpRequest.newBuilder(uri("/transactions"))
+                .header("Cookie", sessionCookie)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofMinutes(2))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"account_id\":" + accountId + ",\"operation_type_id\":4,\"amount\":1.00}"))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double percentileMillis(List<Long> sortedLatenciesNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatenciesNanos.size()) - 1;
+        return sortedLatenciesNanos.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
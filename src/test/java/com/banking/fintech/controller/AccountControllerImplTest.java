@@ -1,22 +1,47 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.codec.DtoCodecModule;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
 import com.banking.fintech.service.AccountService;
+import com.banking.fintech.service.AccountStatementQuery;
 import com.banking.fintech.validator.AccountValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.inOrder;
 
@@ -30,7 +55,13 @@ class AccountControllerImplTest {
     @Mock
     private AccountService accountService;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new DtoCodecModule()).build();
+
+    private final CBORMapper cborMapper = CBORMapper.builder().addModule(new DtoCodecModule()).build();
+
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
+
     private AccountControllerImpl accountController;
 
     private AccountReq accountReq;
@@ -38,6 +69,8 @@ class AccountControllerImplTest {
 
     @BeforeEach
     void setUp() {
+        accountController = new AccountControllerImpl(accountValidator, accountService, objectMapper, cborMapper, bankingMetrics);
+
         accountReq = AccountReq.builder()
                 .documentNumber("12345678901")
                 .build();
@@ -158,6 +191,106 @@ class AccountControllerImplTest {
                 .hasFieldOrPropertyWithValue("documentNumber", "12345678901");
     }
 
+    // ============= createAccounts Tests =============
+
+    @Test
+    @DisplayName("Should hand the service every account of the batch checked and in order")
+    void shouldCreateAccountsInOrder() {
+        // Arrange
+        List<String> documentNumbers = new ArrayList<>();
+        when(accountService.createAccounts(any())).thenAnswer(invocation -> {
+            Iterator<AccountReq> accountReqs = invocation.getArgument(0);
+            accountReqs.forEachRemaining(req -> documentNumbers.add(req.getDocumentNumber()));
+            return AccountBatchRes.builder().accountIds(new long[]{51L, 52L}).build();
+        });
+
+        // Act
+        ResponseEntity<AccountBatchRes> response = accountController.createAccounts(body(
+                "[{\"document_number\":\"12345678901\"},{\"document_number\":\"12345678902\"}]"), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getAccountIds()).containsExactly(51L, 52L);
+        assertThat(documentNumbers).containsExactly("12345678901", "12345678902");
+        verify(accountValidator, times(2)).validateCreateAccountReq(any(AccountReq.class));
+    }
+
+    @Test
+    @DisplayName("Should read a cbor batch payload the same way as a json one")
+    void shouldCreateAccountsFromCborBatch() {
+        // Arrange
+        List<String> documentNumbers = new ArrayList<>();
+        when(accountService.createAccounts(any())).thenAnswer(invocation -> {
+            Iterator<AccountReq> accountReqs = invocation.getArgument(0);
+            accountReqs.forEachRemaining(req -> documentNumbers.add(req.getDocumentNumber()));
+            return AccountBatchRes.builder().accountIds(new long[]{51L, 52L}).build();
+        });
+        byte[] cbor = cborMapper.writeValueAsBytes(List.of(
+                AccountReq.builder().documentNumber("12345678901").build(), AccountReq.builder().documentNumber("12345678902").build()));
+
+        // Act
+        ResponseEntity<AccountBatchRes> response = accountController.createAccounts(new ByteArrayInputStream(cbor), MediaType.APPLICATION_CBOR);
+
+        // Assert
+        assertThat(response.getBody().getAccountIds()).containsExactly(51L, 52L);
+        assertThat(documentNumbers).containsExactly("12345678901", "12345678902");
+    }
+
+    @Test
+    @DisplayName("Should reject a batch payload that is not a json array before calling the service")
+    void shouldRejectAccountBatchThatIsNotAnArray() {
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.createAccounts(body("{\"document_number\":\"12345678901\"}"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.MALFORMED_ACCOUNT_BATCH);
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch on an account without a document number or with a malformed element")
+    void shouldRejectAccountBatchWithMalformedAccount() {
+        // Arrange
+        when(accountService.createAccounts(any())).thenAnswer(invocation -> {
+            invocation.<Iterator<AccountReq>>getArgument(0).forEachRemaining(accountReq -> {
+            });
+            return AccountBatchRes.builder().accountIds(new long[0]).build();
+        });
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.createAccounts(body("[{\"document_number\":\"12345678901\"},{}]"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.MALFORMED_ACCOUNT_BATCH);
+        assertThatThrownBy(() -> accountController.createAccounts(body("[{\"document_number\":\"12345678901\"},{\"document_number\":"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.MALFORMED_ACCOUNT_BATCH);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch with the validator error on a document number that is not all digits")
+    void shouldRejectAccountBatchWithInvalidDocumentNumber() {
+        // Arrange
+        lenient().doThrow(new AccountServiceException(ErrorInfo.DOCUMENT_NUMBER_SHOULD_ONLY_CONSIST_OF_DIGITS))
+                .when(accountValidator).validateCreateAccountReq(argThat(accountReq -> accountReq.getDocumentNumber().equals("12A")));
+        when(accountService.createAccounts(any())).thenAnswer(invocation -> {
+            invocation.<Iterator<AccountReq>>getArgument(0).forEachRemaining(accountReq -> {
+            });
+            return AccountBatchRes.builder().accountIds(new long[0]).build();
+        });
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.createAccounts(body("[{\"document_number\":\"123\"},{\"document_number\":\"12A\"}]"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.DOCUMENT_NUMBER_SHOULD_ONLY_CONSIST_OF_DIGITS);
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
     // ============= getAccount Tests =============
 
     @Test
@@ -282,4 +415,117 @@ class AccountControllerImplTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(accountService).getAccount(largeId);
     }
+
+    // ============= getAccountBalance Tests =============
+
+    @Test
+    @DisplayName("Should return account balance with OK status")
+    void shouldGetAccountBalanceSuccessfully() {
+        // Arrange
+        AccountBalanceRes accountBalanceRes = AccountBalanceRes.builder()
+                .accountId(1L)
+                .balance(-2000L)
+                .outstandingDebt(7000L)
+                .build();
+        when(accountService.getAccountBalance(1L)).thenReturn(accountBalanceRes);
+
+        // Act
+        ResponseEntity<AccountBalanceRes> response = accountController.getAccountBalance(1L);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(accountBalanceRes);
+        verify(accountService).getAccountBalance(1L);
+        verifyNoInteractions(accountValidator);
+    }
+
+    // ============= getAccountTransactions Tests =============
+
+    @Test
+    @DisplayName("Should return a statement page with OK status")
+    void shouldGetAccountTransactionsSuccessfully() {
+        // Arrange
+        TransactionPageRes transactionPageRes = TransactionPageRes.builder().transactions(List.of()).build();
+        when(accountService.getAccountTransactions(any(AccountStatementQuery.class))).thenReturn(transactionPageRes);
+
+        // Act
+        ResponseEntity<TransactionPageRes> response = accountController.getAccountTransactions(1L, 4L, "2026-01-01T00:00:00Z", null, null, 20);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(transactionPageRes);
+        verify(accountService).getAccountTransactions(argThat(accountStatementQuery -> accountStatementQuery.accountId() == 1L
+                && accountStatementQuery.operationTypeId() == 4L && accountStatementQuery.limit() == 20
+                && accountStatementQuery.afterEventDate().equals(Instant.parse("2026-01-01T00:00:00Z"))));
+    }
+
+    @Test
+    @DisplayName("Should reject a statement request with a malformed date before calling the service")
+    void shouldRejectAccountTransactionsWithMalformedDate() {
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.getAccountTransactions(1L, null, "yesterday", null, null, null))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.INVALID_STATEMENT_REQUEST);
+        verifyNoInteractions(accountService);
+    }
+
+    // ============= exportAccountTransactions Tests =============
+
+    @Test
+    @DisplayName("Should answer a csv attachment that streams the export of the account")
+    void shouldExportAccountTransactionsAsCsv() throws Exception {
+        // Arrange
+        when(accountService.getAccount(1L)).thenReturn(accountRes);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = accountController.exportAccountTransactions(1L, "CSV");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("text/csv"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"account-1-transactions.csv\"");
+        verify(accountService, never()).exportAccountTransactions(any(), any(), any());
+        response.getBody().writeTo(outputStream);
+        verify(accountService).exportAccountTransactions(1L, TransactionExportFormat.CSV, outputStream);
+    }
+
+    @Test
+    @DisplayName("Should export as ndjson when no format is given")
+    void shouldExportAccountTransactionsAsNdjsonByDefault() {
+        // Arrange
+        when(accountService.getAccount(1L)).thenReturn(accountRes);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = accountController.exportAccountTransactions(1L, null);
+
+        // Assert
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("application/x-ndjson"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format before calling the service")
+    void shouldRejectUnknownExportFormat() {
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.exportAccountTransactions(1L, "xlsx"))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.INVALID_EXPORT_FORMAT);
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    @DisplayName("Should fail with account not found before the export response starts")
+    void shouldFailExportWhenAccountNotFound() {
+        // Arrange
+        when(accountService.getAccount(999L)).thenThrow(new AccountServiceException(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND));
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountController.exportAccountTransactions(999L, "ndjson"))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+    }
 }
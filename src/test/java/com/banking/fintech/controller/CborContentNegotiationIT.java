@@ -0,0 +1,171 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the started service over http in cbor and in json, and checks both carry the same values under the same
+ * field names, and that json stays the default of a request without an Accept header.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false"
+})
+@Slf4j
+@DisplayName("Cbor content negotiation Integration Tests")
+class CborContentNegotiationIT extends AbstractEmbeddedPostgresIT {
+
+    @LocalServerPort
+    private int port;
+
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private HttpClient httpClient;
+    private String sessionCookie;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpClient = HttpClient.newHttpClient();
+        HttpResponse<Void> loginResponse = httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@fintech.banking.com&password=password@fintech.banking.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        sessionCookie = loginResponse.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> postCbor(String path, Object body) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri(path))
+                .header("Cookie", sessionCookie)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(cborMapper.writeValueAsBytes(body)))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).header("Cookie", sessionCookie).GET();
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should create an account and a transaction in cbor and read them back in cbor and in json")
+    void shouldServeAccountsAndTransactionsInCbor() throws Exception {
+        // Act
+        HttpResponse<byte[]> accountResponse = postCbor("/accounts", AccountReq.builder().documentNumber("12345678901").build());
+        AccountRes accountRes = cborMapper.readValue(accountResponse.body(), AccountRes.class);
+        HttpResponse<byte[]> transactionResponse = postCbor("/transactions",
+                TransactionReq.builder().accountId(accountRes.getAccountId()).operationTypeId(4L).amount(123_456L).build());
+        TransactionRes transactionRes = cborMapper.readValue(transactionResponse.body(), TransactionRes.class);
+        HttpResponse<byte[]> cborBalance = get("/accounts/" + accountRes.getAccountId() + "/balance", MediaType.APPLICATION_CBOR_VALUE);
+        HttpResponse<byte[]> jsonAccount = get("/accounts/" + accountRes.getAccountId(), null);
+
+        // Assert
+        assertThat(accountResponse.statusCode()).isEqualTo(200);
+        assertThat(contentType(accountResponse)).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(accountRes.getDocumentNumber()).isEqualTo("12345678901");
+        assertThat(transactionResponse.statusCode()).isEqualTo(200);
+        assertThat(transactionRes.getAmount()).isEqualTo(123_456L);
+        assertThat(cborMapper.readValue(transactionResponse.body(), Map.class)).containsKeys("transaction_id", "account_id",
+                "operation_type_id", "amount", "event_date");
+        assertThat(cborMapper.readValue(cborBalance.body(), AccountBalanceRes.class).getBalance()).isEqualTo(123_456L);
+        assertThat(contentType(jsonAccount)).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(jsonMapper.readValue(jsonAccount.body(), AccountRes.class)).isEqualTo(accountRes.toBuilder().balance(123_456L).build());
+        log.info("TransactionRes payload: {} bytes in cbor, {} bytes in json", transactionResponse.body().length,
+                jsonMapper.writeValueAsBytes(transactionRes).length);
+    }
+
+    @Test
+    @DisplayName("Should create account and transaction batches from cbor arrays")
+    void shouldCreateBatchesFromCbor() throws Exception {
+        // Act
+        HttpResponse<byte[]> accountBatchResponse = postCbor("/accounts/batch", List.of(
+                AccountReq.builder().documentNumber("12345678902").build(), AccountReq.builder().documentNumber("12345678903").build()));
+        long[] accountIds = cborMapper.readValue(accountBatchResponse.body(), AccountBatchRes.class).getAccountIds();
+        HttpResponse<byte[]> transactionBatchResponse = postCbor("/transactions/batch", List.of(
+                TransactionReq.builder().accountId(accountIds[0]).operationTypeId(1L).amount(1_050L).build(),
+                TransactionReq.builder().accountId(accountIds[1]).operationTypeId(4L).amount(2_000L).build(),
+                TransactionReq.builder().accountId(accountIds[1]).operationTypeId(4L).amount(-1L).build()));
+        List<TransactionBatchItemRes> items = cborMapper.readValue(transactionBatchResponse.body(), new TypeReference<>() {
+        });
+
+        // Assert
+        assertThat(accountBatchResponse.statusCode()).isEqualTo(200);
+        assertThat(accountIds).hasSize(2);
+        assertThat(transactionBatchResponse.statusCode()).isEqualTo(200);
+        assertThat(items).extracting(TransactionBatchItemRes::getStatus).containsExactly(200, 200, 400);
+        assertThat(items.get(0).getTransaction().getAmount()).isEqualTo(-1_050L);
+        assertThat(items.get(1).getTransaction().getAmount()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("Should answer an error in cbor to a cbor client")
+    void shouldAnswerErrorInCbor() throws Exception {
+        // Act
+        HttpResponse<byte[]> response = get("/accounts/" + Long.MAX_VALUE, MediaType.APPLICATION_CBOR_VALUE);
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getHttpStatus().value());
+        assertThat(contentType(response)).startsWith(MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(cborMapper.readValue(response.body(), ErrorDetailRes.class).getErrCode())
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+    }
+
+    @Test
+    @DisplayName("Should answer an invalid request with the broken constraints")
+    void shouldAnswerInvalidRequestWithBrokenConstraints() throws Exception {
+        // Act
+        HttpResponse<byte[]> transactionResponse = postCbor("/transactions",
+                TransactionReq.builder().accountId(1L).operationTypeId(4L).amount(-1L).build());
+        HttpResponse<byte[]> accountResponse = postCbor("/accounts", AccountReq.builder().documentNumber(" ").build());
+        ErrorDetailRes transactionError = cborMapper.readValue(transactionResponse.body(), ErrorDetailRes.class);
+        ErrorDetailRes accountError = cborMapper.readValue(accountResponse.body(), ErrorDetailRes.class);
+
+        // Assert
+        assertThat(transactionResponse.statusCode()).isEqualTo(400);
+        assertThat(transactionError.getErrCode()).isEqualTo(ErrorInfo.INVALID_TRANSACTION_REQUEST.getErrCode());
+        assertThat(transactionError.getErrMsg()).endsWith("amount must be greater than 0");
+        assertThat(accountResponse.statusCode()).isEqualTo(400);
+        assertThat(accountError.getErrCode()).isEqualTo(ErrorInfo.INVALID_ACCOUNT_REQUEST.getErrCode());
+        assertThat(accountError.getErrMsg()).endsWith("document_number is required");
+    }
+}
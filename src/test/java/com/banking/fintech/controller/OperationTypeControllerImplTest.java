@@ -0,0 +1,83 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import com.banking.fintech.service.OperationTypeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OperationTypeControllerImpl Test Suite")
+class OperationTypeControllerImplTest {
+
+    @Mock
+    private OperationTypeService operationTypeService;
+
+    @InjectMocks
+    private OperationTypeControllerImpl operationTypeController;
+
+    private final OperationTypeRes operationTypeRes = OperationTypeRes.builder()
+            .operationTypeId(5L)
+            .description("REFUND")
+            .operationType("credit")
+            .build();
+
+    @Test
+    @DisplayName("Should create operation type and return it")
+    void shouldCreateOperationType() {
+        // Arrange
+        OperationTypeReq operationTypeReq = OperationTypeReq.builder()
+                .description("REFUND")
+                .operationType("credit")
+                .build();
+        when(operationTypeService.createOperationType(operationTypeReq)).thenReturn(operationTypeRes);
+
+        // Act
+        ResponseEntity<OperationTypeRes> response = operationTypeController.createOperationType(operationTypeReq);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(operationTypeRes);
+        verify(operationTypeService, times(1)).createOperationType(operationTypeReq);
+    }
+
+    @Test
+    @DisplayName("Should return the operation types")
+    void shouldGetOperationTypes() {
+        // Arrange
+        when(operationTypeService.getOperationTypes()).thenReturn(List.of(operationTypeRes));
+
+        // Act
+        ResponseEntity<List<OperationTypeRes>> response = operationTypeController.getOperationTypes();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(operationTypeRes);
+    }
+
+    @Test
+    @DisplayName("Should refresh and return the operation types")
+    void shouldRefreshOperationTypes() {
+        // Arrange
+        when(operationTypeService.refreshOperationTypes()).thenReturn(List.of(operationTypeRes));
+
+        // Act
+        ResponseEntity<List<OperationTypeRes>> response = operationTypeController.refreshOperationTypes();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsExactly(operationTypeRes);
+        verify(operationTypeService, times(1)).refreshOperationTypes();
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.fintech.controller;
+
+import org.junit.jupiter.api.DisplayName;
+
+@DisplayName("Concurrent clients load Integration Tests with platform request threads")
+class PlatformThreadConcurrentClientsLoadIT extends AbstractConcurrentClientsLoadIT {
+}
@@ -0,0 +1,110 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.ReactiveTransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveTransactionControllerImpl Tests")
+class ReactiveTransactionControllerImplTest {
+
+    @Mock
+    private ReactiveTransactionService transactionService;
+
+    private ReactiveTransactionControllerImpl transactionController;
+
+    @BeforeEach
+    void setUp() {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.getBatch().setChunkSize(2);
+        transactionController = new ReactiveTransactionControllerImpl(transactionService,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionProperties,
+                new BankingMetrics(new SimpleMeterRegistry()));
+        lenient().when(transactionService.createTransactions(anyList())).thenAnswer(invocation -> Mono.just(invocation.<List<TransactionReq>>getArgument(0).stream()
+                .map(transactionReq -> TransactionBatchItemRes.builder()
+                        .status(200)
+                        .transaction(TransactionRes.builder().accountId(transactionReq.getAccountId()).build())
+                        .build())
+                .toList()));
+    }
+
+    private static TransactionReq transactionReq(Long accountId, Long amount) {
+        return TransactionReq.builder()
+                .accountId(accountId)
+                .operationTypeId(1L)
+                .amount(amount)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid idempotency key without reaching the service")
+    void shouldRejectInvalidIdempotencyKey() {
+        // Act & Assert
+        assertThatThrownBy(() -> transactionController.createTransaction(transactionReq(1L, 100L), " ").block())
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.INVALID_IDEMPOTENCY_KEY);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should create a batch in chunks and answer invalid items at their index")
+    void shouldCreateBatchInChunks() {
+        // Arrange
+        Flux<TransactionReq> transactionReqs = Flux.just(transactionReq(1L, 100L), transactionReq(2L, -1L), transactionReq(3L, 100L),
+                transactionReq(4L, 100L), transactionReq(5L, 100L));
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> result = transactionController.createTransactions(transactionReqs).block();
+
+        // Assert
+        assertThat(result.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(tuple(0, 200), tuple(1, 400), tuple(2, 200), tuple(3, 200), tuple(4, 200));
+        verify(transactionService, times(3)).createTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("Should end the batch at the first item that could not be decoded")
+    void shouldEndBatchAtMalformedItem() {
+        // Arrange
+        Flux<TransactionReq> transactionReqs = Flux.concat(Flux.just(transactionReq(1L, 100L)), Flux.error(new DecodingException("malformed")));
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> result = transactionController.createTransactions(transactionReqs).block();
+
+        // Assert
+        assertThat(result.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(tuple(0, 200), tuple(1, 400));
+        assertThatThrownBy(() -> transactionController.createTransactions(Flux.error(new DecodingException("malformed"))).block())
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.MALFORMED_TRANSACTION_BATCH);
+    }
+}
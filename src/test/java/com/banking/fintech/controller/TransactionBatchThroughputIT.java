@@ -0,0 +1,147 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posts the same number of transactions to the started service one at a time on POST /transactions, and on
+ * POST /transactions/batch in batches of 1, 50 and 500, from a single client, and reports the throughput of each.
+ * Every fifth transaction is a credit discharging the four debits of its account before it, over a few accounts.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "logging.level.root=WARN"
+})
+@Slf4j
+@DisplayName("Transaction batch throughput Integration Tests")
+class TransactionBatchThroughputIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ACCOUNTS = 10;
+    private static final int TRANSACTIONS = 5_000;
+    private static final int WARMUP_TRANSACTIONS = 1_000;
+    private static final int[] BATCH_SIZES = {1, 50, 500};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private HttpClient httpClient;
+    private String sessionCookie;
+    private List<Long> accountIds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpClient = HttpClient.newHttpClient();
+        HttpResponse<Void> loginResponse = httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@fintech.banking.com&password=password@fintech.banking.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        sessionCookie = loginResponse.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+        accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.save(AccountEntity.builder().documentNumber(String.format("%011d", 70_000_000_000L + i)).build())
+                    .getAccountId());
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<byte[]> post(String path, String json) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(uri(path))
+                .header("Cookie", sessionCookie)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String transactionJson(int i) {
+        return "{\"account_id\":" + accountIds.get(i / 5 % ACCOUNTS) + ",\"operation_type_id\":" + (i % 5 == 4 ? 4 : 1)
+                + ",\"amount\":" + (i % 5 == 4 ? "40.00" : "10.00") + "}";
+    }
+
+    private long postSingle(int transactions) throws Exception {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < transactions; i++) {
+            assertThat(post("/transactions", transactionJson(i)).statusCode()).isEqualTo(200);
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    private long postBatches(int transactions, int batchSize) throws Exception {
+        long startNanos = System.nanoTime();
+        for (int from = 0; from < transactions; from += batchSize) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + batchSize, transactions); i++) {
+                body.append(i == from ? "" : ",").append(transactionJson(i));
+            }
+            HttpResponse<byte[]> response = post("/transactions/batch", body.append(']').toString());
+            List<TransactionBatchItemRes> items = jsonMapper.readValue(response.body(), new TypeReference<>() {
+            });
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(items).extracting(TransactionBatchItemRes::getStatus).containsOnly(200);
+        }
+        return System.nanoTime() - startNanos;
+    }
+
+    @Test
+    @DisplayName("Should report the throughput of single transactions and of batches of 1, 50 and 500")
+    void shouldReportThroughputPerBatchSize() throws Exception {
+        // Arrange
+        postSingle(WARMUP_TRANSACTIONS);
+        postBatches(WARMUP_TRANSACTIONS, 50);
+        Long transactionsBefore = countTransactions();
+
+        // Act
+        Map<String, Long> elapsedNanosByRun = new LinkedHashMap<>();
+        elapsedNanosByRun.put("single POST /transactions", postSingle(TRANSACTIONS));
+        for (int batchSize : BATCH_SIZES) {
+            elapsedNanosByRun.put("batches of " + batchSize, postBatches(TRANSACTIONS, batchSize));
+        }
+
+        // Assert
+        elapsedNanosByRun.forEach((run, elapsedNanos) -> log.warn("{}: {} transactions in {} ms, {} transactions/s", run,
+                TRANSACTIONS, elapsedNanos / 1_000_000, Math.round(TRANSACTIONS * 1e9 / elapsedNanos)));
+        assertThat(countTransactions() - transactionsBefore).isEqualTo((long) TRANSACTIONS * elapsedNanosByRun.size());
+    }
+
+    private Long countTransactions() {
+        String accountIdList = accountIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE account_id IN (" + accountIdList + ")", Long.class);
+    }
+}
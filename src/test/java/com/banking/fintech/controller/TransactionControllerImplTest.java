@@ -1,24 +1,45 @@
 package com.banking.fintech.controller;
 
+import com.banking.fintech.codec.DtoCodecModule;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.ErrorDetailRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.service.AccountCache;
+import com.banking.fintech.service.AccountSummary;
+import com.banking.fintech.service.IdempotentTransactionExecutor;
 import com.banking.fintech.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TransactionControllerImpl Tests")
@@ -27,7 +48,15 @@ class TransactionControllerImplTest {
     @Mock
     private TransactionService transactionService;
 
-    @InjectMocks
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
+
     private TransactionControllerImpl transactionController;
 
     private TransactionReq transactionReq;
@@ -35,17 +64,20 @@ class TransactionControllerImplTest {
 
     @BeforeEach
     void setUp() {
+        transactionController = transactionController(new TransactionProperties());
+        lenient().when(accountCache.find(anyLong())).thenAnswer(invocation -> new AccountSummary(invocation.getArgument(0), "12345678901"));
+
         transactionReq = TransactionReq.builder()
                 .accountId(1L)
                 .operationTypeId(1L)
-                .amount(100.0)
+                .amount(10000L)
                 .build();
 
         transactionRes = TransactionRes.builder()
                 .transactionId(1L)
                 .accountId(1L)
                 .operationTypeId(1L)
-                .amount(100.0)
+                .amount(10000L)
                 .eventDate(Instant.now())
                 .build();
     }
@@ -58,7 +90,7 @@ class TransactionControllerImplTest {
                 .thenReturn(transactionRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, null);
 
         // Assert
         assertThat(response)
@@ -69,7 +101,7 @@ class TransactionControllerImplTest {
         assertThat(response.getBody())
                 .isNotNull()
                 .extracting(TransactionRes::getTransactionId, TransactionRes::getAccountId, TransactionRes::getOperationTypeId, TransactionRes::getAmount)
-                .containsExactly(1L, 1L, 1L, 100.0);
+                .containsExactly(1L, 1L, 1L, 10000L);
 
         verify(transactionService).createTransaction(transactionReq);
     }
@@ -90,7 +122,7 @@ class TransactionControllerImplTest {
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -117,7 +149,7 @@ class TransactionControllerImplTest {
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -133,24 +165,24 @@ class TransactionControllerImplTest {
     void testCreateTransactionWithDifferentAmount() {
         // Arrange
         TransactionReq customReq = transactionReq.toBuilder()
-                .amount(250.50)
+                .amount(25050L)
                 .build();
 
         TransactionRes customRes = transactionRes.toBuilder()
-                .amount(250.50)
+                .amount(25050L)
                 .build();
 
         when(transactionService.createTransaction(any(TransactionReq.class)))
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
                 .isNotNull()
                 .extracting(TransactionRes::getAmount)
-                .isEqualTo(250.50);
+                .isEqualTo(25050L);
 
         verify(transactionService).createTransaction(customReq);
     }
@@ -160,24 +192,24 @@ class TransactionControllerImplTest {
     void testCreateTransactionWithLargeAmount() {
         // Arrange
         TransactionReq customReq = transactionReq.toBuilder()
-                .amount(999999.99)
+                .amount(99999999L)
                 .build();
 
         TransactionRes customRes = transactionRes.toBuilder()
-                .amount(999999.99)
+                .amount(99999999L)
                 .build();
 
         when(transactionService.createTransaction(any(TransactionReq.class)))
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
                 .isNotNull()
                 .extracting(TransactionRes::getAmount)
-                .isEqualTo(999999.99);
+                .isEqualTo(99999999L);
     }
 
     @Test
@@ -185,24 +217,24 @@ class TransactionControllerImplTest {
     void testCreateTransactionWithSmallAmount() {
         // Arrange
         TransactionReq customReq = transactionReq.toBuilder()
-                .amount(0.01)
+                .amount(1L)
                 .build();
 
         TransactionRes customRes = transactionRes.toBuilder()
-                .amount(0.01)
+                .amount(1L)
                 .build();
 
         when(transactionService.createTransaction(any(TransactionReq.class)))
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
                 .isNotNull()
                 .extracting(TransactionRes::getAmount)
-                .isEqualTo(0.01);
+                .isEqualTo(1L);
     }
 
     @Test
@@ -213,12 +245,54 @@ class TransactionControllerImplTest {
                 .thenReturn(transactionRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, null);
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
 
+    @Test
+    @DisplayName("Should reject a transaction of an unknown account without calling the service")
+    void testCreateTransactionWithUnknownAccount() {
+        // Arrange
+        when(accountCache.find(1L)).thenReturn(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionController.createTransaction(transactionReq, null))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should create transaction through the idempotent executor when an Idempotency-Key is given")
+    void testCreateTransactionWithIdempotencyKey() {
+        // Arrange
+        when(idempotentTransactionExecutor.createTransaction("key-1", transactionReq)).thenReturn(transactionRes);
+
+        // Act
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, "key-1");
+
+        // Assert
+        assertThat(response.getBody()).isEqualTo(transactionRes);
+        verify(idempotentTransactionExecutor).createTransaction("key-1", transactionReq);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank or too long Idempotency-Key")
+    void testCreateTransactionWithInvalidIdempotencyKey() {
+        // Act & Assert
+        for (String idempotencyKey : List.of(" ", "k".repeat(256))) {
+            assertThatThrownBy(() -> transactionController.createTransaction(transactionReq, idempotencyKey))
+                    .isInstanceOf(TransactionServiceException.class)
+                    .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                    .isEqualTo(ErrorInfo.INVALID_IDEMPOTENCY_KEY);
+        }
+        verifyNoInteractions(transactionService, idempotentTransactionExecutor);
+    }
+
     @Test
     @DisplayName("Should return response with all transaction details")
     void testCreateTransactionAllDetailsReturned() {
@@ -228,7 +302,7 @@ class TransactionControllerImplTest {
                 .transactionId(5L)
                 .accountId(3L)
                 .operationTypeId(2L)
-                .amount(500.0)
+                .amount(50000L)
                 .eventDate(eventDate)
                 .build();
 
@@ -236,7 +310,7 @@ class TransactionControllerImplTest {
                 .thenReturn(expectedRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -245,7 +319,7 @@ class TransactionControllerImplTest {
                     assertThat(res.getTransactionId()).isEqualTo(5L);
                     assertThat(res.getAccountId()).isEqualTo(3L);
                     assertThat(res.getOperationTypeId()).isEqualTo(2L);
-                    assertThat(res.getAmount()).isEqualTo(500.0);
+                    assertThat(res.getAmount()).isEqualTo(50000L);
                     assertThat(res.getEventDate()).isEqualTo(eventDate);
                 });
     }
@@ -258,7 +332,7 @@ class TransactionControllerImplTest {
                 .thenReturn(transactionRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, null);
 
         // Assert
         assertThat(response).isNotNull();
@@ -281,7 +355,7 @@ class TransactionControllerImplTest {
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -306,7 +380,7 @@ class TransactionControllerImplTest {
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(customReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -329,8 +403,8 @@ class TransactionControllerImplTest {
         when(transactionService.createTransaction(req2)).thenReturn(res2);
 
         // Act
-        ResponseEntity<TransactionRes> response1 = transactionController.createTransaction(req1);
-        ResponseEntity<TransactionRes> response2 = transactionController.createTransaction(req2);
+        ResponseEntity<TransactionRes> response1 = transactionController.createTransaction(req1, null);
+        ResponseEntity<TransactionRes> response2 = transactionController.createTransaction(req2, null);
 
         // Assert
         assertThat(response1.getBody()).isNotNull().extracting(TransactionRes::getAccountId).isEqualTo(1L);
@@ -353,7 +427,7 @@ class TransactionControllerImplTest {
                 .thenReturn(customRes);
 
         // Act
-        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq);
+        ResponseEntity<TransactionRes> response = transactionController.createTransaction(transactionReq, null);
 
         // Assert
         assertThat(response.getBody())
@@ -361,4 +435,222 @@ class TransactionControllerImplTest {
                 .extracting(TransactionRes::getTransactionId)
                 .isEqualTo(transactionId);
     }
+
+    // ======================== BATCH TRANSACTION TEST CASES ========================
+
+    private TransactionControllerImpl batchTransactionController(int chunkSize) {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.getBatch().setChunkSize(chunkSize);
+
+        return transactionController(transactionProperties);
+    }
+
+    private TransactionControllerImpl transactionController(TransactionProperties transactionProperties) {
+        return new TransactionControllerImpl(transactionService, JsonMapper.builder().addModule(new DtoCodecModule()).build(),
+                CBORMapper.builder().addModule(new DtoCodecModule()).build(), transactionProperties, accountCache,
+                idempotentTransactionExecutor, bankingMetrics);
+    }
+
+    private InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransactionBatchItemRes okItem(long transactionId) {
+        return TransactionBatchItemRes.builder()
+                .status(HttpStatus.OK.value())
+                .transaction(transactionRes.toBuilder().transactionId(transactionId).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should create batch transactions in chunks of the configured size")
+    void testCreateTransactionsInChunks() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(2);
+        when(transactionService.createTransactions(anyList()))
+                .thenReturn(List.of(okItem(1L), okItem(2L)))
+                .thenReturn(List.of(okItem(3L)));
+        String json = """
+                [{"account_id":1,"operation_type_id":1,"amount":10.0},
+                 {"account_id":1,"operation_type_id":4,"amount":20.0},
+                 {"account_id":2,"operation_type_id":1,"amount":30.0}]""";
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, item -> item.getTransaction().getTransactionId())
+                .containsExactly(
+                        tuple(0, 1L),
+                        tuple(1, 2L),
+                        tuple(2, 3L)
+                );
+        verify(transactionService, times(2)).createTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("Should read a cbor batch payload the same way as a json one")
+    void testCreateTransactionsFromCborBatch() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(okItem(1L), okItem(2L)));
+        List<TransactionReq> transactionReqs = List.of(
+                TransactionReq.builder().accountId(1L).operationTypeId(1L).amount(1_050L).build(),
+                TransactionReq.builder().accountId(2L).operationTypeId(4L).amount(2_000L).build());
+        byte[] cbor = CBORMapper.builder().build().writeValueAsBytes(transactionReqs);
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(new ByteArrayInputStream(cbor),
+                MediaType.APPLICATION_CBOR);
+
+        // Assert
+        assertThat(response.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(tuple(0, HttpStatus.OK.value()), tuple(1, HttpStatus.OK.value()));
+        verify(transactionService).createTransactions(transactionReqs);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid batch items without sending them to the service")
+    void testCreateTransactionsRejectsInvalidItems() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(okItem(1L)));
+        String json = """
+                [{"account_id":1,"operation_type_id":1,"amount":-5.0},
+                 {"account_id":1,"operation_type_id":1,"amount":5.0}]""";
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getBody()).hasSize(2);
+        assertThat(response.getBody().get(0))
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(0, HttpStatus.BAD_REQUEST.value());
+        assertThat(response.getBody().get(0).getError())
+                .extracting(ErrorDetailRes::getErrCode)
+                .isEqualTo(ErrorInfo.INVALID_TRANSACTION_REQUEST.getErrCode());
+        assertThat(response.getBody().get(1))
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(1, HttpStatus.OK.value());
+        verify(transactionService).createTransactions(List.of(TransactionReq.builder()
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(500L)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Should reject batch items of unknown accounts without sending them to the service")
+    void testCreateTransactionsRejectsUnknownAccounts() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(accountCache.find(99L)).thenReturn(null);
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(okItem(1L)));
+        String json = """
+                [{"account_id":99,"operation_type_id":1,"amount":5.0},
+                 {"account_id":1,"operation_type_id":1,"amount":5.0}]""";
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(tuple(0, HttpStatus.NOT_FOUND.value()), tuple(1, HttpStatus.OK.value()));
+        assertThat(response.getBody().get(0).getError())
+                .extracting(ErrorDetailRes::getErrCode)
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+        verify(transactionService).createTransactions(List.of(TransactionReq.builder()
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(500L)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Should count every rejected batch item in the error metrics")
+    void testCreateTransactionsCountsRejectedItems() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(accountCache.find(99L)).thenReturn(null);
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(TransactionBatchItemRes.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(ErrorDetailRes.builder()
+                        .errCode(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrCode())
+                        .errMsg(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrMsg())
+                        .build())
+                .build()));
+        String json = """
+                [{"account_id":1,"operation_type_id":1,"amount":-5.0},
+                 {"account_id":99,"operation_type_id":1,"amount":5.0},
+                 {"account_id":1,"operation_type_id":9,"amount":5.0}]""";
+
+        // Act
+        batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        verify(bankingMetrics).countError(ErrorInfo.INVALID_TRANSACTION_REQUEST);
+        verify(bankingMetrics).countError(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        verify(bankingMetrics).countError(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Should report every item of a chunk as failed when the chunk is rolled back")
+    void testCreateTransactionsReportsRolledBackChunk() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(transactionService.createTransactions(anyList()))
+                .thenThrow(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+        String json = """
+                [{"account_id":1,"operation_type_id":1,"amount":10.0},
+                 {"account_id":2,"operation_type_id":1,"amount":20.0}]""";
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getBody())
+                .extracting(item -> item.getError().getErrCode())
+                .containsOnly(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrCode());
+        assertThat(response.getBody()).extracting(TransactionBatchItemRes::getIndex).containsExactly(0, 1);
+        verify(bankingMetrics, times(2)).countError(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB);
+    }
+
+    @Test
+    @DisplayName("Should throw TransactionServiceException when the batch payload is not an array")
+    void testCreateTransactionsWithNonArrayPayload() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+
+        // Act & Assert
+        assertThatThrownBy(() -> batchController.createTransactions(body("{\"account_id\":1}"), MediaType.APPLICATION_JSON))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                .isEqualTo(ErrorInfo.MALFORMED_TRANSACTION_BATCH);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should process items read before a malformed element and report the malformed index")
+    void testCreateTransactionsWithTruncatedPayload() {
+        // Arrange
+        TransactionControllerImpl batchController = batchTransactionController(50);
+        when(transactionService.createTransactions(anyList())).thenReturn(List.of(okItem(1L)));
+        String json = "[{\"account_id\":1,\"operation_type_id\":1,\"amount\":10.0}, {\"account_id\":2,\"operation_type_id";
+
+        // Act
+        ResponseEntity<List<TransactionBatchItemRes>> response = batchController.createTransactions(body(json), MediaType.APPLICATION_JSON);
+
+        // Assert
+        assertThat(response.getBody())
+                .extracting(TransactionBatchItemRes::getIndex, TransactionBatchItemRes::getStatus)
+                .containsExactly(
+                        tuple(0, HttpStatus.OK.value()),
+                        tuple(1, HttpStatus.BAD_REQUEST.value())
+                );
+    }
 }
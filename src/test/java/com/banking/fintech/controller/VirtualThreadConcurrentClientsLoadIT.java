@@ -0,0 +1,9 @@
+package com.banking.fintech.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+@DisplayName("Concurrent clients load Integration Tests with virtual request threads")
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadConcurrentClientsLoadIT extends AbstractConcurrentClientsLoadIT {
+}
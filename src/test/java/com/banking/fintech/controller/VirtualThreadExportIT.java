@@ -0,0 +1,94 @@
+package com.banking.fintech.controller;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.concurrency.ConnectionPoolLimiter;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams more exports than the connection pool limiter has permits, with requests on virtual threads, and checks that
+ * the async dispatch of every export gives its permit back.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false",
+        "spring.threads.virtual.enabled=true"
+})
+@DisplayName("Export with virtual request threads Integration Tests")
+class VirtualThreadExportIT extends AbstractEmbeddedPostgresIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConnectionPoolLimiter connectionPoolLimiter;
+
+    private HttpClient httpClient;
+    private String sessionCookie;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        httpClient = HttpClient.newHttpClient();
+        HttpResponse<Void> loginResponse = httpClient.send(HttpRequest.newBuilder(uri("/login"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("username=user@fintech.banking.com&password=password@fintech.banking.com"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        sessionCookie = loginResponse.headers().firstValue("Set-Cookie").orElseThrow().split(";")[0];
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @Test
+    @DisplayName("Should give back the permit of every export once it is streamed")
+    void shouldReleasePermitAfterExport() throws Exception {
+        // Arrange
+        Long accountId = accountRepository.save(AccountEntity.builder().documentNumber("12345678907").build()).getAccountId();
+        jdbcTemplate.update("INSERT INTO transactions (account_id, operation_type_id, amount, balance, event_date) VALUES (?, 4, 1000, 1000, now())",
+                accountId);
+        int exports = connectionPoolLimiter.getMaxPermits() + 5;
+
+        // Act
+        for (int i = 0; i < exports; i++) {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(uri("/accounts/" + accountId + "/transactions/export?format=csv"))
+                    .header("Cookie", sessionCookie)
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body().lines()).hasSize(2);
+        }
+        // the async dispatch may complete just after the client read the last byte
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (connectionPoolLimiter.getAvailablePermits() < connectionPoolLimiter.getMaxPermits() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        // Assert
+        assertThat(connectionPoolLimiter.getAvailablePermits()).isEqualTo(connectionPoolLimiter.getMaxPermits());
+    }
+}
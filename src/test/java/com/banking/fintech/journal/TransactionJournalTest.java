@@ -0,0 +1,162 @@
+package com.banking.fintech.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TransactionJournal Unit Tests")
+class TransactionJournalTest {
+
+    private static final long SEGMENT_SIZE = 4L * JournalSegment.RECORD_SIZE;
+
+    @TempDir
+    private Path journalDir;
+
+    private TransactionJournal transactionJournal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transactionJournal.close();
+    }
+
+    private TransactionJournal reopen() throws IOException {
+        transactionJournal.close();
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+        return transactionJournal;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(journalDir)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read back the appended entries in sequence order")
+    void shouldReadBackAppendedEntries() {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+
+        // Act
+        long firstSequence = transactionJournal.append(1L, 4L, 12_345L);
+        long secondSequence = transactionJournal.append(2L, 1L, 500L);
+        List<JournalEntry> journalEntries = transactionJournal.read(1L, 10);
+
+        // Assert
+        assertThat(firstSequence).isEqualTo(1L);
+        assertThat(secondSequence).isEqualTo(2L);
+        assertThat(journalEntries).containsExactly(new JournalEntry(1L, 1L, 4L, 12_345L), new JournalEntry(2L, 2L, 1L, 500L));
+        assertThat(transactionJournal.read(3L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should roll over to a new segment file when the current one is full")
+    void shouldRollOverSegments() throws IOException {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+
+        // Act
+        for (long i = 1; i <= 10; i++) {
+            transactionJournal.append(i, 1L, i * 100);
+        }
+
+        // Assert
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(transactionJournal.read(3L, 4)).extracting(JournalEntry::sequence).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(transactionJournal.read(10L, 4)).containsExactly(new JournalEntry(10L, 10L, 1L, 1_000L));
+    }
+
+    @Test
+    @DisplayName("Should recover the last sequence, checkpoint and journal id after a reopen")
+    void shouldRecoverAfterReopen() throws IOException {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+        for (long i = 1; i <= 6; i++) {
+            transactionJournal.append(i, 1L, i);
+        }
+        transactionJournal.checkpoint(2L);
+        String trackingId = transactionJournal.trackingId(3L);
+
+        // Act
+        reopen();
+
+        // Assert
+        assertThat(transactionJournal.getLastSequence()).isEqualTo(6L);
+        assertThat(transactionJournal.getCheckpoint()).isEqualTo(2L);
+        assertThat(transactionJournal.trackingId(3L)).isEqualTo(trackingId);
+        assertThat(transactionJournal.read(3L, 10)).extracting(JournalEntry::sequence).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(transactionJournal.append(7L, 1L, 7L)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the end of the journal on reopen and overwrite it")
+    void shouldDropTornRecordOnReopen() throws IOException {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+        transactionJournal.append(1L, 1L, 100L);
+        transactionJournal.append(2L, 1L, 200L);
+        try (FileChannel fileChannel = FileChannel.open(segmentFiles().getFirst(), StandardOpenOption.WRITE)) {
+            fileChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 999L), JournalSegment.RECORD_SIZE + 32L);
+        }
+
+        // Act
+        reopen();
+        long nextSequence = transactionJournal.append(3L, 1L, 300L);
+
+        // Assert
+        assertThat(nextSequence).isEqualTo(2L);
+        assertThat(transactionJournal.read(1L, 10)).containsExactly(new JournalEntry(1L, 1L, 1L, 100L), new JournalEntry(2L, 3L, 1L, 300L));
+    }
+
+    @Test
+    @DisplayName("Should delete the segments whose entries are all before the checkpoint")
+    void shouldDeleteAppliedSegmentsOnCheckpoint() throws IOException {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+        for (long i = 1; i <= 10; i++) {
+            transactionJournal.append(i, 1L, i);
+        }
+
+        // Act
+        transactionJournal.checkpoint(7L);
+
+        // Assert
+        assertThat(segmentFiles()).extracting(path -> path.getFileName().toString())
+                .containsExactly("segment-00000000000000000005.journal", "segment-00000000000000000009.journal");
+        assertThat(transactionJournal.read(8L, 10)).extracting(JournalEntry::sequence).containsExactly(8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should continue the sequence after the checkpoint when every segment was deleted")
+    void shouldContinueSequenceAfterCheckpointWithoutSegments() throws IOException {
+        // Arrange
+        transactionJournal = new TransactionJournal(journalDir, SEGMENT_SIZE);
+        for (long i = 1; i <= 5; i++) {
+            transactionJournal.append(i, 1L, i);
+        }
+        transactionJournal.checkpoint(5L);
+        for (Path segmentFile : segmentFiles()) {
+            Files.delete(segmentFile);
+        }
+
+        // Act
+        reopen();
+
+        // Assert
+        assertThat(transactionJournal.getLastSequence()).isEqualTo(5L);
+        assertThat(transactionJournal.append(6L, 1L, 6L)).isEqualTo(6L);
+        assertThat(transactionJournal.read(6L, 10)).containsExactly(new JournalEntry(6L, 6L, 1L, 6L));
+    }
+}
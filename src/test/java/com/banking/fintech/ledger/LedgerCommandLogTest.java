@@ -0,0 +1,121 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.service.OpenDebit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LedgerCommandLog Unit Tests")
+class LedgerCommandLogTest {
+
+    private static final LedgerCommand LOAD_ACCOUNT = new LedgerCommand.LoadAccount(1L, -500L, 500L, List.of(new OpenDebit(9L, -500L)));
+    private static final LedgerCommand RESERVE_TRANSACTION_IDS = new LedgerCommand.ReserveTransactionIds(100L, 50);
+    private static final LedgerCommand POST_TRANSACTION = new LedgerCommand.PostTransaction(1L, 4L, TransactionOperationType.CREDIT,
+            1_250L, Instant.parse("2026-01-01T10:15:30.123456Z"), "key-1");
+
+    @TempDir
+    private Path ledgerDir;
+
+    private static List<LedgerCommand> replay(LedgerCommandLog ledgerCommandLog, long afterSequence) throws IOException {
+        List<LedgerCommand> commands = new ArrayList<>();
+        ledgerCommandLog.replay(afterSequence, (sequence, command) -> commands.add(command));
+        return commands;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> paths = Files.list(ledgerDir)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay the flushed commands after reopening the log")
+    void shouldReplayFlushedCommandsAfterReopen() throws IOException {
+        // Arrange
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            ledgerCommandLog.append(1L, LOAD_ACCOUNT);
+            ledgerCommandLog.append(2L, RESERVE_TRANSACTION_IDS);
+            ledgerCommandLog.append(3L, POST_TRANSACTION);
+            ledgerCommandLog.flush();
+        }
+
+        // Act
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+
+            // Assert
+            assertThat(ledgerCommandLog.getLastSequence()).isEqualTo(3L);
+            assertThat(replay(ledgerCommandLog, 0L)).containsExactly(LOAD_ACCOUNT, RESERVE_TRANSACTION_IDS, POST_TRANSACTION);
+            assertThat(replay(ledgerCommandLog, 2L)).containsExactly(POST_TRANSACTION);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut off a torn command at the end of the log and append after the last whole one")
+    void shouldCutOffTornCommand() throws IOException {
+        // Arrange
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            ledgerCommandLog.append(1L, LOAD_ACCOUNT);
+            ledgerCommandLog.flush();
+        }
+        try (FileChannel fileChannel = FileChannel.open(segmentFiles().getFirst(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            fileChannel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        // Act
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            ledgerCommandLog.append(2L, RESERVE_TRANSACTION_IDS);
+            ledgerCommandLog.flush();
+        }
+
+        // Assert
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            assertThat(replay(ledgerCommandLog, 0L)).containsExactly(LOAD_ACCOUNT, RESERVE_TRANSACTION_IDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay across rolled segments and delete the segments before a snapshot")
+    void shouldRollAndDeleteSegments() throws IOException {
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            // Arrange
+            ledgerCommandLog.append(1L, LOAD_ACCOUNT);
+            ledgerCommandLog.append(2L, RESERVE_TRANSACTION_IDS);
+            ledgerCommandLog.roll(3L);
+            ledgerCommandLog.append(3L, POST_TRANSACTION);
+            ledgerCommandLog.flush();
+            List<LedgerCommand> replayedCommands = replay(ledgerCommandLog, 1L);
+
+            // Act
+            ledgerCommandLog.deleteBefore(2L);
+
+            // Assert
+            assertThat(replayedCommands).containsExactly(RESERVE_TRANSACTION_IDS, POST_TRANSACTION);
+            assertThat(segmentFiles()).extracting(path -> path.getFileName().toString())
+                    .containsExactly("commands-00000000000000000003.log");
+            assertThat(replay(ledgerCommandLog, 2L)).containsExactly(POST_TRANSACTION);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a command that does not follow the last sequence")
+    void shouldRefuseOutOfOrderCommand() throws IOException {
+        try (LedgerCommandLog ledgerCommandLog = new LedgerCommandLog(ledgerDir)) {
+            // Act & Assert
+            assertThatThrownBy(() -> ledgerCommandLog.append(2L, LOAD_ACCOUNT)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
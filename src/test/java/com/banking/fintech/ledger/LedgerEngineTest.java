@@ -0,0 +1,146 @@
+package com.banking.fintech.ledger;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.service.OpenDebit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LedgerEngine Unit Tests")
+class LedgerEngineTest {
+
+    private static final Instant EVENT_DATE = Instant.parse("2026-01-01T00:00:00Z");
+
+    private LedgerEngine ledgerEngine;
+
+    @BeforeEach
+    void setUp() {
+        ledgerEngine = new LedgerEngine(2);
+        ledgerEngine.apply(1L, new LedgerCommand.ReserveTransactionIds(100L, 50));
+        ledgerEngine.apply(2L, new LedgerCommand.LoadAccount(1L, 0L, 0L, List.of()));
+    }
+
+    private LedgerPosting post(long accountId, TransactionOperationType operationType, long amount, String idempotencyKey) {
+        return ledgerEngine.apply(ledgerEngine.getLastSequence() + 1, new LedgerCommand.PostTransaction(accountId,
+                TransactionOperationType.CREDIT.equals(operationType) ? 4L : 1L, operationType, amount, EVENT_DATE, idempotencyKey));
+    }
+
+    private static byte[] snapshot(LedgerEngine ledgerEngine) throws IOException {
+        ByteArrayOutputStream snapshotBytes = new ByteArrayOutputStream();
+        ledgerEngine.writeSnapshot(new DataOutputStream(snapshotBytes));
+        return snapshotBytes.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should keep a debit open with its negative amount as balance")
+    void shouldKeepDebitOpen() {
+        // Act
+        LedgerPosting ledgerPosting = post(1L, TransactionOperationType.DEBIT, 5_000L, null);
+
+        // Assert
+        assertThat(ledgerPosting.transactionId()).isEqualTo(100L);
+        assertThat(ledgerPosting.amount()).isEqualTo(-5_000L);
+        assertThat(ledgerPosting.balance()).isEqualTo(-5_000L);
+        assertThat(ledgerPosting.accountBalance()).isEqualTo(-5_000L);
+        assertThat(ledgerPosting.accountOutstandingDebt()).isEqualTo(5_000L);
+        assertThat(ledgerEngine.getOpenDebits(1L)).containsExactly(new OpenDebit(100L, -5_000L));
+    }
+
+    @Test
+    @DisplayName("Should discharge the open debits oldest first and keep the rest of the credit as its balance")
+    void shouldDischargeOpenDebitsOldestFirst() {
+        // Arrange
+        post(1L, TransactionOperationType.DEBIT, 5_000L, null);
+        post(1L, TransactionOperationType.DEBIT, 2_350L, null);
+        post(1L, TransactionOperationType.DEBIT, 1_880L, null);
+
+        // Act
+        LedgerPosting firstCredit = post(1L, TransactionOperationType.CREDIT, 6_000L, null);
+        LedgerPosting secondCredit = post(1L, TransactionOperationType.CREDIT, 10_000L, null);
+
+        // Assert
+        assertThat(firstCredit.balance()).isZero();
+        assertThat(firstCredit.dischargedDebits()).containsExactly(new OpenDebit(100L, 0L), new OpenDebit(101L, -1_350L));
+        assertThat(secondCredit.balance()).isEqualTo(6_770L);
+        assertThat(secondCredit.dischargedDebits()).containsExactly(new OpenDebit(101L, 0L), new OpenDebit(102L, 0L));
+        assertThat(ledgerEngine.getOpenDebits(1L)).isEmpty();
+        assertThat(ledgerEngine.getBalance(1L)).isEqualTo(6_770L);
+        assertThat(ledgerEngine.getOutstandingDebt(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remember only the most recent idempotency keys, oldest forgotten first")
+    void shouldForgetOldestIdempotencyKeys() {
+        // Act
+        LedgerPosting first = post(1L, TransactionOperationType.DEBIT, 1L, "key-1");
+        LedgerPosting second = post(1L, TransactionOperationType.DEBIT, 1L, "key-2");
+        LedgerPosting third = post(1L, TransactionOperationType.DEBIT, 1L, "key-3");
+
+        // Assert
+        assertThat(ledgerEngine.findIdempotencyKey("key-1")).isNull();
+        assertThat(ledgerEngine.findIdempotencyKey("key-2")).isEqualTo(second.sequence());
+        assertThat(ledgerEngine.findIdempotencyKey("key-3")).isEqualTo(third.sequence());
+        assertThat(first.idempotencyKey()).isEqualTo("key-1");
+    }
+
+    @Test
+    @DisplayName("Should refuse a posting to an account that is not loaded or without a reserved transaction id")
+    void shouldRefuseInvalidCommands() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            post(1L, TransactionOperationType.DEBIT, 1L, null);
+        }
+        long lastSequence = ledgerEngine.getLastSequence();
+
+        // Act & Assert
+        assertThatThrownBy(() -> post(2L, TransactionOperationType.DEBIT, 1L, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> post(1L, TransactionOperationType.DEBIT, 1L, null)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ledgerEngine.apply(lastSequence + 2, new LedgerCommand.LoadAccount(2L, 0L, 0L, List.of())))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(ledgerEngine.getLastSequence()).isEqualTo(lastSequence);
+        assertThat(ledgerEngine.getBalance(1L)).isEqualTo(-50L);
+    }
+
+    @Test
+    @DisplayName("Should give the same postings and snapshot bytes when replaying the commands after a snapshot")
+    void shouldReplayDeterministicallyFromSnapshot() throws IOException {
+        // Arrange
+        Random random = new Random(42);
+        List<LedgerCommand> commands = new ArrayList<>();
+        commands.add(new LedgerCommand.LoadAccount(2L, -700L, 700L, List.of(new OpenDebit(7L, -700L))));
+        commands.add(new LedgerCommand.ReserveTransactionIds(1_000L, 10_000));
+        for (int i = 0; i < 2_000; i++) {
+            TransactionOperationType operationType = random.nextInt(3) == 0 ? TransactionOperationType.CREDIT : TransactionOperationType.DEBIT;
+            commands.add(new LedgerCommand.PostTransaction(1L + random.nextInt(2), 1L, operationType, 1L + random.nextInt(10_000),
+                    EVENT_DATE.plusMillis(i), i % 7 == 0 ? "key-" + i : null));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            ledgerEngine.apply(ledgerEngine.getLastSequence() + 1, commands.get(i));
+        }
+        LedgerEngine restoredEngine = LedgerEngine.readSnapshot(new DataInputStream(new ByteArrayInputStream(snapshot(ledgerEngine))), 2);
+
+        // Act
+        List<LedgerPosting> ledgerPostings = new ArrayList<>();
+        List<LedgerPosting> replayedPostings = new ArrayList<>();
+        for (int i = 1_000; i < commands.size(); i++) {
+            ledgerPostings.add(ledgerEngine.apply(ledgerEngine.getLastSequence() + 1, commands.get(i)));
+            replayedPostings.add(restoredEngine.apply(restoredEngine.getLastSequence() + 1, commands.get(i)));
+        }
+
+        // Assert
+        assertThat(replayedPostings).isEqualTo(ledgerPostings);
+        assertThat(snapshot(restoredEngine)).isEqualTo(snapshot(ledgerEngine));
+    }
+}
@@ -0,0 +1,88 @@
+package com.banking.fintech.ledger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LedgerSnapshots Unit Tests")
+class LedgerSnapshotsTest {
+
+    @TempDir
+    private Path ledgerDir;
+
+    private static LedgerEngine engineAt(long lastSequence) {
+        LedgerEngine ledgerEngine = new LedgerEngine(10);
+        for (long sequence = 1; sequence <= lastSequence; sequence++) {
+            ledgerEngine.apply(sequence, new LedgerCommand.LoadAccount(sequence, -sequence, sequence, List.of()));
+        }
+        return ledgerEngine;
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> paths = Files.list(ledgerDir)) {
+            return paths.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a pending snapshot only once the db caught up with it")
+    void shouldLoadPendingSnapshotOnlyOncePromoted() throws IOException {
+        // Arrange
+        LedgerSnapshots ledgerSnapshots = new LedgerSnapshots(ledgerDir);
+        ledgerSnapshots.writePending(engineAt(3L));
+
+        // Act
+        long promotedBefore = ledgerSnapshots.promote(2L);
+        LedgerEngine engineBefore = ledgerSnapshots.loadLatest(10);
+        long promotedAfter = ledgerSnapshots.promote(3L);
+        LedgerEngine engineAfter = ledgerSnapshots.loadLatest(10);
+
+        // Assert
+        assertThat(promotedBefore).isZero();
+        assertThat(engineBefore.getLastSequence()).isZero();
+        assertThat(promotedAfter).isEqualTo(3L);
+        assertThat(engineAfter.getLastSequence()).isEqualTo(3L);
+        assertThat(engineAfter.getBalance(2L)).isEqualTo(-2L);
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest promoted snapshot")
+    void shouldKeepOnlyLatestPromotedSnapshot() throws IOException {
+        // Arrange
+        LedgerSnapshots ledgerSnapshots = new LedgerSnapshots(ledgerDir);
+        ledgerSnapshots.writePending(engineAt(2L));
+        ledgerSnapshots.writePending(engineAt(4L));
+        ledgerSnapshots.writePending(engineAt(6L));
+
+        // Act
+        long promoted = ledgerSnapshots.promote(5L);
+
+        // Assert
+        assertThat(promoted).isEqualTo(4L);
+        assertThat(files()).containsExactly("snapshot-00000000000000000004.snapshot", "snapshot-00000000000000000006.pending");
+    }
+
+    @Test
+    @DisplayName("Should refuse a corrupt snapshot")
+    void shouldRefuseCorruptSnapshot() throws IOException {
+        // Arrange
+        LedgerSnapshots ledgerSnapshots = new LedgerSnapshots(ledgerDir);
+        ledgerSnapshots.writePending(engineAt(2L));
+        ledgerSnapshots.promote(2L);
+        Path snapshotPath = ledgerDir.resolve("snapshot-00000000000000000002.snapshot");
+        byte[] snapshotBytes = Files.readAllBytes(snapshotPath);
+        snapshotBytes[30] ^= 1;
+        Files.write(snapshotPath, snapshotBytes);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ledgerSnapshots.loadLatest(10)).isInstanceOf(IOException.class);
+    }
+}
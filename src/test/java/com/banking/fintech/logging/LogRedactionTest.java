@@ -0,0 +1,34 @@
+package com.banking.fintech.logging;
+
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.service.AccountSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LogRedaction Unit Tests")
+class LogRedactionTest {
+
+    @Test
+    @DisplayName("Should mask all but the last two characters of the document number")
+    void shouldMaskAllButLastTwoCharacters() {
+        // Act & Assert
+        assertThat(LogRedaction.redactDocumentNumber("12345678901")).isEqualTo("*********01");
+        assertThat(LogRedaction.redactDocumentNumber("7")).isEqualTo("7");
+        assertThat(LogRedaction.redactDocumentNumber(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the document number out of the toString of the account types")
+    void shouldKeepDocumentNumberOutOfToString() {
+        // Arrange
+        AccountReq accountReq = AccountReq.builder().documentNumber("12345678901").build();
+        AccountSummary accountSummary = new AccountSummary(1L, "12345678901");
+
+        // Act & Assert
+        assertThat(accountReq.toString()).doesNotContain("12345678901").contains("documentNumber=*********01");
+        assertThat(accountSummary.toString()).doesNotContain("12345678901").contains("documentNumber=*********01");
+        assertThat(accountReq.getDocumentNumber()).isEqualTo("12345678901");
+    }
+}
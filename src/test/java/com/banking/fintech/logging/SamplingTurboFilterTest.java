@@ -0,0 +1,107 @@
+package com.banking.fintech.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SamplingTurboFilter Unit Tests")
+class SamplingTurboFilterTest {
+
+    private LoggerContext loggerContext;
+    private SamplingTurboFilter samplingTurboFilter;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        samplingTurboFilter = new SamplingTurboFilter();
+        samplingTurboFilter.setLoggerPrefix("com.banking.fintech.service");
+        samplingTurboFilter.setSampleRate(10);
+    }
+
+    @Test
+    @DisplayName("Should let through one in every sampleRate INFO lines of the sampled loggers")
+    void shouldLetThroughOneInSampleRateInfoLines() {
+        // Arrange
+        Logger logger = loggerContext.getLogger("com.banking.fintech.service.TransactionServiceImpl");
+
+        // Act
+        List<FilterReply> replies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            replies.add(samplingTurboFilter.decide(null, logger, Level.INFO, "In createTransaction", null, null));
+        }
+
+        // Assert
+        assertThat(replies).filteredOn(FilterReply.NEUTRAL::equals).hasSize(10);
+        assertThat(replies).filteredOn(FilterReply.DENY::equals).hasSize(90);
+        assertThat(replies.getFirst()).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("Should never sample warnings and errors")
+    void shouldNeverSampleWarningsAndErrors() {
+        // Arrange
+        Logger logger = loggerContext.getLogger("com.banking.fintech.service.TransactionServiceImpl");
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(samplingTurboFilter.decide(null, logger, Level.WARN, "Retrying", null, null)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(samplingTurboFilter.decide(null, logger, Level.ERROR, "Failed", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the lines of other loggers alone")
+    void shouldLeaveOtherLoggersAlone() {
+        // Arrange
+        Logger logger = loggerContext.getLogger("com.banking.fintech.controller.TransactionControllerImpl");
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(samplingTurboFilter.decide(null, logger, Level.INFO, "In createTransaction", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not use up a sample on level checks without a message")
+    void shouldNotCountLevelChecks() {
+        // Arrange
+        Logger logger = loggerContext.getLogger("com.banking.fintech.service.TransactionServiceImpl");
+        samplingTurboFilter.decide(null, logger, Level.INFO, "In createTransaction", null, null);
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            assertThat(samplingTurboFilter.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        FilterReply reply = samplingTurboFilter.decide(null, logger, Level.INFO, "In createTransaction", null, null);
+
+        // Assert
+        assertThat(reply).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    @DisplayName("Should not use up a sample on lines below the level of the logger")
+    void shouldNotCountLinesBelowLoggerLevel() {
+        // Arrange
+        Logger logger = loggerContext.getLogger("com.banking.fintech.service.TransactionServiceImpl");
+        logger.setLevel(Level.INFO);
+        samplingTurboFilter.decide(null, logger, Level.INFO, "Saved transaction entity", null, null);
+
+        // Act
+        for (int i = 0; i < 9; i++) {
+            assertThat(samplingTurboFilter.decide(null, logger, Level.DEBUG, "In createTransaction", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        FilterReply reply = samplingTurboFilter.decide(null, logger, Level.INFO, "Saved transaction entity", null, null);
+
+        // Assert
+        assertThat(reply).isEqualTo(FilterReply.DENY);
+    }
+}
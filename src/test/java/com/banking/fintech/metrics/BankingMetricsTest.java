@@ -0,0 +1,106 @@
+package com.banking.fintech.metrics;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.ErrorDetailRes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BankingMetrics Unit Tests")
+class BankingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BankingMetrics bankingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bankingMetrics = new BankingMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should register an error counter for every error code and count the errors by code")
+    void shouldCountErrorsByCode() {
+        // Act
+        bankingMetrics.countError(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        bankingMetrics.countError(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+
+        // Assert
+        assertThat(meterRegistry.find("banking.errors").counters()).hasSize(ErrorInfo.values().length);
+        assertThat(meterRegistry.get("banking.errors").tag("code", ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode()).counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("banking.errors").tag("code", ErrorInfo.UNKNOWN_SERVER_ERROR.getErrCode()).counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should count the error of a batch item by its code")
+    void shouldCountBatchItemErrorByCode() {
+        // Act
+        bankingMetrics.countError(ErrorDetailRes.builder().errCode(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode()).build());
+        bankingMetrics.countError((ErrorDetailRes) null);
+
+        // Assert
+        assertThat(meterRegistry.get("banking.errors").tag("code", ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode()).counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.find("banking.errors").counters()).map(counter -> counter.count()).containsOnly(0.0, 1.0);
+    }
+
+    @Test
+    @DisplayName("Should time the commit once per db transaction however many times it is asked to")
+    void shouldTimeCommitOncePerTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        bankingMetrics.timeCommit();
+        bankingMetrics.timeCommit();
+
+        // Act
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // Assert
+        assertThat(synchronizations).hasSize(1);
+        assertThat(meterRegistry.get("banking.transactions.commit").timer().count()).isEqualTo(1);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not time anything outside of a db transaction")
+    void shouldNotTimeCommitOutsideOfTransaction() {
+        // Act
+        bankingMetrics.timeCommit();
+
+        // Assert
+        assertThat(meterRegistry.get("banking.transactions.commit").timer().count()).isZero();
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should time a mono on completion and on error")
+    void shouldTimeMonoOnCompletionAndError() {
+        // Act
+        Integer result = BankingMetrics.timed(bankingMetrics.getCreateTransactionTimer(), Mono.just(1)).block();
+        Mono<Object> failing = BankingMetrics.timed(bankingMetrics.getCreateTransactionTimer(), Mono.error(new IllegalStateException()));
+
+        // Assert
+        assertThat(result).isEqualTo(1);
+        assertThatThrownBy(failing::block).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("banking.transactions.create").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.banking.fintech.metrics;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that only the health endpoint is served without login, and that a scraper reads the metrics with basic auth.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.sql.init.mode=always",
+        "spring.jpa.show-sql=false"
+})
+@DisplayName("Metrics endpoint Integration Tests")
+class MetricsEndpointIT extends AbstractEmbeddedPostgresIT {
+
+    @LocalServerPort
+    private int port;
+
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    private HttpResponse<String> get(String path, String authorization) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (authorization != null) {
+            request.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String basicAuth(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should serve the health endpoint without login")
+    void shouldServeHealthWithoutLogin() throws Exception {
+        // Act
+        HttpResponse<String> response = get("/actuator/health", null);
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should serve the metrics only to an authenticated scraper")
+    void shouldServeMetricsOnlyWithLogin() throws Exception {
+        // Act
+        HttpResponse<String> anonymous = get("/actuator/prometheus", null);
+        HttpResponse<String> wrongPassword = get("/actuator/prometheus", basicAuth("user@fintech.banking.com", "wrong"));
+        HttpResponse<String> scraper = get("/actuator/prometheus",
+                basicAuth("user@fintech.banking.com", "password@fintech.banking.com"));
+
+        // Assert
+        assertThat(anonymous.statusCode()).isEqualTo(401);
+        assertThat(wrongPassword.statusCode()).isEqualTo(401);
+        assertThat(scraper.statusCode()).isEqualTo(200);
+        assertThat(scraper.body()).contains("jvm_memory_used_bytes");
+    }
+}
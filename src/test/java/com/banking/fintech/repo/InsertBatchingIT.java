@@ -0,0 +1,98 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.entity.TransactionEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@DisplayName("Insert batching Integration Tests")
+class InsertBatchingIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should insert accounts in jdbc batches with ids allocated from the pooled sequence")
+    void shouldBatchAccountInserts() {
+        // Arrange
+        List<AccountEntity> accountEntities = IntStream.range(0, ROWS)
+                .mapToObj(i -> AccountEntity.builder().documentNumber(String.valueOf(10_000_000L + i)).build())
+                .toList();
+
+        // Act
+        long startNanos = System.nanoTime();
+        List<AccountEntity> saved = transactionTemplate.execute(status -> accountRepository.saveAll(accountEntities));
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Assert
+        log.info("Inserted {} accounts in {} ms with {} prepared statements", ROWS, elapsedNanos / 1_000_000, statistics.getPrepareStatementCount());
+        assertThat(saved).extracting(AccountEntity::getAccountId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // one insert statement per batch plus one sequence call per allocated id block, an identity column needs one per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+
+    @Test
+    @DisplayName("Should insert transactions in jdbc batches")
+    void shouldBatchTransactionInserts() {
+        // Arrange
+        AccountEntity accountEntity = accountRepository.save(AccountEntity.builder().documentNumber("12345678900").build());
+        OperationTypeEntity operationTypeEntity = OperationTypeEntity.builder().operationTypeId(1L).build();
+        List<TransactionEntity> transactionEntities = IntStream.range(0, ROWS)
+                .mapToObj(i -> TransactionEntity.builder()
+                        .accountEntity(accountEntity)
+                        .operationTypeEntity(operationTypeEntity)
+                        .amount(-100L)
+                        .balance(-100L)
+                        .eventDate(Instant.now())
+                        .build())
+                .toList();
+        statistics.clear();
+
+        // Act
+        long startNanos = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(transactionEntities));
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Assert
+        log.info("Inserted {} transactions in {} ms with {} prepared statements", ROWS, elapsedNanos / 1_000_000, statistics.getPrepareStatementCount());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2L * ROWS / BATCH_SIZE + 2);
+    }
+}
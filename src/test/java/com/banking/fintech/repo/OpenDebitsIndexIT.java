@@ -0,0 +1,97 @@
+package com.banking.fintech.repo;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.service.OpenDebit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Open debits index Integration Tests")
+class OpenDebitsIndexIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ROWS = 2000;
+    private static final int OPEN_DEBIT_EVERY = 100;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private AccountEntity accountEntity;
+
+    @BeforeEach
+    void setUp() {
+        accountEntity = accountRepository.save(AccountEntity.builder().documentNumber("12345678902").build());
+        OperationTypeEntity operationTypeEntity = OperationTypeEntity.builder().operationTypeId(1L).build();
+        Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<TransactionEntity> transactionEntities = IntStream.range(0, ROWS)
+                .mapToObj(i -> TransactionEntity.builder()
+                        .accountEntity(accountEntity)
+                        .operationTypeEntity(operationTypeEntity)
+                        .amount(-1000L)
+                        .balance(i % OPEN_DEBIT_EVERY == 0 ? -1000L : 0L)
+                        .eventDate(start.plusSeconds(ROWS - i))
+                        .build())
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(transactionEntities));
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+    }
+
+    @Test
+    @DisplayName("Should read the open debits of an account with an index only scan in discharge order")
+    void shouldReadOpenDebitsWithIndexOnlyScan() {
+        // Act
+        // the other tests leave the table statistics in any state, so rather than relying on the costs, the plans
+        // that cannot come from the open debits index are ruled out and the index must still serve the query in order
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_sort = off");
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT transaction_id, balance FROM transactions WHERE account_id = ? AND balance < 0 "
+                            + "ORDER BY event_date, transaction_id",
+                    String.class, accountEntity.getAccountId());
+        });
+
+        // Assert
+        assertThat(String.join("\n", plan))
+                .contains("Index Only Scan using transactions_open_debits_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("Should return only the open debits, oldest first, and drop settled debits")
+    void shouldReturnOnlyOpenDebitsInEventDateOrder() {
+        // Act
+        List<OpenDebit> openDebits = transactionRepository.findOpenDebits(accountEntity.getAccountId());
+        OpenDebit oldest = openDebits.getFirst();
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.updateBalance(oldest.transactionId(), 0L));
+        List<OpenDebit> remaining = transactionRepository.findOpenDebits(accountEntity.getAccountId());
+
+        // Assert
+        assertThat(openDebits).hasSize(ROWS / OPEN_DEBIT_EVERY).allMatch(openDebit -> openDebit.balance() == -1000L);
+        // later saved transactions carry earlier event dates, so the open debits come back in reverse id order
+        assertThat(openDebits).extracting(OpenDebit::transactionId).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(remaining).hasSize(ROWS / OPEN_DEBIT_EVERY - 1).doesNotContain(oldest);
+    }
+}
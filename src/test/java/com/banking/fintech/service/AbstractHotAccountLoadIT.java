@@ -0,0 +1,115 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent debits and credits at one account and reports latency and db connection usage of the configured
+ * execution mode, the subclasses run it once per mode.
+ */
+@Slf4j
+abstract class AbstractHotAccountLoadIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int CLIENTS = 32;
+    private static final int REQUESTS_PER_CLIENT = 50;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should keep the balances of a hot account consistent under concurrent debits and credits")
+    void shouldKeepHotAccountConsistent() throws Exception {
+        // Arrange
+        Long accountId = accountRepository.save(AccountEntity.builder().documentNumber("98765432100").build()).getAccountId();
+        HikariPoolMXBean hikariPool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicInteger peakActiveConnections = new AtomicInteger();
+        Thread sampler = Thread.ofPlatform().start(() -> {
+            while (sampling.get()) {
+                peakActiveConnections.accumulateAndGet(hikariPool.getActiveConnections(), Math::max);
+                Thread.onSpinWait();
+            }
+        });
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        long startNanos = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                long operationTypeId = client % 2 == 0 ? 1L : 4L;
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long requestStartNanos = System.nanoTime();
+                        transactionService.createTransaction(TransactionReq.builder()
+                                .accountId(accountId)
+                                .operationTypeId(operationTypeId)
+                                .amount(1000L)
+                                .build());
+                        latenciesNanos.add(System.nanoTime() - requestStartNanos);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        sampling.set(false);
+        sampler.join();
+
+        // Assert
+        List<Long> sortedLatencies = latenciesNanos.stream().sorted().toList();
+        log.info("{}: {} requests in {} ms, p50: {} ms, p99: {} ms, peak active db connections: {}",
+                getClass().getSimpleName(), sortedLatencies.size(), elapsedNanos / 1_000_000,
+                percentileMillis(sortedLatencies, 0.50), percentileMillis(sortedLatencies, 0.99), peakActiveConnections.get());
+
+        List<TransactionEntity> accountTransactions = transactionRepository.findAll().stream()
+                .filter(transactionEntity -> transactionEntity.getAccountEntity().getAccountId().equals(accountId))
+                .toList();
+        assertThat(accountTransactions).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+        // a credit moves its amount into the balances of the debits it discharges and keeps the rest, so no amount is lost
+        assertThat(accountTransactions.stream().mapToLong(TransactionEntity::getBalance).sum())
+                .isEqualTo(accountTransactions.stream().mapToLong(TransactionEntity::getAmount).sum());
+        assertThat(accountTransactions)
+                .filteredOn(transactionEntity -> transactionEntity.getAmount() < 0)
+                .allSatisfy(debit -> assertThat(debit.getBalance()).isBetween(debit.getAmount(), 0L));
+    }
+
+    private double percentileMillis(List<Long> sortedLatenciesNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatenciesNanos.size()) - 1;
+        return sortedLatenciesNanos.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AccountReq;
+import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.exception.AccountServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Copies batches of accounts into the db, and checks the returned ids against the rows the db holds, next to accounts
+ * created one at a time before and after, which take their ids from the same sequence.
+ */
+@Slf4j
+@DisplayName("Account batch Integration Tests")
+class AccountBatchIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ACCOUNTS = 100_000;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should copy a batch of accounts and return their ids in the order of the batch")
+    void shouldCopyAccountsAndReturnIdsInOrder() {
+        // Arrange
+        AccountRes accountBefore = accountService.createAccount(AccountReq.builder().documentNumber("1").build());
+        long startNanos = System.nanoTime();
+
+        // Act
+        long[] accountIds = accountService.createAccounts(accountReqs(ACCOUNTS)).getAccountIds();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        AccountRes accountAfter = accountService.createAccount(AccountReq.builder().documentNumber("2").build());
+
+        // Assert
+        log.info("Copied {} accounts in {} ms, {} accounts/s", ACCOUNTS, elapsedNanos / 1_000_000, Math.round(ACCOUNTS * 1e9 / elapsedNanos));
+        assertThat(accountIds).hasSize(ACCOUNTS).doesNotHaveDuplicates()
+                .doesNotContain(accountBefore.getAccountId(), accountAfter.getAccountId());
+        Map<Long, String> documentNumbers = jdbcTemplate.query("SELECT account_id, document_number FROM accounts WHERE balance = 0",
+                        (resultSet, rowNum) -> Map.entry(resultSet.getLong(1), resultSet.getString(2))).stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertThat(Arrays.stream(accountIds).mapToObj(documentNumbers::get).toList())
+                .isEqualTo(IntStream.range(0, ACCOUNTS).mapToObj(AccountBatchIT::documentNumber).toList());
+        assertThat(documentNumbers.get(accountAfter.getAccountId())).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Should create none of the accounts of a batch when one is rejected as it is read")
+    void shouldCreateNoAccountWhenBatchFails() {
+        // Arrange
+        Long accountsBefore = jdbcTemplate.queryForObject("SELECT count(*) FROM accounts", Long.class);
+        Iterator<AccountReq> accountReqs = Stream.iterate(0, i -> i + 1)
+                .limit(10_000)
+                .map(i -> {
+                    if (i == 7_000) {
+                        throw new AccountServiceException(ErrorInfo.DOCUMENT_NUMBER_SHOULD_ONLY_CONSIST_OF_DIGITS);
+                    }
+                    return AccountReq.builder().documentNumber(documentNumber(i)).build();
+                })
+                .iterator();
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountService.createAccounts(accountReqs))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.DOCUMENT_NUMBER_SHOULD_ONLY_CONSIST_OF_DIGITS);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM accounts", Long.class)).isEqualTo(accountsBefore);
+        // the connection is usable again once the copy is cancelled
+        assertThat(accountService.createAccounts(List.of(AccountReq.builder().documentNumber("3").build()).iterator()).getAccountIds()).hasSize(1);
+    }
+
+    private static Iterator<AccountReq> accountReqs(int accounts) {
+        return IntStream.range(0, accounts).mapToObj(i -> AccountReq.builder().documentNumber(documentNumber(i)).build()).iterator();
+    }
+
+    private static String documentNumber(int i) {
+        return String.format("%011d", 40_000_000_000L + i);
+    }
+}
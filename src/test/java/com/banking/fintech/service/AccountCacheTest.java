@@ -0,0 +1,169 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.AccountProperties;
+import com.banking.fintech.repo.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountCache Unit Tests")
+class AccountCacheTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AccountProperties accountProperties;
+    private AccountCache accountCache;
+
+    @BeforeEach
+    void setUp() {
+        accountProperties = new AccountProperties();
+        accountCache = new AccountCache(accountRepository, accountProperties);
+    }
+
+    @Test
+    @DisplayName("Should read an account once with the projection query and serve it from memory afterwards")
+    void shouldServeAccountFromMemoryAfterFirstRead() {
+        // Arrange
+        AccountSummary accountSummary = new AccountSummary(1L, "12345678901");
+        when(accountRepository.findAccountSummary(1L)).thenReturn(Optional.of(accountSummary));
+
+        // Act
+        AccountSummary first = accountCache.find(1L);
+        AccountSummary second = accountCache.find(1L);
+
+        // Assert
+        assertThat(first).isEqualTo(accountSummary);
+        assertThat(second).isEqualTo(accountSummary);
+        verify(accountRepository, times(1)).findAccountSummary(1L);
+        verifyNoMoreInteractions(accountRepository);
+        assertThat(accountCache.getStats().hitCount()).isEqualTo(1L);
+        assertThat(accountCache.getStats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should remember unknown account ids so repeated lookups do not reach the db")
+    void shouldCacheUnknownAccountIds() {
+        // Arrange
+        when(accountRepository.findAccountSummary(999L)).thenReturn(Optional.empty());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThat(accountCache.find(999L)).isNull();
+        }
+
+        // Assert
+        verify(accountRepository, times(1)).findAccountSummary(999L);
+        assertThat(accountCache.getUnknownAccountIdStats().hitCount()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should look an unknown account id up again once its negative entry expired")
+    void shouldLookUpUnknownAccountIdAgainAfterTtl() throws InterruptedException {
+        // Arrange
+        accountProperties.getCache().setNegativeTtl(Duration.ofMillis(1));
+        accountCache = new AccountCache(accountRepository, accountProperties);
+        when(accountRepository.findAccountSummary(999L)).thenReturn(Optional.empty());
+        accountCache.find(999L);
+
+        // Act
+        Thread.sleep(10);
+        accountCache.find(999L);
+
+        // Assert
+        verify(accountRepository, times(2)).findAccountSummary(999L);
+    }
+
+    @Test
+    @DisplayName("Should forget an unknown account id once the account is created")
+    void shouldForgetUnknownAccountIdOnPut() {
+        // Arrange
+        when(accountRepository.findAccountSummary(7L)).thenReturn(Optional.empty());
+        assertThat(accountCache.find(7L)).isNull();
+
+        // Act
+        accountCache.put(new AccountSummary(7L, "11122233344"));
+
+        // Assert
+        assertThat(accountCache.find(7L)).isEqualTo(new AccountSummary(7L, "11122233344"));
+        verify(accountRepository, times(1)).findAccountSummary(7L);
+    }
+
+    @Test
+    @DisplayName("Should look up again the ids of accounts created in a batch")
+    void shouldForgetUnknownAccountIdsOfBatch() {
+        // Arrange
+        when(accountRepository.findAccountSummary(7L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new AccountSummary(7L, "11122233344")));
+        assertThat(accountCache.find(7L)).isNull();
+
+        // Act
+        accountCache.forgetUnknown(new long[]{7L, 8L});
+
+        // Assert
+        assertThat(accountCache.find(7L)).isEqualTo(new AccountSummary(7L, "11122233344"));
+        verify(accountRepository, times(2)).findAccountSummary(7L);
+    }
+
+    @Test
+    @DisplayName("Should not record an id as unknown when its account is put between the read and the miss")
+    void shouldNotHideAccountPutDuringMiss() {
+        // Arrange
+        AccountSummary accountSummary = new AccountSummary(8L, "55566677788");
+        when(accountRepository.findAccountSummary(8L)).thenAnswer(invocation -> {
+            accountCache.put(accountSummary);
+            return Optional.empty();
+        });
+
+        // Act
+        AccountSummary stale = accountCache.find(8L);
+        AccountSummary fresh = accountCache.find(8L);
+
+        // Assert
+        assertThat(stale).isNull();
+        assertThat(fresh).isEqualTo(accountSummary);
+        assertThat(accountCache.getUnknownAccountIdStats().hitCount()).isZero();
+        verify(accountRepository, times(1)).findAccountSummary(8L);
+    }
+
+    @Test
+    @DisplayName("Should return null for a null account id without querying the db")
+    void shouldReturnNullForNullAccountId() {
+        // Act & Assert
+        assertThat(accountCache.find(null)).isNull();
+        verify(accountRepository, never()).findAccountSummary(any());
+    }
+
+    @Test
+    @DisplayName("Should evict accounts once their weight goes over the maximum weight")
+    void shouldBoundCacheByWeight() throws InterruptedException {
+        // Arrange
+        accountProperties.getCache().setMaximumWeight(10_000);
+        accountCache = new AccountCache(accountRepository, accountProperties);
+
+        // Act
+        for (long accountId = 1; accountId <= 1_000; accountId++) {
+            accountCache.put(new AccountSummary(accountId, "12345678901"));
+        }
+        // eviction runs on the maintenance of the cache, shortly after the writes
+        for (int i = 0; i < 100 && accountCache.getEstimatedSize() >= 100L; i++) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertThat(accountCache.getEstimatedSize()).isLessThan(100L);
+        assertThat(accountCache.getStats().evictionCount()).isPositive();
+    }
+}
@@ -0,0 +1,117 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.codec.MinorUnits;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports an account with a few fetches worth of history in both formats, and checks the lines against the
+ * transactions of the account in statement order. Every other transaction shares its event date with the one before,
+ * and they are inserted newest first, so the export has to keep to the (event_date, transaction_id) order.
+ */
+@DisplayName("Account export Integration Tests")
+class AccountExportIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int TRANSACTIONS = 2500;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long accountId;
+    private List<String> expectedCsvLines;
+
+    @BeforeEach
+    void setUp() {
+        accountId = accountRepository.save(AccountEntity.builder().documentNumber("12345678905").build()).getAccountId();
+        Long otherAccountId = accountRepository.save(AccountEntity.builder().documentNumber("12345678906").build()).getAccountId();
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = TRANSACTIONS - 1; i >= 0; i--) {
+            long amount = i % 3 == 0 ? i + 1 : -(i + 1);
+            Timestamp eventDate = Timestamp.from(start.plusMillis(i / 2));
+            rows.add(new Object[]{accountId, amount > 0 ? 4L : 1L, amount, amount, eventDate});
+            rows.add(new Object[]{otherAccountId, amount > 0 ? 4L : 1L, amount, amount, eventDate});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (account_id, operation_type_id, amount, balance, event_date) VALUES (?, ?, ?, ?, ?)", rows);
+
+        expectedCsvLines = jdbcTemplate.query(
+                "SELECT transaction_id, operation_type_id, amount, event_date FROM transactions WHERE account_id = ? ORDER BY event_date, transaction_id",
+                (resultSet, rowNum) -> resultSet.getLong("transaction_id") + "," + accountId + "," + resultSet.getLong("operation_type_id")
+                        + "," + MinorUnits.toString(resultSet.getLong("amount")) + "," + resultSet.getTimestamp("event_date").toInstant(),
+                accountId);
+    }
+
+    @Test
+    @DisplayName("Should export the whole history as csv in event date and id order with one statement")
+    void shouldExportHistoryAsCsv() throws Exception {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        accountService.exportAccountTransactions(accountId, TransactionExportFormat.CSV, outputStream);
+
+        // Assert
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.getFirst()).isEqualTo("transaction_id,account_id,operation_type_id,amount,event_date");
+        assertThat(lines.subList(1, lines.size())).hasSize(TRANSACTIONS).isEqualTo(expectedCsvLines);
+        // the history is read through one cursor, and straight into the lines without loading any entity
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should export the whole history as one json transaction per line in event date and id order")
+    void shouldExportHistoryAsNdjson() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        accountService.exportAccountTransactions(accountId, TransactionExportFormat.NDJSON, outputStream);
+
+        // Assert
+        List<String> lines = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).lines().toList()) {
+            JsonNode transaction = objectMapper.readTree(line);
+            lines.add(transaction.get("transaction_id").asLong() + "," + transaction.get("account_id").asLong() + ","
+                    + transaction.get("operation_type_id").asLong() + "," + transaction.get("amount").decimalValue().setScale(MinorUnits.SCALE).toPlainString()
+                    + "," + transaction.get("event_date").asString());
+        }
+        assertThat(lines).isEqualTo(expectedCsvLines);
+    }
+}
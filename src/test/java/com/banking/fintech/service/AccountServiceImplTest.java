@@ -1,20 +1,45 @@
 package com.banking.fintech.service;
 
+import com.banking.fintech.config.AccountProperties;
 import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionExportFormat;
+import com.banking.fintech.dto.AccountBalanceRes;
+import com.banking.fintech.dto.AccountBatchRes;
 import com.banking.fintech.dto.AccountReq;
 import com.banking.fintech.dto.AccountRes;
+import com.banking.fintech.dto.CacheStatsRes;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.dto.TransactionRes;
 import com.banking.fintech.entity.AccountEntity;
 import com.banking.fintech.exception.AccountServiceException;
+import com.banking.fintech.repo.AccountCopyRepository;
 import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +52,18 @@ class AccountServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountCopyRepository accountCopyRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().build();
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -71,6 +108,7 @@ class AccountServiceImplTest {
         assertThat(result.getDocumentNumber()).isEqualTo("12345678901");
 
         verify(accountRepository, times(1)).save(any(AccountEntity.class));
+        verify(accountCache, times(1)).put(new AccountSummary(1L, "12345678901"));
     }
 
     @Test
@@ -137,15 +175,70 @@ class AccountServiceImplTest {
         verify(accountRepository, times(1)).save(any(AccountEntity.class));
     }
 
+    // ==================== createAccounts Tests ====================
+
+    @Test
+    @DisplayName("createAccounts - should copy the accounts and return their ids, forgetting them as unknown without caching them")
+    void testCreateAccounts_Success() {
+        // Arrange
+        Iterator<AccountReq> accountReqs = List.of(accountReq, accountReq.toBuilder().documentNumber("12345678902").build()).iterator();
+        when(accountCopyRepository.copyAccounts(accountReqs)).thenReturn(new long[]{101L, 102L});
+
+        // Act
+        AccountBatchRes result = accountService.createAccounts(accountReqs);
+
+        // Assert
+        assertThat(result.getAccountIds()).containsExactly(101L, 102L);
+        verify(accountCache).forgetUnknown(new long[]{101L, 102L});
+        verifyNoMoreInteractions(accountCache);
+    }
+
+    @Test
+    @DisplayName("createAccounts - should forget the ids as unknown only once the db transaction commits")
+    void testCreateAccounts_ForgetsUnknownIdsAfterCommit() {
+        // Arrange
+        Iterator<AccountReq> accountReqs = List.of(accountReq).iterator();
+        when(accountCopyRepository.copyAccounts(accountReqs)).thenReturn(new long[]{101L});
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            accountService.createAccounts(accountReqs);
+            verifyNoInteractions(accountCache);
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verify(accountCache).forgetUnknown(new long[]{101L});
+    }
+
+    @Test
+    @DisplayName("createAccounts - should throw AccountServiceException when the copy fails")
+    void testCreateAccounts_DataAccessException() {
+        // Arrange
+        Iterator<AccountReq> accountReqs = List.of(accountReq).iterator();
+        when(accountCopyRepository.copyAccounts(accountReqs)).thenThrow(new DataAccessResourceFailureException("copy failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountService.createAccounts(accountReqs))
+                .isInstanceOf(AccountServiceException.class)
+                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrMsg());
+    }
+
     // ==================== getAccount Tests ====================
 
     @Test
-    @DisplayName("getAccount - should successfully retrieve an account and return AccountRes")
+    @DisplayName("getAccount - should check the cache, then read the account row for its balance and outstanding debt")
     void testGetAccount_Success() {
         // Arrange
         Long accountId = 1L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(accountEntity);
+        when(accountCache.find(accountId)).thenReturn(new AccountSummary(1L, "12345678901"));
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(accountEntity.toBuilder()
+                .balance(-2000L)
+                .outstandingDebt(7000L)
+                .build()));
 
         // Act
         AccountRes result = accountService.getAccount(accountId);
@@ -153,197 +246,281 @@ class AccountServiceImplTest {
         // Assert
         assertThat(result)
                 .isNotNull()
-                .isEqualTo(expectedAccountRes);
+                .isEqualTo(expectedAccountRes.toBuilder()
+                        .balance(-2000L)
+                        .outstandingDebt(7000L)
+                        .build());
 
-        assertThat(result.getAccountId()).isEqualTo(1L);
-        assertThat(result.getDocumentNumber()).isEqualTo("12345678901");
-
-        verify(accountRepository, times(1)).existsById(accountId);
-        verify(accountRepository, times(1)).getReferenceById(accountId);
+        verify(accountCache, times(1)).find(accountId);
+        verify(accountRepository, times(1)).findById(accountId);
     }
 
     @Test
-    @DisplayName("getAccount - should throw AccountServiceException when account not found")
+    @DisplayName("getAccount - should throw AccountServiceException without reading the row when the cache knows no such account")
     void testGetAccount_AccountNotFound() {
         // Arrange
         Long accountId = 999L;
-        when(accountRepository.existsById(accountId)).thenReturn(false);
+        when(accountCache.find(accountId)).thenReturn(null);
 
         // Act & Assert
         assertThatThrownBy(() -> accountService.getAccount(accountId))
                 .isInstanceOf(AccountServiceException.class)
                 .hasMessageContaining(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrMsg());
 
-        verify(accountRepository, times(1)).existsById(accountId);
-        verify(accountRepository, never()).getReferenceById(any());
+        verify(accountCache, times(1)).find(accountId);
+        verifyNoInteractions(accountRepository);
     }
 
     @Test
-    @DisplayName("getAccount - should throw AccountServiceException when PersistenceException occurs during existsById")
-    void testGetAccount_PersistenceExceptionOnExists() {
+    @DisplayName("getAccount - should answer a repeated lookup of an unknown account from the negative cache without a query")
+    void testGetAccount_UnknownAccountQueriedOnce() {
+        // Arrange
+        Long accountId = 999L;
+        AccountServiceImpl cachingAccountService = new AccountServiceImpl(accountRepository, accountCopyRepository,
+                transactionRepository, new AccountCache(accountRepository, new AccountProperties()), objectMapper);
+        when(accountRepository.findAccountSummary(accountId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cachingAccountService.getAccount(accountId))
+                    .isInstanceOf(AccountServiceException.class)
+                    .extracting("errorInfo")
+                    .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        }
+
+        verify(accountRepository, times(1)).findAccountSummary(accountId);
+        verifyNoMoreInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("getAccount - should throw AccountServiceException when PersistenceException occurs on a cache miss")
+    void testGetAccount_PersistenceExceptionOnCacheMiss() {
         // Arrange
         Long accountId = 1L;
-        when(accountRepository.existsById(accountId))
-                .thenThrow(new PersistenceException("Database error"));
+        when(accountCache.find(accountId)).thenThrow(new PersistenceException("Database error"));
 
         // Act & Assert
         assertThatThrownBy(() -> accountService.getAccount(accountId))
                 .isInstanceOf(AccountServiceException.class)
-                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg());
-
-        verify(accountRepository, times(1)).existsById(accountId);
-        verify(accountRepository, never()).getReferenceById(any());
+                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg())
+                .hasCauseInstanceOf(PersistenceException.class);
     }
 
     @Test
-    @DisplayName("getAccount - should throw AccountServiceException when PersistenceException occurs during getReferenceById")
-    void testGetAccount_PersistenceExceptionOnGetReference() {
+    @DisplayName("getAccount - should throw AccountServiceException when PersistenceException occurs reading the row")
+    void testGetAccount_PersistenceException() {
         // Arrange
         Long accountId = 1L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId))
-                .thenThrow(new PersistenceException("Database error"));
+        when(accountCache.find(accountId)).thenReturn(new AccountSummary(1L, "12345678901"));
+        when(accountRepository.findById(accountId)).thenThrow(new PersistenceException("Database error"));
 
         // Act & Assert
         assertThatThrownBy(() -> accountService.getAccount(accountId))
                 .isInstanceOf(AccountServiceException.class)
-                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg());
-
-        verify(accountRepository, times(1)).existsById(accountId);
-        verify(accountRepository, times(1)).getReferenceById(accountId);
+                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg())
+                .hasCauseInstanceOf(PersistenceException.class);
     }
 
     @Test
-    @DisplayName("getAccount - should check existence before fetching")
-    void testGetAccount_CheckExistenceBeforeFetch() {
+    @DisplayName("getAccount - should return correct document number")
+    void testGetAccount_ReturnCorrectDocumentNumber() {
         // Arrange
-        Long accountId = 1L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(accountEntity);
+        Long accountId = 42L;
+        when(accountCache.find(accountId)).thenReturn(new AccountSummary(42L, "98765432100"));
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountEntity.builder()
+                .accountId(42L)
+                .documentNumber("98765432100")
+                .build()));
 
         // Act
-        accountService.getAccount(accountId);
+        AccountRes result = accountService.getAccount(accountId);
 
         // Assert
-        InOrder inOrder = inOrder(accountRepository);
-        inOrder.verify(accountRepository).existsById(accountId);
-        inOrder.verify(accountRepository).getReferenceById(accountId);
+        assertThat(result.getAccountId()).isEqualTo(42L);
+        assertThat(result.getDocumentNumber()).isEqualTo("98765432100");
     }
 
+    // ==================== getAccountCacheStats Tests ====================
+
     @Test
-    @DisplayName("getAccount - should not call getReferenceById when account doesn't exist")
-    void testGetAccount_NoReferenceCallWhenNotExists() {
+    @DisplayName("getAccountCacheStats - should return the hit and miss counts of the account cache")
+    void testGetAccountCacheStats() {
         // Arrange
-        Long accountId = 999L;
-        when(accountRepository.existsById(accountId)).thenReturn(false);
+        when(accountCache.getStats()).thenReturn(CacheStats.of(3, 1, 1, 0, 0, 0, 0));
+        when(accountCache.getUnknownAccountIdStats()).thenReturn(CacheStats.of(5, 1, 0, 0, 0, 0, 0));
+        when(accountCache.getEstimatedSize()).thenReturn(1L);
 
-        // Act & Assert
-        assertThatThrownBy(() -> accountService.getAccount(accountId))
-                .isInstanceOf(AccountServiceException.class);
+        // Act
+        CacheStatsRes result = accountService.getAccountCacheStats();
 
-        verify(accountRepository, times(1)).existsById(accountId);
-        verify(accountRepository, never()).getReferenceById(any());
+        // Assert
+        assertThat(result)
+                .extracting(CacheStatsRes::getHitCount, CacheStatsRes::getMissCount, CacheStatsRes::getHitRate,
+                        CacheStatsRes::getEstimatedSize, CacheStatsRes::getNegativeHitCount)
+                .containsExactly(3L, 1L, 0.75, 1L, 5L);
     }
 
+    // ==================== getAccountBalance Tests ====================
+
     @Test
-    @DisplayName("getAccount - should return correct account ID")
-    void testGetAccount_ReturnCorrectAccountId() {
+    @DisplayName("getAccountBalance - should return the running balance and outstanding debt")
+    void testGetAccountBalance_Success() {
         // Arrange
-        Long accountId = 42L;
-        AccountEntity entity = AccountEntity.builder()
-                .accountId(accountId)
-                .documentNumber("12345678901")
+        AccountEntity entity = accountEntity.toBuilder()
+                .balance(-2000L)
+                .outstandingDebt(7000L)
                 .build();
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(entity);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(entity));
 
         // Act
-        AccountRes result = accountService.getAccount(accountId);
+        AccountBalanceRes result = accountService.getAccountBalance(1L);
 
         // Assert
-        assertThat(result.getAccountId()).isEqualTo(accountId);
+        assertThat(result)
+                .extracting(AccountBalanceRes::getAccountId, AccountBalanceRes::getBalance, AccountBalanceRes::getOutstandingDebt)
+                .containsExactly(1L, -2000L, 7000L);
+        verify(accountRepository, times(1)).findById(1L);
+        verifyNoMoreInteractions(accountRepository);
     }
 
     @Test
-    @DisplayName("getAccount - should return correct document number")
-    void testGetAccount_ReturnCorrectDocumentNumber() {
+    @DisplayName("getAccountBalance - should throw AccountServiceException when account not found")
+    void testGetAccountBalance_AccountNotFound() {
         // Arrange
-        Long accountId = 1L;
-        String documentNumber = "99887766554";
-        AccountEntity entity = AccountEntity.builder()
-                .accountId(accountId)
-                .documentNumber(documentNumber)
-                .build();
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(entity);
+        when(accountRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountService.getAccountBalance(999L))
+                .isInstanceOf(AccountServiceException.class)
+                .hasMessageContaining(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrMsg());
+    }
+
+    @Test
+    @DisplayName("getAccountBalance - should throw AccountServiceException when PersistenceException occurs")
+    void testGetAccountBalance_PersistenceException() {
+        // Arrange
+        when(accountRepository.findById(1L)).thenThrow(new PersistenceException("Database error"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountService.getAccountBalance(1L))
+                .isInstanceOf(AccountServiceException.class)
+                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg());
+    }
+
+    // ==================== getAccountTransactions Tests ====================
+
+    @Test
+    @DisplayName("getAccountTransactions - should read one row more than the limit and return a page with the next cursor")
+    void testGetAccountTransactions_Success() {
+        // Arrange
+        AccountStatementQuery accountStatementQuery = AccountStatementQuery.of(1L, 4L, null, null, null, 2);
+        Instant eventDate = Instant.parse("2026-01-01T00:00:00Z");
+        List<TransactionRes> transactionResList = List.of(
+                TransactionRes.builder().transactionId(10L).accountId(1L).operationTypeId(4L).amount(100L).eventDate(eventDate).build(),
+                TransactionRes.builder().transactionId(11L).accountId(1L).operationTypeId(4L).amount(200L).eventDate(eventDate).build(),
+                TransactionRes.builder().transactionId(12L).accountId(1L).operationTypeId(4L).amount(300L).eventDate(eventDate).build());
+        when(accountCache.find(1L)).thenReturn(new AccountSummary(1L, "12345678901"));
+        when(transactionRepository.findStatementPage(1L, Instant.EPOCH, Long.MIN_VALUE, accountStatementQuery.beforeEventDate(), 4L, Limit.of(3)))
+                .thenReturn(transactionResList);
 
         // Act
-        AccountRes result = accountService.getAccount(accountId);
+        TransactionPageRes result = accountService.getAccountTransactions(accountStatementQuery);
 
         // Assert
-        assertThat(result.getDocumentNumber()).isEqualTo(documentNumber);
+        assertThat(result.getTransactions()).extracting(TransactionRes::getTransactionId).containsExactly(10L, 11L);
+        assertThat(result.getNextCursor()).isEqualTo(AccountStatementQuery.encodeCursor(eventDate, 11L));
     }
 
     @Test
-    @DisplayName("getAccount - should throw exception with correct error info on persistence error")
-    void testGetAccount_VerifyExceptionErrorInfo() {
+    @DisplayName("getAccountTransactions - should throw AccountServiceException without reading transactions when account not found")
+    void testGetAccountTransactions_AccountNotFound() {
         // Arrange
-        Long accountId = 1L;
-        when(accountRepository.existsById(accountId))
-                .thenThrow(new PersistenceException("DB error"));
+        when(accountCache.find(999L)).thenReturn(null);
 
         // Act & Assert
-        assertThatThrownBy(() -> accountService.getAccount(accountId))
+        assertThatThrownBy(() -> accountService.getAccountTransactions(AccountStatementQuery.of(999L, null, null, null, null, null)))
                 .isInstanceOf(AccountServiceException.class)
-                .extracting("errorInfo")
-                .isEqualTo(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB);
+                .hasMessageContaining(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrMsg());
+        verifyNoInteractions(transactionRepository);
     }
 
+    // ==================== exportAccountTransactions Tests ====================
+
     @Test
-    @DisplayName("getAccount - should handle multiple consecutive calls")
-    void testGetAccount_MultipleCalls() {
+    @DisplayName("exportAccountTransactions - should write one json line per transaction and close the db stream")
+    void testExportAccountTransactions_Ndjson() throws Exception {
         // Arrange
-        Long accountId = 1L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(accountEntity);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(transactionRepository.streamAccountTransactions(1L)).thenReturn(exportedTransactions().onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // Act
-        AccountRes result1 = accountService.getAccount(accountId);
-        AccountRes result2 = accountService.getAccount(accountId);
+        accountService.exportAccountTransactions(1L, TransactionExportFormat.NDJSON, outputStream);
 
         // Assert
-        assertThat(result1).isEqualTo(result2);
-        verify(accountRepository, times(2)).existsById(accountId);
-        verify(accountRepository, times(2)).getReferenceById(accountId);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"transaction_id":10,"account_id":1,"operation_type_id":1,"amount":-123.45,"event_date":"2026-01-02T03:04:05Z"}
+                {"transaction_id":11,"account_id":1,"operation_type_id":4,"amount":0.05,"event_date":"2026-01-02T03:04:05.500Z"}
+                """);
+        assertThat(closed).isTrue();
     }
 
     @Test
-    @DisplayName("getAccount - should call existsById with correct account ID")
-    void testGetAccount_VerifyExistsByIdCalled() {
+    @DisplayName("exportAccountTransactions - should write a csv header and one line per transaction")
+    void testExportAccountTransactions_Csv() throws Exception {
         // Arrange
-        Long accountId = 123L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(accountEntity);
+        when(transactionRepository.streamAccountTransactions(1L)).thenReturn(exportedTransactions());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // Act
-        accountService.getAccount(accountId);
+        accountService.exportAccountTransactions(1L, TransactionExportFormat.CSV, outputStream);
 
         // Assert
-        verify(accountRepository, times(1)).existsById(123L);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                transaction_id,account_id,operation_type_id,amount,event_date
+                10,1,1,-123.45,2026-01-02T03:04:05Z
+                11,1,4,0.05,2026-01-02T03:04:05.500Z
+                """);
     }
 
     @Test
-    @DisplayName("getAccount - should call getReferenceById with correct account ID")
-    void testGetAccount_VerifyGetReferenceByIdCalled() {
+    @DisplayName("exportAccountTransactions - should write nothing but the csv header for an account without transactions")
+    void testExportAccountTransactions_Empty() throws Exception {
         // Arrange
-        Long accountId = 456L;
-        when(accountRepository.existsById(accountId)).thenReturn(true);
-        when(accountRepository.getReferenceById(accountId)).thenReturn(accountEntity);
+        when(transactionRepository.streamAccountTransactions(1L)).thenReturn(Stream.empty(), Stream.empty());
+        ByteArrayOutputStream ndjsonOutputStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream csvOutputStream = new ByteArrayOutputStream();
 
         // Act
-        accountService.getAccount(accountId);
+        accountService.exportAccountTransactions(1L, TransactionExportFormat.NDJSON, ndjsonOutputStream);
+        accountService.exportAccountTransactions(1L, TransactionExportFormat.CSV, csvOutputStream);
 
         // Assert
-        verify(accountRepository, times(1)).getReferenceById(456L);
+        assertThat(ndjsonOutputStream.toByteArray()).isEmpty();
+        assertThat(csvOutputStream.toString(StandardCharsets.UTF_8)).isEqualTo("transaction_id,account_id,operation_type_id,amount,event_date\n");
+    }
+
+    @Test
+    @DisplayName("exportAccountTransactions - should throw AccountServiceException and close the db stream when reading fails")
+    void testExportAccountTransactions_PersistenceException() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<TransactionRes> failingStream = Stream.<TransactionRes>generate(() -> {
+            throw new PersistenceException("cursor lost");
+        }).onClose(() -> closed.set(true));
+        when(transactionRepository.streamAccountTransactions(1L)).thenReturn(failingStream);
+
+        // Act & Assert
+        assertThatThrownBy(() -> accountService.exportAccountTransactions(1L, TransactionExportFormat.CSV, new ByteArrayOutputStream()))
+                .isInstanceOf(AccountServiceException.class)
+                .hasMessageContaining(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg());
+        assertThat(closed).isTrue();
+    }
+
+    private static Stream<TransactionRes> exportedTransactions() {
+        Instant eventDate = Instant.parse("2026-01-02T03:04:05Z");
+        return Stream.of(
+                TransactionRes.builder().transactionId(10L).accountId(1L).operationTypeId(1L).amount(-12345L).eventDate(eventDate).build(),
+                TransactionRes.builder().transactionId(11L).accountId(1L).operationTypeId(4L).amount(5L).eventDate(eventDate.plusMillis(500)).build());
     }
 }
@@ -0,0 +1,189 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pages through the statement of an account with a long history, on the jpa and the reactive stack, and checks the
+ * pages against the transactions of the account sorted in memory. Every third transaction shares its event date with
+ * the one before, so the pages also have to break ties on the transaction id.
+ */
+@ActiveProfiles("reactive")
+@DisplayName("Account statement Integration Tests")
+class AccountStatementIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int TRANSACTIONS = 1000;
+    private static final int PAGE_LIMIT = 70;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private ReactiveAccountService reactiveAccountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long accountId;
+    private Instant start;
+    private List<TransactionRes> history;
+
+    @BeforeEach
+    void setUp() {
+        accountId = accountRepository.save(AccountEntity.builder().documentNumber("12345678903").build()).getAccountId();
+        Long otherAccountId = accountRepository.save(AccountEntity.builder().documentNumber("12345678904").build()).getAccountId();
+        start = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Object[]> rows = new ArrayList<>();
+        // inserted newest first, so the statement order is not the id order
+        for (int i = TRANSACTIONS - 1; i >= 0; i--) {
+            long operationTypeId = i % 4 == 0 ? 4L : 1L;
+            long amount = operationTypeId == 4L ? i + 1 : -(i + 1);
+            rows.add(new Object[]{accountId, operationTypeId, amount, amount, Timestamp.from(start.plusSeconds(i - i % 3 / 2))});
+            rows.add(new Object[]{otherAccountId, operationTypeId, amount, amount, Timestamp.from(start.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (account_id, operation_type_id, amount, balance, event_date) VALUES (?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+
+        history = jdbcTemplate.query("SELECT transaction_id, operation_type_id, amount FROM transactions WHERE account_id = ?",
+                        (resultSet, rowNum) -> {
+                            long amount = resultSet.getLong("amount");
+                            int i = (int) Math.abs(amount) - 1;
+                            return TransactionRes.builder()
+                                    .transactionId(resultSet.getLong("transaction_id"))
+                                    .accountId(accountId)
+                                    .operationTypeId(resultSet.getLong("operation_type_id"))
+                                    .amount(amount)
+                                    .eventDate(start.plusSeconds(i - i % 3 / 2))
+                                    .build();
+                        }, accountId).stream()
+                .sorted(Comparator.comparing(TransactionRes::getEventDate).thenComparing(TransactionRes::getTransactionId))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should page through the whole statement in event date and id order on both stacks")
+    void shouldPageThroughStatementInOrder() {
+        // Arrange
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accountCache.find(accountId);
+        statistics.clear();
+
+        // Act
+        List<TransactionPageRes> pages = pages(cursor -> accountService.getAccountTransactions(
+                AccountStatementQuery.of(accountId, null, null, null, cursor, PAGE_LIMIT)));
+        List<TransactionPageRes> reactivePages = pages(cursor -> reactiveAccountService.getAccountTransactions(
+                AccountStatementQuery.of(accountId, null, null, null, cursor, PAGE_LIMIT)).block());
+
+        // Assert
+        assertThat(pages).hasSize((TRANSACTIONS + PAGE_LIMIT - 1) / PAGE_LIMIT);
+        assertThat(pages).allSatisfy(page -> assertThat(page.getTransactions()).hasSizeLessThanOrEqualTo(PAGE_LIMIT));
+        assertThat(transactionIds(pages)).isEqualTo(transactionIds(history::stream));
+        assertThat(pages.stream().flatMap(page -> page.getTransactions().stream()).toList()).isEqualTo(history);
+        assertThat(transactionIds(reactivePages)).isEqualTo(transactionIds(history::stream));
+        // one statement per page and no account or operation type entity loaded for the transactions
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages.size());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page through the transactions of one operation type within a date range")
+    void shouldPageThroughFilteredStatement() {
+        // Arrange
+        Instant from = start.plusSeconds(100);
+        Instant to = start.plusSeconds(700);
+        Predicate<TransactionRes> filter = transactionRes -> transactionRes.getOperationTypeId() == 4L
+                && !transactionRes.getEventDate().isBefore(from) && transactionRes.getEventDate().isBefore(to);
+
+        // Act
+        List<TransactionPageRes> pages = pages(cursor -> accountService.getAccountTransactions(
+                AccountStatementQuery.of(accountId, 4L, from.toString(), to.toString(), cursor, 40)));
+        List<TransactionPageRes> reactivePages = pages(cursor -> reactiveAccountService.getAccountTransactions(
+                AccountStatementQuery.of(accountId, 4L, from.toString(), to.toString(), cursor, 40)).block());
+
+        // Assert
+        List<Long> expectedTransactionIds = transactionIds(() -> history.stream().filter(filter));
+        assertThat(expectedTransactionIds).hasSize(150);
+        assertThat(transactionIds(pages)).isEqualTo(expectedTransactionIds);
+        assertThat(transactionIds(reactivePages)).isEqualTo(expectedTransactionIds);
+    }
+
+    @Test
+    @DisplayName("Should read a statement page with an index only scan starting at the cursor")
+    void shouldReadStatementPageWithIndexOnlyScan() {
+        // Act
+        // as in OpenDebitsIndexIT, the plans that cannot come from the statement index are ruled out
+        List<String> plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+            jdbcTemplate.execute("SET LOCAL enable_sort = off");
+            return jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT transaction_id, account_id, operation_type_id, amount, event_date FROM transactions "
+                            + "WHERE account_id = ? AND (event_date, transaction_id) > (?, ?) AND event_date < ? "
+                            + "ORDER BY event_date, transaction_id LIMIT 71",
+                    String.class, accountId, Timestamp.from(start.plusSeconds(500)), 0L, Timestamp.from(start.plusSeconds(900)));
+        });
+
+        // Assert
+        assertThat(String.join("\n", plan))
+                .contains("Index Only Scan using transactions_statement_idx")
+                .contains("Index Cond: ((account_id = ")
+                .doesNotContain("Sort");
+    }
+
+    private static List<TransactionPageRes> pages(Function<String, TransactionPageRes> pageReader) {
+        List<TransactionPageRes> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageRes page = pageReader.apply(cursor);
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static List<Long> transactionIds(List<TransactionPageRes> pages) {
+        return transactionIds(() -> pages.stream().flatMap(page -> page.getTransactions().stream()));
+    }
+
+    private static List<Long> transactionIds(Supplier<Stream<TransactionRes>> transactions) {
+        return transactions.get().map(TransactionRes::getTransactionId).toList();
+    }
+}
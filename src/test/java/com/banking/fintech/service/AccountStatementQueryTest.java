@@ -0,0 +1,108 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionPageRes;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.AccountServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AccountStatementQuery Unit Tests")
+class AccountStatementQueryTest {
+
+    private static final Instant EVENT_DATE = Instant.parse("2026-03-01T10:15:30.123456Z");
+
+    @Test
+    @DisplayName("Should start at the first transaction of the account with the default limit")
+    void shouldDefaultToWholeHistory() {
+        // Act
+        AccountStatementQuery result = AccountStatementQuery.of(1L, null, null, null, null, null);
+
+        // Assert
+        assertThat(result.afterEventDate()).isEqualTo(Instant.EPOCH);
+        assertThat(result.afterTransactionId()).isEqualTo(Long.MIN_VALUE);
+        assertThat(result.beforeEventDate()).isAfter(Instant.parse("9999-01-01T00:00:00Z"));
+        assertThat(result.limit()).isEqualTo(AccountStatementQuery.DEFAULT_LIMIT);
+        assertThat(result.fetchSize()).isEqualTo(AccountStatementQuery.DEFAULT_LIMIT + 1);
+    }
+
+    @Test
+    @DisplayName("Should start after the position of the cursor")
+    void shouldStartAfterCursor() {
+        // Act
+        AccountStatementQuery result = AccountStatementQuery.of(1L, null, "2026-01-01T00:00:00Z", null,
+                AccountStatementQuery.encodeCursor(EVENT_DATE, 42L), 10);
+
+        // Assert
+        assertThat(result.afterEventDate()).isEqualTo(EVENT_DATE);
+        assertThat(result.afterTransactionId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should start at the from date when it is later than the cursor")
+    void shouldStartAtFromDateLaterThanCursor() {
+        // Act
+        AccountStatementQuery result = AccountStatementQuery.of(1L, null, "2026-06-01T00:00:00Z", "2026-07-01T00:00:00Z",
+                AccountStatementQuery.encodeCursor(EVENT_DATE, 42L), 10);
+
+        // Assert
+        assertThat(result.afterEventDate()).isEqualTo(Instant.parse("2026-06-01T00:00:00Z"));
+        assertThat(result.afterTransactionId()).isEqualTo(Long.MIN_VALUE);
+        assertThat(result.beforeEventDate()).isEqualTo(Instant.parse("2026-07-01T00:00:00Z"));
+    }
+
+    @ParameterizedTest(name = "from {0}, cursor {1}, limit {2}")
+    @CsvSource(value = {
+            "yesterday, null, 10",
+            "null, not-a-cursor!, 10",
+            "null, MjAyNg, 10",
+            "null, null, 0",
+            "null, null, 501"
+    }, nullValues = "null")
+    @DisplayName("Should reject a malformed date, cursor or limit as a bad request")
+    void shouldRejectMalformedQuery(String from, String cursor, Integer limit) {
+        // Act & Assert
+        assertThatThrownBy(() -> AccountStatementQuery.of(1L, null, from, null, cursor, limit))
+                .isInstanceOf(AccountServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.INVALID_STATEMENT_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should return the rows within the limit with the cursor of the last one when more follow")
+    void shouldBuildPageWithNextCursor() {
+        // Arrange
+        AccountStatementQuery accountStatementQuery = AccountStatementQuery.of(1L, null, null, null, null, 2);
+        List<TransactionRes> transactionResList = List.of(transactionRes(1L), transactionRes(2L), transactionRes(3L));
+
+        // Act
+        TransactionPageRes result = accountStatementQuery.page(transactionResList);
+        TransactionPageRes lastPage = accountStatementQuery.page(transactionResList.subList(0, 2));
+
+        // Assert
+        assertThat(result.getTransactions()).extracting(TransactionRes::getTransactionId).containsExactly(1L, 2L);
+        AccountStatementQuery nextQuery = AccountStatementQuery.of(1L, null, null, null, result.getNextCursor(), 2);
+        assertThat(nextQuery.afterEventDate()).isEqualTo(EVENT_DATE);
+        assertThat(nextQuery.afterTransactionId()).isEqualTo(2L);
+        assertThat(lastPage.getTransactions()).hasSize(2);
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    private static TransactionRes transactionRes(Long transactionId) {
+        return TransactionRes.builder()
+                .transactionId(transactionId)
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(-100L)
+                .eventDate(EVENT_DATE)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.journal.TransactionJournal;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Accepts transactions into a journal in a temporary directory and drains it into the embedded db with the beans of
+ * the shared context. The async beans are built by hand, so the shared context keeps the async mode disabled.
+ */
+@Slf4j
+@DisplayName("Async transaction Integration Tests")
+class AsyncTransactionIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int TRANSACTIONS = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @Autowired
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path journalDir;
+
+    private TransactionJournal transactionJournal;
+    private TransactionJournalDrainer transactionJournalDrainer;
+    private AsyncTransactionService asyncTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        openJournal();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transactionJournal.close();
+    }
+
+    private void openJournal() {
+        transactionJournal = new TransactionJournal(journalDir, 1024 * 1024);
+        transactionJournalDrainer = new TransactionJournalDrainer(transactionJournal, transactionService,
+                idempotentTransactionExecutor, new TransactionProperties());
+        asyncTransactionService = new AsyncTransactionServiceImpl(transactionJournal, transactionJournalDrainer,
+                operationTypeRegistry, accountCache, idempotencyKeyRepository);
+    }
+
+    private Long createAccount() {
+        return accountRepository.save(AccountEntity.builder().documentNumber("55566677788").build()).getAccountId();
+    }
+
+    private TransactionReq debit(Long accountId, long amount) {
+        return TransactionReq.builder().accountId(accountId).operationTypeId(1L).amount(amount).build();
+    }
+
+    private long countTransactions(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class, accountId);
+    }
+
+    @Test
+    @DisplayName("Should apply accepted transactions once, also when they are replayed after a lost checkpoint")
+    void shouldApplyAcceptedTransactionsOnceAcrossReplay() throws IOException {
+        // Arrange
+        Long accountId = createAccount();
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            trackingIds.add(asyncTransactionService.acceptTransaction(debit(accountId, 100L)).getTrackingId());
+        }
+        AsyncTransactionRes pendingRes = asyncTransactionService.getTransaction(trackingIds.getFirst());
+
+        // Act
+        int drainedEntries = transactionJournalDrainer.drain();
+        transactionJournal.close();
+        Files.write(journalDir.resolve("checkpoint"), new byte[Long.BYTES]);
+        openJournal();
+        int replayedEntries = transactionJournalDrainer.drain();
+
+        // Assert
+        assertThat(pendingRes.getStatus()).isEqualTo(AsyncTransactionStatus.PENDING);
+        assertThat(drainedEntries).isEqualTo(TRANSACTIONS);
+        assertThat(replayedEntries).isEqualTo(TRANSACTIONS);
+        assertThat(countTransactions(accountId)).isEqualTo(TRANSACTIONS);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualTo(-100L * TRANSACTIONS);
+        assertThat(trackingIds).allSatisfy(trackingId ->
+                assertThat(asyncTransactionService.getTransaction(trackingId).getStatus()).isEqualTo(AsyncTransactionStatus.APPLIED));
+    }
+
+    @Test
+    @DisplayName("Should acknowledge a transaction on journal fsync faster than on db commit")
+    void shouldAcknowledgeFasterThanDbCommit() {
+        // Arrange
+        Long accountId = createAccount();
+        transactionService.createTransaction(debit(accountId, 1L));
+        asyncTransactionService.acceptTransaction(debit(accountId, 1L));
+
+        // Act
+        long syncStart = System.nanoTime();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            transactionService.createTransaction(debit(accountId, 1L));
+        }
+        long syncNanos = System.nanoTime() - syncStart;
+        long asyncStart = System.nanoTime();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            asyncTransactionService.acceptTransaction(debit(accountId, 1L));
+        }
+        long asyncNanos = System.nanoTime() - asyncStart;
+        transactionJournalDrainer.drain();
+
+        // Assert
+        log.info("Mean ingest latency over: {} transactions, db commit: {} us, journal fsync: {} us",
+                TRANSACTIONS, syncNanos / TRANSACTIONS / 1_000, asyncNanos / TRANSACTIONS / 1_000);
+        assertThat(asyncNanos).isLessThan(syncNanos);
+        assertThat(countTransactions(accountId)).isEqualTo(2L * TRANSACTIONS + 2);
+    }
+}
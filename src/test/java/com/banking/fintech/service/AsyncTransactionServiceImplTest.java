@@ -0,0 +1,173 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.journal.TransactionJournal;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncTransactionServiceImpl Unit Tests")
+class AsyncTransactionServiceImplTest {
+
+    @Mock
+    private TransactionJournal transactionJournal;
+
+    @Mock
+    private TransactionJournalDrainer transactionJournalDrainer;
+
+    @Mock
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @InjectMocks
+    private AsyncTransactionServiceImpl asyncTransactionService;
+
+    private TransactionReq transactionReq;
+
+    @BeforeEach
+    void setUp() {
+        transactionReq = TransactionReq.builder()
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(5000L)
+                .build();
+
+        lenient().when(transactionJournal.getJournalId()).thenReturn("abcd1234");
+        lenient().when(transactionJournal.trackingId(anyLong())).thenAnswer(invocation -> "abcd1234-" + invocation.getArgument(0));
+        lenient().when(operationTypeRegistry.find(1L)).thenReturn(new OperationType(1L, "Normal Purchase", TransactionOperationType.DEBIT));
+        lenient().when(accountCache.find(1L)).thenReturn(new AccountSummary(1L, "12345678900"));
+    }
+
+    @Test
+    @DisplayName("Should append the transaction to the journal and return it as pending")
+    void shouldAcceptTransaction() {
+        // Arrange
+        when(transactionJournal.append(1L, 1L, 5000L)).thenReturn(7L);
+
+        // Act
+        AsyncTransactionRes result = asyncTransactionService.acceptTransaction(transactionReq);
+
+        // Assert
+        assertThat(result.getTrackingId()).isEqualTo("abcd1234-7");
+        assertThat(result.getStatus()).isEqualTo(AsyncTransactionStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should reject a transaction of an unknown account without journaling it")
+    void shouldRejectUnknownAccount() {
+        // Arrange
+        when(accountCache.find(1L)).thenReturn(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncTransactionService.acceptTransaction(transactionReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        verify(transactionJournal, never()).append(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a transaction of an unknown operation type without journaling it")
+    void shouldRejectUnknownOperationType() {
+        // Arrange
+        transactionReq.setOperationTypeId(99L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncTransactionService.acceptTransaction(transactionReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND);
+        verify(transactionJournal, never()).append(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw TRANSACTION_JOURNAL_WRITE_FAILED when the journal cannot be written")
+    void shouldThrowWhenJournalWriteFails() {
+        // Arrange
+        when(transactionJournal.append(1L, 1L, 5000L)).thenThrow(new UncheckedIOException(new IOException("No space left on device")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncTransactionService.acceptTransaction(transactionReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.TRANSACTION_JOURNAL_WRITE_FAILED);
+    }
+
+    @Test
+    @DisplayName("Should report an entry after the checkpoint as pending")
+    void shouldReportPendingEntry() {
+        // Arrange
+        when(transactionJournal.getLastSequence()).thenReturn(7L);
+        when(transactionJournal.getCheckpoint()).thenReturn(5L);
+
+        // Act
+        AsyncTransactionRes result = asyncTransactionService.getTransaction("abcd1234-7");
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo(AsyncTransactionStatus.PENDING);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    @DisplayName("Should report an applied entry no longer in memory from its idempotency key in the db")
+    void shouldReportAppliedEntryFromDb() {
+        // Arrange
+        TransactionRes transactionRes = TransactionRes.builder().transactionId(10L).accountId(1L).build();
+        when(transactionJournal.getLastSequence()).thenReturn(7L);
+        when(transactionJournal.getCheckpoint()).thenReturn(7L);
+        when(idempotencyKeyRepository.findTransaction("journal:abcd1234-3")).thenReturn(Optional.of(transactionRes));
+
+        // Act
+        AsyncTransactionRes result = asyncTransactionService.getTransaction("abcd1234-3");
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo(AsyncTransactionStatus.APPLIED);
+        assertThat(result.getTransaction()).isEqualTo(transactionRes);
+    }
+
+    @Test
+    @DisplayName("Should throw ASYNC_TRANSACTION_NOT_FOUND for a tracking id of another journal or past the last entry")
+    void shouldThrowForUnknownTrackingId() {
+        // Arrange
+        when(transactionJournal.getLastSequence()).thenReturn(7L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncTransactionService.getTransaction("ffff0000-3"))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.ASYNC_TRANSACTION_NOT_FOUND);
+        assertThatThrownBy(() -> asyncTransactionService.getTransaction("abcd1234-8"))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.ASYNC_TRANSACTION_NOT_FOUND);
+        assertThatThrownBy(() -> asyncTransactionService.getTransaction("abcd1234-x"))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.ASYNC_TRANSACTION_NOT_FOUND);
+    }
+}
@@ -0,0 +1,162 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.TransactionDischargeMode;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same transactions through the entity and the set based discharge modes, each on its own account,
+ * and expects both accounts to end up with exactly the same balance on every transaction.
+ */
+@Slf4j
+@DisplayName("Discharge mode differential Integration Tests")
+class DischargeModeDifferentialIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int TRANSACTIONS_PER_SCENARIO = 60;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionServiceImpl entityDischargeService;
+    private TransactionServiceImpl setBasedDischargeService;
+
+    @BeforeEach
+    void setUp() {
+        entityDischargeService = transactionService(TransactionDischargeMode.ENTITY);
+        setBasedDischargeService = transactionService(TransactionDischargeMode.SET_BASED);
+    }
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1L, 2L, 3L, 5L, 8L, 13L, 21L, 34L, 55L, 89L})
+    @DisplayName("Should discharge open debits to the same balances in both discharge modes")
+    void shouldDischargeToSameBalancesInBothModes(long seed) {
+        // Arrange
+        Long entityAccountId = createAccount();
+        Long setBasedAccountId = createAccount();
+        Random random = new Random(seed);
+
+        // Act
+        for (int i = 0; i < TRANSACTIONS_PER_SCENARIO; i++) {
+            // mostly debits of up to 500.00 and fewer, larger credits, in minor units
+            boolean credit = random.nextInt(10) < 3;
+            long operationTypeId = credit ? 4L : 1L + random.nextInt(3);
+            long amount = 1 + random.nextInt(credit ? 150_000 : 50_000);
+            createTransaction(entityDischargeService, entityAccountId, operationTypeId, amount);
+            createTransaction(setBasedDischargeService, setBasedAccountId, operationTypeId, amount);
+        }
+
+        // Assert
+        assertSameBalances(entityAccountId, setBasedAccountId);
+    }
+
+    @Test
+    @DisplayName("Should discharge hundreds of open debits without loading or updating any transaction entity")
+    void shouldDischargeManyOpenDebitsInOneStatement() {
+        // Arrange
+        Long entityAccountId = createAccount();
+        Long setBasedAccountId = createAccount();
+        for (int i = 0; i < 500; i++) {
+            createTransaction(entityDischargeService, entityAccountId, 2L, 333L);
+            createTransaction(setBasedDischargeService, setBasedAccountId, 2L, 333L);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        statistics.clear();
+        long entityStartNanos = System.nanoTime();
+        createTransaction(entityDischargeService, entityAccountId, 4L, 100_000L);
+        long entityElapsedNanos = System.nanoTime() - entityStartNanos;
+        long entityUpdates = statistics.getEntityUpdateCount();
+
+        statistics.clear();
+        long setBasedStartNanos = System.nanoTime();
+        createTransaction(setBasedDischargeService, setBasedAccountId, 4L, 100_000L);
+        long setBasedElapsedNanos = System.nanoTime() - setBasedStartNanos;
+        long setBasedUpdates = statistics.getEntityUpdateCount();
+
+        // Assert
+        log.info("Discharged a credit over 500 open debits in {} us with entity discharge ({} entity updates) "
+                        + "and in {} us with set based discharge ({} entity updates)",
+                entityElapsedNanos / 1_000, entityUpdates, setBasedElapsedNanos / 1_000, setBasedUpdates);
+        assertThat(entityUpdates).isEqualTo(301L);
+        assertThat(setBasedUpdates).isZero();
+        assertSameBalances(entityAccountId, setBasedAccountId);
+    }
+
+    private TransactionServiceImpl transactionService(TransactionDischargeMode dischargeMode) {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.setDischargeMode(dischargeMode);
+        return new TransactionServiceImpl(transactionRepository, operationTypeRegistry, accountRepository, idempotencyKeyRepository,
+                transactionProperties, new BankingMetrics(new SimpleMeterRegistry()));
+    }
+
+    private Long createAccount() {
+        return accountRepository.save(AccountEntity.builder().documentNumber("11122233344").build()).getAccountId();
+    }
+
+    private void createTransaction(TransactionService transactionService, Long accountId, long operationTypeId, long amount) {
+        transactionTemplate.executeWithoutResult(status -> transactionService.createTransaction(TransactionReq.builder()
+                .accountId(accountId)
+                .operationTypeId(operationTypeId)
+                .amount(amount)
+                .build()));
+    }
+
+    private void assertSameBalances(Long entityAccountId, Long setBasedAccountId) {
+        assertThat(transactions(setBasedAccountId)).containsExactlyElementsOf(transactions(entityAccountId));
+
+        AccountEntity entityAccount = accountRepository.findById(entityAccountId).orElseThrow();
+        AccountEntity setBasedAccount = accountRepository.findById(setBasedAccountId).orElseThrow();
+        assertThat(setBasedAccount)
+                .extracting(AccountEntity::getBalance, AccountEntity::getOutstandingDebt)
+                .containsExactly(entityAccount.getBalance(), entityAccount.getOutstandingDebt());
+    }
+
+    private List<Map<String, Object>> transactions(Long accountId) {
+        return jdbcTemplate.queryForList(
+                "SELECT amount, balance FROM transactions WHERE account_id = ? ORDER BY transaction_id", accountId);
+    }
+}
@@ -0,0 +1,209 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent credits and debits, alone and in batches spanning several accounts, at a few hot accounts in the
+ * locking execution mode, and reports throughput, open debits lock wait, deadlocks and serialization failures.
+ * Deadlocked and serialization failed requests are retried as a client would. The committed transactions of every
+ * account are then replayed one at a time in their (event_date, transaction_id) order by a sequential oracle, which
+ * must reach the same balance on every transaction and on the account.
+ */
+@Slf4j
+@DisplayName("Hot accounts stress Integration Tests with db row locking")
+class HotAccountsStressIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final String DEADLOCK_DETECTED = "40P01";
+    private static final String SERIALIZATION_FAILURE = "40001";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should reach the balances of a sequential replay under concurrent credits and debits on hot accounts")
+    void shouldMatchSequentialOracleUnderContention() throws Exception {
+        // Arrange
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            accountIds.add(accountRepository.save(AccountEntity.builder().documentNumber("5550000000" + i).build()).getAccountId());
+        }
+        LongAdder committedRequests = new LongAdder();
+        LongAdder deadlocks = new LongAdder();
+        LongAdder serializationFailures = new LongAdder();
+        Timer lockWaitTimer = meterRegistry.get("banking.transactions.open.debits.lock.wait").timer();
+        long lockWaitsBefore = lockWaitTimer.count();
+        double lockWaitMillisBefore = lockWaitTimer.totalTime(TimeUnit.MILLISECONDS);
+        long dbDeadlocksBefore = dbDeadlocks();
+
+        // Act
+        long startNanos = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < CLIENTS; client++) {
+                Random random = new Random(client);
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        List<TransactionReq> transactionReqs = randomRequest(random, accountIds);
+                        for (int attempt = 1; ; attempt++) {
+                            try {
+                                if (transactionReqs.size() == 1) {
+                                    transactionService.createTransaction(copy(transactionReqs.getFirst()));
+                                } else {
+                                    List<TransactionBatchItemRes> items = transactionService.createTransactions(transactionReqs.stream().map(this::copy).toList());
+                                    assertThat(items).allSatisfy(item -> assertThat(item.getStatus()).isEqualTo(200));
+                                }
+                                committedRequests.increment();
+                                break;
+                            } catch (RuntimeException e) {
+                                String sqlState = sqlState(e);
+                                if (DEADLOCK_DETECTED.equals(sqlState)) {
+                                    deadlocks.increment();
+                                } else if (SERIALIZATION_FAILURE.equals(sqlState)) {
+                                    serializationFailures.increment();
+                                } else {
+                                    throw e;
+                                }
+                                if (attempt == MAX_ATTEMPTS) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Assert
+        long lockWaits = lockWaitTimer.count() - lockWaitsBefore;
+        double lockWaitMillis = lockWaitTimer.totalTime(TimeUnit.MILLISECONDS) - lockWaitMillisBefore;
+        log.info("{} requests on {} hot accounts from {} clients in {} ms, {} requests/s, open debits lock wait: {} ms in total "
+                        + "over {} credits (max {} ms), deadlocks: {} ({} seen by the db), serialization failures: {}",
+                committedRequests.sum(), HOT_ACCOUNTS, CLIENTS, elapsedNanos / 1_000_000,
+                Math.round(committedRequests.sum() * 1e9 / elapsedNanos), Math.round(lockWaitMillis), lockWaits,
+                Math.round(lockWaitTimer.max(TimeUnit.MILLISECONDS)), deadlocks.sum(), dbDeadlocks() - dbDeadlocksBefore,
+                serializationFailures.sum());
+
+        assertThat(committedRequests.sum()).isEqualTo((long) CLIENTS * REQUESTS_PER_CLIENT);
+        for (Long accountId : accountIds) {
+            assertMatchesSequentialOracle(accountId);
+        }
+    }
+
+    /**
+     * Mostly single transactions, and one in five a batch of two to four transactions on random hot accounts, which
+     * locks its accounts in a random order and so can deadlock with another batch.
+     */
+    private List<TransactionReq> randomRequest(Random random, List<Long> accountIds) {
+        int size = random.nextInt(5) == 0 ? 2 + random.nextInt(3) : 1;
+        List<TransactionReq> transactionReqs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean credit = random.nextInt(10) < 4;
+            transactionReqs.add(TransactionReq.builder()
+                    .accountId(accountIds.get(random.nextInt(accountIds.size())))
+                    .operationTypeId(credit ? 4L : 1L + random.nextInt(3))
+                    .amount(1L + random.nextInt(credit ? 15_000 : 10_000))
+                    .build());
+        }
+        return transactionReqs;
+    }
+
+    /**
+     * The service turns the amount into its signed value on the request, a retry must start from the original one.
+     */
+    private TransactionReq copy(TransactionReq transactionReq) {
+        return transactionReq.toBuilder().build();
+    }
+
+    private void assertMatchesSequentialOracle(Long accountId) {
+        List<Map<String, Object>> transactions = jdbcTemplate.queryForList(
+                "SELECT amount, balance FROM transactions WHERE account_id = ? ORDER BY event_date, transaction_id", accountId);
+        // the oracle balance of every transaction, a debit one keeps going up as later credits discharge it
+        List<long[]> oracleBalances = new ArrayList<>(transactions.size());
+        Deque<long[]> openDebits = new ArrayDeque<>();
+        long accountBalance = 0;
+        for (Map<String, Object> transaction : transactions) {
+            long amount = ((Number) transaction.get("amount")).longValue();
+            long[] balance = {amount};
+            oracleBalances.add(balance);
+            accountBalance += amount;
+            if (amount < 0) {
+                openDebits.addLast(balance);
+                continue;
+            }
+
+            while (balance[0] > 0 && !openDebits.isEmpty()) {
+                long[] openDebit = openDebits.peekFirst();
+                long discharged = Math.min(balance[0], -openDebit[0]);
+                openDebit[0] += discharged;
+                balance[0] -= discharged;
+                if (openDebit[0] == 0) {
+                    openDebits.pollFirst();
+                }
+            }
+        }
+
+        List<Long> expectedBalances = oracleBalances.stream().map(balance -> balance[0]).toList();
+        List<Long> actualBalances = transactions.stream().map(transaction -> ((Number) transaction.get("balance")).longValue()).toList();
+        assertThat(actualBalances).as("balances of the transactions of account %d", accountId).isEqualTo(expectedBalances);
+        AccountEntity accountEntity = accountRepository.findById(accountId).orElseThrow();
+        assertThat(accountEntity.getBalance()).isEqualTo(accountBalance);
+        assertThat(accountEntity.getOutstandingDebt()).isEqualTo(-openDebits.stream().mapToLong(openDebit -> openDebit[0]).sum());
+    }
+
+    private long dbDeadlocks() {
+        Long deadlocks = jdbcTemplate.queryForObject("SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()", Long.class);
+        return deadlocks == null ? 0 : deadlocks;
+    }
+
+    private static String sqlState(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+}
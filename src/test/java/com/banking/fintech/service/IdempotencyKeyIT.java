@@ -0,0 +1,117 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same idempotency key concurrently, through one executor and through two executors standing in for two
+ * instances of the service, and expects a single transaction and a single debit of the account.
+ */
+@DisplayName("Idempotency key Integration Tests")
+class IdempotencyKeyIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int DUPLICATES = 16;
+
+    @Autowired
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionProperties transactionProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should create one transaction for concurrent duplicates on one instance")
+    void shouldCreateOneTransactionForConcurrentDuplicates() throws Exception {
+        // Arrange
+        Long accountId = createAccount();
+
+        // Act
+        List<TransactionRes> results = sendConcurrently(List.of(idempotentTransactionExecutor), accountId, "it-key-one-instance");
+
+        // Assert
+        assertSingleTransaction(accountId, results);
+    }
+
+    @Test
+    @DisplayName("Should create one transaction for concurrent duplicates spread over two instances")
+    void shouldCreateOneTransactionForDuplicatesOnTwoInstances() throws Exception {
+        // Arrange
+        Long accountId = createAccount();
+        IdempotentTransactionExecutor otherInstanceExecutor = new IdempotentTransactionExecutor(transactionService,
+                idempotencyKeyRepository, transactionProperties);
+
+        // Act
+        List<TransactionRes> results = sendConcurrently(List.of(idempotentTransactionExecutor, otherInstanceExecutor),
+                accountId, "it-key-two-instances");
+
+        // Assert
+        assertSingleTransaction(accountId, results);
+    }
+
+    private Long createAccount() {
+        return accountRepository.save(AccountEntity.builder().documentNumber("11122233344").build()).getAccountId();
+    }
+
+    private List<TransactionRes> sendConcurrently(List<IdempotentTransactionExecutor> executors, Long accountId,
+                                                  String idempotencyKey) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(DUPLICATES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionRes>> futures = new ArrayList<>();
+        for (int i = 0; i < DUPLICATES; i++) {
+            IdempotentTransactionExecutor executor = executors.get(i % executors.size());
+            futures.add(executorService.submit(() -> {
+                start.await();
+                return executor.createTransaction(idempotencyKey, TransactionReq.builder()
+                        .accountId(accountId)
+                        .operationTypeId(1L)
+                        .amount(2_500L)
+                        .build());
+            }));
+        }
+
+        start.countDown();
+        List<TransactionRes> results = new ArrayList<>();
+        for (Future<TransactionRes> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+        return results;
+    }
+
+    private void assertSingleTransaction(Long accountId, List<TransactionRes> results) {
+        assertThat(results).extracting(TransactionRes::getTransactionId).containsOnly(results.get(0).getTransactionId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ?", Long.class, accountId))
+                .isEqualTo(1L);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualTo(-2_500L);
+    }
+}
@@ -0,0 +1,182 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotentTransactionExecutor Unit Tests")
+class IdempotentTransactionExecutorTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+    private TransactionReq transactionReq;
+    private TransactionRes transactionRes;
+
+    @BeforeEach
+    void setUp() {
+        idempotentTransactionExecutor = new IdempotentTransactionExecutor(transactionService, idempotencyKeyRepository,
+                new TransactionProperties());
+
+        transactionReq = TransactionReq.builder()
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(5000L)
+                .build();
+
+        transactionRes = TransactionRes.builder()
+                .transactionId(10L)
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(-5000L)
+                .eventDate(Instant.now())
+                .build();
+    }
+
+    private TransactionReq copy(TransactionReq transactionReq) {
+        return transactionReq.toBuilder().build();
+    }
+
+    @Test
+    @DisplayName("Should create the transaction once and answer a retry from memory")
+    void shouldAnswerRetryFromMemory() {
+        // Arrange
+        when(idempotencyKeyRepository.findTransaction("key-1")).thenReturn(Optional.empty());
+        when(transactionService.createTransaction(any(TransactionReq.class), eq("key-1"))).thenReturn(transactionRes);
+
+        // Act
+        TransactionRes first = idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq));
+        TransactionRes retry = idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq));
+
+        // Assert
+        assertThat(first).isEqualTo(transactionRes);
+        assertThat(retry).isEqualTo(transactionRes);
+        verify(transactionService, times(1)).createTransaction(any(TransactionReq.class), eq("key-1"));
+        verify(idempotencyKeyRepository, times(1)).findTransaction("key-1");
+    }
+
+    @Test
+    @DisplayName("Should return the transaction of a key found in the db without creating another")
+    void shouldReturnTransactionOfKeyFoundInDb() {
+        // Arrange
+        when(idempotencyKeyRepository.findTransaction("key-1")).thenReturn(Optional.of(transactionRes));
+
+        // Act
+        TransactionRes result = idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq));
+
+        // Assert
+        assertThat(result).isEqualTo(transactionRes);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedForDifferentRequest() {
+        // Arrange
+        when(idempotencyKeyRepository.findTransaction("key-1")).thenReturn(Optional.of(transactionRes));
+        TransactionReq differentAmountReq = transactionReq.toBuilder().amount(6000L).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> idempotentTransactionExecutor.createTransaction("key-1", differentAmountReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                .isEqualTo(ErrorInfo.IDEMPOTENCY_KEY_REUSED_WITH_DIFFERENT_REQUEST);
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    @DisplayName("Should return the transaction of the instance that took the key concurrently")
+    void shouldReturnTransactionOfConcurrentlyTakenKey() {
+        // Arrange
+        when(idempotencyKeyRepository.findTransaction("key-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(transactionRes));
+        when(transactionService.createTransaction(any(TransactionReq.class), eq("key-1")))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        TransactionRes result = idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq));
+
+        // Assert
+        assertThat(result).isEqualTo(transactionRes);
+    }
+
+    @Test
+    @DisplayName("Should not remember a key whose transaction failed so a retry creates it")
+    void shouldRetryKeyAfterFailure() {
+        // Arrange
+        when(idempotencyKeyRepository.findTransaction("key-1")).thenReturn(Optional.empty());
+        when(transactionService.createTransaction(any(TransactionReq.class), eq("key-1")))
+                .thenThrow(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB))
+                .thenReturn(transactionRes);
+
+        // Act
+        assertThatThrownBy(() -> idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq)))
+                .isInstanceOf(TransactionServiceException.class);
+        TransactionRes retry = idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq));
+
+        // Assert
+        assertThat(retry).isEqualTo(transactionRes);
+        verify(transactionService, times(2)).createTransaction(any(TransactionReq.class), eq("key-1"));
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto the in flight transaction")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Arrange
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyKeyRepository.findTransaction("key-1")).thenReturn(Optional.empty());
+        when(transactionService.createTransaction(any(TransactionReq.class), eq("key-1"))).thenAnswer(invocation -> {
+            creating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return transactionRes;
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+        // Act
+        Future<TransactionRes> first = executorService.submit(() -> idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq)));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<TransactionRes>> duplicates = List.of(
+                executorService.submit(() -> idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq))),
+                executorService.submit(() -> idempotentTransactionExecutor.createTransaction("key-1", copy(transactionReq))));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(transactionRes);
+        for (Future<TransactionRes> duplicate : duplicates) {
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(transactionRes);
+        }
+        verify(transactionService, times(1)).createTransaction(any(TransactionReq.class), eq("key-1"));
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,9 @@
+package com.banking.fintech.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.context.TestPropertySource;
+
+@DisplayName("Hot account load Integration Tests with single writer lanes")
+@TestPropertySource(properties = "banking.transactions.execution-mode=lanes")
+class LaneHotAccountLoadIT extends AbstractHotAccountLoadIT {
+}
@@ -0,0 +1,224 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.TransactionEntity;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LaneTransactionServiceImpl Unit Tests")
+class LaneTransactionServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager platformTransactionManager;
+
+    private TransactionLanes transactionLanes;
+    private LaneTransactionServiceImpl transactionService;
+    private final AtomicLong transactionIds = new AtomicLong(100L);
+
+    @BeforeEach
+    void setUp() {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.getLanes().setCount(2);
+        transactionLanes = new TransactionLanes(transactionProperties);
+        transactionService = new LaneTransactionServiceImpl(transactionLanes, new TransactionTemplate(platformTransactionManager),
+                transactionRepository, operationTypeRegistry, accountRepository, idempotencyKeyRepository,
+                new BankingMetrics(new SimpleMeterRegistry()));
+
+        lenient().when(accountRepository.applyTransaction(anyLong(), anyLong(), anyLong())).thenReturn(1);
+        lenient().when(operationTypeRegistry.find(1L)).thenReturn(new OperationType(1L, "CASH PURCHASE", TransactionOperationType.DEBIT));
+        lenient().when(operationTypeRegistry.find(4L)).thenReturn(new OperationType(4L, "PAYMENT", TransactionOperationType.CREDIT));
+        lenient().when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> {
+            TransactionEntity transactionEntity = invocation.getArgument(0);
+            transactionEntity.setTransactionId(transactionIds.incrementAndGet());
+            return transactionEntity;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionLanes.shutdown();
+    }
+
+    private TransactionReq req(Long accountId, Long operationTypeId, Long amount) {
+        return TransactionReq.builder()
+                .accountId(accountId)
+                .operationTypeId(operationTypeId)
+                .amount(amount)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should save a debit without loading the open debits of the account")
+    void shouldSaveDebitWithoutLoadingOpenDebits() {
+        // Act
+        TransactionRes result = transactionService.createTransaction(req(1L, 1L, 5000L));
+
+        // Assert
+        assertThat(result)
+                .extracting(TransactionRes::getAccountId, TransactionRes::getAmount)
+                .containsExactly(1L, -5000L);
+        verify(transactionRepository).save(any(TransactionEntity.class));
+        verify(transactionRepository, never()).findOpenDebits(anyLong());
+        verify(transactionRepository, never()).getNegativeBalTransactions(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should discharge open debits in order and keep them in memory for the next credit")
+    void shouldDischargeOpenDebitsFromMemory() {
+        // Arrange
+        when(transactionRepository.findOpenDebits(1L))
+                .thenReturn(List.of(new OpenDebit(1L, -3000L), new OpenDebit(2L, -4000L)));
+
+        // Act
+        transactionService.createTransaction(req(1L, 4L, 5000L));
+        transactionService.createTransaction(req(1L, 4L, 3000L));
+
+        // Assert
+        InOrder inOrder = inOrder(transactionRepository);
+        inOrder.verify(transactionRepository).updateBalance(1L, 0L);
+        inOrder.verify(transactionRepository).updateBalance(2L, -2000L);
+        inOrder.verify(transactionRepository).updateBalance(2L, 0L);
+        verify(transactionRepository).findOpenDebits(1L);
+        verify(transactionRepository, never()).getNegativeBalTransactions(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should save the remaining credit as the balance of the credit transaction")
+    void shouldSaveRemainingCreditAsBalance() {
+        // Arrange
+        when(transactionRepository.findOpenDebits(1L)).thenReturn(List.of(new OpenDebit(1L, -3000L)));
+
+        // Act
+        transactionService.createTransaction(req(1L, 4L, 10000L));
+
+        // Assert
+        verify(transactionRepository).save(argThat(transactionEntity -> transactionEntity.getBalance() == 7000L));
+        verify(transactionRepository).updateBalance(1L, 0L);
+    }
+
+    @Test
+    @DisplayName("Should append a debit to the loaded open debits so a later credit discharges it")
+    void shouldAppendDebitToLoadedOpenDebits() {
+        // Arrange
+        when(transactionRepository.findOpenDebits(1L)).thenReturn(List.of());
+        transactionService.createTransaction(req(1L, 4L, 1000L));
+
+        // Act
+        TransactionRes debit = transactionService.createTransaction(req(1L, 1L, 2500L));
+        transactionService.createTransaction(req(1L, 4L, 2500L));
+
+        // Assert
+        verify(transactionRepository).updateBalance(debit.getTransactionId(), 0L);
+        verify(transactionRepository).findOpenDebits(1L);
+    }
+
+    @Test
+    @DisplayName("Should reload the open debits from the db after a rolled back transaction")
+    void shouldReloadOpenDebitsAfterRollback() {
+        // Arrange
+        when(transactionRepository.findOpenDebits(1L)).thenReturn(List.of(new OpenDebit(1L, -3000L)));
+        when(transactionRepository.save(any(TransactionEntity.class))).thenThrow(new PersistenceException("Save failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(req(1L, 4L, 1000L)))
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                .isEqualTo(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB);
+        assertThatThrownBy(() -> transactionService.createTransaction(req(1L, 4L, 1000L)))
+                .isInstanceOf(TransactionServiceException.class);
+
+        verify(transactionRepository, times(2)).findOpenDebits(1L);
+        verify(platformTransactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should save the idempotency key in the db transaction on the lane")
+    void shouldSaveIdempotencyKeyOnLane() {
+        // Act
+        TransactionRes result = transactionService.createTransaction(req(1L, 1L, 5000L), "key-1");
+
+        // Assert
+        verify(idempotencyKeyRepository).insertIdempotencyKey(eq("key-1"), eq(result.getTransactionId()), any());
+        verify(platformTransactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should throw TransactionServiceException when operation type does not exist")
+    void shouldThrowExceptionWhenOperationTypeNotExists() {
+        // Arrange
+        when(operationTypeRegistry.find(99L)).thenReturn(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(req(1L, 99L, 1000L)))
+                .isInstanceOf(TransactionServiceException.class)
+                .hasMessage(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrCode() + ": " + ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrMsg());
+
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should return batch results in request order across lanes")
+    void shouldReturnBatchResultsInRequestOrder() {
+        // Arrange
+        List<TransactionReq> transactionReqs = List.of(
+                req(1L, 1L, 1000L),
+                req(2L, 1L, 2000L),
+                req(3L, 99L, 3000L),
+                req(4L, 1L, 4000L)
+        );
+
+        // Act
+        List<TransactionBatchItemRes> result = transactionService.createTransactions(transactionReqs);
+
+        // Assert
+        assertThat(result)
+                .extracting(TransactionBatchItemRes::getStatus)
+                .containsExactly(HttpStatus.OK.value(), HttpStatus.OK.value(), HttpStatus.NOT_FOUND.value(), HttpStatus.OK.value());
+        assertThat(result)
+                .filteredOn(item -> item.getTransaction() != null)
+                .extracting(item -> item.getTransaction().getAccountId())
+                .containsExactly(1L, 2L, 4L);
+    }
+}
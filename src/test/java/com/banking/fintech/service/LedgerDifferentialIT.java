@@ -0,0 +1,220 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Records a random workload and runs it through the locking mode on some accounts and through the ledger on twin
+ * accounts, expecting the same amount and balance on every transaction and the same account balances in the db.
+ * The ledger is built by hand on a temporary directory and restarted mid way, so the shared context keeps the
+ * locking mode.
+ */
+@DisplayName("Ledger differential Integration Tests")
+class LedgerDifferentialIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ACCOUNTS = 4;
+    private static final int TRANSACTIONS = 600;
+    private static final int CHUNK_SIZE = 25;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path ledgerDir;
+
+    private TransactionProperties transactionProperties;
+    private LedgerPersistenceSink ledgerPersistenceSink;
+    private LedgerSequencer ledgerSequencer;
+    private LedgerTransactionServiceImpl ledgerTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ledger_position");
+        transactionProperties = new TransactionProperties();
+        transactionProperties.getLedger().setDir(ledgerDir.toString());
+        transactionProperties.getLedger().setSnapshotInterval(100);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        stopLedger();
+    }
+
+    private void startLedger() throws Exception {
+        ledgerPersistenceSink = new LedgerPersistenceSink(jdbcTemplate, transactionTemplate, transactionProperties);
+        ledgerPersistenceSink.start();
+        ledgerSequencer = new LedgerSequencer(operationTypeRegistry, accountRepository, transactionRepository, jdbcTemplate,
+                ledgerPersistenceSink, transactionProperties);
+        ledgerSequencer.start();
+        ledgerTransactionService = new LedgerTransactionServiceImpl(ledgerSequencer);
+    }
+
+    private void stopLedger() throws Exception {
+        if (ledgerSequencer != null) {
+            ledgerSequencer.stop();
+            ledgerPersistenceSink.stop();
+            ledgerSequencer = null;
+        }
+    }
+
+    private void awaitPersisted() throws Exception {
+        ledgerPersistenceSink.whenAllPersisted().get(30, TimeUnit.SECONDS);
+    }
+
+    private List<Long> createAccounts() {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountRepository.save(AccountEntity.builder().documentNumber("99988877766").build()).getAccountId());
+        }
+        return accountIds;
+    }
+
+    /**
+     * Mostly debits of up to 500.00 and fewer, larger credits, in minor units, on a random account index.
+     */
+    private static List<long[]> recordWorkload(long seed) {
+        Random random = new Random(seed);
+        List<long[]> workload = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            boolean credit = random.nextInt(10) < 3;
+            workload.add(new long[]{random.nextInt(ACCOUNTS), credit ? 4L : 1L + random.nextInt(3), 1 + random.nextInt(credit ? 150_000 : 50_000)});
+        }
+        return workload;
+    }
+
+    private static TransactionReq transactionReq(List<Long> accountIds, long[] operation) {
+        return TransactionReq.builder()
+                .accountId(accountIds.get((int) operation[0]))
+                .operationTypeId(operation[1])
+                .amount(operation[2])
+                .build();
+    }
+
+    private void runOnLockingMode(List<Long> accountIds, List<long[]> workload) {
+        workload.forEach(operation -> transactionService.createTransaction(transactionReq(accountIds, operation)));
+    }
+
+    private void runOnLedger(List<Long> accountIds, List<long[]> workload) {
+        for (int from = 0; from < workload.size(); from += CHUNK_SIZE) {
+            ledgerTransactionService.createTransactions(workload.subList(from, Math.min(workload.size(), from + CHUNK_SIZE)).stream()
+                    .map(operation -> transactionReq(accountIds, operation))
+                    .toList());
+        }
+    }
+
+    private List<Map<String, Object>> transactions(Long accountId) {
+        return jdbcTemplate.queryForList("SELECT amount, balance FROM transactions WHERE account_id = ? ORDER BY transaction_id", accountId);
+    }
+
+    private List<Map<String, Object>> rows(List<Long> accountIds) {
+        return jdbcTemplate.queryForList("SELECT t.*, a.balance AS account_balance, a.outstanding_debt FROM transactions t "
+                + "JOIN accounts a ON a.account_id = t.account_id WHERE t.account_id IN (?, ?, ?, ?) ORDER BY t.transaction_id", accountIds.toArray());
+    }
+
+    private void assertSameResults(List<Long> lockingAccountIds, List<Long> ledgerAccountIds) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertThat(transactions(ledgerAccountIds.get(i))).containsExactlyElementsOf(transactions(lockingAccountIds.get(i)));
+            AccountEntity lockingAccount = accountRepository.findById(lockingAccountIds.get(i)).orElseThrow();
+            assertThat(accountRepository.findById(ledgerAccountIds.get(i)).orElseThrow())
+                    .extracting(AccountEntity::getBalance, AccountEntity::getOutstandingDebt)
+                    .containsExactly(lockingAccount.getBalance(), lockingAccount.getOutstandingDebt());
+        }
+    }
+
+    @Test
+    @DisplayName("Should post a recorded workload to the same balances as the locking mode, across a restart that replays the log")
+    void shouldMatchLockingModeAcrossRestart() throws Exception {
+        // Arrange
+        List<Long> lockingAccountIds = createAccounts();
+        List<Long> ledgerAccountIds = createAccounts();
+        List<long[]> workload = recordWorkload(7L);
+        List<long[]> beforeLedger = workload.subList(0, 50);
+        List<long[]> firstRun = workload.subList(50, 350);
+        List<long[]> secondRun = workload.subList(350, TRANSACTIONS);
+        runOnLockingMode(lockingAccountIds, workload);
+        runOnLockingMode(ledgerAccountIds, beforeLedger);
+
+        // Act
+        startLedger();
+        runOnLedger(ledgerAccountIds, firstRun);
+        awaitPersisted();
+        stopLedger();
+        List<Map<String, Object>> rowsBeforeRestart = rows(ledgerAccountIds);
+        jdbcTemplate.update("UPDATE ledger_position SET sequence = 0");
+        startLedger();
+        awaitPersisted();
+        List<Map<String, Object>> rowsAfterReplay = rows(ledgerAccountIds);
+        runOnLedger(ledgerAccountIds, secondRun);
+        awaitPersisted();
+
+        // Assert
+        assertThat(rowsAfterReplay).isEqualTo(rowsBeforeRestart);
+        assertSameResults(lockingAccountIds, ledgerAccountIds);
+    }
+
+    @Test
+    @DisplayName("Should post a transaction at most once per idempotency key and find it in the db once written")
+    void shouldPostOncePerIdempotencyKey() throws Exception {
+        // Arrange
+        Long accountId = createAccounts().getFirst();
+        startLedger();
+        IdempotentTransactionExecutor idempotentTransactionExecutor = new IdempotentTransactionExecutor(ledgerTransactionService,
+                idempotencyKeyRepository, transactionProperties);
+        TransactionReq transactionReq = TransactionReq.builder().accountId(accountId).operationTypeId(1L).amount(2_500L).build();
+
+        // Act
+        TransactionRes first = ledgerTransactionService.createTransaction(transactionReq.toBuilder().build(), "ledger-key-1");
+        TransactionRes retry = idempotentTransactionExecutor.createTransaction("ledger-key-1", transactionReq.toBuilder().build());
+        awaitPersisted();
+
+        // Assert
+        assertThatThrownBy(() -> ledgerTransactionService.createTransaction(transactionReq.toBuilder().build(), "ledger-key-1"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(retry).isEqualTo(first);
+        assertThat(idempotencyKeyRepository.findTransaction("ledger-key-1")).contains(first);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getBalance()).isEqualTo(-2_500L);
+    }
+}
@@ -0,0 +1,182 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.ledger.LedgerCommand;
+import com.banking.fintech.ledger.LedgerCommandLog;
+import com.banking.fintech.ledger.LedgerPosting;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockedConstruction;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LedgerSequencer Unit Tests")
+class LedgerSequencerTest {
+
+    private static final String SELECT_ID_BLOCK_SIZE = "SELECT increment_by FROM pg_sequences WHERE sequencename = 'transactions_seq'";
+    private static final String RESERVE_TRANSACTION_IDS = "SELECT nextval('transactions_seq')";
+
+    @Mock
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LedgerPersistenceSink ledgerPersistenceSink;
+
+    @TempDir
+    private Path ledgerDir;
+
+    private LedgerSequencer ledgerSequencer;
+
+    @BeforeEach
+    void setUp() {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.getLedger().setDir(ledgerDir.toString());
+        ledgerSequencer = new LedgerSequencer(operationTypeRegistry, accountRepository, transactionRepository, jdbcTemplate,
+                ledgerPersistenceSink, transactionProperties);
+
+        when(jdbcTemplate.queryForObject(SELECT_ID_BLOCK_SIZE, Integer.class)).thenReturn(50);
+        when(jdbcTemplate.queryForObject(RESERVE_TRANSACTION_IDS, Long.class)).thenReturn(1_000L);
+        when(operationTypeRegistry.find(1L)).thenReturn(new OperationType(1L, "Normal Purchase", TransactionOperationType.DEBIT));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(AccountEntity.builder().accountId(1L).documentNumber("12345678901").build()));
+        when(transactionRepository.findOpenDebits(1L)).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException, IOException {
+        ledgerSequencer.stop();
+    }
+
+    private static TransactionReq debit(long amount) {
+        return TransactionReq.builder().accountId(1L).operationTypeId(1L).amount(amount).build();
+    }
+
+    @Test
+    @DisplayName("Should post the transactions of a new account in order, with the account read off the sequencer thread")
+    void shouldLoadAccountOffSequencerThread() throws Exception {
+        // Arrange
+        List<String> loaderThreads = new CopyOnWriteArrayList<>();
+        CountDownLatch accountRead = new CountDownLatch(1);
+        when(accountRepository.findById(1L)).thenAnswer(invocation -> {
+            loaderThreads.add(Thread.currentThread().getName());
+            accountRead.await(5, TimeUnit.SECONDS);
+            return Optional.of(AccountEntity.builder().accountId(1L).documentNumber("12345678901").build());
+        });
+        ledgerSequencer.start();
+
+        // Act
+        CompletableFuture<LedgerPosting> first = ledgerSequencer.submit(debit(100L), null);
+        CompletableFuture<LedgerPosting> second = ledgerSequencer.submit(debit(200L), null);
+        Thread.sleep(200);
+        boolean answeredBeforeRead = first.isDone() || second.isDone();
+        accountRead.countDown();
+
+        // Assert
+        assertThat(answeredBeforeRead).isFalse();
+        assertThat(first.get(5, TimeUnit.SECONDS).accountBalance()).isEqualTo(-100L);
+        assertThat(second.get(5, TimeUnit.SECONDS).accountBalance()).isEqualTo(-300L);
+        assertThat(second.get().transactionId()).isGreaterThan(first.get().transactionId());
+        assertThat(loaderThreads).singleElement().asString().startsWith("ledger-loader-");
+        verify(accountRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch and stop accepting transactions when a command cannot be appended to the log")
+    void shouldStopOnCommandLogAppendFailure() throws Exception {
+        // Arrange
+        try (MockedConstruction<LedgerCommandLog> ledgerCommandLogs = mockConstruction(LedgerCommandLog.class,
+                (ledgerCommandLog, context) -> doThrow(new IOException("No space left on device"))
+                        .when(ledgerCommandLog).append(anyLong(), any(LedgerCommand.PostTransaction.class)))) {
+            ledgerSequencer.start();
+
+            // Act
+            CompletableFuture<LedgerPosting> rejected = ledgerSequencer.submit(debit(100L), null);
+            assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TransactionServiceException.class);
+            CompletableFuture<LedgerPosting> afterFailure = ledgerSequencer.submit(debit(100L), null);
+
+            // Assert
+            assertThat(rejected).isCompletedExceptionally();
+            assertThat(afterFailure).isCompletedExceptionally();
+            assertThatThrownBy(afterFailure::join).hasCauseInstanceOf(TransactionServiceException.class)
+                    .cause().satisfies(e -> assertThat(((TransactionServiceException) e).getErrorInfo())
+                            .isEqualTo(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+            verify(ledgerCommandLogs.constructed().getFirst(), times(1)).append(anyLong(), any(LedgerCommand.PostTransaction.class));
+            verify(ledgerPersistenceSink, never()).publish(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail the requests of an unknown account without blocking the sequencer")
+    void shouldFailUnknownAccount() throws Exception {
+        // Arrange
+        when(accountRepository.findById(2L)).thenReturn(Optional.empty());
+        ledgerSequencer.start();
+
+        // Act
+        CompletableFuture<LedgerPosting> unknown = ledgerSequencer.submit(
+                TransactionReq.builder().accountId(2L).operationTypeId(1L).amount(100L).build(), null);
+        CompletableFuture<LedgerPosting> known = ledgerSequencer.submit(debit(100L), null);
+
+        // Assert
+        assertThat(known.get(5, TimeUnit.SECONDS).accountId()).isEqualTo(1L);
+        assertThatThrownBy(() -> unknown.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TransactionServiceException.class)
+                .cause().satisfies(e -> assertThat(((TransactionServiceException) e).getErrorInfo())
+                        .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should reject a transaction submitted after the sequencer stopped")
+    void shouldRejectSubmitAfterStop() throws Exception {
+        // Arrange
+        ledgerSequencer.start();
+        ledgerSequencer.stop();
+
+        // Act
+        CompletableFuture<LedgerPosting> future = ledgerSequencer.submit(debit(100L), null);
+
+        // Assert
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join).hasCauseInstanceOf(TransactionServiceException.class);
+        verifyNoInteractions(accountRepository);
+    }
+}
@@ -0,0 +1,7 @@
+package com.banking.fintech.service;
+
+import org.junit.jupiter.api.DisplayName;
+
+@DisplayName("Hot account load Integration Tests with db row locking")
+class LockingHotAccountLoadIT extends AbstractHotAccountLoadIT {
+}
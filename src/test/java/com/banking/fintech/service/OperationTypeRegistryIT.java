@@ -0,0 +1,63 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a transaction resolves its operation type from the registry, including a type added at runtime,
+ * without a single statement on the operation types table.
+ */
+@DisplayName("Operation type registry Integration Tests")
+class OperationTypeRegistryIT extends AbstractEmbeddedPostgresIT {
+
+    @Autowired
+    private OperationTypeService operationTypeService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should create a transaction with an operation type added at runtime without querying operation types")
+    void shouldResolveRuntimeOperationTypeWithoutQueries() {
+        // Arrange
+        Long accountId = accountRepository.save(AccountEntity.builder().documentNumber("11122233344").build()).getAccountId();
+        OperationTypeRes operationTypeRes = operationTypeService.createOperationType(OperationTypeReq.builder()
+                .description("ANNUAL FEE")
+                .operationType("debit")
+                .build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Act
+        statistics.clear();
+        TransactionRes transactionRes = transactionService.createTransaction(TransactionReq.builder()
+                .accountId(accountId)
+                .operationTypeId(operationTypeRes.getOperationTypeId())
+                .amount(4_500L)
+                .build());
+
+        // Assert
+        assertThat(transactionRes.getAmount()).isEqualTo(-4_500L);
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(accountRepository.findById(accountId).orElseThrow().getOutstandingDebt()).isEqualTo(4_500L);
+    }
+}
@@ -0,0 +1,127 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.repo.OperationTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OperationTypeRegistry Unit Tests")
+class OperationTypeRegistryTest {
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @InjectMocks
+    private OperationTypeRegistry operationTypeRegistry;
+
+    private OperationTypeEntity debitOperationTypeEntity;
+    private OperationTypeEntity creditOperationTypeEntity;
+
+    @BeforeEach
+    void setUp() {
+        debitOperationTypeEntity = OperationTypeEntity.builder()
+                .operationTypeId(1L)
+                .description("CASH PURCHASE")
+                .operationType(TransactionOperationType.DEBIT)
+                .build();
+
+        creditOperationTypeEntity = OperationTypeEntity.builder()
+                .operationTypeId(4L)
+                .description("PAYMENT")
+                .operationType(TransactionOperationType.CREDIT)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should find the operation types loaded from the db on refresh")
+    void shouldFindOperationTypesLoadedOnRefresh() {
+        // Arrange
+        when(operationTypeRepository.findAll()).thenReturn(List.of(creditOperationTypeEntity, debitOperationTypeEntity));
+
+        // Act
+        operationTypeRegistry.refresh();
+
+        // Assert
+        assertThat(operationTypeRegistry.find(1L)).isEqualTo(new OperationType(1L, "CASH PURCHASE", TransactionOperationType.DEBIT));
+        assertThat(operationTypeRegistry.find(4L)).isEqualTo(new OperationType(4L, "PAYMENT", TransactionOperationType.CREDIT));
+        assertThat(operationTypeRegistry.getOperationTypes())
+                .extracting(OperationType::operationTypeId)
+                .containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should return null for an unknown or null operation type id")
+    void shouldReturnNullForUnknownOperationTypeId() {
+        // Arrange
+        when(operationTypeRepository.findAll()).thenReturn(List.of(debitOperationTypeEntity));
+        operationTypeRegistry.refresh();
+
+        // Act & Assert
+        assertThat(operationTypeRegistry.find(99L)).isNull();
+        assertThat(operationTypeRegistry.find(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not query the db when finding an operation type")
+    void shouldNotQueryDbWhenFindingOperationType() {
+        // Arrange
+        when(operationTypeRepository.findAll()).thenReturn(List.of(debitOperationTypeEntity));
+        operationTypeRegistry.refresh();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            operationTypeRegistry.find(1L);
+        }
+
+        // Assert
+        verify(operationTypeRepository, times(1)).findAll();
+        verifyNoMoreInteractions(operationTypeRepository);
+    }
+
+    @Test
+    @DisplayName("Should make a registered operation type findable without reloading from the db")
+    void shouldFindRegisteredOperationType() {
+        // Arrange
+        when(operationTypeRepository.findAll()).thenReturn(List.of(debitOperationTypeEntity));
+        operationTypeRegistry.refresh();
+        List<OperationType> snapshotBeforeRegister = operationTypeRegistry.getOperationTypes();
+
+        // Act
+        operationTypeRegistry.register(new OperationType(5L, "REFUND", TransactionOperationType.CREDIT));
+
+        // Assert
+        assertThat(operationTypeRegistry.find(5L)).isEqualTo(new OperationType(5L, "REFUND", TransactionOperationType.CREDIT));
+        assertThat(operationTypeRegistry.find(1L)).isNotNull();
+        assertThat(snapshotBeforeRegister).hasSize(1);
+        verify(operationTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should replace the registered operation types with the db ones on refresh")
+    void shouldReplaceOperationTypesOnRefresh() {
+        // Arrange
+        when(operationTypeRepository.findAll())
+                .thenReturn(List.of(debitOperationTypeEntity))
+                .thenReturn(List.of(creditOperationTypeEntity));
+        operationTypeRegistry.refresh();
+
+        // Act
+        operationTypeRegistry.refresh();
+
+        // Assert
+        assertThat(operationTypeRegistry.find(1L)).isNull();
+        assertThat(operationTypeRegistry.find(4L)).isNotNull();
+    }
+}
@@ -0,0 +1,132 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.OperationTypeReq;
+import com.banking.fintech.dto.OperationTypeRes;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.exception.OperationTypeServiceException;
+import com.banking.fintech.repo.OperationTypeRepository;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OperationTypeServiceImpl Unit Tests")
+class OperationTypeServiceImplTest {
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @Mock
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @InjectMocks
+    private OperationTypeServiceImpl operationTypeService;
+
+    private OperationTypeReq operationTypeReq;
+
+    @BeforeEach
+    void setUp() {
+        operationTypeReq = OperationTypeReq.builder()
+                .description("REFUND")
+                .operationType("CREDIT")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should save the operation type and register it for transactions")
+    void shouldSaveAndRegisterOperationType() {
+        // Arrange
+        when(operationTypeRepository.save(any(OperationTypeEntity.class))).thenAnswer(invocation -> {
+            OperationTypeEntity operationTypeEntity = invocation.getArgument(0);
+            return operationTypeEntity.toBuilder().operationTypeId(5L).build();
+        });
+
+        // Act
+        OperationTypeRes result = operationTypeService.createOperationType(operationTypeReq);
+
+        // Assert
+        assertThat(result)
+                .extracting(OperationTypeRes::getOperationTypeId, OperationTypeRes::getDescription, OperationTypeRes::getOperationType)
+                .containsExactly(5L, "REFUND", "credit");
+
+        ArgumentCaptor<OperationTypeEntity> entityCaptor = ArgumentCaptor.forClass(OperationTypeEntity.class);
+        verify(operationTypeRepository).save(entityCaptor.capture());
+        assertThat(entityCaptor.getValue().getOperationTypeId()).isNull();
+        assertThat(entityCaptor.getValue().getOperationType()).isEqualTo(TransactionOperationType.CREDIT);
+        verify(operationTypeRegistry).register(new OperationType(5L, "REFUND", TransactionOperationType.CREDIT));
+    }
+
+    @Test
+    @DisplayName("Should not register the operation type when saving it fails")
+    void shouldNotRegisterOperationTypeWhenSaveFails() {
+        // Arrange
+        when(operationTypeRepository.save(any(OperationTypeEntity.class))).thenThrow(new PersistenceException("Save failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> operationTypeService.createOperationType(operationTypeReq))
+                .isInstanceOf(OperationTypeServiceException.class)
+                .hasMessage(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrCode() + ": " + ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrMsg())
+                .hasCauseInstanceOf(PersistenceException.class);
+
+        verify(operationTypeRegistry, never()).register(any());
+    }
+
+    @Test
+    @DisplayName("Should list the operation types from the registry")
+    void shouldListOperationTypesFromRegistry() {
+        // Arrange
+        when(operationTypeRegistry.getOperationTypes()).thenReturn(List.of(
+                new OperationType(1L, "CASH PURCHASE", TransactionOperationType.DEBIT),
+                new OperationType(4L, "PAYMENT", TransactionOperationType.CREDIT)));
+
+        // Act
+        List<OperationTypeRes> result = operationTypeService.getOperationTypes();
+
+        // Assert
+        assertThat(result)
+                .extracting(OperationTypeRes::getOperationTypeId, OperationTypeRes::getOperationType)
+                .containsExactly(tuple(1L, "debit"), tuple(4L, "credit"));
+        verifyNoInteractions(operationTypeRepository);
+    }
+
+    @Test
+    @DisplayName("Should reload the registry and return the reloaded operation types on refresh")
+    void shouldRefreshRegistry() {
+        // Arrange
+        when(operationTypeRegistry.getOperationTypes()).thenReturn(List.of(
+                new OperationType(1L, "CASH PURCHASE", TransactionOperationType.DEBIT)));
+
+        // Act
+        List<OperationTypeRes> result = operationTypeService.refreshOperationTypes();
+
+        // Assert
+        assertThat(result).hasSize(1);
+        verify(operationTypeRegistry).refresh();
+    }
+
+    @Test
+    @DisplayName("Should throw OperationTypeServiceException when reloading the registry fails")
+    void shouldThrowExceptionWhenRefreshFails() {
+        // Arrange
+        doThrow(new PersistenceException("Query failed")).when(operationTypeRegistry).refresh();
+
+        // Act & Assert
+        assertThatThrownBy(() -> operationTypeService.refreshOperationTypes())
+                .isInstanceOf(OperationTypeServiceException.class)
+                .hasMessage(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrCode() + ": " + ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg());
+    }
+}
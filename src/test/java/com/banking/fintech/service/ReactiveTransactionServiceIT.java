@@ -0,0 +1,201 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.controller.ReactiveTransactionController;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.repo.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reactive stack against the embedded Postgres: the same transactions through the jpa locking mode and the
+ * reactive service must leave the same balances, and the reactive service must keep a hot account consistent.
+ */
+@Slf4j
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = "spring.r2dbc.pool.max-acquire-time=1s")
+@DisplayName("Reactive transaction service Integration Tests")
+class ReactiveTransactionServiceIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int TRANSACTIONS_PER_SCENARIO = 60;
+
+    @Autowired
+    private ReactiveTransactionService reactiveTransactionService;
+
+    @Autowired
+    private ReactiveTransactionController reactiveTransactionController;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @ParameterizedTest(name = "seed {0}")
+    @ValueSource(longs = {1L, 2L, 3L, 5L, 8L})
+    @DisplayName("Should discharge open debits to the same balances as the jpa locking mode")
+    void shouldDischargeToSameBalancesAsLockingMode(long seed) {
+        // Arrange
+        Long lockingAccountId = createAccount();
+        Long reactiveAccountId = createAccount();
+        Random random = new Random(seed);
+
+        // Act
+        for (int i = 0; i < TRANSACTIONS_PER_SCENARIO; i++) {
+            // mostly debits of up to 500.00 and fewer, larger credits, in minor units
+            boolean credit = random.nextInt(10) < 3;
+            long operationTypeId = credit ? 4L : 1L + random.nextInt(3);
+            long amount = 1 + random.nextInt(credit ? 150_000 : 50_000);
+            transactionTemplate.executeWithoutResult(status -> transactionService.createTransaction(transactionReq(lockingAccountId, operationTypeId, amount)));
+            reactiveTransactionService.createTransaction(transactionReq(reactiveAccountId, operationTypeId, amount), null).block();
+        }
+
+        // Assert
+        assertThat(transactions(reactiveAccountId)).containsExactlyElementsOf(transactions(lockingAccountId));
+        assertThat(accountRepository.findById(reactiveAccountId).orElseThrow())
+                .extracting(AccountEntity::getBalance, AccountEntity::getOutstandingDebt)
+                .containsExactly(accountRepository.findById(lockingAccountId).orElseThrow().getBalance(),
+                        accountRepository.findById(lockingAccountId).orElseThrow().getOutstandingDebt());
+    }
+
+    @Test
+    @DisplayName("Should keep the balances of a hot account consistent under concurrent reactive debits and credits")
+    void shouldKeepHotAccountConsistent() {
+        // Arrange
+        Long accountId = createAccount();
+
+        // Act
+        long startNanos = System.nanoTime();
+        List<TransactionRes> transactionResList = Flux.range(0, 640)
+                .flatMap(i -> reactiveTransactionService.createTransaction(transactionReq(accountId, i % 2 == 0 ? 1L : 4L, 1000L), null), 10)
+                .collectList()
+                .block();
+        log.info("Created: {} concurrent transactions on one account in {} ms", transactionResList.size(), (System.nanoTime() - startNanos) / 1_000_000);
+
+        // Assert
+        Map<String, Object> totals = jdbcTemplate.queryForMap("SELECT COUNT(*) AS count, SUM(amount) AS amount, SUM(balance) AS balance, "
+                + "SUM(CASE WHEN balance < 0 THEN -balance ELSE 0 END) AS debt FROM transactions WHERE account_id = ?", accountId);
+        AccountEntity accountEntity = accountRepository.findById(accountId).orElseThrow();
+        assertThat(totals.get("count")).isEqualTo(640L);
+        // a credit moves its amount into the balances of the debits it discharges and keeps the rest, so no amount is lost
+        assertThat(((Number) totals.get("balance")).longValue()).isEqualTo(((Number) totals.get("amount")).longValue());
+        assertThat(accountEntity.getBalance()).isEqualTo(((Number) totals.get("amount")).longValue());
+        assertThat(accountEntity.getOutstandingDebt()).isEqualTo(((Number) totals.get("debt")).longValue());
+    }
+
+    @Test
+    @DisplayName("Should create one transaction for concurrent requests with the same idempotency key")
+    void shouldCreateOneTransactionPerIdempotencyKey() {
+        // Arrange
+        Long accountId = createAccount();
+
+        // Act
+        List<TransactionRes> transactionResList = Flux.range(0, 8)
+                .flatMap(i -> reactiveTransactionService.createTransaction(transactionReq(accountId, 1L, 2500L), "reactive-key-" + accountId))
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(transactionResList).extracting(TransactionRes::getTransactionId).containsOnly(transactionResList.getFirst().getTransactionId());
+        assertThat(transactions(accountId)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should answer a streamed batch per item with the transactions of each chunk committed")
+    void shouldAnswerStreamedBatchPerItem() {
+        // Arrange
+        Long accountId = createAccount();
+        Flux<TransactionReq> transactionReqs = Flux.just(transactionReq(accountId, 1L, 1000L), transactionReq(Long.MAX_VALUE, 1L, 1000L),
+                transactionReq(accountId, 1L, -1L), transactionReq(accountId, 4L, 400L));
+
+        // Act
+        List<TransactionBatchItemRes> result = reactiveTransactionController.createTransactions(transactionReqs).block().getBody();
+
+        // Assert
+        assertThat(result).extracting(TransactionBatchItemRes::getStatus).containsExactly(200, 404, 400, 200);
+        assertThat(accountRepository.findById(accountId).orElseThrow())
+                .extracting(AccountEntity::getBalance, AccountEntity::getOutstandingDebt)
+                .containsExactly(-600L, 600L);
+    }
+
+    @Test
+    @DisplayName("Should answer 503 to the requests waiting longer than the acquire timeout for a connection of a stalled db")
+    void shouldFailFastWhenPoolConnectionsAreHeldByStalledDb() throws Exception {
+        // Arrange
+        Long accountId = createAccount();
+        List<Object> results;
+
+        // Act
+        try (Connection stallingConnection = dataSource.getConnection()) {
+            stallingConnection.setAutoCommit(false);
+            try (Statement statement = stallingConnection.createStatement()) {
+                statement.execute("LOCK TABLE accounts IN ACCESS EXCLUSIVE MODE");
+            }
+            Mono<List<Object>> requests = Flux.range(0, 30)
+                    .flatMap(i -> reactiveTransactionService.createTransaction(transactionReq(accountId, 1L, 100L), null)
+                            .<Object>map(transactionRes -> transactionRes)
+                            .onErrorResume(BankingServiceException.class, e -> Mono.just(e.getErrorInfo())))
+                    .collectList()
+                    .cache();
+            requests.subscribe();
+            Thread.sleep(3_000);
+            stallingConnection.rollback();
+            results = requests.block();
+        }
+
+        // Assert
+        assertThat(results).filteredOn(TransactionRes.class::isInstance).hasSize(10);
+        assertThat(results).filteredOn(ErrorInfo.DB_CONNECTION_LIMIT_REACHED::equals).hasSize(20);
+        assertThat(transactions(accountId)).hasSize(10);
+    }
+
+    private Long createAccount() {
+        return accountRepository.save(AccountEntity.builder().documentNumber("11122233344").build()).getAccountId();
+    }
+
+    private static TransactionReq transactionReq(Long accountId, long operationTypeId, long amount) {
+        return TransactionReq.builder()
+                .accountId(accountId)
+                .operationTypeId(operationTypeId)
+                .amount(amount)
+                .build();
+    }
+
+    private List<Map<String, Object>> transactions(Long accountId) {
+        return jdbcTemplate.queryForList(
+                "SELECT amount, balance FROM transactions WHERE account_id = ? ORDER BY transaction_id", accountId);
+    }
+}
@@ -0,0 +1,189 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.entity.OperationTypeEntity;
+import com.banking.fintech.entity.TransactionRow;
+import com.banking.fintech.exception.BankingServiceException;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.ReactiveAccountRepository;
+import com.banking.fintech.repo.ReactiveTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveTransactionServiceImpl Unit Tests")
+class ReactiveTransactionServiceImplTest {
+
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    private ReactiveAccountRepository accountRepository;
+
+    @Mock
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ReactiveTransactionServiceImpl transactionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(accountRepository.lockAccount(anyLong())).thenAnswer(invocation -> Mono.just(invocation.<Long>getArgument(0)));
+        lenient().when(accountRepository.applyTransaction(anyLong(), anyLong(), anyLong())).thenReturn(Mono.just(1));
+        lenient().when(transactionRepository.save(any(TransactionRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.<TransactionRow>getArgument(0).toBuilder().transactionId(100L).build()));
+        lenient().when(operationTypeRegistry.find(1L)).thenReturn(operationType(1L, TransactionOperationType.DEBIT));
+        lenient().when(operationTypeRegistry.find(4L)).thenReturn(operationType(4L, TransactionOperationType.CREDIT));
+    }
+
+    private static OperationType operationType(Long operationTypeId, TransactionOperationType transactionOperationType) {
+        return OperationTypeRegistry.toOperationType(OperationTypeEntity.builder()
+                .operationTypeId(operationTypeId)
+                .description("TEST")
+                .operationType(transactionOperationType)
+                .build());
+    }
+
+    private static TransactionReq transactionReq(Long operationTypeId, long amount) {
+        return TransactionReq.builder()
+                .accountId(1L)
+                .operationTypeId(operationTypeId)
+                .amount(amount)
+                .build();
+    }
+
+    private static TransactionRow openDebit(Long transactionId, long balance) {
+        return TransactionRow.builder()
+                .transactionId(transactionId)
+                .accountId(1L)
+                .operationTypeId(1L)
+                .amount(balance)
+                .balance(balance)
+                .eventDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should discharge a credit over the open debits in the order they are locked and keep the rest")
+    void shouldDischargeCreditOverOpenDebitsInOrder() {
+        // Arrange
+        when(transactionRepository.findOpenDebitsForUpdate(1L)).thenReturn(Flux.just(openDebit(10L, -3000L), openDebit(11L, -5000L), openDebit(12L, -4000L)));
+        when(transactionRepository.updateBalance(anyLong(), anyLong())).thenReturn(Mono.just(1));
+
+        // Act
+        TransactionRes result = transactionService.createTransaction(transactionReq(4L, 6000L), null).block();
+
+        // Assert
+        assertThat(result).extracting(TransactionRes::getTransactionId, TransactionRes::getAmount).containsExactly(100L, 6000L);
+        InOrder inOrder = inOrder(transactionRepository, accountRepository);
+        inOrder.verify(accountRepository).lockAccount(1L);
+        inOrder.verify(transactionRepository).findOpenDebitsForUpdate(1L);
+        inOrder.verify(transactionRepository).updateBalance(10L, 0L);
+        inOrder.verify(transactionRepository).updateBalance(11L, -2000L);
+        inOrder.verify(accountRepository).applyTransaction(1L, 6000L, -6000L);
+        inOrder.verify(transactionRepository).save(argThat(transactionRow -> transactionRow.getBalance() == 0L));
+        verify(transactionRepository, never()).updateBalance(eq(12L), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should fail with account not found when no account row is updated")
+    void shouldFailWhenAccountNotFound() {
+        // Arrange
+        when(accountRepository.applyTransaction(1L, -1000L, 1000L)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq(1L, 1000L), null).block())
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        verify(transactionRepository, never()).save(any(TransactionRow.class));
+    }
+
+    @Test
+    @DisplayName("Should answer the transaction of a key taken concurrently, and reject it for a different request")
+    void shouldAnswerTransactionOfKeyTakenConcurrently() {
+        // Arrange
+        TransactionRow takenTransactionRow = openDebit(7L, -1000L);
+        when(transactionRepository.findByIdempotencyKey("key-1"))
+                .thenReturn(Mono.empty(), Mono.just(takenTransactionRow), Mono.just(takenTransactionRow));
+        when(transactionRepository.insertIdempotencyKey(eq("key-1"), eq(100L), any(LocalDateTime.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("idempotency_keys_pkey")));
+
+        // Act
+        TransactionRes result = transactionService.createTransaction(transactionReq(1L, 1000L), "key-1").block();
+
+        // Assert
+        assertThat(result.getTransactionId()).isEqualTo(7L);
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq(1L, 2000L), "key-1").block())
+                .isInstanceOf(TransactionServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.IDEMPOTENCY_KEY_REUSED_WITH_DIFFERENT_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should report client errors per item of a batch")
+    void shouldReportClientErrorsPerBatchItem() {
+        // Arrange
+        when(operationTypeRegistry.find(99L)).thenReturn(null);
+
+        // Act
+        List<TransactionBatchItemRes> result = transactionService.createTransactions(List.of(transactionReq(1L, 1000L), transactionReq(99L, 1000L))).block();
+
+        // Assert
+        assertThat(result).extracting(TransactionBatchItemRes::getStatus).containsExactly(200, 404);
+        verify(transactionalOperator, times(1)).transactional(any(Mono.class));
+    }
+
+    @Test
+    @DisplayName("Should answer 503 when no db connection is acquired in time")
+    void shouldFailWithConnectionLimitOnAcquireTimeout() {
+        // Arrange
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("acquire", new R2dbcTimeoutException("Connection acquisition timed out"))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq(1L, 1000L), null).block())
+                .isInstanceOf(BankingServiceException.class)
+                .extracting("errorInfo")
+                .isEqualTo(ErrorInfo.DB_CONNECTION_LIMIT_REACHED);
+    }
+}
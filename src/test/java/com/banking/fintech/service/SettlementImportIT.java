@@ -0,0 +1,283 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.codec.MinorUnits;
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.SettlementImportRepository;
+import com.banking.fintech.settlement.SettlementCsvReader;
+import com.banking.fintech.settlement.SettlementImport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports settlement files from a temporary spool directory into the embedded db with the beans of the shared context.
+ * The importer is built by hand and never started, so the shared context keeps the settlement import disabled. The
+ * transactions of every account are then replayed one at a time in their (event_date, transaction_id) order by a
+ * sequential oracle, which must reach the same balance on every transaction and on the account.
+ */
+@Slf4j
+@DisplayName("Settlement import Integration Tests")
+class SettlementImportIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int ACCOUNTS = 5;
+    private static final int ROWS = 20_000;
+    private static final int CHUNK_ROWS = 1_000;
+    private static final long UNKNOWN_ACCOUNT_ID = Long.MAX_VALUE;
+    private static final long UNKNOWN_OPERATION_TYPE_ID = 77L;
+
+    @Autowired
+    private SettlementImportRepository settlementImportRepository;
+
+    @Autowired
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path spoolDir;
+
+    private SettlementImporter settlementImporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TransactionProperties transactionProperties = new TransactionProperties();
+        transactionProperties.getSettlementImport().setSpoolDir(spoolDir.toString());
+        transactionProperties.getSettlementImport().setChunkRows(CHUNK_ROWS);
+        transactionProperties.getSettlementImport().setMapWindowSize(DataSize.ofKilobytes(16));
+        settlementImporter = new SettlementImporter(settlementImportRepository, operationTypeRegistry, transactionTemplate, transactionProperties);
+        Files.createDirectories(spoolDir.resolve(SettlementImporter.IMPORTED_DIR));
+    }
+
+    /**
+     * Accounts with open debits created through the transactions api before the import.
+     */
+    private List<Long> createAccountsWithOpenDebits() {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Long accountId = accountRepository.save(AccountEntity.builder().documentNumber("7770000000" + i).build()).getAccountId();
+            accountIds.add(accountId);
+            transactionService.createTransaction(TransactionReq.builder().accountId(accountId).operationTypeId(1L).amount(5_000L * (i + 1)).build());
+            transactionService.createTransaction(TransactionReq.builder().accountId(accountId).operationTypeId(4L).amount(1_000L).build());
+            transactionService.createTransaction(TransactionReq.builder().accountId(accountId).operationTypeId(3L).amount(2_500L).build());
+        }
+        return accountIds;
+    }
+
+    /**
+     * Writes a file of random credits and debits on the accounts, with malformed rows, rows of an unknown operation
+     * type and rows of an unknown account every few hundred lines, some crlf line endings and a header.
+     *
+     * @return the expected error code of every rejected line
+     */
+    private Map<Long, String> writeSettlementFile(Path file, List<Long> accountIds, long seed) throws IOException {
+        Random random = new Random(seed);
+        Map<Long, String> rejectedLines = new HashMap<>();
+        StringBuilder content = new StringBuilder("account_id,operation_type_id,amount\n");
+        for (long lineNumber = 2; lineNumber < ROWS + 2; lineNumber++) {
+            long accountId = accountIds.get(random.nextInt(accountIds.size()));
+            boolean credit = random.nextInt(10) < 4;
+            long operationTypeId = credit ? 4L : 1L + random.nextInt(3);
+            String amount = MinorUnits.toString(1L + random.nextInt(credit ? 15_000 : 10_000));
+            if (lineNumber % 997 == 0) {
+                content.append(accountId).append(",x,").append(amount);
+                rejectedLines.put(lineNumber, ErrorInfo.INVALID_TRANSACTION_REQUEST.getErrCode());
+            } else if (lineNumber % 1_499 == 0) {
+                content.append(accountId).append(',').append(UNKNOWN_OPERATION_TYPE_ID).append(',').append(amount);
+                rejectedLines.put(lineNumber, ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrCode());
+            } else if (lineNumber % 1_999 == 0) {
+                content.append(UNKNOWN_ACCOUNT_ID).append(',').append(operationTypeId).append(',').append(amount);
+                rejectedLines.put(lineNumber, ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+            } else {
+                content.append(accountId).append(',').append(operationTypeId).append(',').append(amount);
+            }
+            content.append(lineNumber % 7 == 0 ? "\r\n" : "\n");
+        }
+        Files.writeString(file, content, StandardCharsets.US_ASCII);
+        return rejectedLines;
+    }
+
+    private long importedTransactions(List<Long> accountIds) {
+        Long transactions = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ANY (?)", Long.class,
+                (Object) accountIds.toArray(Long[]::new));
+        return transactions == null ? 0 : transactions - 3L * accountIds.size();
+    }
+
+    private Map<Long, String> rejects(long importId) {
+        Map<Long, String> rejects = new HashMap<>();
+        jdbcTemplate.query("SELECT line_number, err_code FROM settlement_import_rejects WHERE import_id = ?",
+                resultSet -> {
+                    rejects.put(resultSet.getLong("line_number"), resultSet.getString("err_code"));
+                }, importId);
+        return rejects;
+    }
+
+    @Test
+    @DisplayName("Should import a settlement file in chunks as if its rows were created one at a time")
+    void shouldImportSettlementFile() throws IOException {
+        // Arrange
+        List<Long> accountIds = createAccountsWithOpenDebits();
+        Path file = spoolDir.resolve("settlement-1.csv");
+        Map<Long, String> expectedRejects = writeSettlementFile(file, accountIds, 1L);
+
+        // Act
+        long startNanos = System.nanoTime();
+        int importedFiles = settlementImporter.importFiles();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        // Assert
+        log.info("Imported {} settlement rows in {} ms, {} rows/s", ROWS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                Math.round(ROWS * 1e9 / elapsedNanos));
+        assertThat(importedFiles).isEqualTo(1);
+        assertThat(file).doesNotExist();
+        assertThat(spoolDir.resolve(SettlementImporter.IMPORTED_DIR).resolve("settlement-1.csv")).exists();
+        SettlementImport settlementImport = settlementImportRepository.findOrStartImport("settlement-1.csv", 0);
+        assertThat(settlementImport.imported()).isTrue();
+        assertThat(settlementImport.appliedRows()).isEqualTo(ROWS - expectedRejects.size());
+        assertThat(settlementImport.rejectedRows()).isEqualTo(expectedRejects.size());
+        assertThat(rejects(settlementImport.importId())).isEqualTo(expectedRejects);
+        assertThat(importedTransactions(accountIds)).isEqualTo(ROWS - expectedRejects.size());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settlement_staging", Long.class)).isZero();
+        for (Long accountId : accountIds) {
+            assertMatchesSequentialOracle(accountId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted import after its last committed chunk")
+    void shouldResumeInterruptedImport() throws IOException {
+        // Arrange
+        List<Long> accountIds = createAccountsWithOpenDebits();
+        Path file = spoolDir.resolve("settlement-2.csv");
+        Map<Long, String> expectedRejects = writeSettlementFile(file, accountIds, 2L);
+        SettlementImport started = settlementImportRepository.findOrStartImport("settlement-2.csv", Files.size(file));
+        SettlementImport committed;
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SettlementCsvReader settlementCsvReader = new SettlementCsvReader(fileChannel, 0, 1, 16 * 1024);
+            SettlementImport chunk = started;
+            for (int i = 0; i < 3; i++) {
+                SettlementImport chunkStart = chunk;
+                chunk = transactionTemplate.execute(status -> settlementImportRepository.importChunk(chunkStart, settlementCsvReader,
+                        CHUNK_ROWS, operationTypeRegistry::find));
+            }
+            committed = chunk;
+            // a crash in the middle of the next chunk rolls it back together with its checkpoint
+            SettlementImport chunkStart = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                settlementImportRepository.importChunk(chunkStart, settlementCsvReader, CHUNK_ROWS, operationTypeRegistry::find);
+                status.setRollbackOnly();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        SettlementImport checkpoint = settlementImportRepository.findOrStartImport("settlement-2.csv", Files.size(file));
+
+        // Act
+        SettlementImport settlementImport = settlementImporter.importFile(file);
+
+        // Assert
+        assertThat(checkpoint).isEqualTo(committed);
+        assertThat(checkpoint.nextLineNumber()).isGreaterThan(3L * CHUNK_ROWS);
+        assertThat(settlementImport.imported()).isTrue();
+        assertThat(settlementImport.appliedRows()).isEqualTo(ROWS - expectedRejects.size());
+        assertThat(rejects(settlementImport.importId())).isEqualTo(expectedRejects);
+        assertThat(importedTransactions(accountIds)).isEqualTo(ROWS - expectedRejects.size());
+        for (Long accountId : accountIds) {
+            assertMatchesSequentialOracle(accountId);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not import again a file already imported")
+    void shouldSkipImportedFile() throws IOException {
+        // Arrange
+        List<Long> accountIds = createAccountsWithOpenDebits();
+        Path file = spoolDir.resolve("settlement-3.csv");
+        writeSettlementFile(file, accountIds, 3L);
+        SettlementImport imported = settlementImporter.importFile(file);
+        long transactions = importedTransactions(accountIds);
+        Files.move(spoolDir.resolve(SettlementImporter.IMPORTED_DIR).resolve("settlement-3.csv"), file);
+
+        // Act
+        SettlementImport settlementImport = settlementImporter.importFile(file);
+
+        // Assert
+        assertThat(settlementImport).isEqualTo(imported);
+        assertThat(importedTransactions(accountIds)).isEqualTo(transactions);
+        assertThat(file).doesNotExist();
+    }
+
+    private void assertMatchesSequentialOracle(Long accountId) {
+        List<Map<String, Object>> transactions = jdbcTemplate.queryForList(
+                "SELECT amount, balance FROM transactions WHERE account_id = ? ORDER BY event_date, transaction_id", accountId);
+        // the oracle balance of every transaction, a debit one keeps going up as later credits discharge it
+        List<long[]> oracleBalances = new ArrayList<>(transactions.size());
+        Deque<long[]> openDebits = new ArrayDeque<>();
+        long accountBalance = 0;
+        for (Map<String, Object> transaction : transactions) {
+            long amount = ((Number) transaction.get("amount")).longValue();
+            long[] balance = {amount};
+            oracleBalances.add(balance);
+            accountBalance += amount;
+            if (amount < 0) {
+                openDebits.addLast(balance);
+                continue;
+            }
+
+            while (balance[0] > 0 && !openDebits.isEmpty()) {
+                long[] openDebit = openDebits.peekFirst();
+                long discharged = Math.min(balance[0], -openDebit[0]);
+                openDebit[0] += discharged;
+                balance[0] -= discharged;
+                if (openDebit[0] == 0) {
+                    openDebits.pollFirst();
+                }
+            }
+        }
+
+        List<Long> expectedBalances = oracleBalances.stream().map(balance -> balance[0]).toList();
+        List<Long> actualBalances = transactions.stream().map(transaction -> ((Number) transaction.get("balance")).longValue()).toList();
+        assertThat(actualBalances).as("balances of the transactions of account %d", accountId).isEqualTo(expectedBalances);
+        AccountEntity accountEntity = accountRepository.findById(accountId).orElseThrow();
+        assertThat(accountEntity.getBalance()).isEqualTo(accountBalance);
+        assertThat(accountEntity.getOutstandingDebt()).isEqualTo(-openDebits.stream().mapToLong(openDebit -> openDebit[0]).sum());
+    }
+}
@@ -0,0 +1,151 @@
+package com.banking.fintech.service;
+
+import com.banking.fintech.config.TransactionProperties;
+import com.banking.fintech.constant.AsyncTransactionStatus;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.AsyncTransactionRes;
+import com.banking.fintech.dto.TransactionBatchItemRes;
+import com.banking.fintech.dto.TransactionReq;
+import com.banking.fintech.dto.TransactionRes;
+import com.banking.fintech.exception.TransactionServiceException;
+import com.banking.fintech.journal.TransactionJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionJournalDrainer Unit Tests")
+class TransactionJournalDrainerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @TempDir
+    private Path journalDir;
+
+    private TransactionJournal transactionJournal;
+    private TransactionJournalDrainer transactionJournalDrainer;
+
+    @BeforeEach
+    void setUp() {
+        transactionJournal = new TransactionJournal(journalDir, 1024 * 1024);
+        transactionJournalDrainer = new TransactionJournalDrainer(transactionJournal, transactionService,
+                idempotentTransactionExecutor, new TransactionProperties());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transactionJournal.close();
+    }
+
+    private TransactionBatchItemRes appliedItem(long transactionId) {
+        return TransactionBatchItemRes.builder()
+                .status(200)
+                .transaction(TransactionRes.builder().transactionId(transactionId).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should apply the pending entries in one batch with their idempotency keys and checkpoint them")
+    void shouldApplyPendingEntriesInOneBatch() {
+        // Arrange
+        transactionJournal.append(1L, 1L, 100L);
+        transactionJournal.append(2L, 4L, 200L);
+        when(transactionService.createTransactions(anyList(), anyList())).thenReturn(List.of(appliedItem(10L),
+                TransactionServiceImpl.buildTransactionBatchItemRes(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND)));
+
+        // Act
+        int drainedEntries = transactionJournalDrainer.drain();
+
+        // Assert
+        assertThat(drainedEntries).isEqualTo(2);
+        assertThat(transactionJournal.getCheckpoint()).isEqualTo(2L);
+        verify(transactionService).createTransactions(
+                List.of(TransactionReq.builder().accountId(1L).operationTypeId(1L).amount(100L).build(),
+                        TransactionReq.builder().accountId(2L).operationTypeId(4L).amount(200L).build()),
+                List.of("journal:" + transactionJournal.trackingId(1L), "journal:" + transactionJournal.trackingId(2L)));
+        assertThat(transactionJournalDrainer.getOutcome(1L).getStatus()).isEqualTo(AsyncTransactionStatus.APPLIED);
+        assertThat(transactionJournalDrainer.getOutcome(1L).getTransaction().getTransactionId()).isEqualTo(10L);
+        assertThat(transactionJournalDrainer.getOutcome(2L).getStatus()).isEqualTo(AsyncTransactionStatus.REJECTED);
+        assertThat(transactionJournalDrainer.getOutcome(2L).getError().getErrCode()).isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+        verifyNoInteractions(idempotentTransactionExecutor);
+    }
+
+    @Test
+    @DisplayName("Should apply the entries one at a time when the batch is rolled back")
+    void shouldApplyEntriesOneAtATimeWhenBatchFails() {
+        // Arrange
+        transactionJournal.append(1L, 1L, 100L);
+        transactionJournal.append(2L, 1L, 200L);
+        when(transactionService.createTransactions(anyList(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotentTransactionExecutor.createTransaction(eq("journal:" + transactionJournal.trackingId(1L)), any(TransactionReq.class)))
+                .thenReturn(TransactionRes.builder().transactionId(10L).build());
+        when(idempotentTransactionExecutor.createTransaction(eq("journal:" + transactionJournal.trackingId(2L)), any(TransactionReq.class)))
+                .thenReturn(TransactionRes.builder().transactionId(11L).build());
+
+        // Act
+        int drainedEntries = transactionJournalDrainer.drain();
+
+        // Assert
+        assertThat(drainedEntries).isEqualTo(2);
+        assertThat(transactionJournal.getCheckpoint()).isEqualTo(2L);
+        assertThat(transactionJournalDrainer.getOutcome(2L).getTransaction().getTransactionId()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("Should stop at the first entry failing on a server error and retry it on the next drain")
+    void shouldStopAtServerErrorAndRetry() {
+        // Arrange
+        transactionJournal.append(1L, 1L, 100L);
+        transactionJournal.append(2L, 1L, 200L);
+        transactionJournal.append(3L, 1L, 300L);
+        when(transactionService.createTransactions(anyList(), anyList()))
+                .thenThrow(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+        when(idempotentTransactionExecutor.createTransaction(anyString(), any(TransactionReq.class)))
+                .thenReturn(TransactionRes.builder().transactionId(10L).build())
+                .thenThrow(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB))
+                .thenThrow(new TransactionServiceException(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB));
+
+        // Act
+        int drainedEntries = transactionJournalDrainer.drain();
+        AsyncTransactionRes pendingOutcome = transactionJournalDrainer.getOutcome(2L);
+        int drainedOnRetry = transactionJournalDrainer.drain();
+
+        // Assert
+        assertThat(drainedEntries).isEqualTo(1);
+        assertThat(pendingOutcome).isNull();
+        assertThat(drainedOnRetry).isZero();
+        assertThat(transactionJournal.getCheckpoint()).isEqualTo(1L);
+        verify(idempotentTransactionExecutor, times(2)).createTransaction(eq("journal:" + transactionJournal.trackingId(2L)), any(TransactionReq.class));
+        verify(idempotentTransactionExecutor, never()).createTransaction(eq("journal:" + transactionJournal.trackingId(3L)), any(TransactionReq.class));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the journal is applied up to its end")
+    void shouldDoNothingWhenCaughtUp() {
+        // Act
+        int drainedEntries = transactionJournalDrainer.drain();
+
+        // Assert
+        assertThat(drainedEntries).isZero();
+        verifyNoInteractions(transactionService, idempotentTransactionExecutor);
+    }
+}
@@ -1,15 +1,21 @@
 package com.banking.fintech.service;
 
+import com.banking.fintech.config.TransactionProperties;
 import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.constant.TransactionDischargeMode;
 import com.banking.fintech.constant.TransactionOperationType;
+import com.banking.fintech.dto.TransactionBatchItemRes;
 import com.banking.fintech.dto.TransactionReq;
 import com.banking.fintech.dto.TransactionRes;
 import com.banking.fintech.entity.AccountEntity;
 import com.banking.fintech.entity.OperationTypeEntity;
 import com.banking.fintech.entity.TransactionEntity;
 import com.banking.fintech.exception.TransactionServiceException;
-import com.banking.fintech.repo.OperationTypeRepository;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.repo.IdempotencyKeyRepository;
 import com.banking.fintech.repo.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,14 +24,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +46,19 @@ class TransactionServiceImplTest {
     private TransactionRepository transactionRepository;
 
     @Mock
-    private OperationTypeRepository operationTypeRepository;
+    private OperationTypeRegistry operationTypeRegistry;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    private TransactionProperties transactionProperties = new TransactionProperties();
+
+    @Spy
+    private BankingMetrics bankingMetrics = new BankingMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -48,6 +70,8 @@ class TransactionServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(accountRepository.applyTransaction(anyLong(), anyLong(), anyLong())).thenReturn(1);
+
         // Initialize test data
         accountEntity = AccountEntity.builder()
                 .accountId(1L)
@@ -62,24 +86,27 @@ class TransactionServiceImplTest {
         transactionReq = TransactionReq.builder()
                 .accountId(1L)
                 .operationTypeId(1L)
-                .amount(100.0)
+                .amount(10000L)
                 .build();
 
         transactionEntity = TransactionEntity.builder()
                 .transactionId(1L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(100.0)
+                .amount(10000L)
                 .eventDate(Instant.now())
                 .build();
     }
 
+    private static OperationType operationType(OperationTypeEntity operationTypeEntity) {
+        return OperationTypeRegistry.toOperationType(operationTypeEntity);
+    }
+
     @Test
     @DisplayName("Should create transaction successfully with CREDIT operation type")
     void shouldCreateTransactionWithCreditOperationType() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
@@ -95,14 +122,13 @@ class TransactionServiceImplTest {
                         TransactionRes::getOperationTypeId,
                         TransactionRes::getAmount
                 )
-                .containsExactly(1L, 1L, 1L, 100.0);
+                .containsExactly(1L, 1L, 1L, 10000L);
         assertThat(result.getEventDate()).isNotNull();
 
-        verify(operationTypeRepository).existsById(1L);
-        verify(operationTypeRepository).getReferenceById(1L);
+        verify(operationTypeRegistry).find(1L);
         verify(transactionRepository).getNegativeBalTransactions(1L);
         verify(transactionRepository).save(any(TransactionEntity.class));
-        verifyNoMoreInteractions(operationTypeRepository, transactionRepository);
+        verifyNoMoreInteractions(operationTypeRegistry, transactionRepository);
     }
 
     @Test
@@ -116,19 +142,18 @@ class TransactionServiceImplTest {
                 .build();
 
         transactionReq.setOperationTypeId(2L);
-        transactionReq.setAmount(50.0);
+        transactionReq.setAmount(5000L);
 
         TransactionEntity debitTransaction = TransactionEntity.builder()
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(debitOperationType)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(2L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(2L)).thenReturn(debitOperationType);
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(debitOperationType));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(debitTransaction);
 
         // Act
@@ -138,11 +163,10 @@ class TransactionServiceImplTest {
         assertThat(result)
                 .isNotNull()
                 .extracting(TransactionRes::getAmount)
-                .isEqualTo(-50.0);
+                .isEqualTo(-5000L);
         assertThat(result.getOperationTypeId()).isEqualTo(2L);
 
-        verify(operationTypeRepository).existsById(2L);
-        verify(operationTypeRepository).getReferenceById(2L);
+        verify(operationTypeRegistry).find(2L);
         verify(transactionRepository, never()).getNegativeBalTransactions(anyLong());
         verify(transactionRepository).save(any(TransactionEntity.class));
     }
@@ -151,14 +175,13 @@ class TransactionServiceImplTest {
     @DisplayName("Should apply multiplier correctly to transaction amount")
     void shouldApplyMultiplierCorrectly() {
         // Arrange
-        Double originalAmount = 100.0;
-        Double expectedAmount = 100.0; // CREDIT multiplier is 1
+        Long originalAmount = 10000L;
+        Long expectedAmount = 10000L; // CREDIT multiplier is 1
         transactionReq.setAmount(originalAmount);
 
         transactionEntity.setAmount(expectedAmount);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -173,12 +196,11 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle large transaction amounts")
     void shouldHandleLargeTransactionAmounts() {
         // Arrange
-        Double largeAmount = 999999999.99;
+        Long largeAmount = 99999999999L;
         transactionReq.setAmount(largeAmount);
         transactionEntity.setAmount(largeAmount);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -192,7 +214,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should throw TransactionServiceException when operation type does not exist")
     void shouldThrowExceptionWhenOperationTypeNotExists() {
         // Arrange
-        when(operationTypeRepository.existsById(99L)).thenReturn(false);
+        when(operationTypeRegistry.find(99L)).thenReturn(null);
 
         transactionReq.setOperationTypeId(99L);
 
@@ -201,8 +223,7 @@ class TransactionServiceImplTest {
                 .isInstanceOf(TransactionServiceException.class)
                 .hasMessage(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrCode() + ": " + ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrMsg());
 
-        verify(operationTypeRepository).existsById(99L);
-        verify(operationTypeRepository, never()).getReferenceById(anyLong());
+        verify(operationTypeRegistry).find(99L);
         verify(transactionRepository, never()).save(any());
     }
 
@@ -210,7 +231,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should not save transaction when operation type is not found")
     void shouldNotSaveTransactionWhenOperationTypeNotFound() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(false);
+        when(operationTypeRegistry.find(1L)).thenReturn(null);
 
         // Act & Assert
         assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
@@ -220,59 +241,59 @@ class TransactionServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should check existsById before getReferenceById")
-    void shouldCheckExistsByIdBeforeGetReferenceById() {
+    @DisplayName("Should save the idempotency key for the saved transaction")
+    void shouldSaveIdempotencyKeyForSavedTransaction() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(false);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
-        // Act & Assert
-        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
-                .isInstanceOf(TransactionServiceException.class);
+        // Act
+        transactionService.createTransaction(transactionReq, "key-1");
 
-        verify(operationTypeRepository).existsById(1L);
-        verify(operationTypeRepository, never()).getReferenceById(1L);
+        // Assert
+        InOrder inOrder = inOrder(transactionRepository, idempotencyKeyRepository);
+        inOrder.verify(transactionRepository).save(any(TransactionEntity.class));
+        inOrder.verify(idempotencyKeyRepository).insertIdempotencyKey("key-1", 1L, transactionEntity.getEventDate());
     }
 
     @Test
-    @DisplayName("Should throw TransactionServiceException when getting operation type fails")
-    void shouldThrowExceptionWhenGetOperationTypeFails() {
+    @DisplayName("Should not save an idempotency key when none is given")
+    void shouldNotSaveIdempotencyKeyWithoutKey() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L))
-                .thenThrow(new PersistenceException("Database connection failed"));
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
-        // Act & Assert
-        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
-                .isInstanceOf(TransactionServiceException.class)
-                .hasMessage(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrCode() + ": " + ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_GETTING_FROM_DB.getErrMsg())
-                .hasCauseInstanceOf(PersistenceException.class);
+        // Act
+        transactionService.createTransaction(transactionReq);
 
-        verify(operationTypeRepository).existsById(1L);
-        verify(operationTypeRepository).getReferenceById(1L);
-        verify(transactionRepository, never()).save(any());
+        // Assert
+        verifyNoInteractions(idempotencyKeyRepository);
     }
 
     @Test
-    @DisplayName("Should wrap PersistenceException when getting operation type")
-    void shouldWrapPersistenceExceptionWhenGettingOperationType() {
+    @DisplayName("Should throw TransactionServiceException when saving the idempotency key fails")
+    void shouldThrowExceptionWhenSaveIdempotencyKeyFails() {
         // Arrange
-        PersistenceException persistenceException = new PersistenceException("DB Error");
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenThrow(persistenceException);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+        when(idempotencyKeyRepository.insertIdempotencyKey(anyString(), anyLong(), any()))
+                .thenThrow(new PersistenceException("Insert failed"));
 
         // Act & Assert
-        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq, "key-1"))
                 .isInstanceOf(TransactionServiceException.class)
-                .extracting(Throwable::getCause)
-                .isEqualTo(persistenceException);
+                .extracting(e -> ((TransactionServiceException) e).getErrorInfo())
+                .isEqualTo(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB);
     }
 
     @Test
     @DisplayName("Should throw TransactionServiceException when saving transaction fails")
     void shouldThrowExceptionWhenSaveTransactionFails() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class)))
                 .thenThrow(new PersistenceException("Save failed"));
 
@@ -290,8 +311,7 @@ class TransactionServiceImplTest {
     void shouldWrapPersistenceExceptionWhenSavingTransaction() {
         // Arrange
         PersistenceException persistenceException = new PersistenceException("Save Error");
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenThrow(persistenceException);
 
         // Act & Assert
@@ -308,8 +328,7 @@ class TransactionServiceImplTest {
         transactionReq.setAccountId(42L);
         transactionEntity.getAccountEntity().setAccountId(42L);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -326,8 +345,7 @@ class TransactionServiceImplTest {
         transactionReq.setOperationTypeId(5L);
         operationTypeEntity.setOperationTypeId(5L);
 
-        when(operationTypeRepository.existsById(5L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(5L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(5L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -341,8 +359,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should create TransactionEntity with all required fields")
     void shouldCreateTransactionEntityWithAllFields() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -353,7 +370,7 @@ class TransactionServiceImplTest {
                 .hasFieldOrPropertyWithValue("transactionId", 1L)
                 .hasFieldOrPropertyWithValue("accountId", 1L)
                 .hasFieldOrPropertyWithValue("operationTypeId", 1L)
-                .hasFieldOrPropertyWithValue("amount", 100.0)
+                .hasFieldOrPropertyWithValue("amount", 10000L)
                 .hasFieldOrProperty("eventDate");
     }
 
@@ -361,8 +378,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle transaction with operation type ID 1")
     void shouldHandleOperationTypeId1() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -386,14 +402,13 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationType2)
-                .amount(-100.0)
+                .amount(-10000L)
                 .eventDate(Instant.now())
                 .build();
 
         transactionReq.setOperationTypeId(2L);
 
-        when(operationTypeRepository.existsById(2L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(2L)).thenReturn(operationType2);
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(operationType2));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transaction2);
 
         // Act
@@ -407,8 +422,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should return TransactionRes with all fields populated")
     void shouldReturnTransactionResWithAllFields() {
         // Arrange
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -433,7 +447,7 @@ class TransactionServiceImplTest {
         Long expectedTransactionId = 5L;
         Long expectedAccountId = 10L;
         Long expectedOperationTypeId = 3L;
-        Double expectedAmount = 250.50;
+        Long expectedAmount = 25050L;
         Instant expectedEventDate = Instant.ofEpochSecond(1000000);
 
         transactionEntity.setTransactionId(expectedTransactionId);
@@ -442,8 +456,7 @@ class TransactionServiceImplTest {
         transactionEntity.setAmount(expectedAmount);
         transactionEntity.setEventDate(expectedEventDate);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -478,8 +491,7 @@ class TransactionServiceImplTest {
         transactionEntity.setAccountEntity(maxAccount);
         transactionReq.setAccountId(Long.MAX_VALUE);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -493,12 +505,11 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle decimal amount values")
     void shouldHandleDecimalAmountValues() {
         // Arrange
-        Double decimalAmount = 123.456789;
+        Long decimalAmount = 12345L;
         transactionReq.setAmount(decimalAmount);
         transactionEntity.setAmount(decimalAmount);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -512,12 +523,11 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle very small positive amount")
     void shouldHandleVerySmallPositiveAmount() {
         // Arrange
-        Double smallAmount = 0.01;
+        Long smallAmount = 1L;
         transactionReq.setAmount(smallAmount);
         transactionEntity.setAmount(smallAmount);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
 
         // Act
@@ -533,7 +543,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should discharge balance to negative transactions when balance exceeds negative balance")
     void shouldDischargeBalanceToNegativeTransactions() {
         // Arrange
-        Double creditAmount = 100.0;
+        Long creditAmount = 10000L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -541,8 +551,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -551,12 +561,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(50.0) // 100 - 50 = 50
+                .balance(5000L) // 100 - 50 = 50
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -567,19 +576,22 @@ class TransactionServiceImplTest {
         assertThat(result)
                 .isNotNull()
                 .extracting(TransactionRes::getAmount, TransactionRes::getAccountId)
-                .containsExactly(100.0, 1L);
+                .containsExactly(10000L, 1L);
 
-        verify(operationTypeRepository).existsById(1L);
-        verify(operationTypeRepository).getReferenceById(1L);
-        verify(transactionRepository).getNegativeBalTransactions(1L);
+        verify(operationTypeRegistry).find(1L);
+        InOrder inOrder = inOrder(accountRepository, transactionRepository);
+        inOrder.verify(accountRepository).lockAccount(1L);
+        inOrder.verify(transactionRepository).getNegativeBalTransactions(1L);
+        inOrder.verify(accountRepository).applyTransaction(1L, 10000L, -5000L);
         verify(transactionRepository).save(any(TransactionEntity.class));
+        verify(bankingMetrics).recordDischargedOpenDebits(1);
     }
 
     @Test
     @DisplayName("Should fully discharge negative balance when credit amount equals negative balance")
     void shouldFullyDischargeNegativeBalanceWhenEqual() {
         // Arrange
-        Double creditAmount = 50.0;
+        Long creditAmount = 5000L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -587,8 +599,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -597,12 +609,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(0.0) // 50 - 50 = 0
+                .balance(0L) // 50 - 50 = 0
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -619,7 +630,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should partially discharge negative balance when credit amount is less than negative balance")
     void shouldPartiallyDischargeNegativeBalance() {
         // Arrange
-        Double creditAmount = 30.0;
+        Long creditAmount = 3000L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -627,8 +638,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -637,12 +648,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(0.0) // All credit consumed
+                .balance(0L) // All credit consumed
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -659,7 +669,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should discharge balance to multiple negative transactions sequentially")
     void shouldDischargeBalanceToMultipleNegativeTransactions() {
         // Arrange
-        Double creditAmount = 100.0;
+        Long creditAmount = 10000L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -667,8 +677,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-30.0)
-                .balance(-30.0)
+                .amount(-3000L)
+                .balance(-3000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -676,8 +686,8 @@ class TransactionServiceImplTest {
                 .transactionId(3L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-40.0)
-                .balance(-40.0)
+                .amount(-4000L)
+                .balance(-4000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -686,12 +696,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(30.0) // 100 - 30 - 40 = 30
+                .balance(3000L) // 100 - 30 - 40 = 30
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L))
                 .thenReturn(List.of(negativeTransaction1, negativeTransaction2));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
@@ -709,7 +718,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should set balance to zero when all credit is discharged")
     void shouldSetBalanceToZeroWhenAllCreditDischarged() {
         // Arrange
-        Double creditAmount = 50.0;
+        Long creditAmount = 5000L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -717,8 +726,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -727,12 +736,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(0.0)
+                .balance(0L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -755,19 +763,18 @@ class TransactionServiceImplTest {
                 .build();
 
         transactionReq.setOperationTypeId(2L);
-        transactionReq.setAmount(50.0);
+        transactionReq.setAmount(5000L);
 
         TransactionEntity debitTransaction = TransactionEntity.builder()
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(debitOperationType)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(2L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(2L)).thenReturn(debitOperationType);
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(debitOperationType));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(debitTransaction);
 
         // Act
@@ -783,8 +790,7 @@ class TransactionServiceImplTest {
         // Arrange
         transactionReq.setAccountId(1L);
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L))
                 .thenThrow(new RuntimeException("Database error while fetching negative transactions"));
 
@@ -807,13 +813,12 @@ class TransactionServiceImplTest {
                 .transactionId(1L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(100.0)
-                .balance(100.0)
+                .amount(10000L)
+                .balance(10000L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -824,7 +829,7 @@ class TransactionServiceImplTest {
         assertThat(result)
                 .isNotNull()
                 .extracting(TransactionRes::getAmount)
-                .isEqualTo(100.0);
+                .isEqualTo(10000L);
 
         verify(transactionRepository).getNegativeBalTransactions(1L);
         verify(transactionRepository).save(any(TransactionEntity.class));
@@ -834,8 +839,8 @@ class TransactionServiceImplTest {
     @DisplayName("Should apply multiplier to CREDIT transaction amount")
     void shouldApplyMultiplierToCreditTransaction() {
         // Arrange
-        Double originalAmount = 100.0;
-        Double expectedAmount = 100.0; // CREDIT multiplier is 1
+        Long originalAmount = 10000L;
+        Long expectedAmount = 10000L; // CREDIT multiplier is 1
         transactionReq.setAmount(originalAmount);
 
         TransactionEntity creditTransaction = TransactionEntity.builder()
@@ -847,8 +852,7 @@ class TransactionServiceImplTest {
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -869,8 +873,8 @@ class TransactionServiceImplTest {
                 .operationType(TransactionOperationType.DEBIT)
                 .build();
 
-        Double originalAmount = 50.0;
-        Double expectedAmount = -50.0; // DEBIT multiplier is -1
+        Long originalAmount = 5000L;
+        Long expectedAmount = -5000L; // DEBIT multiplier is -1
         transactionReq.setOperationTypeId(2L);
         transactionReq.setAmount(originalAmount);
 
@@ -883,8 +887,7 @@ class TransactionServiceImplTest {
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(2L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(2L)).thenReturn(debitOperationType);
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(debitOperationType));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(debitTransaction);
 
         // Act
@@ -898,20 +901,19 @@ class TransactionServiceImplTest {
     @DisplayName("Should set balance field correctly on saved transaction entity")
     void shouldSetBalanceFieldCorrectlyOnSavedTransaction() {
         // Arrange
-        Double expectedBalance = 100.0;
+        Long expectedBalance = 10000L;
         transactionReq.setAccountId(1L);
 
         TransactionEntity creditTransaction = TransactionEntity.builder()
                 .transactionId(1L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(100.0)
+                .amount(10000L)
                 .balance(expectedBalance)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -933,13 +935,12 @@ class TransactionServiceImplTest {
                 .transactionId(1L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(100.0)
-                .balance(100.0)
+                .amount(10000L)
+                .balance(10000L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -947,9 +948,8 @@ class TransactionServiceImplTest {
         transactionService.createTransaction(transactionReq);
 
         // Assert - verify order of method calls
-        InOrder inOrder = inOrder(operationTypeRepository, transactionRepository);
-        inOrder.verify(operationTypeRepository).existsById(1L);
-        inOrder.verify(operationTypeRepository).getReferenceById(1L);
+        InOrder inOrder = inOrder(operationTypeRegistry, transactionRepository);
+        inOrder.verify(operationTypeRegistry).find(1L);
         inOrder.verify(transactionRepository).getNegativeBalTransactions(1L);
         inOrder.verify(transactionRepository).save(any(TransactionEntity.class));
     }
@@ -965,28 +965,26 @@ class TransactionServiceImplTest {
                 .build();
 
         transactionReq.setOperationTypeId(2L);
-        transactionReq.setAmount(50.0);
+        transactionReq.setAmount(5000L);
 
         TransactionEntity debitTransaction = TransactionEntity.builder()
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(debitOperationType)
-                .amount(-50.0)
-                .balance(-50.0)
+                .amount(-5000L)
+                .balance(-5000L)
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(2L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(2L)).thenReturn(debitOperationType);
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(debitOperationType));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(debitTransaction);
 
         // Act
         transactionService.createTransaction(transactionReq);
 
         // Assert - verify order and no call to getNegativeBalTransactions
-        InOrder inOrder = inOrder(operationTypeRepository, transactionRepository);
-        inOrder.verify(operationTypeRepository).existsById(2L);
-        inOrder.verify(operationTypeRepository).getReferenceById(2L);
+        InOrder inOrder = inOrder(operationTypeRegistry, transactionRepository);
+        inOrder.verify(operationTypeRegistry).find(2L);
         inOrder.verify(transactionRepository).save(any(TransactionEntity.class));
         verify(transactionRepository, never()).getNegativeBalTransactions(anyLong());
     }
@@ -995,7 +993,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle large credit amount with multiple negative transactions")
     void shouldHandleLargeCreditAmountWithMultipleNegativeTransactions() {
         // Arrange
-        Double largeCreditAmount = 10000.0;
+        Long largeCreditAmount = 1000000L;
         transactionReq.setAmount(largeCreditAmount);
         transactionReq.setAccountId(1L);
 
@@ -1003,8 +1001,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-2000.0)
-                .balance(-2000.0)
+                .amount(-200000L)
+                .balance(-200000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -1012,8 +1010,8 @@ class TransactionServiceImplTest {
                 .transactionId(3L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-3000.0)
-                .balance(-3000.0)
+                .amount(-300000L)
+                .balance(-300000L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -1022,12 +1020,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(largeCreditAmount)
-                .balance(5000.0) // 10000 - 2000 - 3000 = 5000
+                .balance(500000L) // 10000 - 2000 - 3000 = 5000
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L))
                 .thenReturn(List.of(negativeTransaction1, negativeTransaction2));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
@@ -1049,7 +1046,7 @@ class TransactionServiceImplTest {
     @DisplayName("Should handle discharge balance logic with fractional amounts")
     void shouldHandleDischargeBalanceWithFractionalAmounts() {
         // Arrange
-        Double creditAmount = 100.50;
+        Long creditAmount = 10050L;
         transactionReq.setAmount(creditAmount);
         transactionReq.setAccountId(1L);
 
@@ -1057,8 +1054,8 @@ class TransactionServiceImplTest {
                 .transactionId(2L)
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
-                .amount(-50.25)
-                .balance(-50.25)
+                .amount(-5025L)
+                .balance(-5025L)
                 .eventDate(Instant.now())
                 .build();
 
@@ -1067,12 +1064,11 @@ class TransactionServiceImplTest {
                 .accountEntity(accountEntity)
                 .operationTypeEntity(operationTypeEntity)
                 .amount(creditAmount)
-                .balance(50.25) // 100.50 - 50.25 = 50.25
+                .balance(5025L) // 10050L - 5025L = 5025L
                 .eventDate(Instant.now())
                 .build();
 
-        when(operationTypeRepository.existsById(1L)).thenReturn(true);
-        when(operationTypeRepository.getReferenceById(1L)).thenReturn(operationTypeEntity);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
         when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
         when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(creditTransaction);
 
@@ -1084,4 +1080,184 @@ class TransactionServiceImplTest {
         verify(transactionRepository).getNegativeBalTransactions(1L);
         verify(transactionRepository).save(any(TransactionEntity.class));
     }
+
+    // ======================== BATCH TRANSACTION TEST CASES ========================
+
+    @Test
+    @DisplayName("Should create every transaction of a batch and return a result per item")
+    void shouldCreateTransactionsInBatch() {
+        // Arrange
+        TransactionReq secondReq = transactionReq.toBuilder().accountId(2L).build();
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(anyLong())).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+
+        // Act
+        List<TransactionBatchItemRes> result = transactionService.createTransactions(List.of(transactionReq, secondReq));
+
+        // Assert
+        assertThat(result)
+                .hasSize(2)
+                .allSatisfy(item -> {
+                    assertThat(item.getStatus()).isEqualTo(HttpStatus.OK.value());
+                    assertThat(item.getTransaction()).isNotNull();
+                    assertThat(item.getError()).isNull();
+                });
+        InOrder inOrder = inOrder(accountRepository, transactionRepository);
+        inOrder.verify(accountRepository).lockAccounts(Set.of(1L, 2L));
+        inOrder.verify(transactionRepository, times(2)).save(any(TransactionEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should lock the accounts of a batch in account id order")
+    void shouldCollectBatchAccountIdsInOrder() {
+        // Arrange
+        List<TransactionReq> transactionReqs = List.of(transactionReq.toBuilder().accountId(3L).build(),
+                transactionReq.toBuilder().accountId(1L).build(), transactionReq.toBuilder().accountId(3L).build(),
+                transactionReq.toBuilder().accountId(null).build(), transactionReq.toBuilder().accountId(2L).build());
+
+        // Act
+        Set<Long> result = TransactionServiceImpl.batchAccountIds(transactionReqs);
+
+        // Assert
+        assertThat(result).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should report client errors per item and keep processing the batch")
+    void shouldReportClientErrorsPerItemInBatch() {
+        // Arrange
+        TransactionReq unknownOperationTypeReq = transactionReq.toBuilder().operationTypeId(99L).build();
+        when(operationTypeRegistry.find(99L)).thenReturn(null);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+
+        // Act
+        List<TransactionBatchItemRes> result = transactionService.createTransactions(List.of(unknownOperationTypeReq, transactionReq));
+
+        // Assert
+        assertThat(result.get(0))
+                .extracting(TransactionBatchItemRes::getStatus, item -> item.getError().getErrCode())
+                .containsExactly(HttpStatus.NOT_FOUND.value(), ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getErrCode());
+        assertThat(result.get(1))
+                .extracting(TransactionBatchItemRes::getStatus)
+                .isEqualTo(HttpStatus.OK.value());
+        verify(transactionRepository).save(any(TransactionEntity.class));
+        verify(accountRepository, never()).lockAccounts(any());
+    }
+
+    @Test
+    @DisplayName("Should fail the whole batch when a transaction cannot be saved")
+    void shouldFailWholeBatchWhenSaveFails() {
+        // Arrange
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(transactionRepository.save(any(TransactionEntity.class)))
+                .thenThrow(new PersistenceException("Save failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransactions(List.of(transactionReq, transactionReq.toBuilder().build())))
+                .isInstanceOf(TransactionServiceException.class)
+                .hasMessage(ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrCode() + ": " + ErrorInfo.INTERNAL_SERVER_ERROR_WHILE_SAVING_TO_DB.getErrMsg());
+
+        verify(transactionRepository).save(any(TransactionEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should add a debit to the account balance and outstanding debt")
+    void shouldApplyDebitToAccountRunningBalance() {
+        // Arrange
+        OperationTypeEntity debitOperationType = OperationTypeEntity.builder()
+                .operationTypeId(2L)
+                .operationType(TransactionOperationType.DEBIT)
+                .build();
+        transactionReq.setOperationTypeId(2L);
+        transactionReq.setAmount(5000L);
+
+        when(operationTypeRegistry.find(2L)).thenReturn(operationType(debitOperationType));
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+
+        // Act
+        transactionService.createTransaction(transactionReq);
+
+        // Assert
+        verify(accountRepository).applyTransaction(1L, -5000L, 5000L);
+    }
+
+    @Test
+    @DisplayName("Should reduce the outstanding debt by the discharged part of a credit")
+    void shouldApplyDischargedCreditToAccountRunningBalance() {
+        // Arrange
+        TransactionEntity negativeTransaction = TransactionEntity.builder()
+                .transactionId(10L)
+                .balance(-6000L)
+                .build();
+
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of(negativeTransaction));
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+
+        // Act
+        transactionService.createTransaction(transactionReq);
+
+        // Assert
+        InOrder inOrder = inOrder(accountRepository, transactionRepository);
+        inOrder.verify(accountRepository).lockAccount(1L);
+        inOrder.verify(transactionRepository).getNegativeBalTransactions(1L);
+        inOrder.verify(accountRepository).applyTransaction(1L, 10000L, -6000L);
+    }
+
+    @Test
+    @DisplayName("Should throw exception and not save when the account does not exist")
+    void shouldThrowExceptionWhenAccountNotFound() {
+        // Arrange
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.getNegativeBalTransactions(1L)).thenReturn(List.of());
+        when(accountRepository.applyTransaction(1L, 10000L, 0L)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .hasMessage(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode() + ": " + ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrMsg());
+
+        verify(transactionRepository, never()).save(any(TransactionEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should discharge open debits in the db with a single statement in set based discharge mode")
+    void shouldDischargeBalanceSetBased() {
+        // Arrange
+        transactionProperties.setDischargeMode(TransactionDischargeMode.SET_BASED);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.dischargeOpenDebits(1L, 10000L)).thenReturn(6000L);
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+
+        // Act
+        transactionService.createTransaction(transactionReq);
+
+        // Assert
+        verify(transactionRepository).save(argThat(savedTransaction -> savedTransaction.getBalance() == 4000L));
+        InOrder inOrder = inOrder(accountRepository, transactionRepository);
+        inOrder.verify(accountRepository).lockAccount(1L);
+        inOrder.verify(transactionRepository).dischargeOpenDebits(1L, 10000L);
+        inOrder.verify(accountRepository).applyTransaction(1L, 10000L, -6000L);
+        verify(transactionRepository, never()).getNegativeBalTransactions(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when set based discharge fails")
+    void shouldThrowExceptionWhenSetBasedDischargeFails() {
+        // Arrange
+        transactionProperties.setDischargeMode(TransactionDischargeMode.SET_BASED);
+        when(operationTypeRegistry.find(1L)).thenReturn(operationType(operationTypeEntity));
+        when(transactionRepository.dischargeOpenDebits(1L, 10000L)).thenThrow(new PersistenceException("Update failed"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> transactionService.createTransaction(transactionReq))
+                .isInstanceOf(TransactionServiceException.class)
+                .hasMessage(ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE.getErrCode() + ": " + ErrorInfo.FAILURE_WHILE_DISCHARGING_BALANCE.getErrMsg());
+
+        verify(transactionRepository, never()).save(any(TransactionEntity.class));
+    }
 }
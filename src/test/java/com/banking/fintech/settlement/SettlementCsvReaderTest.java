@@ -0,0 +1,150 @@
+package com.banking.fintech.settlement;
+
+import com.banking.fintech.constant.ErrorInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SettlementCsvReader Unit Tests")
+class SettlementCsvReaderTest {
+
+    private static final long WINDOW_SIZE = 1024L * 1024L;
+
+    @TempDir
+    private Path spoolDir;
+
+    private record Row(long lineNumber, long accountId, long operationTypeId, long amount, ErrorInfo rejection) {
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(spoolDir.resolve("settlement.csv"), content, StandardCharsets.US_ASCII);
+    }
+
+    private List<Row> readAll(Path file, long offset, long lineNumber, long windowSize) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SettlementCsvReader settlementCsvReader = new SettlementCsvReader(fileChannel, offset, lineNumber, windowSize);
+            SettlementRow settlementRow = new SettlementRow();
+            List<Row> rows = new ArrayList<>();
+            while (settlementCsvReader.next(settlementRow)) {
+                rows.add(new Row(settlementRow.getLineNumber(), settlementRow.getAccountId(), settlementRow.getOperationTypeId(),
+                        settlementRow.getAmount(), settlementRow.getRejection()));
+            }
+            assertThat(settlementCsvReader.isAtEnd()).isTrue();
+            return rows;
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the rows after the header with their line numbers")
+    void shouldReadRowsAfterHeader() throws IOException {
+        // Arrange
+        Path file = write("account_id,operation_type_id,amount\n1,1,10.5\n2,4,0.01\n3,2,123456789.99\n");
+
+        // Act
+        List<Row> rows = readAll(file, 0, 1, WINDOW_SIZE);
+
+        // Assert
+        assertThat(rows).containsExactly(
+                new Row(2, 1, 1, 1_050, null),
+                new Row(3, 2, 4, 1, null),
+                new Row(4, 3, 2, 12_345_678_999L, null));
+    }
+
+    @Test
+    @DisplayName("Should read a file without header, with crlf line endings, blank lines and no final new line")
+    void shouldReadCrlfAndBlankLines() throws IOException {
+        // Arrange
+        Path file = write("1,1,10\r\n\r\n\n2,4,20.00\r\n3,3,30");
+
+        // Act
+        List<Row> rows = readAll(file, 0, 1, WINDOW_SIZE);
+
+        // Assert
+        assertThat(rows).containsExactly(
+                new Row(1, 1, 1, 1_000, null),
+                new Row(4, 2, 4, 2_000, null),
+                new Row(5, 3, 3, 3_000, null));
+    }
+
+    @Test
+    @DisplayName("Should reject the malformed rows with their line numbers")
+    void shouldRejectMalformedRows() throws IOException {
+        // Arrange
+        Path file = write("1,1,10\nx,1,10\n1,,10\n1,1\n1,1,0\n1,1,-5\n1,1,1.234\n99999999999999999999,1,1\n2,4,1\n");
+
+        // Act
+        List<Row> rows = readAll(file, 0, 1, WINDOW_SIZE);
+
+        // Assert
+        assertThat(rows).extracting(Row::lineNumber).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(rows).extracting(Row::rejection).containsExactly(null,
+                ErrorInfo.INVALID_TRANSACTION_REQUEST, ErrorInfo.INVALID_TRANSACTION_REQUEST, ErrorInfo.INVALID_TRANSACTION_REQUEST,
+                ErrorInfo.INVALID_TRANSACTION_REQUEST, ErrorInfo.INVALID_TRANSACTION_REQUEST, ErrorInfo.INVALID_TRANSACTION_REQUEST,
+                ErrorInfo.INVALID_TRANSACTION_REQUEST, null);
+        assertThat(rows.getLast()).isEqualTo(new Row(9, 2, 4, 100, null));
+    }
+
+    @Test
+    @DisplayName("Should map the file again when a row crosses the end of the window")
+    void shouldRemapWindowAtRowCrossingItsEnd() throws IOException {
+        // Arrange
+        StringBuilder content = new StringBuilder("account_id,operation_type_id,amount\n");
+        for (int i = 1; i <= 1_000; i++) {
+            content.append(i).append(',').append(i % 4 + 1).append(',').append(i).append('.').append(i % 100).append('\n');
+        }
+        Path file = write(content.toString());
+
+        // Act
+        List<Row> rows = readAll(file, 0, 1, 64);
+
+        // Assert
+        assertThat(rows).hasSize(1_000).allMatch(row -> row.rejection() == null);
+        assertThat(rows.get(499)).isEqualTo(new Row(501, 500, 1, 50_000, null));
+        assertThat(rows.getLast()).isEqualTo(new Row(1_001, 1_000, 1, 100_000, null));
+    }
+
+    @Test
+    @DisplayName("Should fail on a row longer than the window")
+    void shouldFailOnRowLongerThanWindow() throws IOException {
+        // Arrange
+        Path file = write("1,1,10\n12345678901234,1,10\n2,1,10\n");
+
+        // Act & Assert
+        assertThatThrownBy(() -> readAll(file, 0, 1, 16))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Line 2");
+    }
+
+    @Test
+    @DisplayName("Should resume from the offset and line number of a checkpoint")
+    void shouldResumeFromCheckpoint() throws IOException {
+        // Arrange
+        Path file = write("account_id,operation_type_id,amount\n1,1,10\n2,1,20\n3,1,30\n");
+        long offset;
+        long lineNumber;
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SettlementCsvReader settlementCsvReader = new SettlementCsvReader(fileChannel, 0, 1, WINDOW_SIZE);
+            settlementCsvReader.next(new SettlementRow());
+            offset = settlementCsvReader.getOffset();
+            lineNumber = settlementCsvReader.getLineNumber();
+        }
+
+        // Act
+        List<Row> rows = readAll(file, offset, lineNumber, WINDOW_SIZE);
+
+        // Assert
+        assertThat(lineNumber).isEqualTo(3);
+        assertThat(rows).containsExactly(new Row(3, 2, 1, 2_000, null), new Row(4, 3, 1, 3_000, null));
+    }
+}
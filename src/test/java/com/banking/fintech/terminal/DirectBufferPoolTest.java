@@ -0,0 +1,47 @@
+package com.banking.fintech.terminal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DirectBufferPool Unit Tests")
+class DirectBufferPoolTest {
+
+    @Test
+    @DisplayName("Should allocate a direct buffer when the pool is empty and reuse a released one cleared")
+    void shouldReuseReleasedBuffer() {
+        // Arrange
+        DirectBufferPool directBufferPool = new DirectBufferPool(64, 2);
+        ByteBuffer buffer = directBufferPool.acquire();
+        buffer.putLong(1L).flip();
+
+        // Act
+        directBufferPool.release(buffer);
+        ByteBuffer reused = directBufferPool.acquire();
+
+        // Assert
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.isDirect()).isTrue();
+        assertThat(reused.position()).isZero();
+        assertThat(reused.remaining()).isEqualTo(64);
+        assertThat(directBufferPool.getPooledBuffers()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep no more buffers than the pool size")
+    void shouldDropBuffersBeyondPoolSize() {
+        // Arrange
+        DirectBufferPool directBufferPool = new DirectBufferPool(64, 2);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            directBufferPool.release(ByteBuffer.allocateDirect(64));
+        }
+
+        // Assert
+        assertThat(directBufferPool.getPooledBuffers()).isEqualTo(2);
+    }
+}
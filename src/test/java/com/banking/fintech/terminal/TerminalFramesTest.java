@@ -0,0 +1,150 @@
+package com.banking.fintech.terminal;
+
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.dto.TransactionRes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TerminalFrames Unit Tests")
+class TerminalFramesTest {
+
+    @Test
+    @DisplayName("Should write a request frame of the request length, big endian")
+    void shouldWriteRequestFrame() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.REQUEST_FRAME_SIZE);
+
+        // Act
+        TerminalFrames.writeRequest(buffer, new TerminalFrames.Request(7L, 1L, 4L, 1_050L));
+        buffer.flip();
+
+        // Assert
+        assertThat(buffer.remaining()).isEqualTo(TerminalFrames.REQUEST_FRAME_SIZE);
+        assertThat(buffer.getInt()).isEqualTo(TerminalFrames.REQUEST_LENGTH);
+        assertThat(buffer.get(buffer.limit() - 1)).isEqualTo((byte) 0x1A);
+        assertThat(TerminalFrames.readRequest(buffer)).isEqualTo(new TerminalFrames.Request(7L, 1L, 4L, 1_050L));
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should round trip the idempotency key of a request, all zero standing for none")
+    void shouldRoundTripIdempotencyKey() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(2 * TerminalFrames.REQUEST_FRAME_SIZE);
+        UUID idempotencyKey = UUID.fromString("3f2a6c1e-8d4b-4e7a-9c5d-1b2e3f4a5b6c");
+
+        // Act
+        TerminalFrames.writeRequest(buffer, new TerminalFrames.Request(1L, idempotencyKey, 2L, 4L, 100L));
+        TerminalFrames.writeRequest(buffer, new TerminalFrames.Request(1L, 2L, 4L, 100L));
+        buffer.flip();
+        buffer.getInt();
+        TerminalFrames.Request withKey = TerminalFrames.readRequest(buffer);
+        buffer.getInt();
+        TerminalFrames.Request withoutKey = TerminalFrames.readRequest(buffer);
+
+        // Assert
+        assertThat(withKey.idempotencyKey()).isEqualTo(idempotencyKey);
+        assertThat(withoutKey.idempotencyKey()).isNull();
+        assertThat(withoutKey).isEqualTo(new TerminalFrames.Request(1L, 2L, 4L, 100L));
+    }
+
+    @Test
+    @DisplayName("Should answer a challenge with a proof that only matches the same secret and challenge")
+    void shouldProveSharedSecret() {
+        // Arrange
+        byte[] sharedSecret = "terminal-secret".getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = new byte[TerminalFrames.CHALLENGE_LENGTH];
+        challenge[0] = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+
+        // Act
+        TerminalFrames.writeChallenge(buffer, challenge);
+        byte[] readChallenge = TerminalFrames.readChallenge(buffer.flip());
+        ByteBuffer proofFrame = ByteBuffer.allocate(TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.PROOF_LENGTH);
+        TerminalFrames.writeProof(proofFrame, sharedSecret, readChallenge);
+
+        // Assert
+        assertThat(readChallenge).isEqualTo(challenge);
+        assertThat(proofFrame.hasRemaining()).isFalse();
+        assertThat(proofFrame.getInt(0)).isEqualTo(TerminalFrames.PROOF_LENGTH);
+        assertThat(TerminalFrames.proof(sharedSecret, challenge)).hasSize(TerminalFrames.PROOF_LENGTH)
+                .isNotEqualTo(TerminalFrames.proof("other-secret".getBytes(StandardCharsets.UTF_8), challenge))
+                .isNotEqualTo(TerminalFrames.proof(sharedSecret, new byte[TerminalFrames.CHALLENGE_LENGTH]));
+    }
+
+    @Test
+    @DisplayName("Should round trip a response with the signed amount and the event date in microseconds")
+    void shouldRoundTripResponse() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+        Instant eventDate = Instant.parse("2026-01-01T10:15:30.123456Z");
+        TransactionRes transactionRes = TransactionRes.builder()
+                .transactionId(42L).accountId(1L).operationTypeId(1L).amount(-1_050L).eventDate(eventDate)
+                .build();
+
+        // Act
+        TerminalFrames.writeResponse(buffer, Long.MAX_VALUE, transactionRes);
+        buffer.flip();
+        int frameSize = TerminalFrames.responseFrameSize(buffer);
+        TerminalFrames.Response response = TerminalFrames.readResponse(buffer);
+
+        // Assert
+        assertThat(frameSize).isEqualTo(38);
+        assertThat(response).isEqualTo(new TerminalFrames.Response(Long.MAX_VALUE, 200, 42L, -1_050L, eventDate, null));
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should round trip an error response with its http status and error code")
+    void shouldRoundTripErrorResponse() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+
+        // Act
+        TerminalFrames.writeError(buffer, 9L, ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND);
+        buffer.flip();
+        TerminalFrames.Response response = TerminalFrames.readResponse(buffer);
+
+        // Assert
+        assertThat(response.correlationId()).isEqualTo(9L);
+        assertThat(response.status()).isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getHttpStatus().value());
+        assertThat(response.errCode()).isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fit the error response of every error code in the response frame size")
+    void shouldFitEveryErrorResponse() {
+        for (ErrorInfo errorInfo : ErrorInfo.values()) {
+            // Arrange
+            ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+
+            // Act
+            TerminalFrames.writeError(buffer, 1L, errorInfo);
+
+            // Assert
+            assertThat(buffer.position()).isLessThanOrEqualTo(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a response frame only once it is whole")
+    void shouldReportPartialResponseFrame() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(TerminalFrames.MAX_RESPONSE_FRAME_SIZE);
+        TerminalFrames.writeError(buffer, 1L, ErrorInfo.INVALID_TRANSACTION_REQUEST);
+        int frameSize = buffer.position();
+
+        // Act & Assert
+        assertThat(TerminalFrames.responseFrameSize(buffer.duplicate().flip().limit(3))).isEqualTo(-1);
+        assertThat(TerminalFrames.responseFrameSize(buffer.duplicate().flip().limit(frameSize - 1))).isEqualTo(-1);
+        assertThat(TerminalFrames.responseFrameSize(buffer.duplicate().flip())).isEqualTo(frameSize);
+    }
+}
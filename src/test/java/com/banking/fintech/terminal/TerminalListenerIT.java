@@ -0,0 +1,334 @@
+package com.banking.fintech.terminal;
+
+import com.banking.fintech.AbstractEmbeddedPostgresIT;
+import com.banking.fintech.config.TerminalProperties;
+import com.banking.fintech.constant.ErrorInfo;
+import com.banking.fintech.entity.AccountEntity;
+import com.banking.fintech.metrics.BankingMetrics;
+import com.banking.fintech.repo.AccountRepository;
+import com.banking.fintech.service.AccountCache;
+import com.banking.fintech.service.IdempotentTransactionExecutor;
+import com.banking.fintech.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends binary frames to a terminal listener bound to a free port, with the beans of the shared context. The listener
+ * is built by hand, so the shared context keeps it disabled. Every connection answers the challenge of the listener
+ * first, and every request carries its index as correlation id, so the responses, written in any order, are matched
+ * back to their requests.
+ */
+@Slf4j
+@DisplayName("Terminal listener Integration Tests")
+class TerminalListenerIT extends AbstractEmbeddedPostgresIT {
+
+    private static final int MAX_IN_FLIGHT_PER_CONNECTION = 16;
+    private static final int MAX_CONCURRENT_REQUESTS = 8;
+    private static final String SHARED_SECRET = "terminal-secret";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotentTransactionExecutor idempotentTransactionExecutor;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private BankingMetrics bankingMetrics;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TerminalListener terminalListener;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TerminalProperties terminalProperties = new TerminalProperties();
+        terminalProperties.setPort(0);
+        terminalProperties.setIoThreads(2);
+        terminalProperties.setMaxInFlightPerConnection(MAX_IN_FLIGHT_PER_CONNECTION);
+        terminalProperties.setMaxConcurrentRequests(MAX_CONCURRENT_REQUESTS);
+        terminalProperties.setSharedSecret(SHARED_SECRET);
+        terminalListener = new TerminalListener(transactionService, idempotentTransactionExecutor, accountCache, bankingMetrics,
+                terminalProperties);
+        terminalListener.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        terminalListener.stop();
+    }
+
+    private Long createAccount(String documentNumber) {
+        return accountRepository.save(AccountEntity.builder().documentNumber(documentNumber).build()).getAccountId();
+    }
+
+    private SocketChannel connect() throws IOException {
+        return connect(SHARED_SECRET);
+    }
+
+    /**
+     * Opens a connection and answers the challenge of the listener with the given secret.
+     */
+    private SocketChannel connect(String sharedSecret) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", terminalListener.getPort()));
+        ByteBuffer challengeFrame = ByteBuffer.allocate(TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.CHALLENGE_LENGTH);
+        while (challengeFrame.hasRemaining()) {
+            if (channel.read(challengeFrame) < 0) {
+                throw new EOFException("Terminal connection closed before the challenge");
+            }
+        }
+        byte[] challenge = TerminalFrames.readChallenge(challengeFrame.flip());
+        ByteBuffer proofFrame = ByteBuffer.allocate(TerminalFrames.LENGTH_FIELD_SIZE + TerminalFrames.PROOF_LENGTH);
+        TerminalFrames.writeProof(proofFrame, sharedSecret.getBytes(StandardCharsets.UTF_8), challenge);
+        writeFully(channel, proofFrame.flip());
+        return channel;
+    }
+
+    private static ByteBuffer frames(List<TerminalFrames.Request> requests) {
+        ByteBuffer buffer = ByteBuffer.allocate(requests.size() * TerminalFrames.REQUEST_FRAME_SIZE);
+        requests.forEach(request -> TerminalFrames.writeRequest(buffer, request));
+        return buffer.flip();
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Reads the given number of responses, or fewer if the listener closes the connection first.
+     */
+    private static List<TerminalFrames.Response> readResponses(SocketChannel channel, int count) throws IOException {
+        List<TerminalFrames.Response> responses = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        while (responses.size() < count && channel.read(buffer) >= 0) {
+            buffer.flip();
+            while (TerminalFrames.responseFrameSize(buffer) > 0) {
+                responses.add(TerminalFrames.readResponse(buffer));
+            }
+            buffer.compact();
+        }
+        return responses;
+    }
+
+    private long sumOfAmounts(Long accountId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE account_id = ?", Long.class, accountId);
+    }
+
+    @Test
+    @DisplayName("Should answer every pipelined request, beyond the in-flight limit, matched by its correlation id")
+    void shouldAnswerPipelinedRequests() throws IOException {
+        // Arrange
+        Long accountId = createAccount("88800000001");
+        List<TerminalFrames.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(new TerminalFrames.Request(i, accountId, i % 2 == 0 ? 4L : 1L, 100L + i));
+        }
+        requests.set(50, new TerminalFrames.Request(50, Long.MAX_VALUE, 4L, 100L));
+        requests.set(51, new TerminalFrames.Request(51, accountId, 4L, 0L));
+        requests.set(52, new TerminalFrames.Request(52, accountId, 77L, 100L));
+
+        // Act
+        Map<Long, TerminalFrames.Response> responses = new HashMap<>();
+        List<Long> correlationIds = new ArrayList<>();
+        try (SocketChannel channel = connect()) {
+            writeFully(channel, frames(requests));
+            for (TerminalFrames.Response response : readResponses(channel, requests.size())) {
+                responses.put(response.correlationId(), response);
+                correlationIds.add(response.correlationId());
+            }
+        }
+
+        // Assert
+        assertThat(responses).hasSize(requests.size());
+        assertThat(responses.get(50L).errCode()).isEqualTo(ErrorInfo.CUSTOMER_ACCOUNT_NOT_FOUND.getErrCode());
+        assertThat(responses.get(50L).status()).isEqualTo(404);
+        assertThat(responses.get(51L).errCode()).isEqualTo(ErrorInfo.INVALID_TRANSACTION_REQUEST.getErrCode());
+        assertThat(responses.get(52L).status()).isEqualTo(ErrorInfo.TRANSACTION_OPERATION_TYPE_NOT_FOUND.getHttpStatus().value());
+        long expectedSum = 0;
+        for (TerminalFrames.Request request : requests) {
+            if (request.correlationId() < 50 || request.correlationId() > 52) {
+                TerminalFrames.Response response = responses.get(request.correlationId());
+                assertThat(response.status()).isEqualTo(200);
+                assertThat(response.transactionId()).isPositive();
+                assertThat(Math.abs(response.amount())).isEqualTo(request.amount());
+                assertThat(response.eventDate()).isNotNull();
+                expectedSum += response.amount();
+            }
+        }
+        assertThat(sumOfAmounts(accountId)).isEqualTo(expectedSum);
+        log.info("Responses out of request order: {} of {}", correlationIds.stream()
+                .filter(correlationId -> correlationId != correlationIds.indexOf(correlationId)).count(), correlationIds.size());
+    }
+
+    @Test
+    @DisplayName("Should reassemble frames split across writes")
+    void shouldReassembleSplitFrames() throws Exception {
+        // Arrange
+        Long accountId = createAccount("88800000002");
+        ByteBuffer requests = frames(List.of(new TerminalFrames.Request(1, accountId, 4L, 1_000L),
+                new TerminalFrames.Request(2, accountId, 4L, 2_000L)));
+
+        // Act
+        List<TerminalFrames.Response> responses;
+        try (SocketChannel channel = connect()) {
+            for (int split : new int[]{3, 20, 61, requests.limit()}) {
+                writeFully(channel, requests.duplicate().limit(split).position(requests.position()));
+                requests.position(split);
+                TimeUnit.MILLISECONDS.sleep(50);
+            }
+            responses = readResponses(channel, 2);
+        }
+
+        // Assert
+        assertThat(responses).extracting(TerminalFrames.Response::correlationId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(responses).extracting(TerminalFrames.Response::status).containsOnly(200);
+        assertThat(sumOfAmounts(accountId)).isEqualTo(3_000L);
+    }
+
+    @Test
+    @DisplayName("Should answer the pending requests of a terminal that shut down its side, then close the connection")
+    void shouldAnswerRequestsAfterInputShutdown() throws IOException {
+        // Arrange
+        Long accountId = createAccount("88800000003");
+        List<TerminalFrames.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new TerminalFrames.Request(i, accountId, 4L, 10L));
+        }
+
+        // Act
+        List<TerminalFrames.Response> responses;
+        int endOfStream;
+        try (SocketChannel channel = connect()) {
+            writeFully(channel, frames(requests));
+            channel.shutdownOutput();
+            responses = readResponses(channel, requests.size());
+            endOfStream = channel.read(ByteBuffer.allocate(1));
+        }
+
+        // Assert
+        assertThat(responses).hasSize(10).extracting(TerminalFrames.Response::status).containsOnly(200);
+        assertThat(endOfStream).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should close the connection on a frame of invalid length")
+    void shouldCloseConnectionOnInvalidLength() throws IOException {
+        // Arrange
+        ByteBuffer frame = ByteBuffer.allocate(TerminalFrames.REQUEST_FRAME_SIZE).putInt(1_000).flip();
+
+        // Act
+        List<TerminalFrames.Response> responses;
+        try (SocketChannel channel = connect()) {
+            writeFully(channel, frame);
+            responses = readResponses(channel, 1);
+        }
+
+        // Assert
+        assertThat(responses).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should close the connection of a terminal proving another secret, before reading its requests")
+    void shouldCloseConnectionOnWrongSecret() throws IOException {
+        // Arrange
+        Long accountId = createAccount("88800000005");
+
+        // Act
+        List<TerminalFrames.Response> responses;
+        try (SocketChannel channel = connect("wrong-secret")) {
+            writeFully(channel, frames(List.of(new TerminalFrames.Request(1, accountId, 4L, 1_000L))));
+            responses = readResponses(channel, 1);
+        }
+
+        // Assert
+        assertThat(responses).isEmpty();
+        assertThat(sumOfAmounts(accountId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should create a request resent with the same idempotency key once, on a new connection too")
+    void shouldCreateResentRequestOnce() throws IOException {
+        // Arrange
+        Long accountId = createAccount("88800000006");
+        UUID idempotencyKey = UUID.randomUUID();
+        TerminalFrames.Request request = new TerminalFrames.Request(1, idempotencyKey, accountId, 4L, 1_000L);
+
+        // Act
+        List<TerminalFrames.Response> responses = new ArrayList<>();
+        try (SocketChannel channel = connect()) {
+            writeFully(channel, frames(List.of(request, request)));
+            responses.addAll(readResponses(channel, 2));
+        }
+        try (SocketChannel channel = connect()) {
+            writeFully(channel, frames(List.of(request)));
+            responses.addAll(readResponses(channel, 1));
+        }
+
+        // Assert
+        assertThat(responses).hasSize(3).extracting(TerminalFrames.Response::status).containsOnly(200);
+        assertThat(responses).extracting(TerminalFrames.Response::transactionId).containsOnly(responses.getFirst().transactionId());
+        assertThat(sumOfAmounts(accountId)).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("Should serve many connections at once and count them closed once the terminals leave")
+    void shouldServeManyConnections() throws Exception {
+        // Arrange
+        Long accountId = createAccount("88800000004");
+        List<SocketChannel> channels = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            channels.add(connect());
+        }
+
+        // Act
+        for (int i = 0; i < channels.size(); i++) {
+            writeFully(channels.get(i), frames(List.of(new TerminalFrames.Request(i, accountId, 4L, 1L))));
+        }
+        List<TerminalFrames.Response> responses = new ArrayList<>();
+        for (SocketChannel channel : channels) {
+            responses.addAll(readResponses(channel, 1));
+        }
+        int openConnections = terminalListener.getOpenConnections();
+        for (SocketChannel channel : channels) {
+            channel.close();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (terminalListener.getOpenConnections() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        // Assert
+        assertThat(responses).hasSize(200).extracting(TerminalFrames.Response::status).containsOnly(200);
+        assertThat(openConnections).isEqualTo(200);
+        assertThat(terminalListener.getOpenConnections()).isZero();
+        assertThat(sumOfAmounts(accountId)).isEqualTo(200L);
+    }
+}